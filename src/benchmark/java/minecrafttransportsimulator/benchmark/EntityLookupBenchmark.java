@@ -0,0 +1,194 @@
+package minecrafttransportsimulator.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import minecrafttransportsimulator.baseclasses.Point3d;
+import minecrafttransportsimulator.jsondefs.JSONConfig;
+import minecrafttransportsimulator.mcinterface.IWrapperNBT;
+import minecrafttransportsimulator.mcinterface.IWrapperWorld;
+import minecrafttransportsimulator.vehicles.main.AEntityBase;
+import minecrafttransportsimulator.vehicles.main.EntityRegistry;
+
+/**JMH benchmark for finding entities.  Compares lookups in the {@link EntityRegistry} by ID, UUID,
+ * and area against scanning {@link AEntityBase#createdServerEntities}, which is what the registry
+ * replaced.  Entities are spread out over a square area, like vehicles parked around a server.
+ * Each invocation does {@link #LOOKUPS} lookups of random entities, and the score is in lookups
+ * per microsecond.  Setup checks that both ways find the same entities.
+ *
+ * @author don_bruce
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+@State(Scope.Thread)
+public class EntityLookupBenchmark{
+	/**Lookups done per invocation.**/
+	public static final int LOOKUPS = 256;
+	/**Distance between entities.**/
+	private static final int SPACING = 24;
+	/**Size of the areas checked in the area lookups.**/
+	private static final int AREA_SIZE = 64;
+	
+	@Param({"100", "300", "1000"})
+	public int entityCount;
+	
+	private HeadlessWorld world;
+	private EntityRegistry registry;
+	private int[] lookupIDs;
+	private String[] lookupUUIDs;
+	private Point3d[] lookupAreas;
+	
+	@Setup(Level.Trial)
+	public void setup(){
+		HeadlessHarness.setup(new JSONConfig());
+		world = new HeadlessWorld(HeadlessHarness.GROUND_LEVEL);
+		int rowLength = (int) Math.ceil(Math.sqrt(entityCount));
+		for(int i=0; i<entityCount; ++i){
+			IWrapperNBT data = new HeadlessNBT();
+			data.setPoint3d("position", new Point3d((i%rowLength)*SPACING, HeadlessHarness.GROUND_LEVEL, (i/rowLength)*SPACING));
+			new LookupEntity(world, data);
+		}
+		registry = EntityRegistry.getRegistryFor(world);
+		
+		Random random = new Random(0);
+		lookupIDs = new int[LOOKUPS];
+		lookupUUIDs = new String[LOOKUPS];
+		lookupAreas = new Point3d[LOOKUPS];
+		for(int i=0; i<LOOKUPS; ++i){
+			AEntityBase entity = AEntityBase.createdServerEntities.get(random.nextInt(entityCount));
+			lookupIDs[i] = entity.lookupID;
+			lookupUUIDs[i] = entity.uniqueUUID;
+			lookupAreas[i] = new Point3d(entity.position.x - AREA_SIZE/2, 0, entity.position.z - AREA_SIZE/2);
+		}
+		
+		for(int i=0; i<LOOKUPS; ++i){
+			if(registry.getEntity(lookupIDs[i]) != scanByID(lookupIDs[i]) || registry.getEntity(lookupUUIDs[i]) != scanByUUID(lookupUUIDs[i])){
+				throw new IllegalStateException("ERROR: Registry found a different entity than a scan.");
+			}
+			Point3d area = lookupAreas[i];
+			if(registry.getEntitiesWithin(area.x, area.z, area.x + AREA_SIZE, area.z + AREA_SIZE).size() != scanWithin(area.x, area.z, area.x + AREA_SIZE, area.z + AREA_SIZE).size()){
+				throw new IllegalStateException("ERROR: Registry found a different number of entities in an area than a scan.");
+			}
+		}
+	}
+	
+	@TearDown(Level.Trial)
+	public void tearDown(){
+		HeadlessHarness.clear(world);
+	}
+	
+	@Benchmark
+	@OperationsPerInvocation(LOOKUPS)
+	public void registryByID(Blackhole blackhole){
+		for(int lookupID : lookupIDs){
+			blackhole.consume(registry.getEntity(lookupID));
+		}
+	}
+	
+	@Benchmark
+	@OperationsPerInvocation(LOOKUPS)
+	public void scanByID(Blackhole blackhole){
+		for(int lookupID : lookupIDs){
+			blackhole.consume(scanByID(lookupID));
+		}
+	}
+	
+	@Benchmark
+	@OperationsPerInvocation(LOOKUPS)
+	public void registryByUUID(Blackhole blackhole){
+		for(String uniqueUUID : lookupUUIDs){
+			blackhole.consume(registry.getEntity(uniqueUUID));
+		}
+	}
+	
+	@Benchmark
+	@OperationsPerInvocation(LOOKUPS)
+	public void scanByUUID(Blackhole blackhole){
+		for(String uniqueUUID : lookupUUIDs){
+			blackhole.consume(scanByUUID(uniqueUUID));
+		}
+	}
+	
+	@Benchmark
+	@OperationsPerInvocation(LOOKUPS)
+	public void registryWithin(Blackhole blackhole){
+		for(Point3d area : lookupAreas){
+			blackhole.consume(registry.getEntitiesWithin(area.x, area.z, area.x + AREA_SIZE, area.z + AREA_SIZE));
+		}
+	}
+	
+	@Benchmark
+	@OperationsPerInvocation(LOOKUPS)
+	public void scanWithin(Blackhole blackhole){
+		for(Point3d area : lookupAreas){
+			blackhole.consume(scanWithin(area.x, area.z, area.x + AREA_SIZE, area.z + AREA_SIZE));
+		}
+	}
+	
+	private static AEntityBase scanByID(int lookupID){
+		for(AEntityBase entity : AEntityBase.createdServerEntities){
+			if(entity.lookupID == lookupID){
+				return entity;
+			}
+		}
+		return null;
+	}
+	
+	private static AEntityBase scanByUUID(String uniqueUUID){
+		for(AEntityBase entity : AEntityBase.createdServerEntities){
+			if(entity.uniqueUUID.equals(uniqueUUID)){
+				return entity;
+			}
+		}
+		return null;
+	}
+	
+	private static List<AEntityBase> scanWithin(double minX, double minZ, double maxX, double maxZ){
+		List<AEntityBase> entities = new ArrayList<AEntityBase>();
+		for(AEntityBase entity : AEntityBase.createdServerEntities){
+			if(entity.position.x > minX && entity.position.x < maxX && entity.position.z > minZ && entity.position.z < maxZ){
+				entities.add(entity);
+			}
+		}
+		return entities;
+	}
+	
+	/**Bare entity for lookups.  Does nothing but sit where it was created.
+	 *
+	 * @author don_bruce
+	 */
+	private static class LookupEntity extends AEntityBase{
+		private LookupEntity(IWrapperWorld world, IWrapperNBT data){
+			super(world, data);
+		}
+		
+		@Override
+		public boolean isLitUp(){
+			return false;
+		}
+		
+		@Override
+		public void render(float partialTicks){}
+	}
+}
@@ -0,0 +1,76 @@
+package minecrafttransportsimulator.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import minecrafttransportsimulator.items.components.AItemBase;
+import minecrafttransportsimulator.items.components.AItemPack;
+import minecrafttransportsimulator.mcinterface.IInterfaceCore;
+import minecrafttransportsimulator.mcinterface.IWrapperItemStack;
+import minecrafttransportsimulator.mcinterface.IWrapperNBT;
+import minecrafttransportsimulator.mcinterface.IWrapperTileEntity;
+import minecrafttransportsimulator.mcinterface.IWrapperWorld;
+
+/**Core interface for the headless harness.  No other mods are present, text isn't translated,
+ * and there are no item stacks or fake tile entities.  This means interactable parts won't have
+ * inventories, which is fine as nothing will be interacting with them.
+ *
+ * @author don_bruce
+ */
+public class HeadlessCore implements IInterfaceCore{
+	
+	@Override
+	public String getGameVersion(){
+		return "1.12.2";
+	}
+	
+	@Override
+	public boolean isModPresent(String modID){
+		return false;
+	}
+	
+	@Override
+	public String getModName(String modID){
+		return modID;
+	}
+	
+	@Override
+	public String getFluidName(String fluidID){
+		return fluidID;
+	}
+	
+	@Override
+	public String translate(String text){
+		return text;
+	}
+	
+	@Override
+	public void logError(String message){
+		System.err.println(message);
+	}
+	
+	@Override
+	public void logInfo(String message){
+		System.out.println(message);
+	}
+	
+	@Override
+	public IWrapperNBT createNewTag(){
+		return new HeadlessNBT();
+	}
+	
+	@Override
+	public IWrapperItemStack getStack(AItemBase item){
+		return null;
+	}
+	
+	@Override
+	public List<IWrapperItemStack> parseFromJSON(AItemPack<?> item, boolean includeMain, boolean includeSub){
+		return new ArrayList<IWrapperItemStack>();
+	}
+	
+	@Override
+	public IWrapperTileEntity getFakeTileEntity(String type, IWrapperWorld world, IWrapperNBT data, int inventoryUnits){
+		return null;
+	}
+}
@@ -0,0 +1,240 @@
+package minecrafttransportsimulator.benchmark;
+
+import java.io.File;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.Iterator;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import minecrafttransportsimulator.baseclasses.Point3d;
+import minecrafttransportsimulator.items.components.AItemPack;
+import minecrafttransportsimulator.items.instances.ItemPart;
+import minecrafttransportsimulator.items.instances.ItemVehicle;
+import minecrafttransportsimulator.jsondefs.AJSONMultiModelProvider;
+import minecrafttransportsimulator.jsondefs.JSONConfig;
+import minecrafttransportsimulator.jsondefs.JSONPack;
+import minecrafttransportsimulator.jsondefs.JSONPart;
+import minecrafttransportsimulator.jsondefs.JSONVehicle;
+import minecrafttransportsimulator.jsondefs.JSONVehicle.VehiclePart;
+import minecrafttransportsimulator.mcinterface.IWrapperNBT;
+import minecrafttransportsimulator.mcinterface.MasterLoader;
+import minecrafttransportsimulator.packloading.PackDefinitionLoader;
+import minecrafttransportsimulator.packloading.PackDefinitionLoader.LoadedDefinition;
+import minecrafttransportsimulator.packloading.PackDefinitionLoader.PackLoadRequest;
+import minecrafttransportsimulator.packloading.PackResourceLoader.PackStructure;
+import minecrafttransportsimulator.systems.ConfigSystem;
+import minecrafttransportsimulator.systems.PackParserSystem;
+import minecrafttransportsimulator.systems.VehiclePhysicsSystem;
+import minecrafttransportsimulator.vehicles.main.AEntityBase;
+import minecrafttransportsimulator.vehicles.main.EntityRegistry;
+import minecrafttransportsimulator.vehicles.main.EntityVehicleF_Physics;
+import minecrafttransportsimulator.vehicles.parts.PartEngine;
+
+/**Harness for running vehicles without a running game.  This sets up the {@link MasterLoader} with headless
+ * interfaces, loads vehicles and parts from pack jars, and then spawns and ticks vehicles in a {@link HeadlessWorld}.
+ * Vehicles are updated as if they were on a server with no players, in the same order the game would update them.
+ * <br><br>
+ * Only the core and network interfaces are set.  Everything else is client-only, and the harness is never a client.
+ * Packs are loaded without registering their items with MC, so no game classes are required to run vehicles.
+ *
+ * @author don_bruce
+ */
+public final class HeadlessHarness{
+	/**Ground level of the worlds the harness creates.  Vehicles spawned at this height sit on the ground.**/
+	public static final int GROUND_LEVEL = 64;
+	
+	private static HeadlessNetwork networkInterface;
+	private static boolean packsLoaded;
+	
+	/**
+	 *  Sets up the interfaces, packets, and config.  Must be called before anything else.
+	 *  The passed-in config is used as-is, so change any values before calling this.
+	 */
+	public static void setup(JSONConfig config){
+		MasterLoader.resourceDomain = MasterLoader.MODID;
+		MasterLoader.coreInterface = new HeadlessCore();
+		MasterLoader.networkInterface = networkInterface = new HeadlessNetwork();
+		MasterLoader.registerPackets((byte) 0);
+		ConfigSystem.configObject = config;
+	}
+	
+	/**
+	 *  Loads all vehicles and parts from the pack jars in the benchmark.packs system property.
+	 *  This is a comma-separated list of paths.  Jars are only loaded the first time this is called.
+	 */
+	public static void loadPacks() throws Exception{
+		if(!packsLoaded){
+			String packPaths = System.getProperty("benchmark.packs", "");
+			if(packPaths.isEmpty()){
+				throw new IllegalStateException("ERROR: No packs to load.  Set benchmark.packs to a comma-separated list of pack jars.");
+			}
+			for(String packPath : packPaths.split(",")){
+				loadPack(new File(packPath.trim()));
+			}
+			packsLoaded = true;
+		}
+	}
+	
+	/**
+	 *  Loads all vehicles and parts from the passed-in pack jar.  Activators and blockers aren't
+	 *  checked, so only the main asset directory of each pack is loaded.
+	 */
+	public static void loadPack(File packJar) throws Exception{
+		List<PackLoadRequest> loadRequests = new ArrayList<PackLoadRequest>();
+		ZipFile jarFile = new ZipFile(packJar);
+		try{
+			Enumeration<? extends ZipEntry> entries = jarFile.entries();
+			while(entries.hasMoreElements()){
+				ZipEntry entry = entries.nextElement();
+				if(entry.getName().endsWith("packdefinition.json")){
+					JSONPack packDef = PackParserSystem.packParser.fromJson(new InputStreamReader(jarFile.getInputStream(entry), "UTF-8"), JSONPack.class);
+					PackParserSystem.packMap.put(packDef.packID, packDef);
+					loadRequests.add(new PackLoadRequest(packDef.packID, packJar, "assets/" + packDef.packID + "/", PackStructure.values()[packDef.fileStructure]));
+				}
+			}
+		}finally{
+			jarFile.close();
+		}
+		
+		PackDefinitionLoader.loadDefinitions(loadRequests, null);
+		for(PackLoadRequest loadRequest : loadRequests){
+			for(String error : loadRequest.errors){
+				MasterLoader.coreInterface.logError(error);
+			}
+			if(loadRequest.fault != null){
+				throw loadRequest.fault;
+			}
+			for(LoadedDefinition loadedDefinition : loadRequest.definitions){
+				if(loadedDefinition.definition instanceof JSONVehicle || loadedDefinition.definition instanceof JSONPart){
+					String systemName = loadedDefinition.fileName.substring(0, loadedDefinition.fileName.length() - ".json".length());
+					for(AJSONMultiModelProvider<?>.SubDefinition subDefinition : ((AJSONMultiModelProvider<?>) loadedDefinition.definition).definitions){
+						AItemPack<?> item;
+						if(loadedDefinition.definition instanceof JSONVehicle){
+							item = new ItemVehicle((JSONVehicle) loadedDefinition.definition, subDefinition.subName);
+						}else{
+							item = new ItemPart((JSONPart) loadedDefinition.definition, subDefinition.subName);
+						}
+						PackParserSystem.setupItem(item, loadRequest.packID, systemName, subDefinition.subName, loadedDefinition.assetPath);
+					}
+				}
+			}
+		}
+	}
+	
+	/**
+	 *  Returns all vehicles that have been loaded.
+	 */
+	public static List<ItemVehicle> getVehicles(){
+		List<ItemVehicle> vehicles = new ArrayList<ItemVehicle>();
+		for(AItemPack<?> item : PackParserSystem.getAllPackItems()){
+			if(item instanceof ItemVehicle){
+				vehicles.add((ItemVehicle) item);
+			}
+		}
+		return vehicles;
+	}
+	
+	/**
+	 *  Spawns a new vehicle in the passed-in world.  The vehicle is set up the same way as one placed by a player,
+	 *  with all default parts added.  Any part slots for ground devices, engines, propellers, or seats that don't
+	 *  have a default part are then filled with the first loaded part that fits.  This makes vehicles from packs
+	 *  that leave these slots empty drivable.  Engines are made creative, so they run without fuel.
+	 */
+	public static EntityVehicleF_Physics spawnVehicle(HeadlessWorld world, ItemVehicle item, Point3d position, double yaw){
+		IWrapperNBT data = MasterLoader.coreInterface.createNewTag();
+		data.setString("packID", item.definition.packID);
+		data.setString("systemName", item.definition.systemName);
+		data.setString("subName", item.subName);
+		data.setPoint3d("position", position);
+		data.setPoint3d("angles", new Point3d(0D, yaw, 0D));
+		EntityVehicleF_Physics vehicle = item.createEntity(world, data);
+		vehicle.electricPower = 12;
+		EntityVehicleF_Physics.addDefaultParts(vehicle.definition.parts, vehicle, null, false);
+		for(VehiclePart packPart : vehicle.definition.parts){
+			if(vehicle.getPartAtLocation(packPart.pos) == null){
+				for(AItemPack<?> packItem : PackParserSystem.getAllPackItems()){
+					if(packItem instanceof ItemPart){
+						ItemPart partItem = (ItemPart) packItem;
+						String partType = partItem.definition.general.type;
+						if((partType.startsWith("ground_") || partType.startsWith("engine_") || partType.startsWith("propeller") || partType.startsWith("seat")) && packPart.types.contains(partType) && partItem.isPartValidForPackDef(packPart)){
+							if(vehicle.addPartFromItem(partItem, MasterLoader.coreInterface.createNewTag(), packPart.pos, false)){
+								break;
+							}
+						}
+					}
+				}
+			}
+		}
+		for(PartEngine engine : vehicle.engines.values()){
+			engine.isCreative = true;
+		}
+		world.spawnEntity(vehicle);
+		return vehicle;
+	}
+	
+	/**
+	 *  Turns on the magnetos and electric starters for all engines in the passed-in vehicle.
+	 *  Engines start themselves once they are cranked fast enough.
+	 */
+	public static void crankEngines(EntityVehicleF_Physics vehicle){
+		for(PartEngine engine : vehicle.engines.values()){
+			engine.setMagnetoStatus(true);
+			engine.setElectricStarterStatus(true);
+		}
+	}
+	
+	/**
+	 *  Turns off the electric starters for all engines in the passed-in vehicle.
+	 */
+	public static void releaseStarters(EntityVehicleF_Physics vehicle){
+		for(PartEngine engine : vehicle.engines.values()){
+			engine.setElectricStarterStatus(false);
+		}
+	}
+	
+	/**
+	 *  Runs a single tick for the passed-in vehicles.  Vehicles are updated in order, after which any vehicles
+	 *  queued with the {@link VehiclePhysicsSystem} are moved, the same as the end of a server world tick.
+	 *  Vehicles that are no longer valid are removed from the list.
+	 */
+	public static void tick(HeadlessWorld world, List<EntityVehicleF_Physics> vehicles){
+		Iterator<EntityVehicleF_Physics> iterator = vehicles.iterator();
+		while(iterator.hasNext()){
+			EntityVehicleF_Physics vehicle = iterator.next();
+			if(vehicle.isValid){
+				vehicle.update();
+			}else{
+				iterator.remove();
+			}
+		}
+		VehiclePhysicsSystem.updateQueuedVehicles(world);
+		world.tick();
+	}
+	
+	/**
+	 *  Removes all entities created in the passed-in world.  Call this once done with a world
+	 *  to prevent the entity systems from holding onto it.
+	 */
+	public static void clear(HeadlessWorld world){
+		VehiclePhysicsSystem.clearQueuedVehicles(world);
+		EntityRegistry.removeRegistryFor(world);
+		AEntityBase.createdServerEntities.clear();
+	}
+	
+	/**
+	 *  Returns the number of packets vehicles have sent since the harness was set up.
+	 */
+	public static int getPacketsSent(){
+		return networkInterface.packetsSent;
+	}
+	
+	/**
+	 *  Returns the number of bytes in the packets vehicles have sent since the harness was set up.
+	 */
+	public static long getBytesSent(){
+		return networkInterface.bytesSent;
+	}
+}
@@ -0,0 +1,204 @@
+package minecrafttransportsimulator.benchmark;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import io.netty.buffer.ByteBuf;
+import minecrafttransportsimulator.baseclasses.Point3d;
+import minecrafttransportsimulator.baseclasses.Point3i;
+import minecrafttransportsimulator.mcinterface.IWrapperNBT;
+
+/**In-memory version of {@link IWrapperNBT} for the headless harness.  Values are stored in a map
+ * by name, and missing values return the same defaults as MC's NBT system.  Data is written to buffers
+ * in a simple format of its own, as the {@link HeadlessNetwork} encodes packets just like a real network.
+ * This format is only ever read back by {@link #readFromBuffer(ByteBuf)}.
+ *
+ * @author don_bruce
+ */
+public class HeadlessNBT implements IWrapperNBT{
+	private static final byte TYPE_BOOLEAN = 0;
+	private static final byte TYPE_INTEGER = 1;
+	private static final byte TYPE_DOUBLE = 2;
+	private static final byte TYPE_STRING = 3;
+	private static final byte TYPE_DATA = 4;
+	
+	private final Map<String, Object> values = new HashMap<String, Object>();
+	
+	@Override
+	public boolean getBoolean(String name){
+		Object value = values.get(name);
+		return value instanceof Boolean ? (Boolean) value : false;
+	}
+	
+	@Override
+	public void setBoolean(String name, boolean value){
+		values.put(name, value);
+	}
+	
+	@Override
+	public int getInteger(String name){
+		Object value = values.get(name);
+		return value instanceof Integer ? (Integer) value : 0;
+	}
+	
+	@Override
+	public void setInteger(String name, int value){
+		values.put(name, value);
+	}
+	
+	@Override
+	public double getDouble(String name){
+		Object value = values.get(name);
+		return value instanceof Double ? (Double) value : 0D;
+	}
+	
+	@Override
+	public void setDouble(String name, double value){
+		values.put(name, value);
+	}
+	
+	@Override
+	public String getString(String name){
+		Object value = values.get(name);
+		return value instanceof String ? (String) value : "";
+	}
+	
+	@Override
+	public void setString(String name, String value){
+		values.put(name, value);
+	}
+	
+	@Override
+	public List<String> getStrings(String name, int qty){
+		List<String> strings = new ArrayList<String>();
+		for(int i=0; i<qty; ++i){
+			strings.add(getString(name + i));
+		}
+		return strings;
+	}
+	
+	@Override
+	public void setStrings(String name, List<String> values){
+		for(int i=0; i<values.size(); ++i){
+			setString(name + i, values.get(i));
+		}
+	}
+	
+	@Override
+	public Point3i getPoint3i(String name){
+		return new Point3i(getInteger(name + "x"), getInteger(name + "y"), getInteger(name + "z"));
+	}
+	
+	@Override
+	public void setPoint3i(String name, Point3i value){
+		setInteger(name + "x", value.x);
+		setInteger(name + "y", value.y);
+		setInteger(name + "z", value.z);
+	}
+	
+	@Override
+	public Point3d getPoint3d(String name){
+		return new Point3d(getDouble(name + "x"), getDouble(name + "y"), getDouble(name + "z"));
+	}
+	
+	@Override
+	public void setPoint3d(String name, Point3d value){
+		setDouble(name + "x", value.x);
+		setDouble(name + "y", value.y);
+		setDouble(name + "z", value.z);
+	}
+	
+	@Override
+	public List<Point3i> getPoints(String name){
+		List<Point3i> points = new ArrayList<Point3i>();
+		int count = getInteger(name + "count");
+		for(int i=0; i<count; ++i){
+			Point3i point = getPoint3i(name + i);
+			if(!point.isZero()){
+				points.add(point);
+			}
+		}
+		return points;
+	}
+	
+	@Override
+	public void setPoints(String name, List<Point3i> values){
+		setInteger(name + "count", values.size());
+		for(int i=0; i<values.size(); ++i){
+			setPoint3i(name + i, values.get(i));
+		}
+	}
+	
+	@Override
+	public IWrapperNBT getData(String name){
+		Object value = values.get(name);
+		return value instanceof IWrapperNBT ? (IWrapperNBT) value : null;
+	}
+	
+	@Override
+	public void setData(String name, IWrapperNBT value){
+		values.put(name, value);
+	}
+	
+	@Override
+	public void writeToBuffer(ByteBuf buf){
+		buf.writeInt(values.size());
+		for(Entry<String, Object> entry : values.entrySet()){
+			writeString(buf, entry.getKey());
+			Object value = entry.getValue();
+			if(value instanceof Boolean){
+				buf.writeByte(TYPE_BOOLEAN);
+				buf.writeBoolean((Boolean) value);
+			}else if(value instanceof Integer){
+				buf.writeByte(TYPE_INTEGER);
+				buf.writeInt((Integer) value);
+			}else if(value instanceof Double){
+				buf.writeByte(TYPE_DOUBLE);
+				buf.writeDouble((Double) value);
+			}else if(value instanceof String){
+				buf.writeByte(TYPE_STRING);
+				writeString(buf, (String) value);
+			}else{
+				buf.writeByte(TYPE_DATA);
+				((IWrapperNBT) value).writeToBuffer(buf);
+			}
+		}
+	}
+	
+	/**
+	 *  Reads data written by {@link #writeToBuffer(ByteBuf)} from the passed-in buffer.
+	 */
+	public static HeadlessNBT readFromBuffer(ByteBuf buf){
+		HeadlessNBT data = new HeadlessNBT();
+		int valueCount = buf.readInt();
+		for(int i=0; i<valueCount; ++i){
+			String name = readString(buf);
+			byte type = buf.readByte();
+			switch(type){
+				case TYPE_BOOLEAN: data.values.put(name, buf.readBoolean()); break;
+				case TYPE_INTEGER: data.values.put(name, buf.readInt()); break;
+				case TYPE_DOUBLE: data.values.put(name, buf.readDouble()); break;
+				case TYPE_STRING: data.values.put(name, readString(buf)); break;
+				case TYPE_DATA: data.values.put(name, readFromBuffer(buf)); break;
+				default: throw new IllegalStateException("ERROR: Unknown data type " + type + " for value " + name + " in buffer.");
+			}
+		}
+		return data;
+	}
+	
+	private static void writeString(ByteBuf buf, String string){
+		byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+		buf.writeInt(bytes.length);
+		buf.writeBytes(bytes);
+	}
+	
+	private static String readString(ByteBuf buf){
+		byte[] bytes = new byte[buf.readInt()];
+		buf.readBytes(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+}
@@ -0,0 +1,97 @@
+package minecrafttransportsimulator.benchmark;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import minecrafttransportsimulator.mcinterface.IInterfaceNetwork;
+import minecrafttransportsimulator.mcinterface.IWrapperNBT;
+import minecrafttransportsimulator.packets.components.APacketBase;
+
+/**Network interface for the headless harness.  There is no network, so packets aren't sent anywhere.
+ * They are still encoded into a buffer, however, and both the number of packets and their size are
+ * counted, as the amount of traffic vehicles create is worth knowing.  Packets are decoded the same way
+ * the real network interface decodes them, from a table of constructor handles indexed by packet index.
+ *
+ * @author don_bruce
+ */
+public class HeadlessNetwork implements IInterfaceNetwork{
+	private static final MethodType PACKET_CONSTRUCTOR_TYPE = MethodType.methodType(APacketBase.class, ByteBuf.class);
+	
+	private final MethodHandle[] packetConstructors = new MethodHandle[256];
+	private final Map<Class<? extends APacketBase>, Byte> packetIndexes = new IdentityHashMap<Class<? extends APacketBase>, Byte>();
+	private final ByteBuf sendBuffer = Unpooled.buffer();
+	
+	/**Number of packets that would have been sent to clients or the server.**/
+	public int packetsSent;
+	/**Number of bytes in the packets that would have been sent to clients or the server.**/
+	public long bytesSent;
+	
+	@Override
+	public void registerPacket(byte packetIndex, Class<? extends APacketBase> packetClass){
+		try{
+			packetConstructors[packetIndex & 0xFF] = MethodHandles.publicLookup().findConstructor(packetClass, MethodType.methodType(void.class, ByteBuf.class)).asType(PACKET_CONSTRUCTOR_TYPE);
+			packetIndexes.put(packetClass, packetIndex);
+		}catch(Exception e){
+			throw new IllegalArgumentException("ERROR: Packet class " + packetClass.getName() + " does not have a public constructor that takes a ByteBuf.  This is required for all packets!", e);
+		}
+	}
+	
+	@Override
+	public void registerClientPacket(byte packetIndex, Class<? extends APacketBase> packetClass){
+		//There's no server to protect, so these are the same as any other packet.
+		registerPacket(packetIndex, packetClass);
+	}
+	
+	@Override
+	public byte getPacketIndex(APacketBase packet){
+		return packetIndexes.get(packet.getClass());
+	}
+	
+	@Override
+	public void sendToServer(APacketBase packet){
+		send(packet);
+	}
+	
+	@Override
+	public void sendToAllClients(APacketBase packet){
+		send(packet);
+	}
+	
+	@Override
+	public APacketBase createPacketFromBuffer(ByteBuf buf){
+		byte packetIndex = buf.readByte();
+		MethodHandle packetConstructor = packetConstructors[packetIndex & 0xFF];
+		if(packetConstructor == null){
+			throw new IllegalStateException("ERROR: Received packet with unknown index: " + packetIndex);
+		}
+		try{
+			return (APacketBase) packetConstructor.invokeExact(buf);
+		}catch(RuntimeException e){
+			throw e;
+		}catch(Error e){
+			throw e;
+		}catch(Throwable e){
+			throw new IllegalStateException(e);
+		}
+	}
+	
+	@Override
+	public IWrapperNBT createDataFromBuffer(ByteBuf buf){
+		return HeadlessNBT.readFromBuffer(buf);
+	}
+	
+	/**
+	 *  Encodes the passed-in packet and counts it as sent.
+	 */
+	private synchronized void send(APacketBase packet){
+		sendBuffer.clear();
+		packet.writeToBuffer(sendBuffer);
+		++packetsSent;
+		bytesSent += sendBuffer.readableBytes();
+	}
+}
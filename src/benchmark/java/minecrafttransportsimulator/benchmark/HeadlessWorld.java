@@ -0,0 +1,449 @@
+package minecrafttransportsimulator.benchmark;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import minecrafttransportsimulator.baseclasses.BlockCollisionSnapshot;
+import minecrafttransportsimulator.baseclasses.BoundingBox;
+import minecrafttransportsimulator.baseclasses.Damage;
+import minecrafttransportsimulator.baseclasses.Point3d;
+import minecrafttransportsimulator.baseclasses.Point3i;
+import minecrafttransportsimulator.blocks.components.ABlockBase;
+import minecrafttransportsimulator.blocks.components.ABlockBase.Axis;
+import minecrafttransportsimulator.blocks.tileentities.components.ATileEntityBase;
+import minecrafttransportsimulator.items.components.AItemBase;
+import minecrafttransportsimulator.jsondefs.AJSONItem;
+import minecrafttransportsimulator.mcinterface.IWrapperBlock;
+import minecrafttransportsimulator.mcinterface.IWrapperEntity;
+import minecrafttransportsimulator.mcinterface.IWrapperItemStack;
+import minecrafttransportsimulator.mcinterface.IWrapperNBT;
+import minecrafttransportsimulator.mcinterface.IWrapperPlayer;
+import minecrafttransportsimulator.mcinterface.IWrapperTileEntity;
+import minecrafttransportsimulator.mcinterface.IWrapperWorld;
+import minecrafttransportsimulator.vehicles.main.AEntityBase;
+
+/**In-memory version of {@link IWrapperWorld} for the headless harness.  This world has no entities,
+ * players, or tile entities.  Instead, it's made up of flat terrain, with all blocks below the ground
+ * level being solid.  Walls of solid blocks may be added on top of the terrain, and areas of the terrain
+ * may be replaced with water.  Blocks broken by vehicles are removed, so collisions that break blocks
+ * behave as they would in a real world.
+ * <br><br>
+ * Collision checks are done block-by-block the same way the MC world does them, creating a new block
+ * wrapper for every colliding block.  This keeps the work and allocations of the collision code close
+ * to what they are in-game, which is the whole point of benchmarking them.
+ *
+ * @author don_bruce
+ */
+public class HeadlessWorld implements IWrapperWorld{
+	/**Hardness of terrain blocks.  Same as dirt.**/
+	public static final float TERRAIN_HARDNESS = 0.5F;
+	/**Hardness of wall blocks.  Same as stone.**/
+	public static final float WALL_HARDNESS = 1.5F;
+	
+	private final int groundLevel;
+	private final List<int[]> walls = new ArrayList<int[]>();
+	private final List<int[]> waterAreas = new ArrayList<int[]>();
+	private final Set<Long> destroyedBlocks = new HashSet<Long>();
+	private long time;
+	
+	/**
+	 *  Creates a new world.  All blocks below the passed-in ground level are solid,
+	 *  so vehicles placed at the ground level will be sitting on top of the terrain.
+	 */
+	public HeadlessWorld(int groundLevel){
+		this.groundLevel = groundLevel;
+	}
+	
+	/**
+	 *  Adds a wall of solid blocks.  Bounds are in block coordinates, and are inclusive.
+	 */
+	public void addWall(int minX, int minY, int minZ, int maxX, int maxY, int maxZ){
+		walls.add(new int[]{minX, minY, minZ, maxX, maxY, maxZ});
+	}
+	
+	/**
+	 *  Replaces the terrain in the passed-in area with water.  The water goes from
+	 *  the ground level down to the passed-in depth, with solid terrain below it.
+	 */
+	public void addWater(int minX, int minZ, int maxX, int maxZ, int depth){
+		waterAreas.add(new int[]{minX, groundLevel - depth, minZ, maxX, groundLevel - 1, maxZ});
+	}
+	
+	/**
+	 *  Advances the world time.  Called by the harness at the end of every tick.
+	 */
+	public void tick(){
+		++time;
+	}
+	
+	/**
+	 *  Returns the number of blocks that have been destroyed in this world.
+	 */
+	public int getDestroyedBlockCount(){
+		return destroyedBlocks.size();
+	}
+	
+	private static boolean isInArea(int[] area, int x, int y, int z){
+		return x >= area[0] && y >= area[1] && z >= area[2] && x <= area[3] && y <= area[4] && z <= area[5];
+	}
+	
+	private boolean isLiquid(int x, int y, int z){
+		for(int[] waterArea : waterAreas){
+			if(isInArea(waterArea, x, y, z)){
+				return true;
+			}
+		}
+		return false;
+	}
+	
+	private boolean isWall(int x, int y, int z){
+		for(int[] wall : walls){
+			if(isInArea(wall, x, y, z)){
+				return true;
+			}
+		}
+		return false;
+	}
+	
+	private boolean isSolid(int x, int y, int z){
+		if(y < groundLevel ? isLiquid(x, y, z) : !isWall(x, y, z)){
+			return false;
+		}
+		return destroyedBlocks.isEmpty() || !destroyedBlocks.contains(getBlockKey(x, y, z));
+	}
+	
+	/**
+	 *  Returns a key for the block at the passed-in position.  Point3i doesn't have a hash,
+	 *  so we can't use it as a key in sets.
+	 */
+	private static long getBlockKey(int x, int y, int z){
+		return ((x & 0x3FFFFFFL) << 38) | ((z & 0x3FFFFFFL) << 12) | (y & 0xFFFL);
+	}
+	
+	@Override
+	public boolean isClient(){
+		return false;
+	}
+	
+	@Override
+	public int getDimensionID(){
+		return 0;
+	}
+	
+	@Override
+	public long getTime(){
+		return time;
+	}
+	
+	@Override
+	public long getMaxHeight(){
+		return 256;
+	}
+	
+	@Override
+	public IWrapperEntity getEntity(int id){
+		return null;
+	}
+	
+	@Override
+	public List<IWrapperEntity> getEntitiesWithin(BoundingBox box){
+		return new ArrayList<IWrapperEntity>();
+	}
+	
+	@Override
+	public IWrapperEntity getNearestHostile(IWrapperEntity entityLooking, int searchRadius){
+		return null;
+	}
+	
+	@Override
+	public List<IWrapperPlayer> getPlayersTracking(AEntityBase entity){
+		return new ArrayList<IWrapperPlayer>();
+	}
+	
+	@Override
+	public List<IWrapperPlayer> getPlayersTracking(Point3i position){
+		return new ArrayList<IWrapperPlayer>();
+	}
+	
+	@Override
+	public void spawnEntity(AEntityBase entity){}
+	
+	@Override
+	public Map<IWrapperEntity, BoundingBox> attackEntities(Damage damage, AEntityBase damageSource, Point3d motion){
+		return new HashMap<IWrapperEntity, BoundingBox>();
+	}
+	
+	@Override
+	public void moveEntities(List<BoundingBox> boxesToCheck, Point3d intialPosition, Point3d initalRotation, Point3d linearMovement, Point3d angularMovement){}
+	
+	@Override
+	public void loadEntities(BoundingBox box, AEntityBase vehicle){}
+	
+	@Override
+	public IWrapperBlock getWrapperBlock(Point3i point){
+		if(isSolid(point.x, point.y, point.z) || isLiquid(point.x, point.y, point.z)){
+			return new HeadlessBlock(point.x, point.y, point.z);
+		}else{
+			return null;
+		}
+	}
+	
+	@Override
+	public ABlockBase getBlock(Point3i point){
+		return null;
+	}
+	
+	@Override
+	public Point3i getBlockHit(Point3d start, Point3d end){
+		//Step along the path in small increments.  Not exact, but more than good enough for the harness.
+		double distance = start.distanceTo(end);
+		int steps = (int) Math.ceil(distance*8);
+		for(int i=0; i<=steps; ++i){
+			double factor = steps == 0 ? 0 : i/(double) steps;
+			int x = (int) Math.floor(start.x + (end.x - start.x)*factor);
+			int y = (int) Math.floor(start.y + (end.y - start.y)*factor);
+			int z = (int) Math.floor(start.z + (end.z - start.z)*factor);
+			if(isSolid(x, y, z)){
+				return new Point3i(x, y, z);
+			}
+		}
+		return null;
+	}
+	
+	@Override
+	public float getBlockRotation(Point3i point){
+		return 0;
+	}
+	
+	@Override
+	public boolean isBlockSolid(Point3i point){
+		return isSolid(point.x, point.y, point.z);
+	}
+	
+	@Override
+	public boolean isBlockLiquid(Point3i point){
+		return isLiquid(point.x, point.y, point.z);
+	}
+	
+	@Override
+	public boolean isBlockBottomSlab(Point3i point){
+		return false;
+	}
+	
+	@Override
+	public boolean isBlockTopSlab(Point3i point){
+		return false;
+	}
+	
+	@Override
+	public void updateBoundingBoxCollisions(BoundingBox box, Point3d collisionMotion, boolean ignoreIfGreater){
+		double boxMinX = box.globalCenter.x - box.widthRadius;
+		double boxMinY = box.globalCenter.y - box.heightRadius;
+		double boxMinZ = box.globalCenter.z - box.depthRadius;
+		double boxMaxX = box.globalCenter.x + box.widthRadius;
+		double boxMaxY = box.globalCenter.y + box.heightRadius;
+		double boxMaxZ = box.globalCenter.z + box.depthRadius;
+		box.collidingBlocks.clear();
+		List<Point3i> collidingPositions = new ArrayList<Point3i>();
+		for(int i = (int) Math.floor(boxMinX); i < Math.ceil(boxMaxX); ++i){
+			for(int j = (int) Math.floor(boxMinY); j < Math.ceil(boxMaxY); ++j){
+				for(int k = (int) Math.floor(boxMinZ); k < Math.ceil(boxMaxZ); ++k){
+					if(isSolid(i, j, k) || (box.collidesWithLiquids && isLiquid(i, j, k))){
+						//All blocks are full cubes, so any block in the range is a collision.
+						box.collidingBlocks.add(new HeadlessBlock(i, j, k));
+						collidingPositions.add(new Point3i(i, j, k));
+					}
+				}
+			}
+		}
+		
+		//If we are in the depth bounds for this collision, set it as the collision depth.
+		box.currentCollisionDepth.set(0D, 0D, 0D);
+		double boxCollisionDepth;
+		for(Point3i position : collidingPositions){
+			if(collisionMotion.x > 0){
+				boxCollisionDepth = boxMaxX - position.x;
+				if(!ignoreIfGreater || collisionMotion.x - boxCollisionDepth > 0){
+					box.currentCollisionDepth.x = Math.max(box.currentCollisionDepth.x, boxCollisionDepth);
+				}
+			}else if(collisionMotion.x < 0){
+				boxCollisionDepth = position.x + 1 - boxMinX;
+				if(!ignoreIfGreater || collisionMotion.x + boxCollisionDepth < 0){
+					box.currentCollisionDepth.x = Math.max(box.currentCollisionDepth.x, boxCollisionDepth);
+				}
+			}
+			if(collisionMotion.y > 0){
+				boxCollisionDepth = boxMaxY - position.y;
+				if(!ignoreIfGreater || collisionMotion.y - boxCollisionDepth > 0){
+					box.currentCollisionDepth.y = Math.max(box.currentCollisionDepth.y, boxCollisionDepth);
+				}
+			}else if(collisionMotion.y < 0){
+				boxCollisionDepth = position.y + 1 - boxMinY;
+				if(!ignoreIfGreater || collisionMotion.y + boxCollisionDepth < 0){
+					box.currentCollisionDepth.y = Math.max(box.currentCollisionDepth.y, boxCollisionDepth);
+				}
+			}
+			if(collisionMotion.z > 0){
+				boxCollisionDepth = position.z + 1 - boxMinZ;
+				if(!ignoreIfGreater || collisionMotion.z - boxCollisionDepth > 0){
+					box.currentCollisionDepth.z = Math.max(box.currentCollisionDepth.z, boxCollisionDepth);
+				}
+			}else if(collisionMotion.z < 0){
+				boxCollisionDepth = position.z + 1 - boxMinZ;
+				if(!ignoreIfGreater || collisionMotion.z + boxCollisionDepth < 0){
+					box.currentCollisionDepth.z = Math.max(box.currentCollisionDepth.z, boxCollisionDepth);
+				}
+			}
+		}
+	}
+	
+	@Override
+	public void populateCollisionSnapshot(BlockCollisionSnapshot snapshot, double minX, double minY, double minZ, double maxX, double maxY, double maxZ){
+		snapshot.reset(minX, minY, minZ, maxX, maxY, maxZ);
+		for(int i = (int) Math.floor(minX); i < Math.ceil(maxX); ++i){
+			for(int j = (int) Math.floor(minY); j < Math.ceil(maxY); ++j){
+				for(int k = (int) Math.floor(minZ); k < Math.ceil(maxZ); ++k){
+					if(isSolid(i, j, k)){
+						snapshot.addBox(i, j, k, i + 1, j + 1, k + 1, i, j, k, new HeadlessBlock(i, j, k), false);
+					}else if(isLiquid(i, j, k)){
+						snapshot.addBox(i, j, k, i + 1, j + 1, k + 1, i, j, k, new HeadlessBlock(i, j, k), true);
+					}
+				}
+			}
+		}
+	}
+	
+	@Override
+	public int getRedstonePower(Point3i point){
+		return 0;
+	}
+	
+	@Override
+	public float getRainStrength(Point3i point){
+		return 0;
+	}
+	
+	@Override
+	public float getTemperature(Point3i point){
+		return 0.8F;
+	}
+	
+	@Override
+	public <TileEntityType extends ATileEntityBase<JSONDefinition>, JSONDefinition extends AJSONItem<?>> boolean setBlock(ABlockBase block, Point3i location, IWrapperPlayer player, Axis axis){
+		return false;
+	}
+	
+	@Override
+	public IWrapperTileEntity getWrapperTileEntity(Point3i position){
+		return null;
+	}
+	
+	@Override
+	public <TileEntityType extends ATileEntityBase<?>> TileEntityType getTileEntity(Point3i point){
+		return null;
+	}
+	
+	@Override
+	public void markTileEntityChanged(Point3i point){}
+	
+	@Override
+	public float getLightBrightness(Point3i point, boolean calculateBlock){
+		return 1.0F;
+	}
+	
+	@Override
+	public void updateLightBrightness(Point3i point){}
+	
+	@Override
+	public void destroyBlock(Point3i point){
+		destroyedBlocks.add(getBlockKey(point.x, point.y, point.z));
+	}
+	
+	@Override
+	public boolean isAir(Point3i point){
+		return !isSolid(point.x, point.y, point.z) && !isLiquid(point.x, point.y, point.z);
+	}
+	
+	@Override
+	public boolean isFire(Point3i point){
+		return false;
+	}
+	
+	@Override
+	public void setToFire(Point3i point){}
+	
+	@Override
+	public boolean fertilizeBlock(Point3i point, IWrapperItemStack stack){
+		return false;
+	}
+	
+	@Override
+	public List<IWrapperItemStack> harvestBlock(Point3i point){
+		return null;
+	}
+	
+	@Override
+	public boolean plantBlock(Point3i point, IWrapperItemStack stack){
+		return false;
+	}
+	
+	@Override
+	public boolean plowBlock(Point3i point){
+		return false;
+	}
+	
+	@Override
+	public void spawnItem(AItemBase item, IWrapperNBT data, Point3d point){}
+	
+	@Override
+	public void spawnItemStack(IWrapperItemStack stack, Point3d point){}
+	
+	@Override
+	public void spawnExplosion(AEntityBase source, Point3d location, double strength, boolean flames){}
+	
+	@Override
+	public void spawnExplosion(IWrapperPlayer player, Point3d location, double strength, boolean flames){}
+	
+	
+	/**Block wrapper for blocks in the headless world.  Blocks below the ground level are terrain,
+	 * while blocks above it are walls.
+	 *
+	 * @author don_bruce
+	 */
+	private class HeadlessBlock implements IWrapperBlock{
+		private final Point3i position;
+		
+		private HeadlessBlock(int x, int y, int z){
+			this.position = new Point3i(x, y, z);
+		}
+		
+		@Override
+		public Point3i getPosition(){
+			return position;
+		}
+		
+		@Override
+		public float getHardness(){
+			return position.y < groundLevel ? TERRAIN_HARDNESS : WALL_HARDNESS;
+		}
+		
+		@Override
+		public float getSlipperiness(){
+			return 0.6F;
+		}
+		
+		@Override
+		public boolean isLiquid(){
+			return HeadlessWorld.this.isLiquid(position.x, position.y, position.z);
+		}
+		
+		@Override
+		public boolean isRaining(){
+			return false;
+		}
+	}
+}
@@ -0,0 +1,98 @@
+package minecrafttransportsimulator.benchmark;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import minecrafttransportsimulator.jsondefs.JSONConfig;
+import minecrafttransportsimulator.mcinterface.MasterLoader;
+import minecrafttransportsimulator.rendering.components.OBJParser;
+
+/**JMH benchmark for loading OBJ models.  Each invocation loads all the bundled decor models with
+ * {@link OBJParser#parseOBJModel(String)}.  If cached is false, the model cache is deleted before
+ * every invocation, so each model is parsed and then written to the cache.  If cached is true, the
+ * cache is filled at setup, so each model is read from the cache.  The score is in models per second,
+ * and the cache goes in a temporary directory that is deleted after the run.
+ *
+ * @author don_bruce
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(2)
+@State(Scope.Thread)
+public class OBJParserBenchmark{
+	/**Number of models in {@link #MODELS}.  Needs to be a constant to be used in the benchmark annotations.**/
+	private static final int MODEL_COUNT = 11;
+	private static final String[] MODELS = new String[]{"custombench", "decorbench", "enginebench", "fuelpump", "gunbench", "instrumentbench", "itembench", "propellerbench", "seatbench", "vehiclebench", "wheelbench"};
+	
+	@Param({"false", "true"})
+	public boolean cached;
+	
+	private File gameDirectory;
+	private File cacheDirectory;
+	
+	@Setup(Level.Trial)
+	public void setup() throws Exception{
+		HeadlessHarness.setup(new JSONConfig());
+		gameDirectory = Files.createTempDirectory("mtsbenchmark").toFile();
+		MasterLoader.gameDirectory = gameDirectory.getAbsolutePath();
+		cacheDirectory = new File(gameDirectory, "config" + File.separator + MasterLoader.MODID + "_modelcache");
+		for(String model : MODELS){
+			OBJParser.parseOBJModel(getModelLocation(model));
+		}
+	}
+	
+	@Setup(Level.Invocation)
+	public void clearCache(){
+		if(!cached){
+			deleteCacheFiles();
+		}
+	}
+	
+	@TearDown(Level.Trial)
+	public void tearDown(){
+		deleteCacheFiles();
+		cacheDirectory.delete();
+		new File(gameDirectory, "config").delete();
+		gameDirectory.delete();
+	}
+	
+	@Benchmark
+	@OperationsPerInvocation(MODEL_COUNT)
+	public void loadModels(Blackhole blackhole){
+		for(String model : MODELS){
+			blackhole.consume(OBJParser.parseOBJModel(getModelLocation(model)));
+		}
+	}
+	
+	private void deleteCacheFiles(){
+		File[] cacheFiles = cacheDirectory.listFiles();
+		if(cacheFiles != null){
+			for(File cacheFile : cacheFiles){
+				cacheFile.delete();
+			}
+		}
+	}
+	
+	private static String getModelLocation(String model){
+		return "/assets/" + MasterLoader.MODID + "/objmodels/decors/" + model + ".obj";
+	}
+}
@@ -0,0 +1,143 @@
+package minecrafttransportsimulator.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import minecrafttransportsimulator.baseclasses.Point3d;
+import minecrafttransportsimulator.jsondefs.JSONConfig;
+import minecrafttransportsimulator.mcinterface.MasterLoader;
+import minecrafttransportsimulator.packets.components.APacketBase;
+import minecrafttransportsimulator.packets.instances.PacketBatch;
+import minecrafttransportsimulator.packets.instances.PacketPlayerChatMessage;
+import minecrafttransportsimulator.packets.instances.PacketVehicleServerMovement;
+import minecrafttransportsimulator.packets.instances.PacketVehicleServerMovement.MovementUpdate;
+
+/**JMH benchmark for encoding and decoding packets.  Packets are decoded from the same buffer every
+ * invocation, once through the network interface's table of constructor handles, and once by looking
+ * up the constructor with reflection and calling it, which is how packets used to be created.  The
+ * score is in packets per microsecond.  Setup checks that decoded packets encode to the same bytes.
+ * Batches decode all the packets in them, so they are far slower than a single packet.
+ *
+ * @author don_bruce
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+@State(Scope.Thread)
+public class PacketBenchmark{
+	/**Vehicles in each movement packet.**/
+	private static final int MOVEMENT_UPDATES = 16;
+	/**Packets in each batch.**/
+	private static final int BATCH_PACKETS = 16;
+	
+	@Param({"CHAT", "MOVEMENT", "BATCH"})
+	public PacketType packetType;
+	
+	private APacketBase packet;
+	private Class<? extends APacketBase> packetClass;
+	private final ByteBuf encodedBuffer = Unpooled.buffer();
+	private final ByteBuf encodeBuffer = Unpooled.buffer();
+	
+	@Setup(Level.Trial)
+	public void setup(){
+		HeadlessHarness.setup(new JSONConfig());
+		packet = packetType.createPacket();
+		packetClass = packet.getClass();
+		packet.writeToBuffer(encodedBuffer);
+		
+		//Batches don't keep their data once decoded, as clients never send them on, so only check the other packets.
+		if(!packetType.equals(PacketType.BATCH)){
+			ByteBuf decodedBuffer = Unpooled.buffer();
+			MasterLoader.networkInterface.createPacketFromBuffer(encodedBuffer).writeToBuffer(decodedBuffer);
+			encodedBuffer.readerIndex(0);
+			if(!decodedBuffer.equals(encodedBuffer)){
+				throw new IllegalStateException("ERROR: Decoded " + packetType.name() + " packet did not encode to the same bytes.");
+			}
+		}
+	}
+	
+	@Benchmark
+	public void encode(){
+		encodeBuffer.clear();
+		packet.writeToBuffer(encodeBuffer);
+	}
+	
+	@Benchmark
+	public APacketBase decodeHandle(){
+		encodedBuffer.readerIndex(0);
+		return MasterLoader.networkInterface.createPacketFromBuffer(encodedBuffer);
+	}
+	
+	@Benchmark
+	public APacketBase decodeReflection() throws Exception{
+		encodedBuffer.readerIndex(0);
+		encodedBuffer.readByte();
+		return packetClass.getConstructor(ByteBuf.class).newInstance(encodedBuffer);
+	}
+	
+	private static PacketVehicleServerMovement createMovementPacket(){
+		List<MovementUpdate> updates = new ArrayList<MovementUpdate>();
+		for(int i=0; i<MOVEMENT_UPDATES; ++i){
+			//Every fourth update is a keyframe, the rest are deltas that quantize exactly.
+			if(i%4 == 0){
+				updates.add(new MovementUpdate(i, true, new Point3d(0.123456789, -0.05, 0.9), new Point3d(0.01, 1.5, -0.2)));
+			}else{
+				updates.add(new MovementUpdate(i, false, new Point3d(0.25, 0, -0.5), new Point3d(0, 0.125, 0)));
+			}
+		}
+		return new PacketVehicleServerMovement(updates);
+	}
+	
+	/**Types of packets that can be benchmarked.
+	 *
+	 * @author don_bruce
+	 */
+	public enum PacketType{
+		/**A chat message.  Small, and mostly a string.**/
+		CHAT,
+		/**A movement packet for a player tracking a number of moving vehicles.**/
+		MOVEMENT,
+		/**A batch of movement and chat packets.**/
+		BATCH;
+		
+		private APacketBase createPacket(){
+			switch(this){
+				case CHAT: return new PacketPlayerChatMessage("interact.fuelhose.secondlink");
+				case MOVEMENT: return createMovementPacket();
+				default: {
+					List<byte[]> encodedPackets = new ArrayList<byte[]>();
+					for(int i=0; i<BATCH_PACKETS; ++i){
+						ByteBuf buf = Unpooled.buffer();
+						if(i%2 == 0){
+							createMovementPacket().writeToBuffer(buf);
+						}else{
+							new PacketPlayerChatMessage("interact.fuelhose.secondlink").writeToBuffer(buf);
+						}
+						byte[] encodedPacket = new byte[buf.readableBytes()];
+						buf.readBytes(encodedPacket);
+						encodedPackets.add(encodedPacket);
+					}
+					return new PacketBatch(encodedPackets, 0);
+				}
+			}
+		}
+	}
+}
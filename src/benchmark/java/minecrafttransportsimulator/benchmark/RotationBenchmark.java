@@ -0,0 +1,97 @@
+package minecrafttransportsimulator.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import minecrafttransportsimulator.baseclasses.Point3d;
+import minecrafttransportsimulator.baseclasses.RotationMatrix;
+
+/**JMH benchmark for rotating entity boxes.  Each invocation is one entity tick: the entity's angles
+ * change, and then all of its boxes are moved to world coordinates, once with {@link Point3d#rotateFine(Point3d)}
+ * for every box, and once with a {@link RotationMatrix} set up for the tick.  The score is in ticks per
+ * microsecond.  Setup checks that both ways put the boxes in the same place.
+ *
+ * @author don_bruce
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+@State(Scope.Thread)
+public class RotationBenchmark{
+	/**Largest difference allowed between the two ways of rotating.**/
+	private static final double TOLERANCE = 1E-9;
+	
+	@Param({"40"})
+	public int boxCount;
+	
+	private Point3d[] boxOffsets;
+	private final Point3d position = new Point3d(100, 64, -200);
+	private final Point3d angles = new Point3d(0, 0, 0);
+	private final Point3d boxPosition = new Point3d(0, 0, 0);
+	private final RotationMatrix matrix = new RotationMatrix();
+	
+	@Setup(Level.Trial)
+	public void setup(){
+		Random random = new Random(0);
+		boxOffsets = new Point3d[boxCount];
+		for(int i=0; i<boxCount; ++i){
+			boxOffsets[i] = new Point3d(random.nextDouble()*4 - 2, random.nextDouble()*2, random.nextDouble()*8 - 4);
+		}
+		
+		Point3d fineResult = new Point3d(0, 0, 0);
+		for(int i=0; i<1000; ++i){
+			angles.set(random.nextDouble()*360 - 180, random.nextDouble()*360, random.nextDouble()*360 - 180);
+			matrix.setToAngles(angles);
+			for(Point3d boxOffset : boxOffsets){
+				fineResult.setTo(boxOffset).rotateFine(angles).add(position);
+				boxPosition.setTo(boxOffset).transform(matrix, position);
+				if(Math.abs(fineResult.x - boxPosition.x) > TOLERANCE || Math.abs(fineResult.y - boxPosition.y) > TOLERANCE || Math.abs(fineResult.z - boxPosition.z) > TOLERANCE){
+					throw new IllegalStateException("ERROR: Matrix rotation of " + boxOffset + " by " + angles + " gave " + boxPosition + " rather than " + fineResult);
+				}
+			}
+		}
+	}
+	
+	@Benchmark
+	public void rotateFine(Blackhole blackhole){
+		changeAngles();
+		for(Point3d boxOffset : boxOffsets){
+			blackhole.consume(boxPosition.setTo(boxOffset).rotateFine(angles).add(position));
+		}
+	}
+	
+	@Benchmark
+	public void rotationMatrix(Blackhole blackhole){
+		changeAngles();
+		matrix.setToAngles(angles);
+		for(Point3d boxOffset : boxOffsets){
+			blackhole.consume(boxPosition.setTo(boxOffset).transform(matrix, position));
+		}
+	}
+	
+	/**
+	 *  Turns the entity a bit, as it would while driving.  The matrix has to be re-computed
+	 *  every tick, so the benchmark doesn't favor it by keeping the same angles.
+	 */
+	private void changeAngles(){
+		angles.y = (angles.y + 0.5)%360;
+		angles.x = 5*Math.sin(Math.toRadians(angles.y));
+		angles.z = 2*Math.cos(Math.toRadians(angles.y));
+	}
+}
@@ -0,0 +1,256 @@
+package minecrafttransportsimulator.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import minecrafttransportsimulator.baseclasses.Point3d;
+import minecrafttransportsimulator.items.instances.ItemVehicle;
+import minecrafttransportsimulator.jsondefs.JSONConfig;
+import minecrafttransportsimulator.jsondefs.JSONVehicle;
+import minecrafttransportsimulator.jsondefs.JSONVehicle.VehicleCollisionBox;
+import minecrafttransportsimulator.jsondefs.JSONVehicle.VehiclePart;
+import minecrafttransportsimulator.vehicles.main.EntityVehicleF_Physics;
+
+/**JMH benchmark for vehicle physics and collisions.  Each invocation runs one of the {@link Scenario}s
+ * in a new {@link HeadlessWorld}, spawning a number of vehicles and driving them with scripted controls
+ * for {@link #TICKS} ticks.  Only the ticks are timed, not the world setup, and the score is in ticks
+ * per second.  Run with -prof gc to get the bytes allocated per tick.  The packets vehicles send, and
+ * the blocks they break, are reported as extra counters so changes in behavior are easy to spot.
+ * <br><br>
+ * Vehicles and parts are taken from the pack jars in the benchmark.packs system property.  The first
+ * loaded vehicle that fits each scenario is used.  Scenarios with no vehicle that fits fail at setup.
+ *
+ * @author don_bruce
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Fork(2)
+@State(Scope.Thread)
+public class VehicleBenchmark{
+	/**Ticks each scenario is run for.**/
+	public static final int TICKS = 600;
+	/**Distance between vehicles.  Large enough that they won't hit each other.**/
+	private static final int LANE_WIDTH = 16;
+	/**Distance from the spawn point to the wall in the collision scenario.**/
+	private static final int WALL_DISTANCE = 24;
+	/**Ticks to crank the engines for before letting off the starters and applying throttle.**/
+	private static final int STARTER_TICKS = 40;
+	/**Ticks aircraft roll down the runway before pulling up.**/
+	private static final int TAKEOFF_TICKS = 300;
+	
+	@Param({"GROUND", "AIRCRAFT", "BOAT", "TRAILER", "COLLISION"})
+	public Scenario scenario;
+	
+	@Param({"16"})
+	public int vehicleCount;
+	
+	@Param({"0"})
+	public int physicsThreads;
+	
+	private ItemVehicle[] scenarioItems;
+	private HeadlessWorld world;
+	private final List<EntityVehicleF_Physics> drivenVehicles = new ArrayList<EntityVehicleF_Physics>();
+	private final List<EntityVehicleF_Physics> allVehicles = new ArrayList<EntityVehicleF_Physics>();
+	
+	@Setup(Level.Trial)
+	public void setupTrial() throws Exception{
+		JSONConfig config = new JSONConfig();
+		config.general.physicsThreads.value = physicsThreads;
+		HeadlessHarness.setup(config);
+		HeadlessHarness.loadPacks();
+		scenarioItems = scenario.getVehicles(HeadlessHarness.getVehicles());
+		if(scenarioItems == null){
+			throw new IllegalStateException("ERROR: No loaded vehicle fits the " + scenario.name() + " scenario.");
+		}
+	}
+	
+	@Setup(Level.Invocation)
+	public void setupWorld(){
+		world = new HeadlessWorld(HeadlessHarness.GROUND_LEVEL);
+		if(scenario.equals(Scenario.BOAT)){
+			world.addWater(-LANE_WIDTH, -LANE_WIDTH, vehicleCount*LANE_WIDTH, 4096, 4);
+		}else if(scenario.equals(Scenario.COLLISION)){
+			world.addWall(-LANE_WIDTH, HeadlessHarness.GROUND_LEVEL, WALL_DISTANCE, vehicleCount*LANE_WIDTH, HeadlessHarness.GROUND_LEVEL + 2, WALL_DISTANCE);
+		}
+		
+		for(int i=0; i<vehicleCount; ++i){
+			Point3d position = new Point3d(i*LANE_WIDTH, HeadlessHarness.GROUND_LEVEL, 0);
+			EntityVehicleF_Physics vehicle = HeadlessHarness.spawnVehicle(world, scenarioItems[0], position, 0);
+			drivenVehicles.add(vehicle);
+			allVehicles.add(vehicle);
+			if(scenarioItems.length > 1){
+				//Put the trailer's hookup right on the hitch.  Neither vehicle is rotated, so no need to rotate the points.
+				Point3d trailerPosition = position.copy().add(scenarioItems[0].definition.motorized.hitchPos).subtract(scenarioItems[1].definition.motorized.hookupPos);
+				EntityVehicleF_Physics trailer = HeadlessHarness.spawnVehicle(world, scenarioItems[1], trailerPosition, 0);
+				trailer.towedByVehicle = vehicle;
+				vehicle.towedVehicle = trailer;
+				allVehicles.add(trailer);
+			}
+		}
+	}
+	
+	@TearDown(Level.Invocation)
+	public void clearWorld(){
+		HeadlessHarness.clear(world);
+		drivenVehicles.clear();
+		allVehicles.clear();
+	}
+	
+	@Benchmark
+	@OperationsPerInvocation(TICKS)
+	public void runScenario(ScenarioCounters counters){
+		int packetsAtStart = HeadlessHarness.getPacketsSent();
+		long bytesAtStart = HeadlessHarness.getBytesSent();
+		for(int tick=0; tick<TICKS; ++tick){
+			for(EntityVehicleF_Physics vehicle : drivenVehicles){
+				scenario.control(vehicle, tick);
+			}
+			HeadlessHarness.tick(world, allVehicles);
+		}
+		counters.packets += HeadlessHarness.getPacketsSent() - packetsAtStart;
+		counters.packetBytes += HeadlessHarness.getBytesSent() - bytesAtStart;
+		counters.blocksBroken += world.getDestroyedBlockCount();
+	}
+	
+	/**Extra counters reported for each iteration, alongside the ticks per second.
+	 *
+	 * @author don_bruce
+	 */
+	@AuxCounters(AuxCounters.Type.EVENTS)
+	@State(Scope.Thread)
+	public static class ScenarioCounters{
+		public long packets;
+		public long packetBytes;
+		public long blocksBroken;
+		
+		@Setup(Level.Iteration)
+		public void reset(){
+			packets = 0;
+			packetBytes = 0;
+			blocksBroken = 0;
+		}
+	}
+	
+	private static boolean hasPartType(JSONVehicle definition, String type){
+		for(VehiclePart packPart : definition.parts){
+			if(packPart.types.contains(type)){
+				return true;
+			}
+		}
+		return false;
+	}
+	
+	private static boolean isDrivable(JSONVehicle definition){
+		return !definition.general.isAircraft && !definition.motorized.isTrailer && (hasPartType(definition, "ground_wheel") || hasPartType(definition, "ground_tread"));
+	}
+	
+	private static boolean isBoat(JSONVehicle definition){
+		if(definition.general.isAircraft || definition.motorized.isTrailer){
+			return false;
+		}else if(hasPartType(definition, "ground_pontoon")){
+			return true;
+		}else if(definition.collision != null){
+			for(VehicleCollisionBox box : definition.collision){
+				if(box.collidesWithLiquids){
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+	
+	/**Scenarios that can be benchmarked.  Each one picks the vehicles it uses, and drives the vehicles every tick.
+	 *
+	 * @author don_bruce
+	 */
+	public enum Scenario{
+		/**Cars weaving down flat ground.**/
+		GROUND,
+		/**Planes taking off and climbing.**/
+		AIRCRAFT,
+		/**Boats weaving across open water.**/
+		BOAT,
+		/**Cars weaving down flat ground while towing trailers.**/
+		TRAILER,
+		/**Cars driving straight into a wall.**/
+		COLLISION;
+		
+		/**
+		 *  Returns the vehicles to use for this scenario, or null if none of the passed-in vehicles fit it.
+		 *  The first vehicle is the one that is driven.  The second, if present, is towed by the first.
+		 */
+		private ItemVehicle[] getVehicles(List<ItemVehicle> vehicleItems){
+			for(ItemVehicle item : vehicleItems){
+				JSONVehicle definition = item.definition;
+				switch(this){
+					case GROUND:
+					case COLLISION: if(isDrivable(definition)){
+						return new ItemVehicle[]{item};
+					}break;
+					case AIRCRAFT: if(definition.general.isAircraft && !definition.general.isBlimp){
+						return new ItemVehicle[]{item};
+					}break;
+					case BOAT: if(isBoat(definition)){
+						return new ItemVehicle[]{item};
+					}break;
+					case TRAILER: if(isDrivable(definition) && definition.motorized.hitchPos != null && definition.motorized.hitchTypes != null){
+						for(ItemVehicle trailerItem : vehicleItems){
+							if(trailerItem.definition.motorized.isTrailer && trailerItem.definition.motorized.hookupPos != null){
+								for(String hitchType : definition.motorized.hitchTypes){
+									if(hitchType.equals(trailerItem.definition.motorized.hookupType)){
+										return new ItemVehicle[]{item, trailerItem};
+									}
+								}
+							}
+						}
+					}break;
+				}
+			}
+			return null;
+		}
+		
+		/**
+		 *  Sets the controls of the passed-in vehicle for the passed-in tick.  Vehicles crank their engines,
+		 *  then go to full throttle.  Ground vehicles and boats weave back and forth, while aircraft roll
+		 *  straight ahead and then pull up.
+		 */
+		private void control(EntityVehicleF_Physics vehicle, int tick){
+			if(tick == 0){
+				vehicle.parkingBrakeOn = false;
+				HeadlessHarness.crankEngines(vehicle);
+			}else if(tick == STARTER_TICKS){
+				HeadlessHarness.releaseStarters(vehicle);
+				vehicle.throttle = 100;
+			}else if(tick > STARTER_TICKS){
+				switch(this){
+					case GROUND:
+					case BOAT:
+					case TRAILER: vehicle.rudderAngle = (short) (EntityVehicleF_Physics.MAX_RUDDER_ANGLE/2*Math.sin(tick/40D)); break;
+					case AIRCRAFT: if(tick == TAKEOFF_TICKS){
+						vehicle.elevatorAngle = -EntityVehicleF_Physics.MAX_ELEVATOR_ANGLE/4;
+					}break;
+					case COLLISION: break;
+				}
+			}
+		}
+	}
+}
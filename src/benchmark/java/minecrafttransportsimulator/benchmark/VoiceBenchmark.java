@@ -0,0 +1,191 @@
+package minecrafttransportsimulator.benchmark;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import minecrafttransportsimulator.baseclasses.Point3d;
+import minecrafttransportsimulator.jsondefs.JSONConfig;
+import minecrafttransportsimulator.mcinterface.IWrapperWorld;
+import minecrafttransportsimulator.sound.IRadioProvider;
+import minecrafttransportsimulator.sound.Radio;
+import minecrafttransportsimulator.sound.SoundInstance;
+import minecrafttransportsimulator.sound.VoiceManager;
+
+/**JMH benchmark for assigning voices to sounds.  Sounds are spread out around the listener, like
+ * vehicles running around a busy server, and one of them is a radio far from the listener.  Each
+ * invocation moves the listener a bit and calls {@link VoiceManager#assignVoices(List, int, double, double, double, minecrafttransportsimulator.sound.ISoundProvider)},
+ * as the audio system does every tick.  The score is in assignments per millisecond.
+ * <br><br>
+ * Setup checks that no more than the voice count of sounds get a voice, that the loudest sounds are the ones
+ * that get them, that sounds too quiet to hear never get one even if voices are free, and that the radio
+ * always gets one no matter how far away it is.
+ *
+ * @author don_bruce
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+@State(Scope.Thread)
+public class VoiceBenchmark{
+	/**Furthest distance sounds are from the listener.  Far enough that some are too quiet to hear.**/
+	private static final int SOUND_RANGE = 256;
+	
+	@Param({"48"})
+	public int voiceCount;
+	
+	@Param({"100", "400"})
+	public int soundCount;
+	
+	private HeadlessWorld world;
+	private final List<SoundInstance> sounds = new ArrayList<SoundInstance>();
+	private final Point3d listener = new Point3d(0D, 0D, 0D);
+	
+	@Setup(Level.Trial)
+	public void setup(){
+		HeadlessHarness.setup(new JSONConfig());
+		world = new HeadlessWorld(HeadlessHarness.GROUND_LEVEL);
+		Random random = new Random(0);
+		for(int i=0; i<soundCount; ++i){
+			SoundSource source = new SoundSource(world, (random.nextFloat()*2 - 1)*SOUND_RANGE, random.nextFloat()*16, (random.nextFloat()*2 - 1)*SOUND_RANGE, false);
+			SoundInstance sound = new SoundInstance(source, "engine", i%4 != 0);
+			sound.volume = 0.25F + random.nextFloat()*0.75F;
+			sound.pitch = 0.5F + random.nextFloat()*1.5F;
+			sounds.add(sound);
+		}
+		SoundSource radioSource = new SoundSource(world, SOUND_RANGE*4, 0, SOUND_RANGE*4, true);
+		sounds.add(new SoundInstance(radioSource, "radio", false, radioSource.radio));
+		
+		//Check the sounds as they are, and then after a few more assignments to make sure the bonus for voiced sounds doesn't break anything.
+		for(int i=0; i<10; ++i){
+			VoiceManager.assignVoices(sounds, voiceCount, listener.x, listener.y, listener.z, null);
+			checkVoices(sounds, voiceCount);
+			listener.x += 8;
+		}
+		listener.x = 0;
+		
+		//Check that quiet sounds stay virtual even with free voices, and that the radio still gets a voice with none free.
+		List<SoundInstance> quietSounds = new ArrayList<SoundInstance>();
+		quietSounds.add(new SoundInstance(new SoundSource(world, 1, 0, 0, false), "engine", true));
+		quietSounds.add(new SoundInstance(new SoundSource(world, 100000, 0, 0, false), "engine", true));
+		quietSounds.add(new SoundInstance(radioSource, "radio", false, radioSource.radio));
+		VoiceManager.assignVoices(quietSounds, voiceCount, 0, 0, 0, null);
+		checkVoices(quietSounds, voiceCount);
+		if(quietSounds.get(0).virtual || !quietSounds.get(1).virtual){
+			throw new IllegalStateException("ERROR: With free voices, the close sound should have a voice and the far sound should not.");
+		}
+		VoiceManager.assignVoices(quietSounds, 0, 0, 0, 0, null);
+		if(quietSounds.get(2).virtual){
+			throw new IllegalStateException("ERROR: Radio did not get a voice when there were no voices free.");
+		}
+	}
+	
+	@Benchmark
+	public void assignVoices(){
+		listener.x = (listener.x + 0.5)%SOUND_RANGE;
+		VoiceManager.assignVoices(sounds, voiceCount, listener.x, listener.y, listener.z, null);
+	}
+	
+	/**
+	 *  Checks the voices assigned to the passed-in sounds.  Radios must always have a voice.  Other sounds must
+	 *  fit in the voices the radios left, must all be loud enough to hear, and must be at least as loud as every
+	 *  sound that didn't get a voice.  If there are voices left over, every virtual sound must be too quiet to hear.
+	 */
+	private static void checkVoices(List<SoundInstance> sounds, int voiceCount){
+		int radioVoices = 0;
+		int soundVoices = 0;
+		float quietestVoiced = Float.MAX_VALUE;
+		float loudestVirtual = 0;
+		for(SoundInstance sound : sounds){
+			if(sound.radio != null){
+				if(sound.virtual){
+					throw new IllegalStateException("ERROR: Radio sound was made virtual.");
+				}
+				++radioVoices;
+			}else if(!sound.virtual){
+				if(sound.audibility < VoiceManager.MIN_AUDIBILITY){
+					throw new IllegalStateException("ERROR: Sound with audibility " + sound.audibility + " got a voice, but is below the minimum of " + VoiceManager.MIN_AUDIBILITY);
+				}
+				++soundVoices;
+				quietestVoiced = Math.min(quietestVoiced, sound.audibility);
+			}else{
+				loudestVirtual = Math.max(loudestVirtual, sound.audibility);
+			}
+		}
+		if(soundVoices > Math.max(voiceCount - radioVoices, 0)){
+			throw new IllegalStateException("ERROR: " + soundVoices + " sounds got voices, but there were only " + voiceCount + " voices and " + radioVoices + " went to radios.");
+		}
+		if(quietestVoiced < loudestVirtual){
+			throw new IllegalStateException("ERROR: Sound with audibility " + quietestVoiced + " got a voice over a sound with audibility " + loudestVirtual);
+		}
+		if(radioVoices + soundVoices < voiceCount && loudestVirtual >= VoiceManager.MIN_AUDIBILITY){
+			throw new IllegalStateException("ERROR: Sound with audibility " + loudestVirtual + " didn't get a voice even though voices were free.");
+		}
+	}
+	
+	/**Bare sound provider that sits at a fixed position.  May have a radio, which is how radio sounds are made.
+	 *
+	 * @author don_bruce
+	 */
+	private static class SoundSource implements IRadioProvider{
+		private final IWrapperWorld world;
+		private final FloatBuffer position;
+		private final Point3d velocity = new Point3d(0D, 0D, 0D);
+		private final Radio radio;
+		
+		private SoundSource(IWrapperWorld world, float x, float y, float z, boolean hasRadio){
+			this.world = world;
+			this.position = ByteBuffer.allocateDirect(3*Float.BYTES).order(ByteOrder.nativeOrder()).asFloatBuffer();
+			position.put(x);
+			position.put(y);
+			position.put(z);
+			position.flip();
+			this.radio = hasRadio ? new Radio(this, new HeadlessNBT()) : null;
+		}
+		
+		@Override
+		public void startSounds(){}
+		
+		@Override
+		public void updateProviderSound(SoundInstance sound){}
+		
+		@Override
+		public FloatBuffer getProviderPosition(){
+			return position;
+		}
+		
+		@Override
+		public Point3d getProviderVelocity(){
+			return velocity;
+		}
+		
+		@Override
+		public IWrapperWorld getProviderWorld(){
+			return world;
+		}
+		
+		@Override
+		public Radio getRadio(){
+			return radio;
+		}
+	}
+}
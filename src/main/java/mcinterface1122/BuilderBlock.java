@@ -126,6 +126,14 @@ class BuilderBlock extends Block{
 		return block.onClicked(WrapperWorld.getWrapperFor(world), new Point3i(pos.getX(), pos.getY(), pos.getZ()), Axis.valueOf(side.name()), WrapperWorld.getWrapperFor(world).getWrapperFor(player));
 	}
     
+    @Override
+    @SuppressWarnings("deprecation")
+	public void neighborChanged(IBlockState state, World world, BlockPos pos, Block blockIn, BlockPos fromPos){
+		//Forward this change to the block so it can update any state that depends on its neighbors.
+		super.neighborChanged(state, world, pos, blockIn, fromPos);
+		block.onNeighborChanged(WrapperWorld.getWrapperFor(world), new Point3i(pos.getX(), pos.getY(), pos.getZ()));
+	}
+    
     @Override
 	public ItemStack getPickBlock(IBlockState state, RayTraceResult target, World world, BlockPos pos, EntityPlayer player){
 		//Returns the ItemStack that gets put in the player's inventory when they middle-click this block.
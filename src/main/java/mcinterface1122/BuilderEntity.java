@@ -2,6 +2,7 @@ package mcinterface1122;
 
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -17,7 +18,9 @@ import minecrafttransportsimulator.mcinterface.IWrapperEntity;
 import minecrafttransportsimulator.packets.instances.PacketVehicleInteract;
 import minecrafttransportsimulator.sound.IRadioProvider;
 import minecrafttransportsimulator.systems.PackParserSystem;
+import minecrafttransportsimulator.systems.VehiclePhysicsSystem;
 import minecrafttransportsimulator.vehicles.main.AEntityBase;
+import minecrafttransportsimulator.vehicles.main.EntityRegistry;
 import minecrafttransportsimulator.vehicles.main.EntityVehicleF_Physics;
 import minecrafttransportsimulator.vehicles.parts.APart;
 import net.minecraft.entity.Entity;
@@ -40,6 +43,8 @@ import net.minecraftforge.event.world.ExplosionEvent;
 import net.minecraftforge.event.world.WorldEvent;
 import net.minecraftforge.fml.common.Mod;
 import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent.Phase;
 import net.minecraftforge.fml.common.registry.EntityEntry;
 import net.minecraftforge.fml.common.registry.EntityEntryBuilder;
 
@@ -61,6 +66,10 @@ public class BuilderEntity extends Entity{
 	public static Map<AEntityBase, BuilderEntity> createdServerBuilders = new HashMap<AEntityBase, BuilderEntity>();
 	/**Maps Entity class names to instances of the IItemEntityProvider class that creates them.**/
 	static final Map<String, IItemEntityProvider<?>> entityMap = new HashMap<String, IItemEntityProvider<?>>();
+	/**Max number of fake lights to move each tick.  Moving lights relights the world, which is costly.**/
+	private static final int MAX_FAKE_LIGHT_UPDATES = 8;
+	/**Queue of builders that need their fake lights moved, and where to move them to.  A null position removes the light.**/
+	private static final Map<BuilderEntity, BlockPos> pendingFakeLights = new LinkedHashMap<BuilderEntity, BlockPos>();
 	
 	/**Current entity we are built around.**/
 	AEntityBase entity;
@@ -74,6 +83,12 @@ public class BuilderEntity extends Entity{
 	private WrapperAABBCollective interactionBoxes;
 	/**Collective for collision boxes.  These are used by this entity to make things collide with it.**/
 	private WrapperAABBCollective collisionBoxes;
+	/**Position and size the collectives were created at.  They only need to be re-created if these change.**/
+	private double collectivePosX;
+	private double collectivePosY;
+	private double collectivePosZ;
+	private float collectiveWidth;
+	private float collectiveHeight;
 	
 	public BuilderEntity(World world){
 		super(world);
@@ -84,36 +99,14 @@ public class BuilderEntity extends Entity{
     	//If our entity isn't null, update it and our position.
     	if(entity != null){
     		//First forward the update call.
+    		//After this, update our position to match the entity.
     		entity.update();
-    		
-    		//Update AABBs.
-    		//We need to update a wrapper class here as normal entities only allow a single collision box.
-    		//We also need to know if we need to increase the max world collision bounds to detect this entity.
-    		double furthestWidthRadius = 0;
-    		double furthestHeightRadius = 0;
-    		for(BoundingBox box : entity.interactionBoxes){
-    			furthestWidthRadius = (float) Math.max(furthestWidthRadius, box.localCenter.x + box.widthRadius);
-    			furthestHeightRadius = (float) Math.max(furthestHeightRadius, box.localCenter.y + box.heightRadius);
-    			furthestWidthRadius = (float) Math.max(furthestWidthRadius, box.localCenter.z + box.depthRadius);
-    		}
-    		setSize((float) furthestWidthRadius*2F, (float) furthestHeightRadius*2F);
-    		interactionBoxes = new WrapperAABBCollective(this, entity.interactionBoxes);
-    		collisionBoxes = new WrapperAABBCollective(this, entity.collisionBoxes);
-    		
-    		//Make sure the collision bounds for MC are big enough to collide with this entity.
-			if(World.MAX_ENTITY_RADIUS < furthestWidthRadius || World.MAX_ENTITY_RADIUS < furthestHeightRadius){
-				World.MAX_ENTITY_RADIUS = Math.max(furthestWidthRadius, furthestHeightRadius);
-			}
-    		
-			//Set the new position and rotation.
-    		setPosition(entity.position.x, entity.position.y, entity.position.z);
-    		rotationYaw = (float) -entity.angles.y;
-    		rotationPitch = (float) entity.angles.x;
+    		updatePositionFromEntity();
     		
     		//Check that riders are still present prior to updating them.
     		//This handles dismounting of riders from entities in a non-event-driven way.
     		//We do this because other mods and Sponge like to screw up the events...
-    		if(!world.isRemote){
+    		if(!world.isRemote && !entity.locationRiderMap.isEmpty()){
 	    		Iterator<IWrapperEntity> riderIterator = entity.locationRiderMap.inverse().keySet().iterator();
 	    		while(riderIterator.hasNext()){
 	    			WrapperEntity rider = (WrapperEntity) riderIterator.next();
@@ -124,29 +117,21 @@ public class BuilderEntity extends Entity{
     		}
     		
     		//Update fake block lighting.  This helps with shaders as they sometimes refuse to light things up.
+    		//Lights aren't moved here, as that relights the world.  Instead, we queue up the move.
+    		//If we end up back where our light is before the move happens, we don't need to move it.
     		if(world.isRemote){
     			if(entity.isLitUp()){
 					BlockPos newPos = getPosition();
-					//Check to see if we need to place a light.
 					if(!newPos.equals(fakeLightPosition)){
-						//If our prior position is not null, remove that block.
-						if(fakeLightPosition != null){
-							world.setBlockToAir(fakeLightPosition);
-							world.checkLight(fakeLightPosition);
-							fakeLightPosition = null;
-						}
-						//Set block in world and update pos.  Only do this if the block is air.
-						if(world.isAirBlock(newPos)){
-							world.setBlockState(newPos, BuilderBlockFakeLight.instance.getDefaultState());
-							world.checkLight(newPos);
-							fakeLightPosition = newPos;
-						}
+						pendingFakeLights.put(this, newPos);
+					}else{
+						pendingFakeLights.remove(this);
 					}
     			}else if(fakeLightPosition != null){
     				//Lights are off, turn off fake light.
-    				world.setBlockToAir(fakeLightPosition);
-    				world.checkLight(fakeLightPosition);
-    				fakeLightPosition = null;
+    				pendingFakeLights.put(this, null);
+    			}else{
+    				pendingFakeLights.remove(this);
     			}
     		}
     		
@@ -167,6 +152,49 @@ public class BuilderEntity extends Entity{
     	}
     }
     
+    /**
+     * Updates our position, size, and collision boxes to match our entity.  Also tells the
+     * registry where the entity is now so area lookups find it.
+     */
+    private void updatePositionFromEntity(){
+    	EntityRegistry.getRegistryFor(entity.world).updateEntityPosition(entity);
+    	
+    	//Update size.
+    	//We also need to know if we need to increase the max world collision bounds to detect this entity.
+    	double furthestWidthRadius = 0;
+    	double furthestHeightRadius = 0;
+    	for(BoundingBox box : entity.interactionBoxes){
+    		furthestWidthRadius = (float) Math.max(furthestWidthRadius, box.localCenter.x + box.widthRadius);
+    		furthestHeightRadius = (float) Math.max(furthestHeightRadius, box.localCenter.y + box.heightRadius);
+    		furthestWidthRadius = (float) Math.max(furthestWidthRadius, box.localCenter.z + box.depthRadius);
+    	}
+    	setSize((float) furthestWidthRadius*2F, (float) furthestHeightRadius*2F);
+    	
+    	//Make sure the collision bounds for MC are big enough to collide with this entity.
+		if(World.MAX_ENTITY_RADIUS < furthestWidthRadius || World.MAX_ENTITY_RADIUS < furthestHeightRadius){
+			World.MAX_ENTITY_RADIUS = Math.max(furthestWidthRadius, furthestHeightRadius);
+		}
+    	
+		//Set the new position and rotation.
+    	setPosition(entity.position.x, entity.position.y, entity.position.z);
+    	rotationYaw = (float) -entity.angles.y;
+    	rotationPitch = (float) entity.angles.x;
+    	
+    	//Update AABBs.
+    	//We need to update a wrapper class here as normal entities only allow a single collision box.
+    	//The collectives check the entity's box lists directly, so they only need to be re-created
+    	//if our position or size changed, as those are what set their overall bounds.
+    	if(interactionBoxes == null || posX != collectivePosX || posY != collectivePosY || posZ != collectivePosZ || width != collectiveWidth || height != collectiveHeight){
+    		interactionBoxes = new WrapperAABBCollective(this, entity.interactionBoxes);
+    		collisionBoxes = new WrapperAABBCollective(this, entity.collisionBoxes);
+    		collectivePosX = posX;
+    		collectivePosY = posY;
+    		collectivePosZ = posZ;
+    		collectiveWidth = width;
+    		collectiveHeight = height;
+    	}
+    }
+	
 	@Override
 	public void setDead(){
 		super.setDead();
@@ -174,6 +202,10 @@ public class BuilderEntity extends Entity{
 		if(fakeLightPosition != null){
 			world.setBlockToAir(fakeLightPosition);
 		}
+		//Pending lights are only used on the client.  The integrated server runs on its own thread, so don't touch them there.
+		if(world.isRemote){
+			pendingFakeLights.remove(this);
+		}
 		//Mark entity as invalid and remove from maps.
 		if(entity != null){
 			entity.isValid = false;
@@ -182,6 +214,7 @@ public class BuilderEntity extends Entity{
 			}else{
 				AEntityBase.createdServerEntities.remove(entity);
 			}
+			EntityRegistry.getRegistryFor(entity.world).removeEntity(entity);
 			if(entity instanceof IRadioProvider && world.isRemote){
 				((IRadioProvider) entity).getRadio().stop();
 			}
@@ -361,6 +394,57 @@ public class BuilderEntity extends Entity{
 		return tag;
 	}
 	
+	/**
+	 *  Moves our fake light to the passed-in position, or removes it if the position is null.
+	 *  Lights are only placed in air blocks.  Setting the blocks relights the world, so we
+	 *  don't need to do it ourselves.
+	 */
+	private void moveFakeLight(BlockPos newPos){
+		if(fakeLightPosition != null){
+			world.setBlockToAir(fakeLightPosition);
+			fakeLightPosition = null;
+		}
+		if(newPos != null && world.isAirBlock(newPos)){
+			world.setBlockState(newPos, BuilderBlockFakeLight.instance.getDefaultState());
+			fakeLightPosition = newPos;
+		}
+	}
+	
+	/**
+     * Move queued fake lights at the end of each client tick.  Only a few are moved each
+     * tick to keep the relighting from lagging the client when lots of vehicles are moving.
+     */
+    @SubscribeEvent
+    public static void on(TickEvent.ClientTickEvent event){
+    	if(event.phase.equals(Phase.END) && !pendingFakeLights.isEmpty()){
+    		Iterator<Entry<BuilderEntity, BlockPos>> lightIterator = pendingFakeLights.entrySet().iterator();
+    		for(int i=0; i<MAX_FAKE_LIGHT_UPDATES && lightIterator.hasNext(); ++i){
+    			Entry<BuilderEntity, BlockPos> entry = lightIterator.next();
+    			lightIterator.remove();
+    			entry.getKey().moveFakeLight(entry.getValue());
+    		}
+    	}
+    }
+    
+    /**
+     * Move vehicles that had their forces calculated by the physics system at the end of each server world tick.
+     * Once moved, we update the builders of those vehicles and their riders, as they were updated before the move.
+     */
+    @SubscribeEvent
+    public static void on(TickEvent.WorldTickEvent event){
+    	if(event.phase.equals(Phase.END) && !event.world.isRemote){
+    		for(EntityVehicleF_Physics vehicle : VehiclePhysicsSystem.updateQueuedVehicles(WrapperWorld.getWrapperFor(event.world))){
+    			BuilderEntity builder = createdServerBuilders.get(vehicle);
+    			if(builder != null && !builder.isDead){
+    				builder.updatePositionFromEntity();
+    				for(Entity passenger : builder.getPassengers()){
+    					builder.updatePassenger(passenger);
+    				}
+    			}
+    		}
+    	}
+    }
+	
 	/**
      * Remove all entities from our maps if we unload the world.  This will cause duplicates if we don't.
      */
@@ -378,6 +462,12 @@ public class BuilderEntity extends Entity{
 				entityIterator.remove();
 			}
 		}
+		if(event.getWorld().isRemote){
+			pendingFakeLights.clear();
+		}else{
+			VehiclePhysicsSystem.clearQueuedVehicles(WrapperWorld.getWrapperFor(event.getWorld()));
+		}
+		EntityRegistry.removeRegistryFor(WrapperWorld.getWrapperFor(event.getWorld()));
     }
 	
 	/**
@@ -50,6 +50,15 @@ public class BuilderTileEntity<TileEntityType extends ATileEntityBase<?>> extend
 		}
 	}
 	
+	@Override
+	public void onChunkUnload(){
+		super.onChunkUnload();
+		//MC doesn't invalidate TEs in unloading chunks, so we need to remove ours here too.
+		if(tileEntity != null){
+			tileEntity.remove();
+		}
+	}
+	
 	@Override
 	public NBTTagCompound getUpdateTag(){
 		//Gets called when the server sends this TE over as NBT data.
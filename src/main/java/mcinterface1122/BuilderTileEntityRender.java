@@ -5,6 +5,7 @@ import java.util.Map;
 
 import org.lwjgl.opengl.GL11;
 
+import minecrafttransportsimulator.baseclasses.Point3i;
 import minecrafttransportsimulator.blocks.components.ABlockBase;
 import minecrafttransportsimulator.blocks.tileentities.components.ATileEntityBase;
 import minecrafttransportsimulator.rendering.components.RenderTickData;
@@ -54,8 +55,11 @@ public class BuilderTileEntityRender extends TileEntitySpecialRenderer<BuilderTi
 				renderPass = 2;
 			}
 			
-			//If we need to render, do so now.
-			if(renderData.get(wrapper.tileEntity).shouldRender(renderPass, partialTicks)){
+			//If we need to render, and we can be seen, do so now.
+			//Bounds are centered on the TE's block, and sized by the render to fit the model.
+			Point3i position = wrapper.tileEntity.position;
+			double renderRadius = render.getRenderRadius(wrapper.tileEntity);
+			if(renderData.get(wrapper.tileEntity).shouldRender(renderPass, partialTicks) && InterfaceRender.isInView(position.x + 0.5D - renderRadius, position.y + 0.5D - renderRadius, position.z + 0.5D - renderRadius, position.x + 0.5D + renderRadius, position.y + 0.5D + renderRadius, position.z + 0.5D + renderRadius, partialTicks, true)){
 				//Translate and rotate to the TE location.
 				//Makes for less boilerplate code.
 				//Note that if we're on top of a bottom-part half-slab we translate down 0.5 units to make ourselves flush.
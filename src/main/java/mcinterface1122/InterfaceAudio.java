@@ -7,9 +7,15 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
 
 import org.lwjgl.BufferUtils;
 import org.lwjgl.openal.AL;
@@ -24,6 +30,9 @@ import minecrafttransportsimulator.sound.OGGDecoderOutput;
 import minecrafttransportsimulator.sound.Radio;
 import minecrafttransportsimulator.sound.RadioStation;
 import minecrafttransportsimulator.sound.SoundInstance;
+import minecrafttransportsimulator.sound.VoiceManager;
+import minecrafttransportsimulator.systems.ConfigSystem;
+import minecrafttransportsimulator.vehicles.main.AEntityBase;
 import net.minecraftforge.event.world.WorldEvent;
 import net.minecraftforge.fml.common.Mod;
 import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
@@ -37,8 +46,59 @@ class InterfaceAudio implements IInterfaceAudio{
 	private static boolean isSystemPaused;
 	
 	/**Map of String-based file-names to Integer pointers to buffer locations.  Used for loading sounds into
-	 * memory to prevent the need to load them every time they are played.**/
-	private static final Map<String, Integer> dataSourceBuffers = new HashMap<String, Integer>();
+	 * memory to prevent the need to load them every time they are played.  This map is in access-order,
+	 * so the first entries are the least-recently played sounds and get removed first if the cache is full.**/
+	private static final Map<String, Integer> dataSourceBuffers = new LinkedHashMap<String, Integer>(16, 0.75F, true);
+	
+	/**Map of String-based file-names to the size, in bytes, of their buffers.**/
+	private static final Map<String, Integer> dataSourceBufferSizes = new HashMap<String, Integer>();
+	
+	/**Total size, in bytes, of all buffers in {@link #dataSourceBuffers}.**/
+	private static long dataSourceBytes;
+	
+	/**Set of sounds that are being decoded.  Used to prevent decoding the same sound twice.**/
+	private static final Set<String> decodingSounds = new HashSet<String>();
+	
+	/**Set of sounds that couldn't be decoded.  Sounds in here won't be decoded again until the sound system is reset.**/
+	private static final Set<String> missingSounds = new HashSet<String>();
+	
+	/**Sounds that were decoded on the decoder threads and need to be put into buffers.**/
+	private static final ConcurrentLinkedQueue<DecodedSound> decodedSounds = new ConcurrentLinkedQueue<DecodedSound>();
+	
+	/**Sounds that have been requested to be pre-loaded.  May be added to from any thread.**/
+	private static final ConcurrentLinkedQueue<String> preloadRequests = new ConcurrentLinkedQueue<String>();
+	
+	/**Map of pre-loaded sounds that haven't been played yet to the time their buffer was created.
+	 * These are never played, so they sit at the front of the cache and would be the first to go.**/
+	private static final Map<String, Long> preloadedSoundTimes = new HashMap<String, Long>();
+	
+	/**Time, in milliseconds, that pre-loaded sounds are kept in the cache before they can be removed.**/
+	private static final long PRELOAD_PROTECTION_TIME = 30000;
+	
+	/**List of sounds that are waiting on their data to be decoded before they can play.**/
+	private static final List<SoundInstance> waitingSounds = new ArrayList<SoundInstance>();
+	
+	/**Number of threads used to decode sounds.**/
+	private static final int DECODER_THREADS = 2;
+	
+	/**Executor for decoding sounds.  Threads are daemons so they don't keep the game from closing.**/
+	private static final ExecutorService decoderExecutor = Executors.newFixedThreadPool(DECODER_THREADS, new ThreadFactory(){
+		private int threadNumber;
+		
+		@Override
+		public Thread newThread(Runnable runnable){
+			Thread thread = new Thread(runnable, "MTS Sound Decoder " + ++threadNumber);
+			thread.setDaemon(true);
+			return thread;
+		}
+	});
+	
+	/**Number of sounds played that had their data in the cache.  Logged when buffers are removed.**/
+	private static int cacheHits;
+	/**Number of sounds played that had to wait for their data to be decoded.  Logged when buffers are removed.**/
+	private static int cacheMisses;
+	/**Number of buffers removed from the cache to make room for others.  Logged when buffers are removed.**/
+	private static int cacheEvictions;
 	
 	/**List of playing {@link SoundInstance} objects.**/
 	private static final List<SoundInstance> playingSounds = new ArrayList<SoundInstance>();
@@ -53,6 +113,25 @@ class InterfaceAudio implements IInterfaceAudio{
 	 * will stop attempting to play sounds.  Used for when mods take all the sources.**/
 	private static byte sourceGetFailures = 0;
 	
+	/**Pool of sources that are not being used by any sounds.  Sources are re-used rather than being
+	 * deleted when sounds stop, as creating them is costly and we may not get them back.**/
+	private static final List<Integer> freeSources = new ArrayList<Integer>();
+	
+	/**Map of all sources we have created to their last-set properties.**/
+	private static final Map<Integer, SourceState> sourceStates = new HashMap<Integer, SourceState>();
+	
+	/**Max number of sources we can create.  Set when OpenAL refuses to give us any more.**/
+	private static int maxSources = Integer.MAX_VALUE;
+	
+	/**Map of virtual sounds to the offset, in seconds, they would be at if they were playing.**/
+	private static final Map<SoundInstance, Float> virtualOffsets = new HashMap<SoundInstance, Float>();
+	
+	/**Map of String-based file-names to the length of the sound, in seconds.**/
+	private static final Map<String, Float> soundLengths = new HashMap<String, Float>();
+	
+	/**Seconds that pass for virtual sounds every update.  Updates happen every client tick.**/
+	private static final float VIRTUAL_SECONDS_PER_UPDATE = 0.05F;
+	
 	@Override
 	public void update(){
 		if(!AL.isCreated()){
@@ -64,14 +143,18 @@ class InterfaceAudio implements IInterfaceAudio{
 		if(MasterInterface.gameInterface.isGamePaused()){
 			if(!isSystemPaused){
 				for(SoundInstance sound : playingSounds){
-					AL10.alSourcePause(sound.sourceIndex);
+					if(!sound.virtual){
+						AL10.alSourcePause(sound.sourceIndex);
+					}
 				}
 				isSystemPaused = true;
 			}
 			return;
 		}else if(isSystemPaused){
 			for(SoundInstance sound : playingSounds){
-				AL10.alSourcePlay(sound.sourceIndex);
+				if(!sound.virtual){
+					AL10.alSourcePlay(sound.sourceIndex);
+				}
 			}
 			isSystemPaused = false;
 		}
@@ -82,28 +165,99 @@ class InterfaceAudio implements IInterfaceAudio{
     		while(iterator.hasNext()){
     			iterator.remove();
     		}
+    		waitingSounds.clear();
     		for(SoundInstance playingSound : playingSounds){
     			playingSound.stop();
     		}
 		}
 		
-		//Start playing all queued sounds.
+		//Put any sounds that finished decoding into buffers, and start decoding any pre-loaded sounds.
+		DecodedSound decodedSound;
+		while((decodedSound = decodedSounds.poll()) != null){
+			decodingSounds.remove(decodedSound.soundName);
+			if(decodedSound.decoderOutput == null){
+				missingSounds.add(decodedSound.soundName);
+			}else if(!dataSourceBuffers.containsKey(decodedSound.soundName)){
+				IntBuffer dataBufferPointers = BufferUtils.createIntBuffer(1);
+		    	AL10.alGenBuffers(dataBufferPointers);
+		    	AL10.alBufferData(dataBufferPointers.get(0), AL10.AL_FORMAT_MONO16, decodedSound.decoderOutput.decodedData, decodedSound.decoderOutput.sampleRate);
+		    	dataSourceBuffers.put(decodedSound.soundName, dataBufferPointers.get(0));
+		    	dataSourceBufferSizes.put(decodedSound.soundName, decodedSound.decoderOutput.decodedData.limit());
+		    	dataSourceBytes += decodedSound.decoderOutput.decodedData.limit();
+		    	if(preloadedSoundTimes.containsKey(decodedSound.soundName)){
+		    		preloadedSoundTimes.put(decodedSound.soundName, System.currentTimeMillis());
+		    	}
+			}
+		}
+		String preloadSoundName;
+		while((preloadSoundName = preloadRequests.poll()) != null){
+			if(!dataSourceBuffers.containsKey(preloadSoundName)){
+				preloadedSoundTimes.put(preloadSoundName, System.currentTimeMillis());
+				decodeOGGJarSound(preloadSoundName);
+			}
+		}
+		
+		//Add all queued sounds.  Sounds that have their data loaded start right away, the rest wait for their data.
 		if(!queuedSounds.isEmpty()){
 			for(SoundInstance sound : queuedSounds){
-				AL10.alSourcePlay(sound.sourceIndex);
-				playingSounds.add(sound);
+				preloadedSoundTimes.remove(sound.soundName);
+				if(dataSourceBuffers.get(sound.soundName) != null){
+					++cacheHits;
+					addPlayingSound(sound);
+				}else if(!missingSounds.contains(sound.soundName)){
+					++cacheMisses;
+					decodeOGGJarSound(sound.soundName);
+					waitingSounds.add(sound);
+				}
 			}
 			queuedSounds.clear();
 		}
 		
+		//Start any waiting sounds that now have data.  Sounds that couldn't be decoded never start.
+		Iterator<SoundInstance> waitingIterator = waitingSounds.iterator();
+		while(waitingIterator.hasNext()){
+			SoundInstance sound = waitingIterator.next();
+			if(sound.stopSound || missingSounds.contains(sound.soundName)){
+				waitingIterator.remove();
+			}else if(dataSourceBuffers.containsKey(sound.soundName)){
+				addPlayingSound(sound);
+				waitingIterator.remove();
+			}
+		}
+		
+		//Now that we know what sounds are playing, remove any old buffers if the cache is too big.
+		evictOGGJarSounds();
+		
 		//Get the player for further calculations.
 		IWrapperPlayer player = MasterInterface.gameInterface.getClientPlayer();
+		Point3d playerPosition = player.getPosition();
+		Point3d playerVelocity = player.getVelocity();
+		playerVelocity.y = 0;
+		AEntityBase playerRiding = player.getEntityRiding();
 		
 		//Update playing sounds.
 		boolean soundSystemReset = false;
 		Iterator<SoundInstance> soundIterator = playingSounds.iterator();
 		while(soundIterator.hasNext()){
 			SoundInstance sound = soundIterator.next();
+			if(sound.virtual){
+				//Virtual sound.  Let the provider update it, and move it along as if it was playing.
+				//Sounds that don't loop are stopped once they would have finished.
+				if(!sound.stopSound){
+					sound.provider.updateProviderSound(sound);
+					float offset = virtualOffsets.get(sound) + VIRTUAL_SECONDS_PER_UPDATE*sound.pitch;
+					virtualOffsets.put(sound, offset);
+					if(!sound.looping && offset >= getSoundLength(sound.soundName)){
+						sound.stop();
+					}
+				}
+				if(sound.stopSound){
+					virtualOffsets.remove(sound);
+					soundIterator.remove();
+				}
+				continue;
+			}
+			
 			AL10.alGetError();
 			int state = AL10.alGetSourcei(sound.sourceIndex, AL10.AL_SOURCE_STATE);
 
@@ -118,39 +272,10 @@ class InterfaceAudio implements IInterfaceAudio{
 				sound.provider.updateProviderSound(sound);
 				if(sound.stopSound){
 					AL10.alSourceStop(sound.sourceIndex);
-				}else{
-					//Update position.
-					FloatBuffer providerPosbuffer = sound.provider.getProviderPosition();
-					AL10.alSource(sound.sourceIndex, AL10.AL_POSITION, providerPosbuffer);
-					
-					//If the player is inside an enclosed vehicle, half the sound volume.
-					if(sound.shouldBeDampened()){
-						AL10.alSourcef(sound.sourceIndex, AL10.AL_GAIN, sound.volume/2F);
-					}else{
-						AL10.alSourcef(sound.sourceIndex, AL10.AL_GAIN, sound.volume);
-					}
-					
-					//If the sound is looping, and the player isn't riding the source, calculate doppler pitch effect.
-					//Otherwise, set pitch as normal.
-					if(sound.looping && !sound.provider.equals(player.getEntityRiding())){
-						Point3d providerVelocity = sound.provider.getProviderVelocity();
-						Point3d playerVelocity = player.getVelocity();
-						playerVelocity.y = 0;
-						double initalDelta = player.getPosition().add((double)-providerPosbuffer.get(0), (double)-providerPosbuffer.get(1), (double)-providerPosbuffer.get(2)).length();
-						double finalDelta = player.getPosition().add(playerVelocity).add((double)-providerPosbuffer.get(0), (double)-providerPosbuffer.get(1), (double)-providerPosbuffer.get(2)).add(-providerVelocity.x, 0D, -providerVelocity.z).length();
-						float dopplerFactor = (float) (initalDelta > finalDelta ? 1 + (initalDelta - finalDelta)/initalDelta : 1 - (finalDelta - initalDelta)/finalDelta);
-						AL10.alSourcef(sound.sourceIndex, AL10.AL_PITCH, sound.pitch*dopplerFactor);
-					}else{
-						AL10.alSourcef(sound.sourceIndex, AL10.AL_PITCH, sound.pitch);
-					}
-
-					//Update rolloff distance, which is based on pitch.
-					AL10.alSourcef(sound.sourceIndex, AL10.AL_ROLLOFF_FACTOR, 1F/(0.25F + 3*sound.pitch));
 				}
 			}else{
-				//We are a stopped sound.  Un-bind and delete any sources and buffers we are using.
+				//We are a stopped sound.  Un-bind any buffers we are using.
 				if(sound.radio == null){
-					AL10.alSourcei(sound.sourceIndex, AL10.AL_BUFFER, AL10.AL_NONE);
 					sound.stop();
 				}else if(sound.stopSound){
 					int boundBuffers = AL10.alGetSourcei(sound.sourceIndex, AL10.AL_BUFFERS_PROCESSED);
@@ -160,62 +285,205 @@ class InterfaceAudio implements IInterfaceAudio{
 					}
 				}
 				if(sound.stopSound){
-					IntBuffer sourceBuffer = (IntBuffer) BufferUtils.createIntBuffer(1).put(sound.sourceIndex).flip();
-					AL10.alDeleteSources(sourceBuffer);
+					releaseSource(sound);
 					soundIterator.remove();
 				}
 			}
 		}
 		
-		//Now update radio stations.
-		for(RadioStation station : playingStations){
-			station.update();
-		}
-		
 		//If the sound system was reset, blow out all saved data points.
 		if(soundSystemReset){
 			dataSourceBuffers.clear();
+			dataSourceBufferSizes.clear();
+			dataSourceBytes = 0;
+			missingSounds.clear();
+			preloadedSoundTimes.clear();
+			waitingSounds.clear();
+			soundLengths.clear();
+			freeSources.clear();
+			sourceStates.clear();
+			virtualOffsets.clear();
 			Set<ISoundProvider> providers = new HashSet<ISoundProvider>();
 			for(SoundInstance sound : playingSounds){
 				providers.add(sound.provider);
 			}
 			playingSounds.clear();
 			sourceGetFailures = 0;
+			maxSources = Integer.MAX_VALUE;
 			for(ISoundProvider provider : providers){
 				provider.startSounds();
 			}
+			return;
+		}
+		
+		//Now that we know what sounds are playing, figure out which ones should have voices.
+		//Take voices away first, so we can give them to the sounds that need them.
+		int voiceCount = Math.min(ConfigSystem.configObject.client.soundVoices.value, maxSources);
+		VoiceManager.assignVoices(playingSounds, voiceCount, playerPosition.x, playerPosition.y, playerPosition.z, playerRiding instanceof ISoundProvider ? (ISoundProvider) playerRiding : null);
+		for(SoundInstance sound : playingSounds){
+			if(sound.virtual && sound.sourceIndex != 0){
+				//Lost our voice.  Save where we were so we can pick back up there.
+				virtualOffsets.put(sound, AL10.alGetSourcef(sound.sourceIndex, AL10.AL_SEC_OFFSET));
+				AL10.alSourceStop(sound.sourceIndex);
+				releaseSource(sound);
+			}
+		}
+		for(SoundInstance sound : playingSounds){
+			if(!sound.virtual && sound.sourceIndex == 0 && sound.radio == null){
+				//Got a voice.  Bind our data and start playing where we would have been.
+				sound.sourceIndex = acquireSource();
+				if(sound.sourceIndex == 0){
+					sound.virtual = true;
+				}else{
+					float offset = virtualOffsets.remove(sound);
+					if(sound.looping){
+						offset %= getSoundLength(sound.soundName);
+					}
+					AL10.alSourcei(sound.sourceIndex, AL10.AL_LOOPING, sound.looping ? AL10.AL_TRUE : AL10.AL_FALSE);
+					AL10.alSourcei(sound.sourceIndex, AL10.AL_BUFFER, dataSourceBuffers.get(sound.soundName));
+					AL10.alSourcef(sound.sourceIndex, AL10.AL_SEC_OFFSET, offset);
+					updateSourceProperties(sound, playerPosition, playerVelocity, playerRiding);
+					AL10.alSourcePlay(sound.sourceIndex);
+				}
+			}else if(!sound.virtual && !sound.stopSound){
+				updateSourceProperties(sound, playerPosition, playerVelocity, playerRiding);
+			}
+		}
+		
+		//Now update radio stations.
+		for(RadioStation station : playingStations){
+			station.update();
 		}
 	}
 	
-	@Override
-	public void playQuickSound(SoundInstance sound){
-		if(AL.isCreated() && sourceGetFailures < 10){
-			//First get the IntBuffer pointer to where this sound data is stored.
-			Integer dataBufferPointer = loadOGGJarSound(sound.soundName);
-			if(dataBufferPointer != null){
-				//Set the sound's source buffer index.
-				IntBuffer sourceBuffer = BufferUtils.createIntBuffer(1);
-				AL10.alGetError();
-				AL10.alGenSources(sourceBuffer);
-				if(AL10.alGetError() != AL10.AL_NO_ERROR){
+	/**
+	 *  Updates the position, gain, pitch, and rolloff of the source for the passed-in sound.
+	 *  Properties are only sent to OpenAL if they changed since the last update.
+	 */
+	private static void updateSourceProperties(SoundInstance sound, Point3d playerPosition, Point3d playerVelocity, AEntityBase playerRiding){
+		SourceState sourceState = sourceStates.get(sound.sourceIndex);
+		
+		//Update position.
+		FloatBuffer providerPosbuffer = sound.provider.getProviderPosition();
+		float soundX = providerPosbuffer.get(0);
+		float soundY = providerPosbuffer.get(1);
+		float soundZ = providerPosbuffer.get(2);
+		if(soundX != sourceState.x || soundY != sourceState.y || soundZ != sourceState.z){
+			AL10.alSource(sound.sourceIndex, AL10.AL_POSITION, providerPosbuffer);
+			sourceState.x = soundX;
+			sourceState.y = soundY;
+			sourceState.z = soundZ;
+		}
+		
+		//If the player is inside an enclosed vehicle, half the sound volume.
+		float gain = sound.shouldBeDampened() ? sound.volume/2F : sound.volume;
+		if(gain != sourceState.gain){
+			AL10.alSourcef(sound.sourceIndex, AL10.AL_GAIN, gain);
+			sourceState.gain = gain;
+		}
+		
+		//If the sound is looping, and the player isn't riding the source, calculate doppler pitch effect.
+		//Otherwise, set pitch as normal.
+		float pitch = sound.pitch;
+		if(sound.looping && !sound.provider.equals(playerRiding)){
+			Point3d providerVelocity = sound.provider.getProviderVelocity();
+			double deltaX = playerPosition.x - soundX;
+			double deltaY = playerPosition.y - soundY;
+			double deltaZ = playerPosition.z - soundZ;
+			double initalDelta = Math.sqrt(deltaX*deltaX + deltaY*deltaY + deltaZ*deltaZ);
+			deltaX += playerVelocity.x - providerVelocity.x;
+			deltaZ += playerVelocity.z - providerVelocity.z;
+			double finalDelta = Math.sqrt(deltaX*deltaX + deltaY*deltaY + deltaZ*deltaZ);
+			float dopplerFactor = (float) (initalDelta > finalDelta ? 1 + (initalDelta - finalDelta)/initalDelta : 1 - (finalDelta - initalDelta)/finalDelta);
+			pitch *= dopplerFactor;
+		}
+		if(pitch != sourceState.pitch){
+			AL10.alSourcef(sound.sourceIndex, AL10.AL_PITCH, pitch);
+			sourceState.pitch = pitch;
+		}
+
+		//Update rolloff distance, which is based on pitch.
+		float rolloff = VoiceManager.getRolloffFactor(sound);
+		if(rolloff != sourceState.rolloff){
+			AL10.alSourcef(sound.sourceIndex, AL10.AL_ROLLOFF_FACTOR, rolloff);
+			sourceState.rolloff = rolloff;
+		}
+	}
+	
+	/**
+	 *  Returns a free source from the pool, or creates one if there are none and we haven't
+	 *  hit the maximum number of sources.  Returns 0 if no source could be obtained.
+	 */
+	private static int acquireSource(){
+		if(!freeSources.isEmpty()){
+			return freeSources.remove(freeSources.size() - 1);
+		}else if(sourceStates.size() < maxSources){
+			IntBuffer sourceBuffer = BufferUtils.createIntBuffer(1);
+			AL10.alGetError();
+			AL10.alGenSources(sourceBuffer);
+			if(AL10.alGetError() != AL10.AL_NO_ERROR){
+				//Can't make any more sources.  Limit ourselves to what we have so we don't keep trying.
+				maxSources = sourceStates.size();
+				if(maxSources == 0){
 					++sourceGetFailures;
-					AL10.alDeleteBuffers(dataBufferPointer);
 					MasterInterface.gameInterface.getClientPlayer().displayChatMessage("IMMERSIVE VEHICLES ERROR: Tried to play a sound, but was told no sound slots were available.  Some mod is taking up all the sound slots.  Probabaly Immersive Railroading.  Sound will not play.");
-					return;
 				}
-				sound.sourceIndex = sourceBuffer.get(0);
-				
-				//Set properties and bind data buffer to source.
-				AL10.alGetError();
-				AL10.alSourcei(sound.sourceIndex, AL10.AL_LOOPING, sound.looping ? AL10.AL_TRUE : AL10.AL_FALSE);
-				AL10.alSource(sound.sourceIndex, AL10.AL_POSITION, sound.provider.getProviderPosition());
-	    	    AL10.alSourcei(sound.sourceIndex, AL10.AL_BUFFER, dataBufferPointer);
-	    	    
-				//Done setting up buffer.  Queue sound to start playing.
-				queuedSounds.add(sound);
+				return 0;
 			}
+			sourceStates.put(sourceBuffer.get(0), new SourceState());
+			return sourceBuffer.get(0);
+		}else{
+			return 0;
 		}
 	}
+	
+	/**
+	 *  Un-binds all buffers from the source for the passed-in sound, and puts the source back
+	 *  in the pool.  The source should be stopped prior to calling this.
+	 */
+	private static void releaseSource(SoundInstance sound){
+		AL10.alSourcei(sound.sourceIndex, AL10.AL_BUFFER, AL10.AL_NONE);
+		sourceStates.get(sound.sourceIndex).reset();
+		freeSources.add(sound.sourceIndex);
+		sound.sourceIndex = 0;
+	}
+	
+	/**
+	 *  Adds the passed-in sound to the playing sounds.  The sound starts out virtual,
+	 *  and will be given a voice if it is loud enough.
+	 */
+	private static void addPlayingSound(SoundInstance sound){
+		virtualOffsets.put(sound, 0F);
+		playingSounds.add(sound);
+	}
+	
+	/**
+	 *  Returns the length of the passed-in sound, in seconds.  The sound must have been loaded
+	 *  into {@link #dataSourceBuffers} prior to this call.
+	 */
+	private static float getSoundLength(String soundName){
+		Float length = soundLengths.get(soundName);
+		if(length == null){
+			int bufferIndex = dataSourceBuffers.get(soundName);
+			//Sounds are always 16-bit mono, so there are 2 bytes per sample.
+			length = AL10.alGetBufferi(bufferIndex, AL10.AL_SIZE)/2F/AL10.alGetBufferi(bufferIndex, AL10.AL_FREQUENCY);
+			soundLengths.put(soundName, length);
+		}
+		return length;
+	}
+	
+	@Override
+	public void playQuickSound(SoundInstance sound){
+		if(AL.isCreated() && sourceGetFailures < 10){
+			//Data is loaded, and sources given, once the sound is added in the update call.
+			queuedSounds.add(sound);
+		}
+	}
+	
+	@Override
+	public void preloadSound(String soundName){
+		preloadRequests.add(soundName);
+	}
     
 	@Override
     public void addRadioStation(RadioStation station){
@@ -226,15 +494,26 @@ class InterfaceAudio implements IInterfaceAudio{
 	public void addRadioSound(SoundInstance sound, List<Integer> buffers){
 		if(AL.isCreated() && sourceGetFailures < 10){
     		//Set the sound's source buffer index.
-			IntBuffer sourceBuffer = BufferUtils.createIntBuffer(1);
-			AL10.alGetError();
-			AL10.alGenSources(sourceBuffer);
-			if(AL10.alGetError() != AL10.AL_NO_ERROR){
-				++sourceGetFailures;
-				MasterInterface.gameInterface.getClientPlayer().displayChatMessage("IMMERSIVE VEHICLES ERROR: Tried to play a sound, but was told no sound slots were available.  Some mod is taking up all the slots.  Probabaly Immersive Railroading.  Sound will not play.");
-				return;
+			//Radios always get a voice, so if there are no free sources take one from the quietest sound.
+			int sourceIndex = acquireSource();
+			if(sourceIndex == 0){
+				SoundInstance quietestSound = null;
+				for(SoundInstance playingSound : playingSounds){
+					if(!playingSound.virtual && playingSound.radio == null && (quietestSound == null || playingSound.audibility < quietestSound.audibility)){
+						quietestSound = playingSound;
+					}
+				}
+				if(quietestSound == null){
+					return;
+				}
+				virtualOffsets.put(quietestSound, AL10.alGetSourcef(quietestSound.sourceIndex, AL10.AL_SEC_OFFSET));
+				AL10.alSourceStop(quietestSound.sourceIndex);
+				quietestSound.virtual = true;
+				releaseSource(quietestSound);
+				sourceIndex = acquireSource();
 			}
-			sound.sourceIndex = sourceBuffer.get(0);
+			sound.sourceIndex = sourceIndex;
+			sound.virtual = false;
 			
 			//Queue up the buffer sources to the source itself.
 			for(int bufferIndex : buffers){
@@ -331,34 +610,57 @@ class InterfaceAudio implements IInterfaceAudio{
 	}
 	
 	/**
-	 *  Loads an OGG file in its entirety using the {@link InterfaceOGGDecoder}. 
-	 *  The sound is then stored in a dataBuffer keyed by soundName located in {@link #dataSourceBuffers}.
-	 *  The pointer to the dataBuffer is returned for convenience as it allows for transparent sound caching.
-	 *  If a sound with the same name is passed-in at a later time, it is assumed to be the same and rather
-	 *  than re-parse the sound the system will simply return the same pointer index to be bound.
+	 *  Decodes an OGG file in its entirety using the {@link InterfaceOGGDecoder}.  Decoding is done on the
+	 *  decoder threads, as large files can take a long time to decode.  Once decoded, the sound is put
+	 *  into a dataBuffer keyed by soundName in {@link #dataSourceBuffers} on the next update.  If the sound
+	 *  is already loaded, or is being decoded, this method does nothing.
 	 */
-	private static Integer loadOGGJarSound(String soundName){
-		if(dataSourceBuffers.containsKey(soundName)){
-			//Already parsed the data.  Return the buffer.
-			return dataSourceBuffers.get(soundName);
-		}else{
-			//Need to parse the data.  Do so now.
-			OGGDecoderOutput decoderOutput = MasterInterface.oggDecoderInterface.parseWholeOGGFile(soundName);
-			if(decoderOutput != null){
-				//Generate an IntBuffer to store a pointer to the data buffer.
-				IntBuffer dataBufferPointers = BufferUtils.createIntBuffer(1);
-		    	AL10.alGenBuffers(dataBufferPointers);
-		    	
-		    	//Bind the decoder output buffer to the data buffer pointer.
-		    	//If we are stereo, convert the data before binding.
-		    	ByteBuffer decoderData = decoderOutput.isStereo ? stereoToMono(decoderOutput.decodedData) : decoderOutput.decodedData;
-		    	AL10.alBufferData(dataBufferPointers.get(0), AL10.AL_FORMAT_MONO16, decoderData, decoderOutput.sampleRate);
-				
-		    	//Done parsing.  Map the dataBuffer(s) to the soundName and return the index.
-		    	dataSourceBuffers.put(soundName, dataBufferPointers.get(0));
-		    	return dataSourceBuffers.get(soundName);
-			}else{
-				return null;
+	private static void decodeOGGJarSound(final String soundName){
+		if(!dataSourceBuffers.containsKey(soundName) && !missingSounds.contains(soundName) && decodingSounds.add(soundName)){
+			decoderExecutor.execute(new Runnable(){
+				@Override
+				public void run(){
+					//If we are stereo, convert the data here rather than on the main thread.
+					OGGDecoderOutput decoderOutput = MasterInterface.oggDecoderInterface.parseWholeOGGFile(soundName);
+					if(decoderOutput != null && decoderOutput.isStereo){
+						decoderOutput = new OGGDecoderOutput(false, decoderOutput.sampleRate, stereoToMono(decoderOutput.decodedData));
+					}
+					decodedSounds.add(new DecodedSound(soundName, decoderOutput));
+				}
+			});
+		}
+	}
+	
+	/**
+	 *  Removes the least-recently played sounds from {@link #dataSourceBuffers} until
+	 *  the cache is under the configured size.  Sounds that are playing are never removed,
+	 *  nor are sounds that were pre-loaded within the last {@link #PRELOAD_PROTECTION_TIME}.
+	 *  If any sounds were removed, the cache stats are logged to help with sizing the cache.
+	 */
+	private static void evictOGGJarSounds(){
+		long maxBytes = ConfigSystem.configObject.client.soundCacheSize.value*1024L*1024L;
+		if(dataSourceBytes > maxBytes){
+			Set<String> playingSoundNames = new HashSet<String>();
+			for(SoundInstance sound : playingSounds){
+				playingSoundNames.add(sound.soundName);
+			}
+			long currentTime = System.currentTimeMillis();
+			int priorEvictions = cacheEvictions;
+			Iterator<Entry<String, Integer>> iterator = dataSourceBuffers.entrySet().iterator();
+			while(dataSourceBytes > maxBytes && iterator.hasNext()){
+				Entry<String, Integer> entry = iterator.next();
+				Long preloadTime = preloadedSoundTimes.get(entry.getKey());
+				if(!playingSoundNames.contains(entry.getKey()) && (preloadTime == null || currentTime - preloadTime > PRELOAD_PROTECTION_TIME)){
+					AL10.alDeleteBuffers(entry.getValue());
+					dataSourceBytes -= dataSourceBufferSizes.remove(entry.getKey());
+					soundLengths.remove(entry.getKey());
+					preloadedSoundTimes.remove(entry.getKey());
+					iterator.remove();
+					++cacheEvictions;
+				}
+			}
+			if(cacheEvictions != priorEvictions && MasterInterface.logger != null){
+				MasterInterface.logger.info("Removed " + (cacheEvictions - priorEvictions) + " sounds from the sound cache.  Cache is now " + dataSourceBytes/1024 + "KB.  Totals: " + cacheHits + " hits, " + cacheMisses + " misses, " + cacheEvictions + " removals.");
 			}
 		}
 	}
@@ -392,6 +694,12 @@ class InterfaceAudio implements IInterfaceAudio{
     				iterator.remove();
     			}
     		}
+    		iterator = waitingSounds.iterator();
+    		while(iterator.hasNext()){
+    			if(iterator.next().provider.getProviderWorld().getDimensionID() == event.getWorld().provider.getDimension()){
+    				iterator.remove();
+    			}
+    		}
     		for(SoundInstance playingSound : playingSounds){
     			if(playingSound.provider.getProviderWorld().getDimensionID() == event.getWorld().provider.getDimension()){
     				if(playingSound.radio != null){
@@ -407,4 +715,44 @@ class InterfaceAudio implements IInterfaceAudio{
             MasterInterface.audioInterface.update();
     	}
     }
+	
+	/**
+	 * Class that holds the output of a decoder thread.  The output is null
+	 * if the sound could not be decoded.
+	 */
+	private static class DecodedSound{
+		final String soundName;
+		final OGGDecoderOutput decoderOutput;
+		
+		DecodedSound(String soundName, OGGDecoderOutput decoderOutput){
+			this.soundName = soundName;
+			this.decoderOutput = decoderOutput;
+		}
+	}
+	
+	/**
+	 * Class that holds the last properties set on a source.  Used to prevent
+	 * sending properties to OpenAL that haven't changed.
+	 */
+	private static class SourceState{
+		float x;
+		float y;
+		float z;
+		float gain;
+		float pitch;
+		float rolloff;
+		
+		SourceState(){
+			reset();
+		}
+		
+		void reset(){
+			x = Float.NaN;
+			y = Float.NaN;
+			z = Float.NaN;
+			gain = Float.NaN;
+			pitch = Float.NaN;
+			rolloff = Float.NaN;
+		}
+	}
 }
\ No newline at end of file
@@ -57,6 +57,13 @@ class InterfaceCore implements IInterfaceCore{
 		}
 	}
 	
+	@Override
+	public void logInfo(String message){
+		if(MasterInterface.logger != null){
+			MasterInterface.logger.info(message);
+		}
+	}
+	
 	@Override
 	public IWrapperNBT createNewTag(){
 		return new WrapperNBT(new NBTTagCompound());
@@ -1,18 +1,27 @@
 package mcinterface1122;
 
 import java.io.IOException;
-
-import com.google.common.collect.BiMap;
-import com.google.common.collect.HashBiMap;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.IdentityHashMap;
+import java.util.Map;
 
 import io.netty.buffer.ByteBuf;
 import minecrafttransportsimulator.mcinterface.IInterfaceNetwork;
 import minecrafttransportsimulator.mcinterface.IWrapperNBT;
 import minecrafttransportsimulator.mcinterface.IWrapperPlayer;
 import minecrafttransportsimulator.packets.components.APacketBase;
+import minecrafttransportsimulator.systems.FluidSyncSystem;
+import minecrafttransportsimulator.systems.MovementSyncSystem;
+import minecrafttransportsimulator.systems.PacketDispatchSystem;
 import net.minecraft.entity.player.EntityPlayerMP;
 import net.minecraft.network.PacketBuffer;
 import net.minecraftforge.fml.common.FMLCommonHandler;
+import net.minecraftforge.fml.common.Mod;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent.Phase;
 import net.minecraftforge.fml.common.network.NetworkRegistry;
 import net.minecraftforge.fml.common.network.simpleimpl.IMessage;
 import net.minecraftforge.fml.common.network.simpleimpl.IMessageHandler;
@@ -20,9 +29,16 @@ import net.minecraftforge.fml.common.network.simpleimpl.MessageContext;
 import net.minecraftforge.fml.common.network.simpleimpl.SimpleNetworkWrapper;
 import net.minecraftforge.fml.relauncher.Side;
 
+@Mod.EventBusSubscriber
 class InterfaceNetwork implements IInterfaceNetwork{
 	private static final SimpleNetworkWrapper network = NetworkRegistry.INSTANCE.newSimpleChannel(MasterInterface.MODID);
-	private static final BiMap<Byte, Class<? extends APacketBase>> packetMappings = HashBiMap.create();
+	/**Constructors for packets, indexed by the unsigned value of their packet index.  Created once at registration.**/
+	private static final MethodHandle[] packetConstructors = new MethodHandle[256];
+	/**Indexes for packets, keyed by their class.**/
+	private static final Map<Class<? extends APacketBase>, Byte> packetIndexes = new IdentityHashMap<Class<? extends APacketBase>, Byte>();
+	/**Packets that may only be sent to clients, indexed the same as the constructors.**/
+	private static final boolean[] clientOnlyPackets = new boolean[256];
+	private static final MethodType PACKET_CONSTRUCTOR_TYPE = MethodType.methodType(APacketBase.class, ByteBuf.class);
 	
 	/**
 	 *  Called to init this network.  Needs to be done after networking is ready.
@@ -35,12 +51,26 @@ class InterfaceNetwork implements IInterfaceNetwork{
 	
 	@Override
 	public void registerPacket(byte packetIndex, Class<? extends APacketBase> packetClass){
-		packetMappings.put(packetIndex, packetClass);
+		//Look up the buffer constructor once here rather than every time a packet arrives.
+		//The handle is adapted to return the base class so it can be invoked exactly without knowing the packet class.
+		//We use our own lookup rather than the public one, as some packets in this package aren't public classes.
+		try{
+			packetConstructors[packetIndex & 0xFF] = MethodHandles.lookup().findConstructor(packetClass, MethodType.methodType(void.class, ByteBuf.class)).asType(PACKET_CONSTRUCTOR_TYPE);
+			packetIndexes.put(packetClass, packetIndex);
+		}catch(Exception e){
+			throw new IllegalArgumentException("ERROR: Packet class " + packetClass.getName() + " does not have a public constructor that takes a ByteBuf.  This is required for all packets!", e);
+		}
+	}
+	
+	@Override
+	public void registerClientPacket(byte packetIndex, Class<? extends APacketBase> packetClass){
+		registerPacket(packetIndex, packetClass);
+		clientOnlyPackets[packetIndex & 0xFF] = true;
 	}
 	
 	@Override
 	public byte getPacketIndex(APacketBase packet){
-		return packetMappings.inverse().get(packet.getClass());
+		return packetIndexes.get(packet.getClass());
 	}
 	
 	@Override
@@ -53,6 +83,36 @@ class InterfaceNetwork implements IInterfaceNetwork{
 		network.sendToAll(new WrapperPacket(packet));
 	}
 	
+	@Override
+	public APacketBase createPacketFromBuffer(ByteBuf buf){
+		return createPacketFromBuffer(buf, false);
+	}
+	
+	/**
+	 *  Creates a packet from the passed-in buffer.  If the buffer was sent by a client, packets
+	 *  registered as client-only are rejected before they are created, so clients can't make
+	 *  the server decode them.
+	 */
+	private APacketBase createPacketFromBuffer(ByteBuf buf, boolean sentByClient){
+		byte packetIndex = buf.readByte();
+		MethodHandle packetConstructor = packetConstructors[packetIndex & 0xFF];
+		if(sentByClient && clientOnlyPackets[packetIndex & 0xFF]){
+			MasterInterface.coreInterface.logError("ERROR: Received client-only packet with index " + packetIndex + " from a client.  It will be ignored.");
+		}else if(packetConstructor != null){
+			try{
+				return (APacketBase) packetConstructor.invokeExact(buf);
+			}catch(Error e){
+				//Don't swallow errors here, they need to propagate like they would without the handle.
+				throw e;
+			}catch(Throwable e){
+				e.printStackTrace();
+			}
+		}else{
+			MasterInterface.coreInterface.logError("ERROR: Received packet with unknown index: " + packetIndex);
+		}
+		return null;
+	}
+	
 	@Override
 	public IWrapperNBT createDataFromBuffer(ByteBuf buf){
 		PacketBuffer pb = new PacketBuffer(buf);
@@ -76,6 +136,19 @@ class InterfaceNetwork implements IInterfaceNetwork{
 		network.sendTo(new WrapperPacket(packet), player);
 	}
 	
+	/**
+	 *  Send all batched movement updates, fluid updates, and queued packets at the end of the server tick.  This is done
+	 *  after all worlds have ticked so every vehicle that moved this tick is included.
+	 */
+	@SubscribeEvent
+	public static void on(TickEvent.ServerTickEvent event){
+		if(event.phase.equals(Phase.END)){
+			MovementSyncSystem.sendUpdates();
+			FluidSyncSystem.sendUpdates();
+			PacketDispatchSystem.sendQueuedPackets();
+		}
+	}
+	
 	/**
 	 *  Gets the world this packet was sent from based on its context.
 	 *  Used for handling packets arriving on the server.
@@ -101,6 +174,7 @@ class InterfaceNetwork implements IInterfaceNetwork{
 	 */
 	public static class WrapperPacket implements IMessage{
 		private APacketBase packet;
+		private ByteBuf data;
 		
 		/**Do NOT call!  Required to keep Forge from crashing.**/
 		public WrapperPacket(){}
@@ -111,13 +185,9 @@ class InterfaceNetwork implements IInterfaceNetwork{
 				
 		@Override
 		public void fromBytes(ByteBuf buf){
-			byte packetIndex = buf.readByte();
-			try{
-				Class<? extends APacketBase> packetClass = packetMappings.get(packetIndex);
-				packet = packetClass.getConstructor(ByteBuf.class).newInstance(buf);
-			}catch(Exception e){
-				e.printStackTrace();
-			}
+			//We don't know which side we are on here, and so don't know what packets are allowed.
+			//Keep the data for the handler to create the packet from instead.
+			data = buf.copy();
 		}
 
 		@Override
@@ -128,11 +198,22 @@ class InterfaceNetwork implements IInterfaceNetwork{
 	
 	/**
 	 *  Custom class for handling packets.  This handler will have an instance of the packet
-	 *  class passed-in with all fields populated by {@link WrapperPacket#fromBytes}.
+	 *  class passed-in with the data read by {@link WrapperPacket#fromBytes}, which is used
+	 *  to create the packet now that we know which side sent it.
 	 */
 	public static class WrapperHandler implements IMessageHandler<WrapperPacket, IMessage>{
 		@Override
 		public IMessage onMessage(WrapperPacket message, MessageContext ctx){
+			if(message.data != null){
+				message.packet = MasterInterface.networkInterface.createPacketFromBuffer(message.data, ctx.side.isServer());
+				message.data.release();
+			}
+			
+			//If the packet couldn't be created, there's nothing to handle.
+			if(message.packet == null){
+				return null;
+			}
+			
 			//Need to put this in a runnable to not run it on the network thread and get a CME.
 			FMLCommonHandler.instance().getWorldThread(ctx.netHandler).addScheduledTask(new Runnable(){
 				@Override
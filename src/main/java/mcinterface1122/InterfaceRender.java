@@ -13,9 +13,14 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
 
 import org.lwjgl.opengl.GL11;
 
+import minecrafttransportsimulator.baseclasses.BoundingBox;
 import minecrafttransportsimulator.baseclasses.Point3d;
 import minecrafttransportsimulator.baseclasses.Point3i;
 import minecrafttransportsimulator.guis.components.AGUIBase;
@@ -43,6 +48,7 @@ import net.minecraft.client.renderer.GlStateManager;
 import net.minecraft.client.renderer.OpenGlHelper;
 import net.minecraft.client.renderer.RenderHelper;
 import net.minecraft.client.renderer.block.model.ModelResourceLocation;
+import net.minecraft.client.renderer.culling.Frustum;
 import net.minecraft.client.renderer.entity.Render;
 import net.minecraft.client.renderer.entity.RenderManager;
 import net.minecraft.client.renderer.texture.TextureUtil;
@@ -73,20 +79,59 @@ import net.minecraftforge.fml.client.registry.IRenderFactory;
 import net.minecraftforge.fml.client.registry.RenderingRegistry;
 import net.minecraftforge.fml.common.Mod;
 import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent.Phase;
+import net.minecraftforge.fml.common.gameevent.TickEvent.RenderTickEvent;
 import net.minecraftforge.fml.relauncher.Side;
 
 @Mod.EventBusSubscriber(Side.CLIENT)
 class InterfaceRender implements IInterfaceRender{
 	private static final Map<String, Integer> textures = new HashMap<String, Integer>();
+	
+	//Texture loading variables.  Textures are decoded on the executor threads, and uploaded on the render thread.
+	private static final long TEXTURE_UPLOAD_BUDGET = 2000000;
+	private static final Set<String> pendingTextures = new HashSet<String>();
+	private static final ConcurrentLinkedQueue<TextureDecoder> decodedTextures = new ConcurrentLinkedQueue<TextureDecoder>();
+	private static final ExecutorService textureExecutor = Executors.newFixedThreadPool(Math.max(1, Runtime.getRuntime().availableProcessors()/2), new ThreadFactory(){
+		@Override
+		public Thread newThread(Runnable runnable){
+			Thread thread = new Thread(runnable, "MTS Texture Decoder");
+			thread.setDaemon(true);
+			return thread;
+		}
+	});
+	private static int placeholderTexture = -1;
+	
 	private static final Map<BuilderEntity, RenderTickData> renderData = new HashMap<BuilderEntity, RenderTickData>();
 	private static String pushedTextureLocation;
 	private static BuilderGUI currentHUD = null;
+	private static long renderFrame;
+	
+	//Culling variables.  Frustum is updated once per frame.  Counts are shown on the debug screen.
+	private static Frustum frustum;
+	private static long frustumFrame = -1;
+	private static double cameraX;
+	private static double cameraY;
+	private static double cameraZ;
+	private static int entitiesDrawn;
+	private static int entitiesCulled;
+	private static int tilesDrawn;
+	private static int tilesCulled;
+	private static String cullingDebugText = "";
+	
+	//Seated player variables.  Re-used for every seated player rendered.
+	private static final Point3d riderAngles = new Point3d(0D, 0D, 0D);
+	private static final Point3d seatRotation = new Point3d(0D, 0D, 0D);
 	
 	@Override
 	public int getRenderPass(){
 		return MinecraftForgeClient.getRenderPass();
 	}
 	
+	@Override
+	public long getRenderFrame(){
+		return renderFrame;
+	}
+	
 	@Override
 	public boolean shouldRenderBoundingBoxes(){
 		return Minecraft.getMinecraft().getRenderManager().isDebugBoundingBox() && getRenderPass() != 1;
@@ -98,22 +143,7 @@ class InterfaceRender implements IInterfaceRender{
 		if(textureLocation.indexOf(":") != -1){
 			textureLocation = "/assets/" + textureLocation.replace(":", "/");
 		}
-		//Bind texture if we have it.
-		if(!textures.containsKey(textureLocation)){
-			//Don't have this texture created yet.  Do so now.
-			//Parse the texture, get the OpenGL integer that represents this texture, and save it.
-			//FAR less jank than using MC's resource system.
-			try{
-				BufferedImage bufferedimage = TextureUtil.readBufferedImage(InterfaceRender.class.getResourceAsStream(textureLocation));
-				int glTexturePointer = TextureUtil.glGenTextures();
-		        TextureUtil.uploadTextureImageAllocate(glTexturePointer, bufferedimage, false, false);
-		        textures.put(textureLocation, glTexturePointer);
-			}catch(Exception e){
-				MasterInterface.coreInterface.logError("ERROR: Could not find texture: " + textureLocation + " Reverting to fallback texture.");
-				textures.put(textureLocation, TextureUtil.MISSING_TEXTURE.getGlTextureId());
-			}
-		}
-		GlStateManager.bindTexture(textures.get(textureLocation));
+		GlStateManager.bindTexture(getTexture(textureLocation));
 	}
 	
 	@Override
@@ -125,10 +155,23 @@ class InterfaceRender implements IInterfaceRender{
 	@Override
 	public void recallTexture(){
 		if(pushedTextureLocation != null){
-			GlStateManager.bindTexture(textures.get(pushedTextureLocation));
+			bindTexture(pushedTextureLocation);
 		}
 	}
 	
+	@Override
+	public void bindGLTexture(int glTextureID){
+		GlStateManager.bindTexture(glTextureID);
+	}
+	
+	@Override
+	public boolean isTextureLoaded(String textureLocation){
+		if(textureLocation.indexOf(":") != -1){
+			textureLocation = "/assets/" + textureLocation.replace(":", "/");
+		}
+		return textures.containsKey(textureLocation);
+	}
+	
 	@Override
 	public void setLightingState(boolean enabled){
 		setSystemLightingState(enabled);
@@ -329,14 +372,14 @@ class InterfaceRender implements IInterfaceRender{
         	GL11.glPushMatrix();
         	if(ridingEntity != null){
         		//Get total angles for the entity the player is riding.
-        		Point3d totalAngles = ridingEntity.angles.copy();
+        		Point3d totalAngles = riderAngles.setTo(ridingEntity.angles);
 	            if(ridingEntity instanceof EntityVehicleF_Physics){
 	            	for(IWrapperEntity rider : ridingEntity.locationRiderMap.values()){
 						if(Minecraft.getMinecraft().player.equals(((WrapperEntity) rider).entity)){
 							PartSeat seat = (PartSeat) ((EntityVehicleF_Physics) ridingEntity).getPartAtLocation(ridingEntity.locationRiderMap.inverse().get(rider));
-		            		totalAngles = ridingEntity.angles.copy().add(seat.placementRotation).add(seat.getPositionRotation(event.getPartialRenderTick()).add(seat.getActionRotation(event.getPartialRenderTick())));
+		            		totalAngles.add(seat.placementRotation).add(seat.getPositionRotation(event.getPartialRenderTick(), seatRotation).add(seat.getActionRotation(event.getPartialRenderTick())));
 		            		if(seat.parentPart != null){
-		            			totalAngles.add(seat.parentPart.placementRotation).add(seat.parentPart.getPositionRotation(event.getPartialRenderTick()).add(seat.parentPart.getActionRotation(event.getPartialRenderTick())));
+		            			totalAngles.add(seat.parentPart.placementRotation).add(seat.parentPart.getPositionRotation(event.getPartialRenderTick(), seatRotation).add(seat.parentPart.getActionRotation(event.getPartialRenderTick())));
 			            	}
 						}
 	            	}
@@ -449,6 +492,23 @@ class InterfaceRender implements IInterfaceRender{
     	}
     }
 	
+    @SubscribeEvent
+    public static void on(RenderTickEvent event){
+    	//Count frames at the start of each one, and upload any textures that have been decoded.
+    	if(event.phase.equals(Phase.START)){
+    		++renderFrame;
+    		uploadDecodedTextures();
+    	}
+    }
+    
+    @SubscribeEvent
+    public static void on(RenderGameOverlayEvent.Text event){
+    	//Add the culling counts to the debug screen, under MC's own entity counts.
+    	if(Minecraft.getMinecraft().gameSettings.showDebugInfo){
+    		event.getLeft().add(cullingDebugText);
+    	}
+    }
+    
     @SubscribeEvent
     public static void on(RenderWorldLastEvent event){
     	Minecraft.getMinecraft().world.profiler.startSection("iv_render_pass_-1");
@@ -470,9 +530,136 @@ class InterfaceRender implements IInterfaceRender{
         		}
         	}
         }
+        
+        //Save how many things we drew and culled this frame for the debug screen, then reset the counts for the next frame.
+        if(Minecraft.getMinecraft().gameSettings.showDebugInfo){
+        	cullingDebugText = "IV: E: " + entitiesDrawn + "/" + (entitiesDrawn + entitiesCulled) + " T: " + tilesDrawn + "/" + (tilesDrawn + tilesCulled);
+        }
+        entitiesDrawn = 0;
+        entitiesCulled = 0;
+        tilesDrawn = 0;
+        tilesCulled = 0;
         Minecraft.getMinecraft().world.profiler.endSection();
     }
     
+	/**
+	 *  Returns true if the passed-in entity is in view of the player and should be rendered.
+	 *  The bounds of the entity are taken from its interaction boxes, as these contain all
+	 *  collision boxes as well as part boxes.
+	 */
+	static boolean isEntityInView(AEntityBase entity, float partialTicks){
+		if(entity.interactionBoxes.isEmpty()){
+			return true;
+		}
+		double minX = Double.MAX_VALUE;
+		double minY = Double.MAX_VALUE;
+		double minZ = Double.MAX_VALUE;
+		double maxX = -Double.MAX_VALUE;
+		double maxY = -Double.MAX_VALUE;
+		double maxZ = -Double.MAX_VALUE;
+		for(BoundingBox box : entity.interactionBoxes){
+			minX = Math.min(minX, box.globalCenter.x - box.widthRadius);
+			minY = Math.min(minY, box.globalCenter.y - box.heightRadius);
+			minZ = Math.min(minZ, box.globalCenter.z - box.depthRadius);
+			maxX = Math.max(maxX, box.globalCenter.x + box.widthRadius);
+			maxY = Math.max(maxY, box.globalCenter.y + box.heightRadius);
+			maxZ = Math.max(maxZ, box.globalCenter.z + box.depthRadius);
+		}
+		return isInView(minX, minY, minZ, maxX, maxY, maxZ, partialTicks, false);
+	}
+	
+	/**
+	 *  Returns true if something with the passed-in global bounds is in view of the player and should be rendered.
+	 *  Things are out of view if they are further than the render distance in the config, or if they are outside
+	 *  the view frustum.  The frustum is set up from MC's clipping helper the first time this is called each frame.
+	 *  This must be done before any translations are applied, which is why this is called before we translate
+	 *  to anything we render.  Results are counted for the debug screen on all passes but the blending pass 1.
+	 */
+	static boolean isInView(double minX, double minY, double minZ, double maxX, double maxY, double maxZ, float partialTicks, boolean isTileEntity){
+		if(frustumFrame != renderFrame){
+			Entity renderViewEntity = Minecraft.getMinecraft().getRenderViewEntity();
+			cameraX = renderViewEntity.lastTickPosX + (renderViewEntity.posX - renderViewEntity.lastTickPosX)*partialTicks;
+			cameraY = renderViewEntity.lastTickPosY + (renderViewEntity.posY - renderViewEntity.lastTickPosY)*partialTicks;
+			cameraZ = renderViewEntity.lastTickPosZ + (renderViewEntity.posZ - renderViewEntity.lastTickPosZ)*partialTicks;
+			frustum = new Frustum();
+			frustum.setPosition(cameraX, cameraY, cameraZ);
+			frustumFrame = renderFrame;
+		}
+		
+		//Check distance first as it's cheaper.  Shaders render from other views, so we can't frustum cull with them.
+		double deltaX = (minX + maxX)/2D - cameraX;
+		double deltaY = (minY + maxY)/2D - cameraY;
+		double deltaZ = (minZ + maxZ)/2D - cameraZ;
+		double renderDistance = ConfigSystem.configObject.client.renderDistance.value;
+		boolean inView = deltaX*deltaX + deltaY*deltaY + deltaZ*deltaZ < renderDistance*renderDistance;
+		if(inView && ConfigSystem.configObject.client.frustumCulling.value && !RenderTickData.areShadersPresent()){
+			inView = frustum.isBoxInFrustum(minX, minY, minZ, maxX, maxY, maxZ);
+		}
+		
+		if(MinecraftForgeClient.getRenderPass() != 1){
+			if(isTileEntity){
+				if(inView){
+					++tilesDrawn;
+				}else{
+					++tilesCulled;
+				}
+			}else{
+				if(inView){
+					++entitiesDrawn;
+				}else{
+					++entitiesCulled;
+				}
+			}
+		}
+		return inView;
+	}
+	
+	/**
+	 *  Returns the OpenGL integer for the passed-in texture.  If we don't have the texture yet, it's
+	 *  sent off to be decoded and the placeholder texture is returned until it's uploaded.
+	 *  This keeps us from stalling the render thread decoding textures when new things come into view.
+	 */
+	private static int getTexture(String textureLocation){
+		Integer glTexturePointer = textures.get(textureLocation);
+		if(glTexturePointer != null){
+			return glTexturePointer;
+		}else{
+			if(pendingTextures.add(textureLocation)){
+				textureExecutor.execute(new TextureDecoder(textureLocation));
+			}
+			if(placeholderTexture == -1){
+				BufferedImage placeholderImage = new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB);
+				placeholderImage.setRGB(0, 0, 0xFF808080);
+				placeholderTexture = TextureUtil.glGenTextures();
+				TextureUtil.uploadTextureImageAllocate(placeholderTexture, placeholderImage, false, false);
+			}
+			return placeholderTexture;
+		}
+	}
+	
+	/**
+	 *  Uploads decoded textures to OpenGL.  Textures are uploaded until we go over the upload budget for this
+	 *  frame, at which point the rest are left for the next frame.  At least one texture is uploaded every frame.
+	 */
+	private static void uploadDecodedTextures(){
+		long startTime = System.nanoTime();
+		TextureDecoder decoder;
+		while((decoder = decodedTextures.poll()) != null){
+			if(decoder.image != null){
+				int glTexturePointer = TextureUtil.glGenTextures();
+				TextureUtil.uploadTextureImageAllocate(glTexturePointer, decoder.image, false, false);
+				textures.put(decoder.textureLocation, glTexturePointer);
+			}else{
+				MasterInterface.coreInterface.logError("ERROR: Could not find texture: " + decoder.textureLocation + " Reverting to fallback texture.");
+				textures.put(decoder.textureLocation, TextureUtil.MISSING_TEXTURE.getGlTextureId());
+			}
+			pendingTextures.remove(decoder.textureLocation);
+			if(System.nanoTime() - startTime > TEXTURE_UPLOAD_BUDGET){
+				break;
+			}
+		}
+	}
+	
 	/**
 	 *  Event that's called to register models.  We register our render wrapper
 	 *  classes here, as well as all item JSONs.
@@ -509,8 +696,8 @@ class InterfaceRender implements IInterfaceRender{
 							renderPass = 2;
 						}
 						
-						//If we need to render, do so now.
-						if(renderData.get(builder).shouldRender(renderPass, partialTicks)){
+						//If we need to render, and we can be seen, do so now.
+						if(renderData.get(builder).shouldRender(renderPass, partialTicks) && isEntityInView(builder.entity, partialTicks)){
 							builder.entity.render(partialTicks);
 						}
 						Minecraft.getMinecraft().world.profiler.endSection();
@@ -797,4 +984,29 @@ class InterfaceRender implements IInterfaceRender{
 			return ItemOverrideList.NONE;
 		}
 	};*/
+	
+	/**Runnable that decodes a texture off the render thread.  Once decoded, it adds itself to the queue of
+	 * decoded textures for uploading.  If the texture couldn't be decoded, the image will be null.
+	 *
+	 * @author don_bruce
+	 */
+	private static class TextureDecoder implements Runnable{
+		private final String textureLocation;
+		private BufferedImage image;
+		
+		private TextureDecoder(String textureLocation){
+			this.textureLocation = textureLocation;
+		}
+		
+		@Override
+		public void run(){
+			//Parse the texture here.  FAR less jank than using MC's resource system.
+			try{
+				image = TextureUtil.readBufferedImage(InterfaceRender.class.getResourceAsStream(textureLocation));
+			}catch(Exception e){
+				image = null;
+			}
+			decodedTextures.add(this);
+		}
+	}
 }
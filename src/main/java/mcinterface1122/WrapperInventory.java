@@ -1,6 +1,7 @@
 package mcinterface1122;
 
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import minecrafttransportsimulator.items.components.AItemBase;
 import minecrafttransportsimulator.items.components.AItemPack;
@@ -14,6 +15,9 @@ import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.nbt.NBTUtil;
 
 class WrapperInventory implements IWrapperInventory{
+	private static final Map<Item, Double> weightMultipliers = new ConcurrentHashMap<Item, Double>();
+	private static volatile Map<String, Double> multiplierItems;
+	
 	final IInventory inventory;
 	
 	WrapperInventory(IInventory inventory){
@@ -134,8 +138,8 @@ class WrapperInventory implements IWrapperInventory{
                     currentStack.shrink(qtyRemovedFromStack);
                     if(currentStack.isEmpty()){
                         inventory.setInventorySlotContents(i, ItemStack.EMPTY);
-                        inventory.markDirty();
                     }
+                    inventory.markDirty();
                     if(qtyRemoved == qtyToRemove){
                         return true;
                     }
@@ -181,20 +185,54 @@ class WrapperInventory implements IWrapperInventory{
 	
 	@Override
 	public float getInventoryWeight(Map<String, Double> heavyItems){
+		//Vehicle chests cache their weight until their contents change.
+		WrapperTileEntity.WrapperEntityChest.EntityChest chest = null;
+		if(inventory instanceof WrapperTileEntity.WrapperEntityChest.EntityChest){
+			chest = (WrapperTileEntity.WrapperEntityChest.EntityChest) inventory;
+			if(chest.cachedWeight >= 0 && chest.cachedWeightItems == heavyItems){
+				return chest.cachedWeight;
+			}
+		}
+		
 		float weight = 0;
 		for(int i=0; i<inventory.getSizeInventory(); ++i){
 			ItemStack stack = inventory.getStackInSlot(i);
-			if(stack != null){
-				double weightMultiplier = 1.0;
-				for(String heavyItemName : heavyItems.keySet()){
-					if(stack.getItem().getRegistryName().toString().contains(heavyItemName)){
-						weightMultiplier = heavyItems.get(heavyItemName);
-						break;
-					}
-				}
-				weight += 5F*stack.getCount()/stack.getMaxStackSize()*weightMultiplier;
+			if(stack != null && !stack.isEmpty()){
+				weight += 5F*stack.getCount()/stack.getMaxStackSize()*getWeightMultiplier(stack.getItem(), heavyItems);
 			}
 		}
+		
+		if(chest != null){
+			chest.cachedWeight = weight;
+			chest.cachedWeightItems = heavyItems;
+		}
 		return weight;
 	}
+	
+	/**
+	 *  Returns the weight multiplier for the passed-in item.  Multipliers are found by
+	 *  checking the item's registry name against the heavy item names, which is far too
+	 *  slow to do for every stack every tick.  Instead, they are cached per item until
+	 *  the heavy items map changes.  This may be called from both the client and server
+	 *  threads, hence the concurrent map.
+	 */
+	private static double getWeightMultiplier(Item item, Map<String, Double> heavyItems){
+		if(multiplierItems != heavyItems){
+			weightMultipliers.clear();
+			multiplierItems = heavyItems;
+		}
+		Double weightMultiplier = weightMultipliers.get(item);
+		if(weightMultiplier == null){
+			weightMultiplier = 1.0;
+			String registryName = item.getRegistryName().toString();
+			for(String heavyItemName : heavyItems.keySet()){
+				if(registryName.contains(heavyItemName)){
+					weightMultiplier = heavyItems.get(heavyItemName);
+					break;
+				}
+			}
+			weightMultipliers.put(item, weightMultiplier);
+		}
+		return weightMultiplier;
+	}
 }
\ No newline at end of file
@@ -1,10 +1,13 @@
 package mcinterface1122;
 
+import java.util.Map;
+
 import minecrafttransportsimulator.mcinterface.IWrapperInventory;
 import minecrafttransportsimulator.mcinterface.IWrapperNBT;
 import minecrafttransportsimulator.mcinterface.IWrapperTileEntity;
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.inventory.IInventory;
+import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.tileentity.TileEntity;
 import net.minecraft.tileentity.TileEntityBrewingStand;
 import net.minecraft.tileentity.TileEntityChest;
@@ -51,8 +54,12 @@ class WrapperTileEntity implements IWrapperTileEntity{
 			tile.readFromNBT(data.tag);
 		}
 		
-		private static class EntityChest extends TileEntityChest{
+		static class EntityChest extends TileEntityChest{
 			final int numberSlots;
+			/**Weight of this chest's inventory, or -1 if it has changed since the weight was last calculated.**/
+			float cachedWeight = -1;
+			/**Heavy items map the cached weight was calculated with.**/
+			Map<String, Double> cachedWeightItems;
 			
 			public EntityChest(int numberSlots){
 				super();
@@ -74,6 +81,19 @@ class WrapperTileEntity implements IWrapperTileEntity{
 		        return numberSlots;
 		    }
 			
+			@Override
+			public void markDirty(){
+				//Slot changes from GUIs and our inventory methods all end up here, so use this to know when to re-weigh.
+				super.markDirty();
+				cachedWeight = -1;
+			}
+			
+			@Override
+			public void readFromNBT(NBTTagCompound tag){
+				super.readFromNBT(tag);
+				cachedWeight = -1;
+			}
+			
 			@Override
 			public void update(){
 				//Don't let the super do update logic.  That will result in Bad Stuff
@@ -6,6 +6,7 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
+import minecrafttransportsimulator.baseclasses.BlockCollisionSnapshot;
 import minecrafttransportsimulator.baseclasses.BoundingBox;
 import minecrafttransportsimulator.baseclasses.Damage;
 import minecrafttransportsimulator.baseclasses.Point3d;
@@ -40,6 +41,7 @@ import net.minecraft.entity.item.EntityItem;
 import net.minecraft.entity.monster.IMob;
 import net.minecraft.entity.passive.IAnimals;
 import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.entity.player.EntityPlayerMP;
 import net.minecraft.init.Blocks;
 import net.minecraft.init.Items;
 import net.minecraft.init.SoundEvents;
@@ -56,8 +58,10 @@ import net.minecraft.util.math.AxisAlignedBB;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.RayTraceResult;
 import net.minecraft.util.math.Vec3d;
+import net.minecraft.server.management.PlayerChunkMap;
 import net.minecraft.world.EnumSkyBlock;
 import net.minecraft.world.World;
+import net.minecraft.world.WorldServer;
 import net.minecraftforge.common.IPlantable;
 
 class WrapperWorld implements IWrapperWorld{
@@ -186,6 +190,30 @@ class WrapperWorld implements IWrapperWorld{
 		return foundEntity != null ? this.getWrapperFor(foundEntity) : null;
 	}
 	
+	@Override
+	public List<IWrapperPlayer> getPlayersTracking(AEntityBase entity){
+		List<IWrapperPlayer> players = new ArrayList<IWrapperPlayer>();
+		BuilderEntity builder = BuilderEntity.createdServerBuilders.get(entity);
+		if(builder != null){
+			for(EntityPlayer player : ((WorldServer) world).getEntityTracker().getTrackingPlayers(builder)){
+				players.add(getWrapperFor(player));
+			}
+		}
+		return players;
+	}
+	
+	@Override
+	public List<IWrapperPlayer> getPlayersTracking(Point3i position){
+		List<IWrapperPlayer> players = new ArrayList<IWrapperPlayer>();
+		PlayerChunkMap chunkMap = ((WorldServer) world).getPlayerChunkMap();
+		for(EntityPlayer player : world.playerEntities){
+			if(chunkMap.isPlayerWatchingChunk((EntityPlayerMP) player, position.x >> 4, position.z >> 4)){
+				players.add(getWrapperFor(player));
+			}
+		}
+		return players;
+	}
+	
 	@Override
 	public void spawnEntity(AEntityBase entity){
     	BuilderEntity builder = new BuilderEntity(world);
@@ -455,6 +483,42 @@ class WrapperWorld implements IWrapperWorld{
 		}
 	}
 	
+	@Override
+	public void populateCollisionSnapshot(BlockCollisionSnapshot snapshot, double minX, double minY, double minZ, double maxX, double maxY, double maxZ){
+		snapshot.reset(minX, minY, minZ, maxX, maxY, maxZ);
+		AxisAlignedBB mcBox = new AxisAlignedBB(minX, minY, minZ, maxX, maxY, maxZ);
+		List<AxisAlignedBB> blockAABBs = new ArrayList<AxisAlignedBB>();
+		BlockPos.MutableBlockPos mutablePos = new BlockPos.MutableBlockPos();
+		for(int i = (int) Math.floor(minX); i < Math.ceil(maxX); ++i){
+    		for(int j = (int) Math.floor(minY); j < Math.ceil(maxY); ++j){
+    			for(int k = (int) Math.floor(minZ); k < Math.ceil(maxZ); ++k){
+    				mutablePos.setPos(i, j, k);
+    				if(world.isBlockLoaded(mutablePos)){
+	    				IBlockState state = world.getBlockState(mutablePos);
+	    				WrapperBlock block = null;
+	    				if(state.getBlock().canCollideCheck(state, false) && state.getCollisionBoundingBox(world, mutablePos) != null){
+	    					blockAABBs.clear();
+	    					state.addCollisionBoxToList(world, mutablePos, mcBox, blockAABBs, null, false);
+	    					if(!blockAABBs.isEmpty()){
+	    						block = new WrapperBlock(world, mutablePos.toImmutable());
+		    					for(AxisAlignedBB blockAABB : blockAABBs){
+		    						snapshot.addBox(blockAABB.minX, blockAABB.minY, blockAABB.minZ, blockAABB.maxX, blockAABB.maxY, blockAABB.maxZ, i, j, k, block, false);
+		    					}
+	    					}
+	    				}
+						if(state.getMaterial().isLiquid()){
+							AxisAlignedBB liquidAABB = state.getBoundingBox(world, mutablePos).offset(mutablePos);
+							if(block == null){
+								block = new WrapperBlock(world, mutablePos.toImmutable());
+							}
+							snapshot.addBox(liquidAABB.minX, liquidAABB.minY, liquidAABB.minZ, liquidAABB.maxX, liquidAABB.maxY, liquidAABB.maxZ, i, j, k, block, true);
+						}
+    				}
+    			}
+    		}
+    	}
+	}
+	
 	@Override
 	public int getRedstonePower(Point3i point){
 		return world.getStrongPower(new BlockPos(point.x, point.y, point.z));
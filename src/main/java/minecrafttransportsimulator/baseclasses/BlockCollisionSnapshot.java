@@ -0,0 +1,193 @@
+package minecrafttransportsimulator.baseclasses;
+
+import minecrafttransportsimulator.mcinterface.IWrapperBlock;
+import minecrafttransportsimulator.mcinterface.IWrapperWorld;
+
+/**Snapshot of all block collision boxes in a region of the world.  This is populated once
+ * via {@link IWrapperWorld#populateCollisionSnapshot(BlockCollisionSnapshot, double, double, double, double, double, double)},
+ * after which any {@link BoundingBox} that is fully inside the region may be checked against
+ * this snapshot rather than the world.  This is far faster when the same boxes are checked
+ * over and over, as happens when vehicles correct their movement after a collision, as no
+ * world queries or allocations are needed for the checks.
+ * <br><br>
+ * Boxes are stored in a flat array as minX, minY, minZ, maxX, maxY, maxZ.  Each box also
+ * stores the position of the block it came from, as well as if it is a liquid box.
+ * Note that the snapshot is NOT updated if blocks change, so call {@link #invalidate()} if
+ * you modify any blocks in the region, otherwise checks will be done on stale data.
+ *
+ * @author don_bruce
+ */
+public class BlockCollisionSnapshot{
+	private double[] boxes = new double[6*32];
+	private int[] boxPositions = new int[3*32];
+	private boolean[] liquidBoxes = new boolean[32];
+	private IWrapperBlock[] boxBlocks = new IWrapperBlock[32];
+	private int boxCount;
+	private boolean valid;
+	
+	private double minX;
+	private double minY;
+	private double minZ;
+	private double maxX;
+	private double maxY;
+	private double maxZ;
+	
+	/**
+	 *  Clears this snapshot and sets the region it covers.  Called by the world prior
+	 *  to adding boxes.  Snapshot is valid after this call until {@link #invalidate()} is called.
+	 */
+	public void reset(double minX, double minY, double minZ, double maxX, double maxY, double maxZ){
+		this.minX = minX;
+		this.minY = minY;
+		this.minZ = minZ;
+		this.maxX = maxX;
+		this.maxY = maxY;
+		this.maxZ = maxZ;
+		for(int i=0; i<boxCount; ++i){
+			boxBlocks[i] = null;
+		}
+		boxCount = 0;
+		valid = true;
+	}
+	
+	/**
+	 *  Adds a box to this snapshot.  The block passed-in is the block the box belongs to,
+	 *  and the position is that block's position.  Multiple boxes for the same block should
+	 *  be added one after the other, and should all use the same block instance.
+	 */
+	public void addBox(double boxMinX, double boxMinY, double boxMinZ, double boxMaxX, double boxMaxY, double boxMaxZ, int blockX, int blockY, int blockZ, IWrapperBlock block, boolean isLiquid){
+		if(boxCount == liquidBoxes.length){
+			int newSize = boxCount*2;
+			double[] newBoxes = new double[6*newSize];
+			System.arraycopy(boxes, 0, newBoxes, 0, 6*boxCount);
+			boxes = newBoxes;
+			int[] newPositions = new int[3*newSize];
+			System.arraycopy(boxPositions, 0, newPositions, 0, 3*boxCount);
+			boxPositions = newPositions;
+			boolean[] newLiquids = new boolean[newSize];
+			System.arraycopy(liquidBoxes, 0, newLiquids, 0, boxCount);
+			liquidBoxes = newLiquids;
+			IWrapperBlock[] newBlocks = new IWrapperBlock[newSize];
+			System.arraycopy(boxBlocks, 0, newBlocks, 0, boxCount);
+			boxBlocks = newBlocks;
+		}
+		int index = 6*boxCount;
+		boxes[index] = boxMinX;
+		boxes[index + 1] = boxMinY;
+		boxes[index + 2] = boxMinZ;
+		boxes[index + 3] = boxMaxX;
+		boxes[index + 4] = boxMaxY;
+		boxes[index + 5] = boxMaxZ;
+		index = 3*boxCount;
+		boxPositions[index] = blockX;
+		boxPositions[index + 1] = blockY;
+		boxPositions[index + 2] = blockZ;
+		liquidBoxes[boxCount] = isLiquid;
+		boxBlocks[boxCount] = block;
+		++boxCount;
+	}
+	
+	/**
+	 *  Invalidates this snapshot.  After this call, no boxes will be contained by it
+	 *  until it is re-populated.
+	 */
+	public void invalidate(){
+		valid = false;
+	}
+	
+	/**
+	 *  Returns true if this snapshot is valid, and the passed-in box, with its current
+	 *  global center, is fully inside the region this snapshot covers.
+	 */
+	public boolean contains(BoundingBox box){
+		return valid &&
+				box.globalCenter.x - box.widthRadius >= minX &&
+				box.globalCenter.x + box.widthRadius <= maxX &&
+				box.globalCenter.y - box.heightRadius >= minY &&
+				box.globalCenter.y + box.heightRadius <= maxY &&
+				box.globalCenter.z - box.depthRadius >= minZ &&
+				box.globalCenter.z + box.depthRadius <= maxZ;
+	}
+	
+	/**
+	 *  Snapshot version of {@link IWrapperWorld#updateBoundingBoxCollisions(BoundingBox, Point3d, boolean)}.
+	 *  Results are the same as the world version, provided the box is inside this snapshot.
+	 */
+	public void updateBoundingBoxCollisions(BoundingBox box, Point3d collisionMotion, boolean ignoreIfGreater){
+		double boxMinX = box.globalCenter.x - box.widthRadius;
+		double boxMinY = box.globalCenter.y - box.heightRadius;
+		double boxMinZ = box.globalCenter.z - box.depthRadius;
+		double boxMaxX = box.globalCenter.x + box.widthRadius;
+		double boxMaxY = box.globalCenter.y + box.heightRadius;
+		double boxMaxZ = box.globalCenter.z + box.depthRadius;
+		
+		//Only blocks in the block range of the box are checked.
+		int blockMinX = (int) Math.floor(boxMinX);
+		int blockMinY = (int) Math.floor(boxMinY);
+		int blockMinZ = (int) Math.floor(boxMinZ);
+		double blockMaxX = Math.ceil(boxMaxX);
+		double blockMaxY = Math.ceil(boxMaxY);
+		double blockMaxZ = Math.ceil(boxMaxZ);
+		
+		box.collidingBlocks.clear();
+		box.currentCollisionDepth.set(0D, 0D, 0D);
+		IWrapperBlock lastBlockAdded = null;
+		double boxCollisionDepth;
+		for(int i=0; i<boxCount; ++i){
+			int positionIndex = 3*i;
+			if(boxPositions[positionIndex] < blockMinX || boxPositions[positionIndex] >= blockMaxX || boxPositions[positionIndex + 1] < blockMinY || boxPositions[positionIndex + 1] >= blockMaxY || boxPositions[positionIndex + 2] < blockMinZ || boxPositions[positionIndex + 2] >= blockMaxZ){
+				continue;
+			}
+			
+			int index = 6*i;
+			if(liquidBoxes[i]){
+				if(!box.collidesWithLiquids){
+					continue;
+				}
+			}else if(!(boxes[index] < boxMaxX && boxes[index + 3] > boxMinX && boxes[index + 1] < boxMaxY && boxes[index + 4] > boxMinY && boxes[index + 2] < boxMaxZ && boxes[index + 5] > boxMinZ)){
+				continue;
+			}
+			
+			//Box collided.  Add the block it belongs to if we haven't already.
+			if(boxBlocks[i] != lastBlockAdded || liquidBoxes[i]){
+				box.collidingBlocks.add(boxBlocks[i]);
+				lastBlockAdded = boxBlocks[i];
+			}
+			
+			//If we are in the depth bounds for this collision, set it as the collision depth.
+			if(collisionMotion.x > 0){
+				boxCollisionDepth = boxMaxX - boxes[index];
+				if(!ignoreIfGreater || collisionMotion.x - boxCollisionDepth > 0){
+					box.currentCollisionDepth.x = Math.max(box.currentCollisionDepth.x, boxCollisionDepth);
+				}
+			}else if(collisionMotion.x < 0){
+				boxCollisionDepth = boxes[index + 3] - boxMinX;
+				if(!ignoreIfGreater || collisionMotion.x + boxCollisionDepth < 0){
+					box.currentCollisionDepth.x = Math.max(box.currentCollisionDepth.x, boxCollisionDepth);
+				}
+			}
+			if(collisionMotion.y > 0){
+				boxCollisionDepth = boxMaxY - boxes[index + 1];
+				if(!ignoreIfGreater || collisionMotion.y - boxCollisionDepth > 0){
+					box.currentCollisionDepth.y = Math.max(box.currentCollisionDepth.y, boxCollisionDepth);
+				}
+			}else if(collisionMotion.y < 0){
+				boxCollisionDepth = boxes[index + 4] - boxMinY;
+				if(!ignoreIfGreater || collisionMotion.y + boxCollisionDepth < 0){
+					box.currentCollisionDepth.y = Math.max(box.currentCollisionDepth.y, boxCollisionDepth);
+				}
+			}
+			if(collisionMotion.z > 0){
+				boxCollisionDepth = boxes[index + 5] - boxMinZ;
+				if(!ignoreIfGreater || collisionMotion.z - boxCollisionDepth > 0){
+					box.currentCollisionDepth.z = Math.max(box.currentCollisionDepth.z, boxCollisionDepth);
+				}
+			}else if(collisionMotion.z < 0){
+				boxCollisionDepth = boxes[index + 5] - boxMinZ;
+				if(!ignoreIfGreater || collisionMotion.z + boxCollisionDepth < 0){
+					box.currentCollisionDepth.z = Math.max(box.currentCollisionDepth.z, boxCollisionDepth);
+				}
+			}
+		}
+	}
+}
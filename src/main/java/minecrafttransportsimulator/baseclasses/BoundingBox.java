@@ -63,7 +63,15 @@ public class BoundingBox{
 	 *  If blocks collided with this box after this method, true is returned.
 	 */
 	public boolean updateCollidingBlocks(IWrapperWorld world, Point3d offset){
-		return updateCollisions(world, offset, false);
+		return updateCollisions(world, null, offset, false);
+	}
+	
+	/**
+	 *  Like {@link #updateCollidingBlocks(IWrapperWorld, Point3d)}, but checks against the passed-in snapshot
+	 *  rather than the world if this box, once offset, is inside the snapshot.  If not, the world is used.
+	 */
+	public boolean updateCollidingBlocks(IWrapperWorld world, BlockCollisionSnapshot snapshot, Point3d offset){
+		return updateCollisions(world, snapshot, offset, false);
 	}
 	
 	/**
@@ -71,13 +79,17 @@ public class BoundingBox{
 	 *  when setting collision depth.
 	 */
 	public boolean updateMovingCollisions(IWrapperWorld world, Point3d offset){
-		return updateCollisions(world, offset, true);
+		return updateCollisions(world, null, offset, true);
 	}
 	
-	private boolean updateCollisions(IWrapperWorld world, Point3d offset, boolean ignoreIfGreater){
+	private boolean updateCollisions(IWrapperWorld world, BlockCollisionSnapshot snapshot, Point3d offset, boolean ignoreIfGreater){
 		tempGlobalCenter.setTo(globalCenter);
 		globalCenter.add(offset);
-		world.updateBoundingBoxCollisions(this, offset, ignoreIfGreater);
+		if(snapshot != null && snapshot.contains(this)){
+			snapshot.updateBoundingBoxCollisions(this, offset, ignoreIfGreater);
+		}else{
+			world.updateBoundingBoxCollisions(this, offset, ignoreIfGreater);
+		}
 		globalCenter.setTo(tempGlobalCenter);
 		return !collidingBlocks.isEmpty();
 	}
@@ -85,11 +97,11 @@ public class BoundingBox{
 	/**
 	 *  Sets the global center of this box to the position of the passed-in entity, rotated by the
 	 *  entity's rotation and offset by the local center.  Mostly used for updating hitboxes that
-	 *  rotate with the entity.  Rotation is done using the fine Point3d rotation to allow for
-	 *  better interaction while standing on entities.
+	 *  rotate with the entity.  Rotation is done using the entity's rotation matrix, which gives
+	 *  fine rotation to allow for better interaction while standing on entities.
 	 */
 	public void updateToEntity(AEntityBase entity){
-		globalCenter.setTo(localCenter).rotateFine(entity.angles).add(entity.position);
+		globalCenter.setTo(localCenter).transform(entity.getRotationMatrix(), entity.position);
 		if(isCollision){
 			//Need to round box to nearest 0.1 unit to prevent floating-point errors.
 			globalCenter.x = ((int) (globalCenter.x*10D))/10D;
@@ -1,16 +1,21 @@
 package minecrafttransportsimulator.baseclasses;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
+import minecrafttransportsimulator.blocks.tileentities.components.ATileEntityBase;
 import minecrafttransportsimulator.mcinterface.IWrapperNBT;
-import minecrafttransportsimulator.mcinterface.MasterLoader;
-import minecrafttransportsimulator.packets.instances.PacketFluidTankChange;
+import minecrafttransportsimulator.mcinterface.IWrapperPlayer;
 import minecrafttransportsimulator.systems.ConfigSystem;
+import minecrafttransportsimulator.systems.FluidSyncSystem;
+import minecrafttransportsimulator.vehicles.main.AEntityBase;
 
 /**Basic fluid tanks class.  Class contains methods for filling and draining, as well as automatic
  * syncing of fluid levels across clients and servers.  This allows the tank to be put on any object
- * without the need to worry about packets getting out of whack.
+ * without the need to worry about packets getting out of whack.  Tanks are owned by either an entity
+ * or a tile entity, and only players tracking their owner are sent their levels.  See
+ * {@link FluidSyncSystem} for how this is done.
  *
  * @author don_bruce
  */
@@ -23,14 +28,26 @@ public class FluidTank{
 	public final int tankID;
 	private final int maxLevel;
 	private final boolean onClient;
+	private final AEntityBase entity;
+	private final ATileEntityBase<?> tileEntity;
 	private String currentFluid;
 	private double fluidLevel;
 	private double fluidDispensed;
 	
-	public FluidTank(IWrapperNBT data, int maxLevel, boolean onClient){
+	public FluidTank(IWrapperNBT data, int maxLevel, AEntityBase entity){
+		this(data, maxLevel, entity.world.isClient(), entity, null);
+	}
+	
+	public FluidTank(IWrapperNBT data, int maxLevel, ATileEntityBase<?> tileEntity){
+		this(data, maxLevel, tileEntity.world.isClient(), null, tileEntity);
+	}
+	
+	private FluidTank(IWrapperNBT data, int maxLevel, boolean onClient, AEntityBase entity, ATileEntityBase<?> tileEntity){
 		this.tankID = onClient ? data.getInteger("tankID") : idCounter++;
 		this.maxLevel = maxLevel;
 		this.onClient = onClient;
+		this.entity = entity;
+		this.tileEntity = tileEntity;
 		this.currentFluid = data.getString("currentFluid");
 		this.fluidLevel = data.getDouble("fluidLevel");
 		this.fluidDispensed = data.getDouble("fluidDispensed");
@@ -77,6 +94,32 @@ public class FluidTank{
 		return currentFluid;
 	}
 	
+	/**
+	 *  Returns true if the owner of this tank is still in the world.
+	 *  Tile entities are removed with their blocks, so they are always valid.
+	 */
+	public boolean isOwnerValid(){
+		return entity == null || entity.isValid;
+	}
+	
+	/**
+	 *  Returns all players tracking the owner of this tank.  These are the only
+	 *  players that need to know about this tank's level.  Only valid on servers.
+	 */
+	public List<IWrapperPlayer> getPlayersTracking(){
+		return entity != null ? entity.world.getPlayersTracking(entity) : tileEntity.world.getPlayersTracking(tileEntity.position);
+	}
+	
+	/**
+	 *  Sets the state of this tank to the state sent from the server.  Used on clients
+	 *  to sync tanks, as the server is the authority on what is in them.
+	 */
+	public void setFromServer(String fluidName, double fluidLevel, double fluidDispensed){
+		this.currentFluid = fluidName;
+		this.fluidLevel = fluidLevel;
+		this.fluidDispensed = fluidDispensed;
+	}
+	
 	/**
 	 *  Manually sets the fluid and level of this tank.  Used for initial filling of the tank when
 	 *  you don't want to sent packets or perform any validity checks.  Do NOT use for normal operations!
@@ -100,12 +143,13 @@ public class FluidTank{
 			}
 			if(doFill){
 				fluidLevel += maxAmount;
-				if(currentFluid.isEmpty()){
+				boolean fluidChanged = currentFluid.isEmpty();
+				if(fluidChanged){
 					currentFluid = fluid;
 				}
-				//Send off packet now that we know what fluid we will have on this tank.
-				if(!onClient){
-					MasterLoader.networkInterface.sendToAllClients(new PacketFluidTankChange(this, maxAmount));
+				//Mark us to be synced with clients.  If we have a new fluid, clients need to know right away.
+				if(!onClient && maxAmount != 0){
+					FluidSyncSystem.markDirty(this, fluidChanged);
 				}
 			}
 			return maxAmount;
@@ -127,15 +171,16 @@ public class FluidTank{
 				maxAmount = fluidLevel;
 			}
 			if(doDrain){
-				//Need to send off packet before we remove fluid due to empty tank.
-				if(!onClient){
-					MasterLoader.networkInterface.sendToAllClients(new PacketFluidTankChange(this, -maxAmount));
-				}
 				fluidLevel -= maxAmount;
 				fluidDispensed += maxAmount;
-				if(fluidLevel == 0){
+				boolean fluidChanged = fluidLevel == 0;
+				if(fluidChanged){
 					currentFluid = "";
 				}
+				//Mark us to be synced with clients.  If we are now empty, clients need to know right away.
+				if(!onClient && maxAmount != 0){
+					FluidSyncSystem.markDirty(this, fluidChanged);
+				}
 			}
 			return maxAmount;
 		}else{
@@ -302,6 +302,27 @@ public class Point3d{
 		return this;
 	}
 	
+	/**
+     * Rotates this point by the passed-in rotation matrix.  This gives the same result as
+     * {@link #rotateFine(Point3d)} with the angles the matrix was made from, but without any
+     * sin or cos calls, so use this when rotating lots of points by the same angles.
+     */
+	public Point3d rotate(RotationMatrix matrix){
+		set(	x*matrix.m00 + y*matrix.m01 + z*matrix.m02,
+				x*matrix.m10 + y*matrix.m11 + z*matrix.m12,
+				x*matrix.m20 + y*matrix.m21 + z*matrix.m22
+		);
+		return this;
+	}
+	
+	/**
+     * Rotates this point by the passed-in rotation matrix, and then adds the passed-in offset.
+     * This is the standard operation for going from entity-local to world coordinates.
+     */
+	public Point3d transform(RotationMatrix matrix, Point3d offset){
+		return rotate(matrix).add(offset);
+	}
+	
 	/*For reference, here are the rotation matrixes.
 	 * Note that the resultant rotation matrix follows the Yaw*Pitch*Roll format.
 	 * Rx=[[1,0,0],[0,cos(P),-sin(P)],[0,sin(P),cos(P)]]
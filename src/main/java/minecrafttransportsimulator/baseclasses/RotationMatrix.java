@@ -0,0 +1,55 @@
+package minecrafttransportsimulator.baseclasses;
+
+/**Basic 3x3 rotation matrix class.  This is created from a set of angles in the same
+ * Yaw*Pitch*Roll format used by {@link Point3d#rotateFine(Point3d)}, but unlike that method
+ * the sin and cos calls are only done when the angles change.  This allows entities to
+ * compute their rotation once per tick and then rotate as many points as they need with
+ * just multiplication and addition.  Use {@link Point3d#rotate(RotationMatrix)} or
+ * {@link Point3d#transform(RotationMatrix, Point3d)} to apply this matrix to a point.
+ *
+ * @author don_bruce
+ */
+public class RotationMatrix{
+	public double m00 = 1;
+	public double m01;
+	public double m02;
+	public double m10;
+	public double m11 = 1;
+	public double m12;
+	public double m20;
+	public double m21;
+	public double m22 = 1;
+	
+	private double angleX;
+	private double angleY;
+	private double angleZ;
+	
+	/**
+	 * Sets this matrix to the rotation for the passed-in angles.  If the angles are the
+	 * same as the last call, then the matrix is left as-is and no trig calls are made.
+	 * Returns the called object for nested operations.
+	 */
+	public RotationMatrix setToAngles(Point3d angles){
+		if(angles.x != angleX || angles.y != angleY || angles.z != angleZ){
+			angleX = angles.x;
+			angleY = angles.y;
+			angleZ = angles.z;
+			double cosX = Math.cos(Math.toRadians(angles.x));//A
+			double sinX = Math.sin(Math.toRadians(angles.x));//B
+			double cosY = Math.cos(Math.toRadians(angles.y));//C
+			double sinY = Math.sin(Math.toRadians(angles.y));//D
+			double cosZ = Math.cos(Math.toRadians(angles.z));//E
+			double sinZ = Math.sin(Math.toRadians(angles.z));//F
+			m00 = cosY*cosZ-sinX*-sinY*sinZ;
+			m01 = -sinX*-sinY*cosZ-cosY*sinZ;
+			m02 = -cosX*-sinY;
+			m10 = cosX*sinZ;
+			m11 = cosX*cosZ;
+			m12 = -sinX;
+			m20 = -sinY*cosZ+sinX*cosY*sinZ;
+			m21 = sinX*cosY*cosZ+sinY*sinZ;
+			m22 = cosX*cosY;
+		}
+		return this;
+	}
+}
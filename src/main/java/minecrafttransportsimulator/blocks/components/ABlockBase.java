@@ -42,6 +42,12 @@ public abstract class ABlockBase{
 	public boolean onClicked(IWrapperWorld world, Point3i location, Axis axis, IWrapperPlayer player){
 		return false;
 	}
+	
+	/**
+	 *  Called when a block next to this block changes.  This is only called on the server,
+	 *  so any changes that clients need to know about will need to be sent to them.
+	 */
+	public void onNeighborChanged(IWrapperWorld world, Point3i location){}
 
 	/**
 	 *  Gets the current rotation of the block at the passed-in point.
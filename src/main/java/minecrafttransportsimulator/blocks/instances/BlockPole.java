@@ -21,6 +21,7 @@ import minecrafttransportsimulator.mcinterface.IWrapperPlayer;
 import minecrafttransportsimulator.mcinterface.IWrapperWorld;
 import minecrafttransportsimulator.mcinterface.MasterLoader;
 import minecrafttransportsimulator.packets.instances.PacketTileEntityPoleChange;
+import minecrafttransportsimulator.packets.instances.PacketTileEntityPoleConnections;
 
 /**Pole block class.  This class allows for dynamic collision boxes and dynamic
  * placement of components on poles via the Tile Entity.
@@ -52,6 +53,22 @@ public class BlockPole extends ABlockBase implements IBlockTileEntity<TileEntity
 			TileEntityPole pole = (TileEntityPole) world.getTileEntity(location);
 			pole.components.put(Axis.NONE, TileEntityPole.createComponent(((ItemPoleComponent) player.getHeldItem())));
 		}
+		
+		//Work out what we are connected to now, so clients get it with our initial state.
+		TileEntityPole pole = (TileEntityPole) world.getTileEntity(location);
+		if(pole != null){
+			pole.updateConnections();
+		}
+	}
+	
+	@Override
+	public void onNeighborChanged(IWrapperWorld world, Point3i location){
+		//Update connections and let clients know if they changed.
+		TileEntityPole pole = (TileEntityPole) world.getTileEntity(location);
+		if(pole != null && pole.updateConnections()){
+			world.markTileEntityChanged(location);
+			MasterLoader.networkInterface.sendToAllClients(new PacketTileEntityPoleConnections(pole));
+		}
 	}
 	
 	@Override
@@ -93,7 +110,7 @@ public class BlockPole extends ABlockBase implements IBlockTileEntity<TileEntity
 		TileEntityPole pole = (TileEntityPole) world.getTileEntity(location);
 		if(pole != null){
 			for(Axis axis : Axis.values()){
-				if(world.getBlock(axis.getOffsetPoint(location)) instanceof BlockPole || world.isBlockSolid(axis.getOffsetPoint(location)) || pole.components.containsKey(axis)){
+				if(axis.equals(Axis.NONE) || pole.isConnected(axis) || pole.components.containsKey(axis)){
 					collidingBoxes.add(axisBounds.get(axis));
 				}
 			}
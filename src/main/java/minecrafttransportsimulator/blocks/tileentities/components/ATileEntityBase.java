@@ -63,7 +63,8 @@ public abstract class ATileEntityBase<JSONDefinition extends AJSONItem<?>>{
 	}
 	
 	/**
-	 *  Called when this TileEntity is removed from the world.
+	 *  Called when this TileEntity is removed from the world.  This is either
+	 *  from the block being broken, or from the chunk it is in unloading.
 	 */
 	public void remove(){}
 	
@@ -25,7 +25,7 @@ public class TileEntityFluidLoader extends ATileEntityBase<JSONDecor>implements
 
     public TileEntityFluidLoader(IWrapperWorld world, Point3i position, IWrapperNBT data){
     	super(world, position, data);
-    	this.tank = new FluidTank(data, 15000, world.isClient());
+    	this.tank = new FluidTank(data, 15000, this);
     	this.unloadMode = data.getBoolean("unloadMode");
     }
 	
@@ -24,7 +24,7 @@ public class TileEntityFuelPump extends ATileEntityBase<JSONDecor>implements ITi
 
     public TileEntityFuelPump(IWrapperWorld world, Point3i position, IWrapperNBT data){
     	super(world, position, data);
-    	this.tank = new FluidTank(data, 15000, world.isClient());
+    	this.tank = new FluidTank(data, 15000, this);
     }
 	
 	@Override
@@ -8,6 +8,7 @@ import java.util.Map.Entry;
 
 import minecrafttransportsimulator.baseclasses.Point3i;
 import minecrafttransportsimulator.blocks.components.ABlockBase.Axis;
+import minecrafttransportsimulator.blocks.instances.BlockPole;
 import minecrafttransportsimulator.blocks.tileentities.components.ATileEntityBase;
 import minecrafttransportsimulator.blocks.tileentities.components.ATileEntityPole_Component;
 import minecrafttransportsimulator.items.components.AItemPack;
@@ -21,14 +22,27 @@ import minecrafttransportsimulator.systems.PackParserSystem;
 /**Pole tile entity.  Remembers what components we have attached and the state of the components.
  * This tile entity does not tick, as states can be determined without ticks or are controlled
  * from other tickable TEs.
+ * <br><br>
+ * This TE also remembers what is next to it on each axis as a set of bits.  This is worked out on the
+ * server when the pole is placed and whenever a neighboring block changes, and is sent to clients
+ * from there.  This keeps rendering and collision checks from having to query the world every time.
 *
 * @author don_bruce
 */
 public class TileEntityPole extends ATileEntityBase<JSONPoleComponent>{
 	public final Map<Axis, ATileEntityPole_Component> components = new HashMap<Axis, ATileEntityPole_Component>();
 	
+	/**Bit offsets for the connection states in the connections int.  Each state has one bit per axis.**/
+	private static final int CONNECTED_BITS = 0;
+	private static final int SOLID_BITS = 8;
+	private static final int SLAB_BITS = 16;
+	/**Bit that is set if the connections have been worked out.  Old poles won't have it set in their saved data.**/
+	private static final int CONNECTIONS_VALID_BIT = 1 << 24;
+	private int connections;
+	
 	public TileEntityPole(IWrapperWorld world, Point3i position, IWrapperNBT data){
 		super(world, position, data);
+		this.connections = data.getInteger("connections");
 		//Load components back in.
 		for(Axis axis : Axis.values()){
 			String packID = data.getString("packID" + axis.ordinal());
@@ -57,6 +71,83 @@ public class TileEntityPole extends ATileEntityBase<JSONPoleComponent>{
 		}
 	}
 	
+	/**
+	 * Returns true if this pole connects to the block on the passed-in axis.  This happens if
+	 * the block is another pole, or is a solid block.
+	 */
+	public boolean isConnected(Axis axis){
+		return (getConnections() & (1 << (CONNECTED_BITS + axis.ordinal()))) != 0;
+	}
+	
+	/**
+	 * Returns true if the block on the passed-in axis is a solid block.
+	 */
+	public boolean isSolid(Axis axis){
+		return (getConnections() & (1 << (SOLID_BITS + axis.ordinal()))) != 0;
+	}
+	
+	/**
+	 * Returns true if the block on the passed-in axis is a slab we should connect to.
+	 * This is only the case for bottom slabs below us, and top slabs above us.
+	 */
+	public boolean isSlab(Axis axis){
+		return (getConnections() & (1 << (SLAB_BITS + axis.ordinal()))) != 0;
+	}
+	
+	/**
+	 * Returns the connection bits for this pole.  If we haven't worked them out yet, as can happen with
+	 * poles placed prior to connections being saved, they are worked out here from the world.
+	 */
+	public int getConnections(){
+		if((connections & CONNECTIONS_VALID_BIT) == 0){
+			updateConnections();
+		}
+		return connections;
+	}
+	
+	/**
+	 * Sets the connection bits for this pole.  Used when clients get the connections from the server.
+	 */
+	public void setConnections(int connections){
+		this.connections = connections | CONNECTIONS_VALID_BIT;
+	}
+	
+	/**
+	 * Works out the connections for this pole from the blocks next to it.
+	 * Returns true if the connections are different than they were before.
+	 */
+	public boolean updateConnections(){
+		int newConnections = CONNECTIONS_VALID_BIT;
+		for(Axis axis : Axis.values()){
+			if(!axis.equals(Axis.NONE)){
+				Point3i offset = axis.getOffsetPoint(position);
+				boolean solidBlock = world.isBlockSolid(offset);
+				if(solidBlock || world.getBlock(offset) instanceof BlockPole){
+					newConnections |= 1 << (CONNECTED_BITS + axis.ordinal());
+				}
+				if(solidBlock){
+					newConnections |= 1 << (SOLID_BITS + axis.ordinal());
+				}
+				if((axis.equals(Axis.DOWN) && world.isBlockBottomSlab(offset)) || (axis.equals(Axis.UP) && world.isBlockTopSlab(offset))){
+					newConnections |= 1 << (SLAB_BITS + axis.ordinal());
+				}
+			}
+		}
+		if(newConnections != connections){
+			connections = newConnections;
+			return true;
+		}else{
+			return false;
+		}
+	}
+	
+	@Override
+	public void remove(){
+		if(world.isClient()){
+			RenderPole.removeFromBatches(this);
+		}
+	}
+	
 	@Override
 	public List<AItemPack<JSONPoleComponent>> getDrops(){
 		List<AItemPack<JSONPoleComponent>> drops = new ArrayList<AItemPack<JSONPoleComponent>>();
@@ -76,6 +167,11 @@ public class TileEntityPole extends ATileEntityBase<JSONPoleComponent>{
 	@Override
     public void save(IWrapperNBT data){
 		super.save(data);
+		//Save connections, if we have worked them out.  If not, we'll do so when we load.
+		if((connections & CONNECTIONS_VALID_BIT) != 0){
+			data.setInteger("connections", connections);
+		}
+		
 		//Save all components.
 		for(Entry<Axis, ATileEntityPole_Component> connectedObjectEntry : components.entrySet()){
 			data.setString("packID" + connectedObjectEntry.getKey().ordinal(), connectedObjectEntry.getValue().definition.packID);
@@ -15,7 +15,7 @@ import minecrafttransportsimulator.jsondefs.JSONDecor;
 import minecrafttransportsimulator.mcinterface.IWrapperNBT;
 import minecrafttransportsimulator.mcinterface.IWrapperWorld;
 import minecrafttransportsimulator.rendering.instances.RenderDecor;
-import minecrafttransportsimulator.vehicles.main.AEntityBase;
+import minecrafttransportsimulator.vehicles.main.EntityRegistry;
 
 /**Traffic signal controller tile entity.  Responsible for keeping the state of traffic
  * intersections.
@@ -107,11 +107,8 @@ public class TileEntitySignalController extends ATileEntityBase<JSONDecor> imple
 						
 						//Now we have min-max, check for any vehicles in the area.
 						//We need to check along the non-primary axis, but we don't care about Y.
-						for(AEntityBase entity : (world.isClient() ? AEntityBase.createdClientEntities : AEntityBase.createdServerEntities)){
-							if(entity.position.x > minX && entity.position.x < maxX && entity.position.z > minZ && entity.position.z < maxZ){
-								updateState(OpState.YELLOW_MAIN_RED_CROSS, true);
-								break;
-							}
+						if(!EntityRegistry.getRegistryFor(world).getEntitiesWithin(minX, minZ, maxX, maxZ).isEmpty()){
+							updateState(OpState.YELLOW_MAIN_RED_CROSS, true);
 						}
 					}
 				}else if(currentOpMode.equals(OpMode.REDSTONE_TRIGGER)){
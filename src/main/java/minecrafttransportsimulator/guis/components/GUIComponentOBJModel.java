@@ -90,13 +90,13 @@ public class GUIComponentOBJModel{
 		float maxY = -999;
 		float minZ = 999;
 		float maxZ = -999;
-		Map<String, Float[][]> parsedModel = OBJParser.parseOBJModel(modelLocation);
+		Map<String, float[][]> parsedModel = OBJParser.parseOBJModel(modelLocation);
 		int displayListIndex = GL11.glGenLists(1);
 		GL11.glNewList(displayListIndex, GL11.GL_COMPILE);
 		GL11.glBegin(GL11.GL_TRIANGLES);
-		for(Entry<String, Float[][]> entry : parsedModel.entrySet()){
+		for(Entry<String, float[][]> entry : parsedModel.entrySet()){
 			if(!entry.getKey().toLowerCase().contains("window")){
-				for(Float[] vertex : entry.getValue()){
+				for(float[] vertex : entry.getValue()){
 					GL11.glTexCoord2f(vertex[3], vertex[4]);
 					GL11.glNormal3f(vertex[5], vertex[6], vertex[7]);
 					GL11.glVertex3f(-vertex[0], vertex[1], vertex[2]);
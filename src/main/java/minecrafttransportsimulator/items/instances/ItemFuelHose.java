@@ -9,6 +9,7 @@ import minecrafttransportsimulator.mcinterface.IWrapperPlayer;
 import minecrafttransportsimulator.mcinterface.MasterLoader;
 import minecrafttransportsimulator.packets.instances.PacketPlayerChatMessage;
 import minecrafttransportsimulator.packets.instances.PacketVehiclePartInteractable;
+import minecrafttransportsimulator.systems.PacketDispatchSystem;
 import minecrafttransportsimulator.vehicles.main.EntityVehicleF_Physics;
 import minecrafttransportsimulator.vehicles.parts.APart;
 import minecrafttransportsimulator.vehicles.parts.PartInteractable;
@@ -47,7 +48,7 @@ public class ItemFuelHose extends AItemBase implements IItemVehicleInteractable{
 								if(part.worldPos.distanceTo(firstPartClicked.worldPos) < 15){
 									if(interactable.tank.getFluid().isEmpty() || firstPartClicked.tank.getFluid().isEmpty() || interactable.tank.getFluid().equals(firstPartClicked.tank.getFluid())){
 										firstPartClicked.linkedPart = interactable;
-										MasterLoader.networkInterface.sendToAllClients(new PacketVehiclePartInteractable(firstPartClicked));
+										PacketDispatchSystem.sendToTrackingPlayers(new PacketVehiclePartInteractable(firstPartClicked), firstPartClicked.vehicle);
 										player.sendPacket(new PacketPlayerChatMessage("interact.fuelhose.secondlink"));
 										firstPartClicked = null;
 									}else{
@@ -67,7 +68,7 @@ public class ItemFuelHose extends AItemBase implements IItemVehicleInteractable{
 						if(vehicle.position.distanceTo(firstPartClicked.worldPos) < 15){
 							if(vehicle.fuelTank.getFluid().isEmpty() || firstPartClicked.tank.getFluid().isEmpty() || vehicle.fuelTank.getFluid().equals(firstPartClicked.tank.getFluid())){
 								firstPartClicked.linkedVehicle = vehicle;
-								MasterLoader.networkInterface.sendToAllClients(new PacketVehiclePartInteractable(firstPartClicked));
+								PacketDispatchSystem.sendToTrackingPlayers(new PacketVehiclePartInteractable(firstPartClicked), firstPartClicked.vehicle);
 								player.sendPacket(new PacketPlayerChatMessage("interact.fuelhose.secondlink"));
 								firstPartClicked = null;
 							}else{
@@ -9,6 +9,7 @@ import minecrafttransportsimulator.mcinterface.IWrapperPlayer;
 import minecrafttransportsimulator.mcinterface.MasterLoader;
 import minecrafttransportsimulator.packets.instances.PacketPlayerChatMessage;
 import minecrafttransportsimulator.packets.instances.PacketVehiclePartEngine;
+import minecrafttransportsimulator.systems.PacketDispatchSystem;
 import minecrafttransportsimulator.vehicles.main.EntityVehicleF_Physics;
 import minecrafttransportsimulator.vehicles.parts.APart;
 import minecrafttransportsimulator.vehicles.parts.PartEngine;
@@ -40,8 +41,8 @@ public class ItemJumperCable extends AItemBase implements IItemVehicleInteractab
 							}else if(engine.worldPos.distanceTo(lastEngineClicked.worldPos) < 15){
 								engine.linkedEngine = lastEngineClicked;
 								lastEngineClicked.linkedEngine = engine;
-								MasterLoader.networkInterface.sendToAllClients(new PacketVehiclePartEngine(engine, lastEngineClicked));
-								MasterLoader.networkInterface.sendToAllClients(new PacketVehiclePartEngine(lastEngineClicked, engine));
+								PacketDispatchSystem.sendToTrackingPlayers(new PacketVehiclePartEngine(engine, lastEngineClicked), engine.vehicle);
+								PacketDispatchSystem.sendToTrackingPlayers(new PacketVehiclePartEngine(lastEngineClicked, engine), lastEngineClicked.vehicle);
 								lastEngineClicked = null;
 								player.sendPacket(new PacketPlayerChatMessage("interact.jumpercable.secondlink"));
 							}else{
@@ -35,6 +35,11 @@ public class JSONConfig{
 		public ConfigDouble speedFactor = new ConfigDouble(0.35D, "Factor to apply to vehicle movement.  1 is the realistic value, but this makes vehicles move too fast for Minecraft. Adjust with caution.");
 		public ConfigDouble fuelUsageFactor = new ConfigDouble(1.0D, "Factor times which engines use fuel.  Change this if you think engines use fuel too fast or slow.");
 		public ConfigDouble engineHoursFactor = new ConfigDouble(1.0D, "Factor times which engines hours accumulate.  Change this if you want to adjust how fast engines wear out.");
+		public ConfigInteger physicsThreads = new ConfigInteger(0, "Number of threads to use for calculating vehicle forces on servers.  If greater than 0, forces for all vehicles in a world will be calculated in parallel at the end of the tick, after which vehicles are moved one at a time.  This can greatly help servers with lots of vehicles, but vehicles will move after other entities rather than with them.  0 calculates forces on the main thread as each vehicle updates.");
+		public ConfigInteger fluidSyncInterval = new ConfigInteger(20, "Number of ticks between fluid level updates sent to clients for tanks that are being filled or drained.  Lower values make fuel gauges and pumps on clients more accurate, but use more bandwidth.  Tanks that run dry or get a new fluid are always sent right away.");
+		public ConfigInteger effectPacketRange = new ConfigInteger(64, "Range, in blocks, that players need to be within to be sent packets for effects like engine backfires and bad shifts.  These packets only play sounds and spawn particles, so there's no need to send them to players that can't see or hear them.  Packets that change the state of vehicles are always sent to all players that have the vehicle loaded.");
+		public ConfigInteger packetCompressionThreshold = new ConfigInteger(0, "Size, in bytes, above which batched packets will be compressed before sending.  0 disables compression.  Minecraft already compresses packets above the network-compression-threshold in server.properties, so this should only be used if that has been disabled.");
+		public ConfigInteger packetLogInterval = new ConfigInteger(0, "Number of ticks between logging how much data has been sent to players, and how much of it was sent by each type of packet.  0 disables logging.  Useful for finding out what is using up bandwidth on servers.");
 		public ConfigItemWeights itemWeights = new ConfigItemWeights();
 		
 		public static class ConfigItemWeights{
@@ -155,6 +160,8 @@ public class JSONConfig{
 		
 		public ConfigBoolean vehicleBeams = new ConfigBoolean(true, "If false, beams on vehicles will not render.");
 		public ConfigBoolean blockBeams = new ConfigBoolean(true, "If false, beams on blocks (decor) will not render.");
+		public ConfigBoolean frustumCulling = new ConfigBoolean(true, "If true, vehicles and blocks from MTS that are outside the player's view will not be rendered.  This is automatically disabled if shaders are detected, as shaders render from other views for things like shadows.");
+		public ConfigBoolean batchPoleConnectors = new ConfigBoolean(false, "If true, the connectors for all poles in each 16x16x16 section of the world will be rendered as one model rather than one pole at a time.  This is much faster for large builds with lots of poles, but connectors in a section will all use the lighting of one of the poles in that section.");
 		
 		public ConfigBoolean flareBlending = new ConfigBoolean(false, "If true, light flares from vehicles and lamps will not do brightness blending.  Normally false, but can be set to true if it makes shaders better.");		
 		public ConfigBoolean beamBlending = new ConfigBoolean(true, "If false, beam-based lights from vehicles and lamps will not do brightness blending.  Useful if you have shaders and this is causing troubles.");
@@ -167,6 +174,11 @@ public class JSONConfig{
 		
 		
 		public ConfigInteger renderReductionHeight = new ConfigInteger(250, "When riding in a vehicle above this height MTS will reduce the render distance to 1.  This provides a significant speedup for worldgen and render lag.  Note that this is only active on Singleplayer.");
+		public ConfigInteger renderDistance = new ConfigInteger(256, "Vehicles and blocks from MTS further than this many blocks away from the player will not be rendered.");
+		public ConfigInteger detailDistance = new ConfigInteger(64, "Vehicles further than this many blocks away from the player will not render instruments, text, light beams, or tread movement.");
+		public ConfigInteger modelDistance = new ConfigInteger(128, "Vehicles further than this many blocks away from the player will only render their main model.  Parts and animated portions of the model will not be rendered.");
+		public ConfigInteger soundVoices = new ConfigInteger(48, "Maximum number of sounds MTS will play at once.  If more sounds than this are playing, only the loudest ones will be heard.  The rest will pick up where they should be once they are loud enough.  Setting this too high may take sound slots from Minecraft and other mods.");
+		public ConfigInteger soundCacheSize = new ConfigInteger(64, "Size, in MB, of the cache for decoded sounds.  Once the cache is full, the sounds that were played the longest time ago are removed from it.  Larger caches use more memory, but sounds will have to be decoded less often.");
 		public ConfigInteger controlSurfaceCooldown = new ConfigInteger(4, "How long (in ticks) it takes before control surfaces try to return to their natural angle.  This is not used when using a joystick.");
 		public ConfigInteger steeringIncrement = new ConfigInteger(20, "How many units (1/10 of a degree) to turn the wheels on vehicles for every tick the button is held down.  This is not used when using a joystick.");
 		public ConfigInteger flightIncrement = new ConfigInteger(6, "How many units (1/10 of a degree) to move the elevators and ailerons on aircraft for every tick the button is held down.  This is not used when using a joystick.");
@@ -28,6 +28,14 @@ public interface IInterfaceAudio{
 	 *  Useful for quick sounds like gunshots or button presses.
 	 */
 	public void playQuickSound(SoundInstance sound);
+	
+	/**
+	 *  Starts loading the passed-in sound in the background so it's ready to play
+	 *  when it's needed.  Sounds that are already loaded are not loaded again.
+	 *  Use this for sounds that are likely to play soon, like those of engines
+	 *  on vehicles that just came into range.  May be called from any thread.
+	 */
+	public void preloadSound(String soundName);
     
     /**
 	 *  Adds a station to be queued for updates.  This should only be done once upon station construction.
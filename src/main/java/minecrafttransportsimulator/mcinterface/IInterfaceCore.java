@@ -46,6 +46,11 @@ public interface IInterfaceCore{
 	 */
 	public void logError(String message);
 	
+	/**
+	 *  Logs information to the logging system.  Used for things that aren't errors, like statistics.
+	 */
+	public void logInfo(String message);
+	
 	/**
 	 *  Returns a new, empty NBT tag for use.
 	 */
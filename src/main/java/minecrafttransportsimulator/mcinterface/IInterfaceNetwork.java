@@ -18,6 +18,12 @@ public interface IInterfaceNetwork{
 	 */
 	public void registerPacket(byte index, Class<? extends APacketBase> packetClass);
 	
+	/**
+	 *  Registers the passed-in packet with the interface as one that may only be sent
+	 *  from the server to clients.  Servers will not create these packets if a client sends them.
+	 */
+	public void registerClientPacket(byte index, Class<? extends APacketBase> packetClass);
+	
 	/**
 	 *  Gets the index for the passed-in packet from the mapping.
 	 */
@@ -33,6 +39,13 @@ public interface IInterfaceNetwork{
 	 */
 	public void sendToAllClients(APacketBase packet);
 	
+	/**
+	 *  Creates a packet from the passed-in buffer.  The first byte of the buffer should
+	 *  be the packet index, as written by {@link APacketBase#writeToBuffer(ByteBuf)}.
+	 *  Returns null if the index isn't for a registered packet.
+	 */
+	public APacketBase createPacketFromBuffer(ByteBuf buf);
+	
 	/**
 	 *  Creates an NBT tag from a data buffer.
 	 */
@@ -21,6 +21,12 @@ public interface IInterfaceRender{
 	 */
 	public int getRenderPass();
 	
+	/**
+	 *  Gets the current render frame.  This goes up by one every frame, and is the same
+	 *  for all passes in a frame.  Useful for rendering things only once per frame.
+	 */
+	public long getRenderFrame();
+	
 	/**
 	 *  Returns true if bounding boxes should be rendered.
 	 */
@@ -46,6 +52,21 @@ public interface IInterfaceRender{
 	 */
 	public void recallTexture();
 	
+	/**
+	 *  Binds the passed-in OpenGL texture.  This is for textures we create ourselves, rather than
+	 *  ones loaded from files.  Binding is tracked by the game, so this is cheaper than querying
+	 *  OpenGL for the bound texture and re-binding it.  Call {@link #recallTexture()} when done
+	 *  to get the saved texture back.
+	 */
+	public void bindGLTexture(int glTextureID);
+	
+	/**
+	 *  Returns true if the passed-in texture has been loaded.  Textures are loaded in the background
+	 *  the first time they are bound, and a placeholder is bound in their place until they are done.
+	 *  Anything that caches what it renders with a texture should check this before caching.
+	 */
+	public boolean isTextureLoaded(String textureLocation);
+	
 	/**
 	 *  Helper method to completely disable or enable lighting.
 	 *  This disables both the system lighting and internal lighting.
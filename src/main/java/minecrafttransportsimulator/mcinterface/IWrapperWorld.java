@@ -3,6 +3,7 @@ package minecrafttransportsimulator.mcinterface;
 import java.util.List;
 import java.util.Map;
 
+import minecrafttransportsimulator.baseclasses.BlockCollisionSnapshot;
 import minecrafttransportsimulator.baseclasses.BoundingBox;
 import minecrafttransportsimulator.baseclasses.Damage;
 import minecrafttransportsimulator.baseclasses.Point3d;
@@ -68,6 +69,20 @@ public interface IWrapperWorld{
 	 */
 	public IWrapperEntity getNearestHostile(IWrapperEntity entityLooking, int searchRadius);
 	
+	/**
+	 *  Returns a list of all players that are tracking the passed-in entity.  These are the
+	 *  players that have the entity loaded on their clients, and as such are the only
+	 *  players that need to be sent updates for it.  Only valid on servers.
+	 */
+	public List<IWrapperPlayer> getPlayersTracking(AEntityBase entity);
+	
+	/**
+	 *  Returns a list of all players that have the chunk at the passed-in position loaded.
+	 *  These are the only players that need to be sent updates for things at that position,
+	 *  such as tile entities.  Only valid on servers.
+	 */
+	public List<IWrapperPlayer> getPlayersTracking(Point3i position);
+	
 	/**
 	 *  Spawns the passed-in entity into the world.
 	 *  Position and rotation is set initially to match the entity.
@@ -164,6 +179,13 @@ public interface IWrapperWorld{
 	 */
 	public void updateBoundingBoxCollisions(BoundingBox box, Point3d collisionMotion, boolean ignoreIfGreater);
 	
+	/**
+	 * Populates the passed-in snapshot with all block collision boxes for blocks in the passed-in bounds.
+	 * Liquid blocks are also added, but are flagged as such to allow boxes that don't collide with liquids to
+	 * ignore them.  Once populated, boxes inside the bounds may be checked against the snapshot rather than the world.
+	 */
+	public void populateCollisionSnapshot(BlockCollisionSnapshot snapshot, double minX, double minY, double minZ, double maxX, double maxY, double maxZ);
+	
 	/**
 	 *  Returns the current redstone power at the passed-in position.
 	 */
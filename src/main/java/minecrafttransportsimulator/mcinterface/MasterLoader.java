@@ -12,6 +12,7 @@ import minecrafttransportsimulator.items.instances.ItemPaintGun;
 import minecrafttransportsimulator.items.instances.ItemTicket;
 import minecrafttransportsimulator.items.instances.ItemWrench;
 import minecrafttransportsimulator.jsondefs.JSONPack;
+import minecrafttransportsimulator.packets.instances.PacketBatch;
 import minecrafttransportsimulator.packets.instances.PacketBulletHit;
 import minecrafttransportsimulator.packets.instances.PacketEntityRiderChange;
 import minecrafttransportsimulator.packets.instances.PacketFluidTankChange;
@@ -21,6 +22,7 @@ import minecrafttransportsimulator.packets.instances.PacketRadioStateChange;
 import minecrafttransportsimulator.packets.instances.PacketTileEntityFluidLoaderConnection;
 import minecrafttransportsimulator.packets.instances.PacketTileEntityFuelPumpConnection;
 import minecrafttransportsimulator.packets.instances.PacketTileEntityPoleChange;
+import minecrafttransportsimulator.packets.instances.PacketTileEntityPoleConnections;
 import minecrafttransportsimulator.packets.instances.PacketTileEntitySignalControllerChange;
 import minecrafttransportsimulator.packets.instances.PacketVehicleColorChange;
 import minecrafttransportsimulator.packets.instances.PacketVehicleControlAnalog;
@@ -156,6 +158,7 @@ public class MasterLoader{
 	public static void registerPackets(byte packetIndex){
 		//Register all classes in the minecrafttransportsimulator.packets.instances package.
 		//Ideally this could be done via reflection, but it doesn't work too well so we don't do that.
+		networkInterface.registerClientPacket(packetIndex++, PacketBatch.class);
 		networkInterface.registerPacket(packetIndex++, PacketBulletHit.class);
 		networkInterface.registerPacket(packetIndex++, PacketEntityRiderChange.class);
 		networkInterface.registerPacket(packetIndex++, PacketFluidTankChange.class);
@@ -165,6 +168,7 @@ public class MasterLoader{
 		networkInterface.registerPacket(packetIndex++, PacketTileEntityFluidLoaderConnection.class);
 		networkInterface.registerPacket(packetIndex++, PacketTileEntityFuelPumpConnection.class);
 		networkInterface.registerPacket(packetIndex++, PacketTileEntityPoleChange.class);
+		networkInterface.registerPacket(packetIndex++, PacketTileEntityPoleConnections.class);
 		networkInterface.registerPacket(packetIndex++, PacketTileEntitySignalControllerChange.class);
 		networkInterface.registerPacket(packetIndex++, PacketVehicleColorChange.class);
 		networkInterface.registerPacket(packetIndex++, PacketVehicleControlAnalog.class);
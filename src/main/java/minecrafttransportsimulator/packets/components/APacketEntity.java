@@ -3,8 +3,9 @@ package minecrafttransportsimulator.packets.components;
 import io.netty.buffer.ByteBuf;
 import minecrafttransportsimulator.mcinterface.IWrapperPlayer;
 import minecrafttransportsimulator.mcinterface.IWrapperWorld;
-import minecrafttransportsimulator.mcinterface.MasterLoader;
+import minecrafttransportsimulator.systems.PacketDispatchSystem;
 import minecrafttransportsimulator.vehicles.main.AEntityBase;
+import minecrafttransportsimulator.vehicles.main.EntityRegistry;
 
 /**Packet class that includes a default implementation for transmitting an entity
  * to allow entity-specific interactions on the other side of the network.
@@ -32,16 +33,15 @@ public abstract class APacketEntity extends APacketBase{
 	
 	@Override
 	public void handle(IWrapperWorld world, IWrapperPlayer player){
-		boolean sendReturnPacket = false;
-		for(AEntityBase entity : (world.isClient() ? AEntityBase.createdClientEntities : AEntityBase.createdServerEntities)){
-			if(entity.lookupID == entityID){
-				if(handle(world, player, entity) && !world.isClient()){
-					sendReturnPacket = true;
-				}
+		AEntityBase returnEntity = null;
+		for(AEntityBase entity : EntityRegistry.getRegistryFor(world).getEntities(entityID)){
+			if(handle(world, player, entity) && !world.isClient()){
+				returnEntity = entity;
 			}
 		}
-		if(sendReturnPacket){
-			MasterLoader.networkInterface.sendToAllClients(this);
+		if(returnEntity != null){
+			//Only players tracking the entity have it loaded, so only they need this packet.
+			PacketDispatchSystem.sendToTrackingPlayers(this, returnEntity);
 		}
 	}
 	
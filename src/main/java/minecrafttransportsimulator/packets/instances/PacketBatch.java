@@ -0,0 +1,167 @@
+package minecrafttransportsimulator.packets.instances;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import minecrafttransportsimulator.mcinterface.IWrapperPlayer;
+import minecrafttransportsimulator.mcinterface.IWrapperWorld;
+import minecrafttransportsimulator.mcinterface.MasterLoader;
+import minecrafttransportsimulator.packets.components.APacketBase;
+import minecrafttransportsimulator.systems.PacketDispatchSystem;
+
+/**Packet used to send multiple packets to a client at once.  The packets in this batch are
+ * already encoded when it is created, so packets going to multiple players only need to be
+ * encoded once.  Each packet is prefixed by its length in the batch.  If the batch is larger
+ * than the passed-in compression threshold, the batch is deflated before sending.  On the
+ * client, the packets are re-created from the batch and handled in the order they were queued.
+ * See {@link PacketDispatchSystem} for how these are created.
+ * <br><br>
+ * Batches may only be sent to clients, and are never decoded on servers.  As the lengths in a batch
+ * come from the network, they are checked before use, and a batch that has any invalid length, or
+ * that contains another batch, is ignored in full.
+ *
+ * @author don_bruce
+ */
+public class PacketBatch extends APacketBase{
+	private static final int HEADER_SIZE = 1 + 1 + 4;
+	/**Bytes each packet takes in a batch in addition to its own data.**/
+	public static final int PACKET_HEADER_SIZE = 4;
+	/**Maximum length of the packets in a batch, prior to compression.  Larger batches are ignored by clients.**/
+	public static final int MAX_BATCH_LENGTH = 1048576;
+	
+	private final boolean compressed;
+	private final int uncompressedLength;
+	private final byte[] data;
+	private final List<APacketBase> packets;
+	
+	public PacketBatch(List<byte[]> encodedPackets, int compressionThreshold){
+		super(null);
+		int length = 0;
+		for(byte[] encodedPacket : encodedPackets){
+			length += PACKET_HEADER_SIZE + encodedPacket.length;
+		}
+		byte[] batchData = new byte[length];
+		int index = 0;
+		for(byte[] encodedPacket : encodedPackets){
+			batchData[index++] = (byte) (encodedPacket.length >>> 24);
+			batchData[index++] = (byte) (encodedPacket.length >>> 16);
+			batchData[index++] = (byte) (encodedPacket.length >>> 8);
+			batchData[index++] = (byte) encodedPacket.length;
+			System.arraycopy(encodedPacket, 0, batchData, index, encodedPacket.length);
+			index += encodedPacket.length;
+		}
+		this.uncompressedLength = length;
+		this.packets = null;
+		
+		//Only use the compressed data if it actually ended up smaller.
+		if(compressionThreshold > 0 && length > compressionThreshold){
+			Deflater deflater = new Deflater();
+			deflater.setInput(batchData);
+			deflater.finish();
+			byte[] compressedData = new byte[length];
+			int compressedLength = deflater.deflate(compressedData);
+			boolean finished = deflater.finished();
+			deflater.end();
+			if(finished && compressedLength < length){
+				this.compressed = true;
+				this.data = new byte[compressedLength];
+				System.arraycopy(compressedData, 0, data, 0, compressedLength);
+				return;
+			}
+		}
+		this.compressed = false;
+		this.data = batchData;
+	}
+	
+	public PacketBatch(ByteBuf buf){
+		super(buf);
+		this.compressed = buf.readBoolean();
+		this.uncompressedLength = buf.readInt();
+		this.data = null;
+		this.packets = new ArrayList<APacketBase>();
+		if(uncompressedLength < 0 || uncompressedLength > MAX_BATCH_LENGTH){
+			reject("it is " + uncompressedLength + " bytes long");
+			return;
+		}
+		
+		ByteBuf batchBuffer;
+		if(compressed){
+			byte[] compressedData = new byte[buf.readableBytes()];
+			buf.readBytes(compressedData);
+			Inflater inflater = new Inflater();
+			inflater.setInput(compressedData);
+			byte[] batchData = new byte[uncompressedLength];
+			try{
+				if(inflater.inflate(batchData) != uncompressedLength || !inflater.finished()){
+					reject("it did not decompress to its stated length");
+					return;
+				}
+			}catch(DataFormatException e){
+				reject("it could not be decompressed");
+				return;
+			}finally{
+				inflater.end();
+			}
+			batchBuffer = Unpooled.wrappedBuffer(batchData);
+		}else if(buf.readableBytes() != uncompressedLength){
+			reject("it is not the length it states");
+			return;
+		}else{
+			batchBuffer = buf;
+		}
+		
+		byte batchIndex = MasterLoader.networkInterface.getPacketIndex(this);
+		while(batchBuffer.isReadable()){
+			int packetLength = batchBuffer.readableBytes() >= PACKET_HEADER_SIZE ? batchBuffer.readInt() : 0;
+			if(packetLength <= 0 || packetLength > batchBuffer.readableBytes()){
+				reject("it has a packet with an invalid length");
+				return;
+			}
+			ByteBuf packetBuffer = batchBuffer.readSlice(packetLength);
+			if(packetBuffer.getByte(packetBuffer.readerIndex()) == batchIndex){
+				reject("it contains another batch");
+				return;
+			}
+			APacketBase packet = MasterLoader.networkInterface.createPacketFromBuffer(packetBuffer);
+			if(packet != null){
+				packets.add(packet);
+			}
+		}
+	}
+	
+	/**
+	 *  Logs why this batch can't be decoded, and drops any packets that were decoded
+	 *  from it so a partial batch isn't handled.
+	 */
+	private void reject(String reason){
+		MasterLoader.coreInterface.logError("ERROR: Received invalid packet batch as " + reason + ".  Packets in this batch will be ignored.");
+		packets.clear();
+	}
+	
+	@Override
+	public void writeToBuffer(ByteBuf buf){
+		super.writeToBuffer(buf);
+		buf.writeBoolean(compressed);
+		buf.writeInt(uncompressedLength);
+		buf.writeBytes(data);
+	}
+	
+	@Override
+	public void handle(IWrapperWorld world, IWrapperPlayer player){
+		for(APacketBase packet : packets){
+			packet.handle(world, player);
+		}
+	}
+	
+	/**
+	 *  Returns the number of bytes this packet will take when written to a buffer.
+	 */
+	public int getSize(){
+		return HEADER_SIZE + data.length;
+	}
+}
@@ -6,6 +6,7 @@ import minecrafttransportsimulator.mcinterface.IWrapperPlayer;
 import minecrafttransportsimulator.mcinterface.IWrapperWorld;
 import minecrafttransportsimulator.packets.components.APacketTileEntity;
 import minecrafttransportsimulator.vehicles.main.AEntityBase;
+import minecrafttransportsimulator.vehicles.main.EntityRegistry;
 import minecrafttransportsimulator.vehicles.main.EntityVehicleF_Physics;
 
 /**Packet sent to pumps on clients to change what vehicle they are connected to.
@@ -37,18 +38,16 @@ public class PacketTileEntityFuelPumpConnection extends APacketTileEntity<TileEn
 	
 	@Override
 	protected boolean handle(IWrapperWorld world, IWrapperPlayer player, TileEntityFuelPump pump){
-		for(AEntityBase entity : AEntityBase.createdClientEntities){
-			if(entity.lookupID == vehicleID){
-				EntityVehicleF_Physics vehicle = (EntityVehicleF_Physics) entity;
-				if(connect){
-					pump.connectedVehicle = vehicle;
-					vehicle.beingFueled = true;
-					pump.getTank().resetAmountDispensed();
-				}else{
-					vehicle.beingFueled = false;
-					pump.connectedVehicle = null;
-				}
-				return true;
+		AEntityBase entity = EntityRegistry.getRegistryFor(world).getEntity(vehicleID);
+		if(entity != null){
+			EntityVehicleF_Physics vehicle = (EntityVehicleF_Physics) entity;
+			if(connect){
+				pump.connectedVehicle = vehicle;
+				vehicle.beingFueled = true;
+				pump.getTank().resetAmountDispensed();
+			}else{
+				vehicle.beingFueled = false;
+				pump.connectedVehicle = null;
 			}
 		}
 		return true;
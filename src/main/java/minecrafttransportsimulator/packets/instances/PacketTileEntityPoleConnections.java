@@ -0,0 +1,38 @@
+package minecrafttransportsimulator.packets.instances;
+
+import io.netty.buffer.ByteBuf;
+import minecrafttransportsimulator.blocks.tileentities.instances.TileEntityPole;
+import minecrafttransportsimulator.mcinterface.IWrapperPlayer;
+import minecrafttransportsimulator.mcinterface.IWrapperWorld;
+import minecrafttransportsimulator.packets.components.APacketTileEntity;
+
+/**Packet sent to poles on clients to update what they are connected to.  This gets sent from the
+ * server whenever a block next to a pole changes and the pole's connections change as a result.
+ * 
+ * @author don_bruce
+ */
+public class PacketTileEntityPoleConnections extends APacketTileEntity<TileEntityPole>{
+	private final int connections;
+	
+	public PacketTileEntityPoleConnections(TileEntityPole pole){
+		super(pole);
+		this.connections = pole.getConnections();
+	}
+	
+	public PacketTileEntityPoleConnections(ByteBuf buf){
+		super(buf);
+		this.connections = buf.readInt();
+	}
+	
+	@Override
+	public void writeToBuffer(ByteBuf buf){
+		super.writeToBuffer(buf);
+		buf.writeInt(connections);
+	}
+	
+	@Override
+	protected boolean handle(IWrapperWorld world, IWrapperPlayer player, TileEntityPole pole){
+		pole.setConnections(connections);
+		return true;
+	}
+}
@@ -7,6 +7,7 @@ import minecrafttransportsimulator.mcinterface.IWrapperWorld;
 import minecrafttransportsimulator.mcinterface.MasterLoader;
 import minecrafttransportsimulator.packets.components.APacketVehicle;
 import minecrafttransportsimulator.sound.SoundInstance;
+import minecrafttransportsimulator.systems.PacketDispatchSystem;
 import minecrafttransportsimulator.vehicles.main.AEntityBase;
 import minecrafttransportsimulator.vehicles.main.EntityVehicleF_Physics;
 import minecrafttransportsimulator.vehicles.parts.PartEngine;
@@ -68,7 +69,7 @@ public class PacketVehicleControlDigital extends APacketVehicle{
 				if(vehicle.towedVehicle != null){
 					vehicle.towedVehicle.towedByVehicle = null;
 					vehicle.towedVehicle = null;
-					MasterLoader.networkInterface.sendToAllClients(new PacketVehicleTrailerChange(vehicle));
+					PacketDispatchSystem.sendToTrackingPlayers(new PacketVehicleTrailerChange(vehicle), vehicle);
 					player.sendPacket(new PacketPlayerChatMessage("interact.trailer.disconnect"));
 				}else if(vehicle.definition.motorized.hitchPos != null){
 					for(AEntityBase entity : AEntityBase.createdServerEntities){
@@ -82,7 +83,7 @@ public class PacketVehicleControlDigital extends APacketVehicle{
 										if(hitchType.equals(testVehicle.definition.motorized.hookupType)){
 											testVehicle.towedByVehicle = vehicle;
 											vehicle.towedVehicle = testVehicle;
-											MasterLoader.networkInterface.sendToAllClients(new PacketVehicleTrailerChange(vehicle));
+											PacketDispatchSystem.sendToTrackingPlayers(new PacketVehicleTrailerChange(vehicle), vehicle);
 											player.sendPacket(new PacketPlayerChatMessage("interact.trailer.connect"));
 											return false;
 										}
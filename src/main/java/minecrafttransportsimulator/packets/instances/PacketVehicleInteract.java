@@ -17,6 +17,7 @@ import minecrafttransportsimulator.mcinterface.IWrapperItemStack;
 import minecrafttransportsimulator.mcinterface.IWrapperPlayer;
 import minecrafttransportsimulator.mcinterface.IWrapperWorld;
 import minecrafttransportsimulator.packets.components.APacketVehicle;
+import minecrafttransportsimulator.systems.PacketDispatchSystem;
 import minecrafttransportsimulator.vehicles.main.EntityVehicleF_Physics;
 import minecrafttransportsimulator.vehicles.parts.APart;
 import net.minecraft.item.ItemStack;
@@ -82,7 +83,7 @@ public class PacketVehicleInteract extends APacketVehicle{
 			if(callback.equals(CallbackType.ALL)){
 				return true;
 			}else if(callback.equals(CallbackType.PLAYER)){
-				player.sendPacket(this);
+				PacketDispatchSystem.sendToPlayer(this, player);
 			}
 		}else{
 			//Not holding an item that can interact with a vehicle.  Try to interact with the vehicle itself.
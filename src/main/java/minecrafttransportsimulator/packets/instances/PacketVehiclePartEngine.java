@@ -8,6 +8,7 @@ import minecrafttransportsimulator.mcinterface.MasterLoader;
 import minecrafttransportsimulator.packets.components.APacketVehiclePart;
 import minecrafttransportsimulator.sound.SoundInstance;
 import minecrafttransportsimulator.vehicles.main.AEntityBase;
+import minecrafttransportsimulator.vehicles.main.EntityRegistry;
 import minecrafttransportsimulator.vehicles.main.EntityVehicleF_Physics;
 import minecrafttransportsimulator.vehicles.parts.PartEngine;
 
@@ -135,14 +136,13 @@ public class PacketVehiclePartEngine extends APacketVehiclePart{
 				MasterLoader.audioInterface.playQuickSound(new SoundInstance(engine, MasterLoader.resourceDomain + ":engine_shifting_grinding"));
 				break;
 			}case LINK: {
-				for(AEntityBase entity : AEntityBase.createdClientEntities){
-					if(entity.lookupID == linkedID){
-						for(PartEngine otherEngine : ((EntityVehicleF_Physics) entity).engines.values()){
-							if(otherEngine.placementOffset.equals(linkedPos)){
-								otherEngine.linkedEngine = engine;
-								engine.linkedEngine = otherEngine;
-								return false;
-							}
+				AEntityBase entity = EntityRegistry.getRegistryFor(world).getEntity(linkedID);
+				if(entity != null){
+					for(PartEngine otherEngine : ((EntityVehicleF_Physics) entity).engines.values()){
+						if(otherEngine.placementOffset.equals(linkedPos)){
+							otherEngine.linkedEngine = engine;
+							engine.linkedEngine = otherEngine;
+							return false;
 						}
 					}
 				}
@@ -6,6 +6,7 @@ import minecrafttransportsimulator.mcinterface.IWrapperPlayer;
 import minecrafttransportsimulator.mcinterface.IWrapperWorld;
 import minecrafttransportsimulator.packets.components.APacketVehiclePart;
 import minecrafttransportsimulator.vehicles.main.AEntityBase;
+import minecrafttransportsimulator.vehicles.main.EntityRegistry;
 import minecrafttransportsimulator.vehicles.main.EntityVehicleF_Physics;
 import minecrafttransportsimulator.vehicles.parts.PartInteractable;
 
@@ -50,14 +51,12 @@ public class PacketVehiclePartInteractable extends APacketVehiclePart{
 	@Override
 	public boolean handle(IWrapperWorld world, IWrapperPlayer player, EntityVehicleF_Physics vehicle, Point3d offset){
 		PartInteractable interactable = (PartInteractable) vehicle.getPartAtLocation(offset);
-		for(AEntityBase entity : AEntityBase.createdClientEntities){
-			if(entity.lookupID == linkedID){
-				if(linkedOffset == null){
-					interactable.linkedVehicle = (EntityVehicleF_Physics) entity;
-				}else{
-					interactable.linkedPart = (PartInteractable) ((EntityVehicleF_Physics) entity).getPartAtLocation(linkedOffset);
-				}
-				break;
+		AEntityBase entity = EntityRegistry.getRegistryFor(world).getEntity(linkedID);
+		if(entity != null){
+			if(linkedOffset == null){
+				interactable.linkedVehicle = (EntityVehicleF_Physics) entity;
+			}else{
+				interactable.linkedPart = (PartInteractable) ((EntityVehicleF_Physics) entity).getPartAtLocation(linkedOffset);
 			}
 		}
 		return true;
@@ -1,10 +1,16 @@
 package minecrafttransportsimulator.packets.instances;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import io.netty.buffer.ByteBuf;
 import minecrafttransportsimulator.baseclasses.Point3d;
 import minecrafttransportsimulator.mcinterface.IWrapperPlayer;
 import minecrafttransportsimulator.mcinterface.IWrapperWorld;
-import minecrafttransportsimulator.packets.components.APacketVehicle;
+import minecrafttransportsimulator.packets.components.APacketBase;
+import minecrafttransportsimulator.systems.MovementSyncSystem;
+import minecrafttransportsimulator.vehicles.main.AEntityBase;
+import minecrafttransportsimulator.vehicles.main.EntityRegistry;
 import minecrafttransportsimulator.vehicles.main.EntityVehicleF_Physics;
 
 /**Packet used to send server vehicle movement to clients.  This packet doesn't directly
@@ -15,35 +21,92 @@ import minecrafttransportsimulator.vehicles.main.EntityVehicleF_Physics;
  * the position and rotation.  This system of syncing has the side-effect of significant
  * rubberbanding when server TPS suffers or networking goes bad, but it's far better than
  * the alternatives when the connection is good, hence why we use it.
- * 
+ * <br><br>
+ * This packet contains the movement of all vehicles a player is tracking that moved this tick.
+ * Each movement is either a delta quantized to shorts, or a keyframe with the full server deltas.
+ * See {@link MovementSyncSystem} for how these are created.
+ *
  * @author don_bruce
  */
-public class PacketVehicleServerMovement extends APacketVehicle{
-	private final Point3d motion;
-	private final Point3d rotation;
+public class PacketVehicleServerMovement extends APacketBase{
+	private final List<MovementUpdate> updates;
 	
-	public PacketVehicleServerMovement(EntityVehicleF_Physics vehicle, Point3d motion, Point3d rotation){
-		super(vehicle);
-		this.motion = motion;
-		this.rotation = rotation;
+	public PacketVehicleServerMovement(List<MovementUpdate> updates){
+		super(null);
+		this.updates = updates;
 	}
 	
 	public PacketVehicleServerMovement(ByteBuf buf){
 		super(buf);
-		this.motion = readPoint3dFromBuffer(buf);
-		this.rotation = readPoint3dFromBuffer(buf);
+		int updateCount = buf.readUnsignedShort();
+		this.updates = new ArrayList<MovementUpdate>(updateCount);
+		for(int i=0; i<updateCount; ++i){
+			int lookupID = buf.readInt();
+			boolean keyframe = buf.readBoolean();
+			if(keyframe){
+				updates.add(new MovementUpdate(lookupID, true, readPoint3dFromBuffer(buf), readPoint3dFromBuffer(buf)));
+			}else{
+				Point3d motion = new Point3d(buf.readShort()/MovementSyncSystem.MOTION_SCALE, buf.readShort()/MovementSyncSystem.MOTION_SCALE, buf.readShort()/MovementSyncSystem.MOTION_SCALE);
+				Point3d rotation = new Point3d(buf.readShort()/MovementSyncSystem.ROTATION_SCALE, buf.readShort()/MovementSyncSystem.ROTATION_SCALE, buf.readShort()/MovementSyncSystem.ROTATION_SCALE);
+				updates.add(new MovementUpdate(lookupID, false, motion, rotation));
+			}
+		}
 	}
 	
 	@Override
 	public void writeToBuffer(ByteBuf buf){
 		super.writeToBuffer(buf);
-		writePoint3dToBuffer(motion, buf);
-		writePoint3dToBuffer(rotation, buf);
+		buf.writeShort(updates.size());
+		for(MovementUpdate update : updates){
+			buf.writeInt(update.lookupID);
+			buf.writeBoolean(update.keyframe);
+			if(update.keyframe){
+				writePoint3dToBuffer(update.motion, buf);
+				writePoint3dToBuffer(update.rotation, buf);
+			}else{
+				buf.writeShort((int) Math.round(update.motion.x*MovementSyncSystem.MOTION_SCALE));
+				buf.writeShort((int) Math.round(update.motion.y*MovementSyncSystem.MOTION_SCALE));
+				buf.writeShort((int) Math.round(update.motion.z*MovementSyncSystem.MOTION_SCALE));
+				buf.writeShort((int) Math.round(update.rotation.x*MovementSyncSystem.ROTATION_SCALE));
+				buf.writeShort((int) Math.round(update.rotation.y*MovementSyncSystem.ROTATION_SCALE));
+				buf.writeShort((int) Math.round(update.rotation.z*MovementSyncSystem.ROTATION_SCALE));
+			}
+		}
 	}
 	
 	@Override
-	public boolean handle(IWrapperWorld world, IWrapperPlayer player, EntityVehicleF_Physics vehicle){
-		vehicle.addToServerDeltas(motion, rotation);
-		return false;
+	public void handle(IWrapperWorld world, IWrapperPlayer player){
+		EntityRegistry registry = EntityRegistry.getRegistryFor(world);
+		for(MovementUpdate update : updates){
+			for(AEntityBase entity : registry.getEntities(update.lookupID)){
+				if(entity instanceof EntityVehicleF_Physics){
+					EntityVehicleF_Physics vehicle = (EntityVehicleF_Physics) entity;
+					if(update.keyframe){
+						vehicle.setServerDeltas(update.motion, update.rotation);
+					}else{
+						vehicle.addToServerDeltas(update.motion, update.rotation);
+					}
+				}
+			}
+		}
+	}
+	
+	/**
+	 *  Class that holds the movement of a single vehicle.  If this is a keyframe, then
+	 *  the motion and rotation are the full server deltas.  If not, they are the
+	 *  amount to add to the client's server deltas.
+	 */
+	public static class MovementUpdate{
+		public final int lookupID;
+		public final boolean keyframe;
+		public final Point3d motion;
+		public final Point3d rotation;
+		
+		public MovementUpdate(int lookupID, boolean keyframe, Point3d motion, Point3d rotation){
+			this.lookupID = lookupID;
+			this.keyframe = keyframe;
+			this.motion = motion;
+			this.rotation = rotation;
+		}
 	}
 }
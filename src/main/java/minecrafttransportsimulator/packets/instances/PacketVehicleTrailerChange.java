@@ -5,6 +5,7 @@ import minecrafttransportsimulator.mcinterface.IWrapperPlayer;
 import minecrafttransportsimulator.mcinterface.IWrapperWorld;
 import minecrafttransportsimulator.packets.components.APacketVehicle;
 import minecrafttransportsimulator.vehicles.main.AEntityBase;
+import minecrafttransportsimulator.vehicles.main.EntityRegistry;
 import minecrafttransportsimulator.vehicles.main.EntityVehicleF_Physics;
 
 /**Packet used to send signals to vehicles to connect/disconnect trailers.  Sent from the server to all clients when trailer
@@ -34,12 +35,10 @@ public class PacketVehicleTrailerChange extends APacketVehicle{
 	@Override
 	public boolean handle(IWrapperWorld world, IWrapperPlayer player, EntityVehicleF_Physics vehicle){
 		if(linkedID != -1){
-			for(AEntityBase entity : AEntityBase.createdClientEntities){
-				if(entity.lookupID == linkedID){
-					vehicle.towedVehicle = (EntityVehicleF_Physics) entity;
-					((EntityVehicleF_Physics) entity).towedByVehicle = vehicle;
-					break;
-				}
+			AEntityBase entity = EntityRegistry.getRegistryFor(world).getEntity(linkedID);
+			if(entity != null){
+				vehicle.towedVehicle = (EntityVehicleF_Physics) entity;
+				((EntityVehicleF_Physics) entity).towedByVehicle = vehicle;
 			}
 		}else{
 			if(vehicle.towedVehicle != null){
@@ -0,0 +1,383 @@
+package minecrafttransportsimulator.packloading;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+import minecrafttransportsimulator.baseclasses.Point3d;
+import minecrafttransportsimulator.jsondefs.AJSONItem;
+import minecrafttransportsimulator.jsondefs.JSONBooklet;
+import minecrafttransportsimulator.jsondefs.JSONDecor;
+import minecrafttransportsimulator.jsondefs.JSONInstrument;
+import minecrafttransportsimulator.jsondefs.JSONItem;
+import minecrafttransportsimulator.jsondefs.JSONPart;
+import minecrafttransportsimulator.jsondefs.JSONPoleComponent;
+import minecrafttransportsimulator.jsondefs.JSONVehicle;
+import minecrafttransportsimulator.mcinterface.MasterLoader;
+import minecrafttransportsimulator.packloading.PackResourceLoader.PackStructure;
+import minecrafttransportsimulator.systems.PackParserSystem;
+
+/**
+ * Class responsible for loading the JSON definitions out of pack jars.  Jars are loaded in parallel on
+ * a fork-join pool, and the JSON files inside each jar are also parsed in parallel.  Results are always
+ * returned in the order the JSON files appear in the jar, so the order items are registered in does not
+ * depend on which thread finished first.  This class only creates the definitions: creating and registering
+ * items is still done by {@link PackParserSystem} on the calling thread.
+ * <br><br>
+ * Once a jar has been parsed without errors, the definitions are saved to a cache file.  This cache is keyed
+ * by a hash of the jar's entry names and CRCs, so it is only used if the jar is unchanged.  Definitions in the
+ * cache are stored after legacy compats were applied, so they don't need to be run again on load.  Because of
+ * this, the cache is also keyed by the mod version and {@link #PARSER_VERSION}, so a change to the parsing
+ * results in the jar being parsed again.
+ * <br><br>
+ * Note that the cache holds the definitions as compact JSON, not as Java objects, so loading from it still
+ * runs Gson on every definition.  What it saves is inflating the JSON files out of the jar, and running the
+ * legacy compats on every definition.  The gain is mostly for large packs with a lot of legacy definitions.
+ *
+ * @author don_bruce
+ */
+public final class PackDefinitionLoader{
+	/**Version of the cache format.  Increment this if the format changes to make old caches invalid.**/
+	private static final int CACHE_VERSION = 2;
+	
+	/**Version of the definition parsing.  Increment this if the JSON classes or legacy compats change in a way
+	 * that changes the parsed definitions.  Caches are only used if they were made with the same version.
+	 * This is separate from the mod version, as that isn't changed between development builds.**/
+	private static final int PARSER_VERSION = 1;
+	
+	/**Gson instance for the cache.  Unlike the pack parser, this doesn't pretty-print, which makes for smaller cache files.**/
+	private static final Gson cacheParser = new GsonBuilder().disableHtmlEscaping().registerTypeAdapter(Point3d.class, Point3d.adapter).create();
+	
+	/**
+	 *  Loads the definitions for all passed-in requests.  This blocks until all requests are done.
+	 *  Results and errors are stored in the requests themselves.  If the passed-in cache directory
+	 *  is null, no caching is done.
+	 */
+	public static void loadDefinitions(List<PackLoadRequest> requests, File cacheDirectory){
+		if(cacheDirectory != null && !cacheDirectory.exists()){
+			cacheDirectory.mkdirs();
+		}
+		ForkJoinPool pool = new ForkJoinPool();
+		try{
+			List<ForkJoinTask<Void>> tasks = new ArrayList<ForkJoinTask<Void>>();
+			for(PackLoadRequest request : requests){
+				tasks.add(pool.submit(new PackLoadTask(request, cacheDirectory)));
+			}
+			for(ForkJoinTask<Void> task : tasks){
+				task.join();
+			}
+		}finally{
+			pool.shutdown();
+		}
+	}
+	
+	/**
+	 *  Returns the JSON class for the passed-in JSON type, or null if there is no
+	 *  class for that type.  The type is the classification folder of the JSON.
+	 */
+	private static Class<? extends AJSONItem<?>> getJSONClass(String jsonType){
+		switch(jsonType){
+			case("vehicles") : return JSONVehicle.class;
+			case("parts") : return JSONPart.class;
+			case("instruments") : return JSONInstrument.class;
+			case("poles") : return JSONPoleComponent.class;
+			case("decors") : return JSONDecor.class;
+			case("items") : return JSONItem.class;
+			case("booklets") : return JSONBooklet.class;
+			default : return null;
+		}
+	}
+	
+	/**
+	 *  Returns a hash of the passed-in jar.  This only uses the names and CRCs of the entries,
+	 *  which are stored in the jar's central directory, so no entry data needs to be read.
+	 */
+	private static long getJarHash(ZipFile jarFile){
+		long hash = 17;
+		Enumeration<? extends ZipEntry> entries = jarFile.entries();
+		while(entries.hasMoreElements()){
+			ZipEntry entry = entries.nextElement();
+			hash = 31*hash + entry.getName().hashCode();
+			hash = 31*hash + entry.getCrc();
+			hash = 31*hash + entry.getSize();
+		}
+		return hash;
+	}
+	
+	/**
+	 *  A request to load all definitions in a jar that are under the passed-in asset path prefix.
+	 *  Once loaded, the definitions will be in {@link #definitions} in jar order.  Any errors for
+	 *  individual files will be in {@link #errors}.  If the jar couldn't be loaded at all, then
+	 *  {@link #fault} will be set.
+	 */
+	public static class PackLoadRequest{
+		public final String packID;
+		public final File jar;
+		public final String assetPathPrefix;
+		public final PackStructure structure;
+		public final List<LoadedDefinition> definitions = new ArrayList<LoadedDefinition>();
+		public final List<String> errors = new ArrayList<String>();
+		public Exception fault;
+		
+		public PackLoadRequest(String packID, File jar, String assetPathPrefix, PackStructure structure){
+			this.packID = packID;
+			this.jar = jar;
+			this.assetPathPrefix = assetPathPrefix;
+			this.structure = structure;
+		}
+	}
+	
+	/**
+	 *  A definition that was loaded from a pack.  The JSON type is the classification folder
+	 *  of the definition, and the asset path is the folder structure the item should use.
+	 */
+	public static class LoadedDefinition{
+		public final String jsonType;
+		public final String fileName;
+		public final String assetPath;
+		public final AJSONItem<?> definition;
+		
+		private LoadedDefinition(String jsonType, String fileName, String assetPath, AJSONItem<?> definition){
+			this.jsonType = jsonType;
+			this.fileName = fileName;
+			this.assetPath = assetPath;
+			this.definition = definition;
+		}
+	}
+	
+	/**
+	 *  Task for loading a single request.  This tries the cache first, and if that fails
+	 *  parses the jar and saves the results to the cache.
+	 */
+	private static class PackLoadTask extends RecursiveAction{
+		private static final long serialVersionUID = 1L;
+		private final PackLoadRequest request;
+		private final File cacheFile;
+		
+		private PackLoadTask(PackLoadRequest request, File cacheDirectory){
+			this.request = request;
+			this.cacheFile = cacheDirectory != null ? new File(cacheDirectory, request.packID + "_" + Integer.toHexString(request.assetPathPrefix.hashCode()) + ".bin") : null;
+		}
+		
+		@Override
+		protected void compute(){
+			try{
+				ZipFile jarFile = new ZipFile(request.jar);
+				try{
+					long jarHash = getJarHash(jarFile);
+					if(!loadFromCache(jarHash)){
+						request.definitions.clear();
+						loadFromJar(jarFile);
+						if(cacheFile != null && request.errors.isEmpty()){
+							saveToCache(jarHash);
+						}
+					}
+				}finally{
+					jarFile.close();
+				}
+			}catch(Exception e){
+				request.fault = e;
+			}
+		}
+		
+		/**
+		 *  Loads the definitions from the cache.  Returns true if the cache was present and
+		 *  valid for the passed-in jar hash, false if the jar needs to be parsed.
+		 */
+		private boolean loadFromCache(long jarHash){
+			if(cacheFile == null || !cacheFile.exists()){
+				return false;
+			}
+			try{
+				DataInputStream cacheStream = new DataInputStream(new BufferedInputStream(new GZIPInputStream(new FileInputStream(cacheFile))));
+				try{
+					if(cacheStream.readInt() != CACHE_VERSION || cacheStream.readInt() != PARSER_VERSION || !cacheStream.readUTF().equals(MasterLoader.MODVER) || cacheStream.readLong() != jarHash){
+						return false;
+					}
+					int definitionCount = cacheStream.readInt();
+					List<DefinitionParseTask> parseTasks = new ArrayList<DefinitionParseTask>(definitionCount);
+					for(int i=0; i<definitionCount; ++i){
+						String jsonType = cacheStream.readUTF();
+						String fileName = cacheStream.readUTF();
+						String assetPath = cacheStream.readUTF();
+						byte[] cachedData = new byte[cacheStream.readInt()];
+						cacheStream.readFully(cachedData);
+						parseTasks.add(new DefinitionParseTask(null, null, cachedData, jsonType, fileName, assetPath));
+					}
+					invokeAll(parseTasks);
+					for(DefinitionParseTask parseTask : parseTasks){
+						if(parseTask.loadedDefinition == null){
+							return false;
+						}
+						request.definitions.add(parseTask.loadedDefinition);
+					}
+					return true;
+				}finally{
+					cacheStream.close();
+				}
+			}catch(Exception e){
+				//Bad cache file.  Just parse the jar and overwrite it.
+				return false;
+			}
+		}
+		
+		/**
+		 *  Parses all definitions in the jar for this request.
+		 */
+		private void loadFromJar(ZipFile jarFile){
+			List<DefinitionParseTask> parseTasks = new ArrayList<DefinitionParseTask>();
+			Enumeration<? extends ZipEntry> entries = jarFile.entries();
+			while(entries.hasMoreElements()){
+				//Get next entry and path.
+				ZipEntry entry = entries.nextElement();
+				String entryFullPath = entry.getName();
+				if(entryFullPath.startsWith(request.assetPathPrefix) && entryFullPath.endsWith(".json")){
+					//JSON is in correct folder.  Get path properties and ensure they match our specs.
+					//Need the asset folder structure between the main prefix and the asset itself.
+					//This lets us know what asset we need to create as all assets are in their own folders.
+					String fileName = entryFullPath.substring(entryFullPath.lastIndexOf('/') + 1);
+					String assetPath = entryFullPath.substring(request.assetPathPrefix.length(), entryFullPath.substring(0, entryFullPath.length() - fileName.length()).lastIndexOf("/") + 1);
+					if(!request.structure.equals(PackStructure.MODULAR)){
+						//Need to trim the jsondefs folder to get correct sub-folder of jsondefs data.
+						//Modular structure does not have a jsondefs folder, so we don't need to trim it off for that.
+						assetPath = assetPath.substring("jsondefs/".length());
+					}
+					
+					//Check to make sure json isn't an item JSON or our pack definition.
+					if(!fileName.equals("packdefinition.json") && (request.structure.equals(PackStructure.MODULAR) ? !fileName.endsWith("_item.json") : entryFullPath.contains("jsondefs"))){
+						//Get JSON class type to use with GSON system.
+						String jsonType = assetPath.substring(0, assetPath.indexOf("/"));
+						if(getJSONClass(jsonType) == null){
+							request.errors.add("ERROR: Could not determine what type of JSON to create from: " + jsonType + " for asset: " + fileName);
+							continue;
+						}
+						
+						//Remove any trailing path information from the assetPath if we are in default mode.
+						//This prevents us from referencing sub-folders.  Only the main classification folder will remain.
+						if(request.structure.equals(PackStructure.DEFAULT)){
+							assetPath = assetPath.substring(0, assetPath.indexOf("/") + 1);
+						}
+						parseTasks.add(new DefinitionParseTask(jarFile, entry, null, jsonType, fileName, assetPath));
+					}
+				}
+			}
+			
+			//Parse all the JSONs we found, and add them in the order they were in the jar.
+			invokeAll(parseTasks);
+			for(DefinitionParseTask parseTask : parseTasks){
+				if(parseTask.loadedDefinition != null){
+					request.definitions.add(parseTask.loadedDefinition);
+				}else{
+					request.errors.add("ERROR: Could not parse: " + request.packID + ":" + parseTask.fileName);
+					request.errors.add(parseTask.parseError);
+				}
+			}
+		}
+		
+		/**
+		 *  Saves the definitions for this request to the cache.  This is done to a temp file that
+		 *  replaces the cache once written, so a crash part-way through won't leave a bad cache.
+		 *  Failing to save the cache isn't an error, it just means we will parse the jar next load.
+		 */
+		private void saveToCache(long jarHash){
+			File tempFile = new File(cacheFile.getPath() + ".tmp");
+			try{
+				DataOutputStream cacheStream = new DataOutputStream(new BufferedOutputStream(new GZIPOutputStream(new FileOutputStream(tempFile))));
+				try{
+					cacheStream.writeInt(CACHE_VERSION);
+					cacheStream.writeInt(PARSER_VERSION);
+					cacheStream.writeUTF(MasterLoader.MODVER);
+					cacheStream.writeLong(jarHash);
+					cacheStream.writeInt(request.definitions.size());
+					for(LoadedDefinition loadedDefinition : request.definitions){
+						cacheStream.writeUTF(loadedDefinition.jsonType);
+						cacheStream.writeUTF(loadedDefinition.fileName);
+						cacheStream.writeUTF(loadedDefinition.assetPath);
+						byte[] cachedData = cacheParser.toJson(loadedDefinition.definition).getBytes(StandardCharsets.UTF_8);
+						cacheStream.writeInt(cachedData.length);
+						cacheStream.write(cachedData);
+					}
+				}finally{
+					cacheStream.close();
+				}
+				Files.move(tempFile.toPath(), cacheFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+			}catch(Exception e){
+				tempFile.delete();
+			}
+		}
+	}
+	
+	/**
+	 *  Task for parsing a single definition.  This is either done from the passed-in jar entry,
+	 *  in which case legacy compats are performed, or from cached data, in which case they
+	 *  were already performed prior to caching.
+	 */
+	private static class DefinitionParseTask extends RecursiveAction{
+		private static final long serialVersionUID = 1L;
+		private final ZipFile jarFile;
+		private final ZipEntry entry;
+		private final byte[] cachedData;
+		private final String jsonType;
+		private final String fileName;
+		private final String assetPath;
+		private LoadedDefinition loadedDefinition;
+		private String parseError;
+		
+		private DefinitionParseTask(ZipFile jarFile, ZipEntry entry, byte[] cachedData, String jsonType, String fileName, String assetPath){
+			this.jarFile = jarFile;
+			this.entry = entry;
+			this.cachedData = cachedData;
+			this.jsonType = jsonType;
+			this.fileName = fileName;
+			this.assetPath = assetPath;
+		}
+		
+		@Override
+		protected void compute(){
+			try{
+				AJSONItem<?> definition;
+				if(cachedData != null){
+					InputStreamReader reader = new InputStreamReader(new ByteArrayInputStream(cachedData), StandardCharsets.UTF_8);
+					try{
+						definition = cacheParser.fromJson(reader, getJSONClass(jsonType));
+					}finally{
+						reader.close();
+					}
+				}else{
+					InputStreamReader reader = new InputStreamReader(jarFile.getInputStream(entry), "UTF-8");
+					try{
+						definition = PackParserSystem.packParser.fromJson(reader, getJSONClass(jsonType));
+					}finally{
+						reader.close();
+					}
+					PackParserSystem.performLegacyCompats(definition);
+				}
+				loadedDefinition = new LoadedDefinition(jsonType, fileName, assetPath, definition);
+			}catch(Exception e){
+				parseError = e.getMessage();
+			}
+		}
+	}
+}
@@ -4,6 +4,8 @@ import java.util.HashMap;
 import java.util.Map;
 
 import minecrafttransportsimulator.jsondefs.JSONVehicle.VehicleAnimationDefinition;
+import minecrafttransportsimulator.systems.VehicleAnimationSystem;
+import minecrafttransportsimulator.systems.VehicleAnimationSystem.AnimationVariable;
 import minecrafttransportsimulator.vehicles.main.EntityVehicleF_Physics;
 import minecrafttransportsimulator.vehicles.parts.APart;
 
@@ -13,10 +15,13 @@ import minecrafttransportsimulator.vehicles.parts.APart;
  */
 public abstract class ATransformRenderable{
 	public final VehicleAnimationDefinition definition; 
+	/**Compiled form of the definition's variable, or null if there isn't one.  Compiled here so it's done when the model is loaded.**/
+	protected final AnimationVariable variable;
 	private final Map<EntityVehicleF_Physics, DurationDelayClock> clocks = new HashMap<EntityVehicleF_Physics, DurationDelayClock>();
 	
 	public ATransformRenderable(VehicleAnimationDefinition definition){
 		this.definition = definition;
+		this.variable = definition != null && definition.variable != null ? VehicleAnimationSystem.getCompiledVariable(definition.variable) : null;
 	}
 	
 	/**
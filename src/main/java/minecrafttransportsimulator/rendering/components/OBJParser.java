@@ -1,238 +1,494 @@
 package minecrafttransportsimulator.rendering.components;
 
-import java.io.BufferedReader;
-import java.io.IOException;
-import java.io.InputStreamReader;
-import java.util.ArrayList;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.zip.CRC32;
 
-import org.lwjgl.opengl.GL11;
+import minecrafttransportsimulator.mcinterface.MasterLoader;
 
 /**Class responsible for parsing OBJ models into arrays that can be fed to the GPU.
  * Much more versatile than the Forge system.
- * 
+ * <br><br>
+ * Models are parsed directly from the raw bytes of the file, with all data going into primitive
+ * arrays rather than Strings and boxed numbers.  Once parsed, the compiled arrays are saved to a
+ * cache file keyed by the model location and a hash of the model's contents.  On later loads,
+ * the cache file is read directly rather than parsing the model again.
+ *
  * @author don_bruce
  */
 public final class OBJParser{
-	public static Map<String, Float[][]> parseOBJModel(String modelLocation){
-		Map<String, Float[][]> partMap = new HashMap<String, Float[][]>();
-		BufferedReader reader;
+	/**Version of the cache format.  Increment this if the format or parsing changes to make old caches invalid.**/
+	private static final int CACHE_VERSION = 1;
+	/**Window UV coordinates.  Windows ignore the model UVs and use these for every set of two triangles.**/
+	private static final float[][] WINDOW_UVS = new float[][]{{0.0F, 1.0F}, {1.0F, 1.0F}, {1.0F, 0.0F}, {0.0F, 1.0F}, {1.0F, 0.0F}, {0.0F, 0.0F}};
+	/**Powers of ten that can be represented exactly as doubles.  Used for fast float parsing.**/
+	private static final double[] POWERS_OF_TEN = new double[]{1E0, 1E1, 1E2, 1E3, 1E4, 1E5, 1E6, 1E7, 1E8, 1E9, 1E10, 1E11, 1E12, 1E13, 1E14, 1E15, 1E16, 1E17, 1E18, 1E19, 1E20, 1E21, 1E22};
+	
+	public static Map<String, float[][]> parseOBJModel(String modelLocation){
+		byte[] data;
 		try{
-			reader = new BufferedReader(new InputStreamReader(OBJParser.class.getResourceAsStream(modelLocation)));
+			InputStream stream = OBJParser.class.getResourceAsStream(modelLocation);
+			try{
+				ByteArrayOutputStream byteStream = new ByteArrayOutputStream();
+				byte[] buffer = new byte[8192];
+				int bytesRead;
+				while((bytesRead = stream.read(buffer)) != -1){
+					byteStream.write(buffer, 0, bytesRead);
+				}
+				data = byteStream.toByteArray();
+			}finally{
+				stream.close();
+			}
 		}catch(Exception e){
 			throw new NullPointerException("ERROR: Attempted to parse the OBJ model at: " + modelLocation + " but could not find it.  Check the path and try again.");
 		}
 		
+		//Check the cache before parsing.
+		CRC32 crc = new CRC32();
+		crc.update(data);
+		long contentHash = crc.getValue() ^ ((long) data.length << 32);
+		File cacheFile = getCacheFile(modelLocation);
+		Map<String, float[][]> partMap = loadFromCache(cacheFile, modelLocation, contentHash);
+		if(partMap == null){
+			partMap = parseData(data, modelLocation);
+			saveToCache(cacheFile, modelLocation, contentHash, partMap);
+		}
+		return partMap;
+	}
+	
+	/**
+	 *  Parses the raw bytes of an OBJ file.  Lines are read in-place from the array, and all
+	 *  numbers are parsed straight into the per-object arrays.  Faces are triangulated as they
+	 *  are parsed, so there's no need to store them as Strings and parse them again later.
+	 */
+	private static Map<String, float[][]> parseData(byte[] data, String modelLocation){
+		Map<String, float[][]> partMap = new HashMap<String, float[][]>();
 		String partName = null;
-		final List<Float[]> vertexList = new ArrayList<Float[]>();
-		final List<Float[]> normalList = new ArrayList<Float[]>();
-		final List<Float[]> textureList = new ArrayList<Float[]>();
-		final List<String> faceList = new ArrayList<String>();
+		final FloatArray vertexList = new FloatArray();
+		final FloatArray normalList = new FloatArray();
+		final FloatArray textureList = new FloatArray();
+		final IntArray faceList = new IntArray();
+		final int[] faceStart = new int[3];
+		final int[] facePrior = new int[3];
+		final int[] faceCurrent = new int[3];
 		
-		try{
-			int lineNumber = 0;
-			while(reader.ready()){
-				String line = reader.readLine();
-				++lineNumber;
-				if(line.isEmpty()){
-					continue;
+		int lineNumber = 0;
+		int lineEnd = -1;
+		while(lineEnd < data.length){
+			//Get the bounds of the next line, trimming any whitespace off it.
+			int lineStart = lineEnd + 1;
+			lineEnd = lineStart;
+			while(lineEnd < data.length && data[lineEnd] != '\n'){
+				++lineEnd;
+			}
+			++lineNumber;
+			int start = lineStart;
+			int end = lineEnd;
+			while(start < end && data[start] <= ' '){
+				++start;
+			}
+			while(end > start && data[end - 1] <= ' '){
+				--end;
+			}
+			if(start == end){
+				continue;
+			}
+			
+			if(data[start] == 'o'){
+				//Declaration of an object.
+				//Save current part we are parsing (if any) and start new part.
+				if(partName != null){
+					partMap.put(partName, compileVertexArray(vertexList, normalList, textureList, faceList, partName.toLowerCase().contains("window"), modelLocation));
+					vertexList.clear();
+					normalList.clear();
+					textureList.clear();
+					faceList.clear();
+				}
+				if(end - start <= 2){
+					throw new IllegalArgumentException("ERROR: Object found with no name at line: " + lineNumber + " of: " + modelLocation + ".  Make sure your model exporter isn't making things into groups rather than objects.");
 				}
-				if(line.startsWith("o")){
-					//Declaration of an object.
-					//Save current part we are parsing (if any) and start new part.
-					if(partName != null){
-						partMap.put(partName, compileVertexArray(vertexList, normalList, textureList, faceList, partName.toLowerCase().contains("window")));
-						vertexList.clear();
-						normalList.clear();
-						textureList.clear();
-						faceList.clear();
+				partName = new String(data, start + 2, end - start - 2, StandardCharsets.UTF_8);
+			}else if(partName != null && end - start > 2){
+				if(data[start] == 'v' && data[start + 1] == ' '){
+					try{
+						int tokenStart = skipSpaces(data, start + 2, end);
+						int tokenEnd = nextSpace(data, tokenStart, end);
+						vertexList.add(parseFloat(data, tokenStart, tokenEnd));
+						tokenStart = skipSpaces(data, tokenEnd, end);
+						tokenEnd = nextSpace(data, tokenStart, end);
+						vertexList.add(parseFloat(data, tokenStart, tokenEnd));
+						tokenStart = skipSpaces(data, tokenEnd, end);
+						tokenEnd = nextSpace(data, tokenStart, end);
+						vertexList.add(parseFloat(data, tokenStart, tokenEnd));
+						if(tokenEnd != end){
+							throw new NumberFormatException();
+						}
+					}catch(Exception e){
+						throw new NumberFormatException("ERROR: Could not parse vertex info at line: " + lineNumber + " of: " + modelLocation + " due to bad formatting.  Vertex lines must consist of only three numbers (X, Y, Z).");
 					}
+				}else if(data[start] == 'v' && data[start + 1] == 't' && data[start + 2] == ' '){
 					try{
-						partName = line.trim().substring(2, line.length());
+						int tokenStart = skipSpaces(data, start + 3, end);
+						int tokenEnd = nextSpace(data, tokenStart, end);
+						textureList.add(parseFloat(data, tokenStart, tokenEnd));
+						tokenStart = skipSpaces(data, tokenEnd, end);
+						tokenEnd = nextSpace(data, tokenStart, end);
+						textureList.add(1 - parseFloat(data, tokenStart, tokenEnd));
 					}catch(Exception e){
-						throw new IllegalArgumentException("ERROR: Object found with no name at line: " + lineNumber + " of: " + modelLocation + ".  Make sure your model exporter isn't making things into groups rather than objects.");
+						throw new NumberFormatException("ERROR: Could not parse vertex texture info at line: " + lineNumber + " of: " + modelLocation + " due to bad formatting.  Vertex texture lines must consist of only two numbers (U, V).");
 					}
-				}
-				if(partName != null){
-					if(line.startsWith("v ")){
-						try{
-							Float[] coords = new Float[3];
-							line = line.trim().substring(2, line.trim().length()).trim();
-							coords[0] = Float.valueOf(line.substring(0, line.indexOf(' ')));
-							coords[1] = Float.valueOf(line.substring(line.indexOf(' ') + 1, line.lastIndexOf(' ')));
-							coords[2] = Float.valueOf(line.substring(line.lastIndexOf(' ') + 1, line.length()));
-							vertexList.add(coords);
-						}catch(Exception e){
-							throw new NumberFormatException("ERROR: Could not parse vertex info at line: " + lineNumber + " of: " + modelLocation + " due to bad formatting.  Vertex lines must consist of only three numbers (X, Y, Z).");
+				}else if(data[start] == 'v' && data[start + 1] == 'n' && data[start + 2] == ' '){
+					try{
+						int tokenStart = skipSpaces(data, start + 3, end);
+						int tokenEnd = nextSpace(data, tokenStart, end);
+						normalList.add(parseFloat(data, tokenStart, tokenEnd));
+						tokenStart = skipSpaces(data, tokenEnd, end);
+						tokenEnd = nextSpace(data, tokenStart, end);
+						normalList.add(parseFloat(data, tokenStart, tokenEnd));
+						tokenStart = skipSpaces(data, tokenEnd, end);
+						tokenEnd = nextSpace(data, tokenStart, end);
+						normalList.add(parseFloat(data, tokenStart, tokenEnd));
+						if(tokenEnd != end){
+							throw new NumberFormatException();
 						}
-					}else if(line.startsWith("vt ")){
-						try{
-							Float[] coords = new Float[2];
-							line = line.trim().substring(3, line.trim().length()).trim();
-							int space = line.indexOf(' ');
-							int vertexEnd = line.lastIndexOf(' ') == space ? line.length() : line.lastIndexOf(' ');
-							coords[0] = Float.valueOf(line.substring(0, space));
-							coords[1] = 1 - Float.valueOf(line.substring(space + 1, vertexEnd));
-							textureList.add(coords);
-						}catch(Exception e){
-							throw new NumberFormatException("ERROR: Could not parse vertex texture info at line: " + lineNumber + " of: " + modelLocation + " due to bad formatting.  Vertex texture lines must consist of only two numbers (U, V).");
+					}catch(Exception e){
+						throw new NumberFormatException("ERROR: Could not parse normals info at line: " + lineNumber + " of: " + modelLocation + " due to bad formatting.  Normals lines must consist of only three numbers (Xn, Yn, Zn).");
+					}
+				}else if(data[start] == 'f' && data[start + 1] == ' '){
+					//Faces are in the format X/Y/Z, with spaces between the vertices making up the face.
+					//X is the vertex number, Y is the texture number, and Z is the normal number.
+					//If we have more than three points, we need to make triangles out of this shape.
+					//Add the first point, the most recent point, and this point to make a triangle.
+					int faceVertices = 0;
+					int tokenStart = skipSpaces(data, start + 2, end);
+					while(tokenStart < end){
+						int tokenEnd = nextSpace(data, tokenStart, end);
+						parseFaceVertex(data, tokenStart, tokenEnd, faceCurrent, modelLocation);
+						if(faceVertices >= 3){
+							faceList.add(faceStart);
+							faceList.add(facePrior);
 						}
-					}else if(line.startsWith("vn ")){
-						try{
-							Float[] coords = new Float[3];
-							line = line.trim().substring(2, line.trim().length()).trim();
-							coords[0] = Float.valueOf(line.substring(0, line.indexOf(' ')));
-							coords[1] = Float.valueOf(line.substring(line.indexOf(' ') + 1, line.lastIndexOf(' ')));
-							coords[2] = Float.valueOf(line.substring(line.lastIndexOf(' ') + 1, line.length()));
-							normalList.add(coords);
-						}catch(Exception e){
-							throw new NumberFormatException("ERROR: Could not parse normals info at line: " + lineNumber + " of: " + modelLocation + " due to bad formatting.  Normals lines must consist of only three numbers (Xn, Yn, Zn).");
+						faceList.add(faceCurrent);
+						if(faceVertices == 0){
+							System.arraycopy(faceCurrent, 0, faceStart, 0, 3);
 						}
-					}else if(line.startsWith("f ")){
-						faceList.add(line.trim().substring(2, line.trim().length()));
+						System.arraycopy(faceCurrent, 0, facePrior, 0, 3);
+						++faceVertices;
+						tokenStart = skipSpaces(data, tokenEnd, end);
 					}
 				}
 			}
-			
-			//End of file.  Save the last part in process and close the file.
-			try{
-				partMap.put(partName, compileVertexArray(vertexList, normalList, textureList, faceList, partName.toLowerCase().contains("window")));
-			}catch(Exception e){
-				throw new IllegalArgumentException("ERROR: Could not compile points of: " + modelLocation + ".  This is likely due to missing UV mapping on some or all faces.");
-			}
-			reader.close();
-			return partMap;
-			
-		}catch(IOException e){
-			throw new IllegalStateException("ERROR: Could not finish parsing: " + modelLocation + " due to IOException error.  Did the file change state during parsing?");
 		}
+		
+		//End of file.  Save the last part in process.
+		if(partName != null){
+			partMap.put(partName, compileVertexArray(vertexList, normalList, textureList, faceList, partName.toLowerCase().contains("window"), modelLocation));
+		}
+		return partMap;
 	}
 	
-	private static Float[][] compileVertexArray(List<Float[]> vertexList, List<Float[]> normalList, List<Float[]> textureList, List<String> faceList, boolean isWindow){
-		List<Integer[]> vertexDataSets = new ArrayList<Integer[]>();
-		for(String faceString : faceList){
-			List<Integer[]> faceVertexData = new ArrayList<Integer[]>();	
-			while(!faceString.isEmpty()){
-				//Get the face string in format X/Y/Z.  Use the space as a separator between vertices making up the face.
-				int defEnd = faceString.indexOf(' ');
-				String faceDef;
-				if(defEnd != -1){
-					//Take the faceDef from the faceString and store it.
-					faceDef = faceString.substring(0, defEnd);
-					faceString = faceString.substring(defEnd + 1);
-				}else{
-					//We are at the last face vertex here, so just mark the face as the existing string.
-					faceDef = faceString;
-					faceString = "";
-				}
-				
-				//Vertex number is the first entry before the slash.
-				//Texture number is the second entry between the two slashes.
-				//Normal number is the third entry after the second slash.
-				//Parse all these out and store them in the array.
-				int firstSlash = faceDef.indexOf('/');
-				int secondSlash = faceDef.lastIndexOf('/');
-				int vertexNumber = Integer.valueOf(faceDef.substring(0, firstSlash)) - 1;
-				int textureNumber = Integer.valueOf(faceDef.substring(firstSlash + 1, secondSlash)) - 1;
-				int normalNumber = Integer.valueOf(faceDef.substring(secondSlash + 1)) - 1;
-				
-				//If we have three or more points in faceValues, it means we need to make a triangle out of this shape.
-				//Add the first point, the most recent point, and this point to make a triangle.
-				//Otherwise, just add the face as-is.
-				if(faceVertexData.size() >= 3){
-					faceVertexData.add(faceVertexData.get(0));
-					faceVertexData.add(faceVertexData.get(faceVertexData.size() - 2));
-				}
-				faceVertexData.add(new Integer[]{vertexNumber, textureNumber, normalNumber});
-			}
-			vertexDataSets.addAll(faceVertexData);
-		}
-		
+	/**
+	 *  Compiles the parsed data for an object into the final vertex array.  Each entry in the array is
+	 *  a vertex in the format X, Y, Z, U, V, nX, nY, nZ.  Every three vertices make a triangle.
+	 */
+	private static float[][] compileVertexArray(FloatArray vertexList, FloatArray normalList, FloatArray textureList, IntArray faceList, boolean isWindow, String modelLocation){
 		//Get the correct offset for face values in the lists.
 		//Find the smallest face number and use that as the offset.
 		int vertexOffset = Integer.MAX_VALUE;
 		int textureOffset = Integer.MAX_VALUE;
 		int normalOffset = Integer.MAX_VALUE;
-		for(Integer[] vertexData : vertexDataSets){
-			vertexOffset = Math.min(vertexOffset, vertexData[0]);
-			textureOffset = Math.min(textureOffset, vertexData[1]);
-			normalOffset = Math.min(normalOffset, vertexData[2]);
+		for(int i=0; i<faceList.size; i+=3){
+			vertexOffset = Math.min(vertexOffset, faceList.data[i]);
+			textureOffset = Math.min(textureOffset, faceList.data[i + 1]);
+			normalOffset = Math.min(normalOffset, faceList.data[i + 2]);
 		}
 		
 		//Populate the vertex array in order of the vertices used in the faces.
-		List<Float[]> vertexArray = new ArrayList<Float[]>();
-		for(Integer[] vertexData : vertexDataSets){
-			vertexArray.add(vertexList.get(vertexData[0] - vertexOffset));
-		}
-		
-		//Now populate the texture array.
 		//If we are parsing windows override the texture coords.
-		List<Float[]> textureArray = new ArrayList<Float[]>();
-		if(isWindow){
-			for(int i=0; i<vertexDataSets.size(); i+=3){
-				textureArray.add(new Float[]{0.0F, 1.0F});
-				textureArray.add(new Float[]{1.0F, 1.0F});
-				textureArray.add(new Float[]{1.0F, 0.0F});
-				//If we have only 3 points, it means this window is just a single triangle.
-				//Don't add the 4th fake point and just end compilation here.
-				if(vertexArray.size() > 3){
-					textureArray.add(new Float[]{0.0F, 1.0F});
-					textureArray.add(new Float[]{1.0F, 0.0F});
-					textureArray.add(new Float[]{0.0F, 0.0F});
+		float[][] compiledArray = new float[faceList.size/3][];
+		try{
+			for(int i=0; i<compiledArray.length; ++i){
+				int vertexIndex = (faceList.data[i*3] - vertexOffset)*3;
+				int textureIndex = (faceList.data[i*3 + 1] - textureOffset)*2;
+				int normalIndex = (faceList.data[i*3 + 2] - normalOffset)*3;
+				float[] vertex = new float[8];
+				vertex[0] = vertexList.get(vertexIndex);
+				vertex[1] = vertexList.get(vertexIndex + 1);
+				vertex[2] = vertexList.get(vertexIndex + 2);
+				if(isWindow){
+					vertex[3] = WINDOW_UVS[i%6][0];
+					vertex[4] = WINDOW_UVS[i%6][1];
 				}else{
-					break;
+					vertex[3] = textureList.get(textureIndex);
+					vertex[4] = textureList.get(textureIndex + 1);
+				}
+				vertex[5] = normalList.get(normalIndex);
+				vertex[6] = normalList.get(normalIndex + 1);
+				vertex[7] = normalList.get(normalIndex + 2);
+				compiledArray[i] = vertex;
+			}
+		}catch(IndexOutOfBoundsException e){
+			throw new IllegalArgumentException("ERROR: Could not compile points of: " + modelLocation + ".  This is likely due to missing UV mapping on some or all faces.");
+		}
+		return compiledArray;
+	}
+	
+	/**
+	 *  Parses a single face vertex in the format X/Y/Z into the passed-in array.
+	 *  Numbers are converted to be zero-indexed.
+	 */
+	private static void parseFaceVertex(byte[] data, int start, int end, int[] faceVertex, String modelLocation){
+		int index = 0;
+		int value = 0;
+		boolean hasDigits = false;
+		for(int i=start; i<=end; ++i){
+			if(i == end || data[i] == '/'){
+				if(!hasDigits || index > 2){
+					throw new IllegalArgumentException("ERROR: Could not compile points of: " + modelLocation + ".  This is likely due to missing UV mapping on some or all faces.");
+				}
+				faceVertex[index++] = value - 1;
+				value = 0;
+				hasDigits = false;
+			}else if(data[i] >= '0' && data[i] <= '9'){
+				value = value*10 + (data[i] - '0');
+				hasDigits = true;
+			}else{
+				throw new NumberFormatException("ERROR: Could not parse face info of: " + modelLocation + " due to bad formatting.  Face vertices must be in the format X/Y/Z.");
+			}
+		}
+		if(index != 3){
+			throw new IllegalArgumentException("ERROR: Could not compile points of: " + modelLocation + ".  This is likely due to missing UV mapping on some or all faces.");
+		}
+	}
+	
+	/**
+	 *  Parses a float from the passed-in range of bytes.  Plain decimal numbers, which is what
+	 *  all exporters we know of write, are parsed directly.  Anything else, such as numbers with
+	 *  exponents or lots of digits, is passed to {@link Float#parseFloat(String)}.
+	 */
+	private static float parseFloat(byte[] data, int start, int end){
+		int i = start;
+		boolean negative = false;
+		if(i < end && (data[i] == '-' || data[i] == '+')){
+			negative = data[i] == '-';
+			++i;
+		}
+		long mantissa = 0;
+		int significantDigits = 0;
+		int decimalExponent = 0;
+		boolean hasDigits = false;
+		boolean seenDecimal = false;
+		for(; i<end; ++i){
+			byte c = data[i];
+			if(c >= '0' && c <= '9'){
+				hasDigits = true;
+				if(mantissa != 0 || c != '0'){
+					mantissa = mantissa*10 + (c - '0');
+					++significantDigits;
+				}
+				if(seenDecimal){
+					--decimalExponent;
 				}
+			}else if(c == '.' && !seenDecimal){
+				seenDecimal = true;
+			}else{
+				break;
 			}
-		}else{
-			for(Integer[] face : vertexDataSets){
-				textureArray.add(textureList.get(face[1] - textureOffset));
+		}
+		if(i != end || !hasDigits || significantDigits > 15 || -decimalExponent >= POWERS_OF_TEN.length){
+			return Float.parseFloat(new String(data, start, end - start, StandardCharsets.US_ASCII));
+		}
+		double value = mantissa/POWERS_OF_TEN[-decimalExponent];
+		return (float) (negative ? -value : value);
+	}
+	
+	private static int skipSpaces(byte[] data, int index, int end){
+		while(index < end && data[index] <= ' '){
+			++index;
+		}
+		return index;
+	}
+	
+	private static int nextSpace(byte[] data, int index, int end){
+		while(index < end && data[index] > ' '){
+			++index;
+		}
+		return index;
+	}
+	
+	/**
+	 *  Returns the cache file for the passed-in model, or null if we don't have a directory for caches.
+	 *  The file is named with the SHA-1 hash of the model location.  String hash codes collide far too
+	 *  often for this, and two colliding models would keep overwriting each other's cache.
+	 */
+	private static File getCacheFile(String modelLocation){
+		if(MasterLoader.gameDirectory == null){
+			return null;
+		}
+		File cacheDirectory = new File(MasterLoader.gameDirectory, "config" + File.separator + MasterLoader.MODID + "_modelcache");
+		if(!cacheDirectory.exists() && !cacheDirectory.mkdirs()){
+			return null;
+		}
+		try{
+			byte[] locationHash = MessageDigest.getInstance("SHA-1").digest(modelLocation.getBytes(StandardCharsets.UTF_8));
+			StringBuilder fileName = new StringBuilder();
+			for(byte hashByte : locationHash){
+				fileName.append(Character.forDigit((hashByte >> 4) & 0xF, 16));
+				fileName.append(Character.forDigit(hashByte & 0xF, 16));
 			}
+			return new File(cacheDirectory, fileName.append(".bin").toString());
+		}catch(Exception e){
+			return null;
+		}
+	}
+	
+	/**
+	 *  Loads the model from the passed-in cache file.  Returns null if the cache doesn't exist,
+	 *  or is for a different model location or model contents.  This is a buffered stream rather
+	 *  than a memory-map, as mapped files stay open until the buffer is garbage collected, which
+	 *  stops the cache file from being replaced on Windows.
+	 */
+	private static Map<String, float[][]> loadFromCache(File cacheFile, String modelLocation, long contentHash){
+		if(cacheFile == null || !cacheFile.exists()){
+			return null;
+		}
+		try{
+			DataInputStream cacheStream = new DataInputStream(new BufferedInputStream(new FileInputStream(cacheFile)));
+			try{
+				if(cacheStream.readInt() != CACHE_VERSION || cacheStream.readLong() != contentHash || !readString(cacheStream).equals(modelLocation)){
+					return null;
+				}
+				int objectCount = cacheStream.readInt();
+				Map<String, float[][]> partMap = new HashMap<String, float[][]>();
+				for(int i=0; i<objectCount; ++i){
+					String partName = readString(cacheStream);
+					float[][] vertices = new float[cacheStream.readInt()][8];
+					for(float[] vertex : vertices){
+						for(int j=0; j<vertex.length; ++j){
+							vertex[j] = cacheStream.readFloat();
+						}
+					}
+					partMap.put(partName, vertices);
+				}
+				return partMap;
+			}finally{
+				cacheStream.close();
+			}
+		}catch(Exception e){
+			//Bad cache file.  Just parse the model and overwrite it.
+			return null;
 		}
+	}
+	
+	/**
+	 *  Saves the passed-in model to the passed-in cache file.  This is done to a temp file that
+	 *  replaces the cache once written, so a crash part-way through won't leave a bad cache.
+	 *  Failing to save the cache isn't an error, it just means we will parse the model next load.
+	 */
+	private static void saveToCache(File cacheFile, String modelLocation, long contentHash, Map<String, float[][]> partMap){
+		if(cacheFile == null){
+			return;
+		}
+		File tempFile = new File(cacheFile.getPath() + ".tmp");
+		try{
+			DataOutputStream cacheStream = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile)));
+			try{
+				cacheStream.writeInt(CACHE_VERSION);
+				cacheStream.writeLong(contentHash);
+				writeString(cacheStream, modelLocation);
+				cacheStream.writeInt(partMap.size());
+				for(Entry<String, float[][]> entry : partMap.entrySet()){
+					writeString(cacheStream, entry.getKey());
+					cacheStream.writeInt(entry.getValue().length);
+					for(float[] vertex : entry.getValue()){
+						for(float value : vertex){
+							cacheStream.writeFloat(value);
+						}
+					}
+				}
+			}finally{
+				cacheStream.close();
+			}
+			Files.move(tempFile.toPath(), cacheFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		}catch(Exception e){
+			tempFile.delete();
+		}
+	}
+	
+	private static String readString(DataInputStream stream) throws Exception{
+		byte[] bytes = new byte[stream.readInt()];
+		stream.readFully(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+	
+	private static void writeString(DataOutputStream stream, String string) throws Exception{
+		byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+		stream.writeInt(bytes.length);
+		stream.write(bytes);
+	}
+	
+	/**
+	 *  Growable array of primitive floats.  Used instead of lists to avoid boxing.
+	 */
+	private static class FloatArray{
+		private float[] data = new float[1024];
+		private int size;
 		
-		//Finally, populate the normal array.
-		List<Float[]> normalArray = new ArrayList<Float[]>();
-		for(Integer[] face : vertexDataSets){
-			normalArray.add(normalList.get(face[2] - normalOffset));
+		private void add(float value){
+			if(size == data.length){
+				float[] newData = new float[size*2];
+				System.arraycopy(data, 0, newData, 0, size);
+				data = newData;
+			}
+			data[size++] = value;
 		}
-
-		//Compile arrays and return.
-		List<Float[]> compiledArray = new ArrayList<Float[]>();
-		for(int i=0; i<vertexArray.size(); ++i){
-			compiledArray.add(new Float[]{
-				vertexArray.get(i)[0],
-				vertexArray.get(i)[1],
-				vertexArray.get(i)[2],
-				textureArray.get(i)[0],
-				textureArray.get(i)[1],
-				normalArray.get(i)[0],
-				normalArray.get(i)[1],
-				normalArray.get(i)[2]
-			});
+		
+		private float get(int index){
+			if(index < 0 || index >= size){
+				throw new IndexOutOfBoundsException();
+			}
+			return data[index];
 		}
 		
-		return compiledArray.toArray(new Float[compiledArray.size()][8]);
+		private void clear(){
+			size = 0;
+		}
 	}
 	
 	/**
-	 *  Generates an OpenGL DisplayList from the passed-in OBJ model array, returning the
-	 *  index.
+	 *  Growable array of primitive ints.  Values are added in sets of three.
 	 */
-	public static int generateDisplayList(Map<String, Float[][]> parsedModel){
-		int displayListIndex = GL11.glGenLists(1);
-		GL11.glNewList(displayListIndex, GL11.GL_COMPILE);
-		GL11.glBegin(GL11.GL_TRIANGLES);
-		for(Entry<String, Float[][]> entry : parsedModel.entrySet()){
-			for(Float[] vertex : entry.getValue()){
-				GL11.glTexCoord2f(vertex[3], vertex[4]);
-				GL11.glNormal3f(vertex[5], vertex[6], vertex[7]);
-				GL11.glVertex3f(vertex[0], vertex[1], vertex[2]);
+	private static class IntArray{
+		private int[] data = new int[3072];
+		private int size;
+		
+		private void add(int[] values){
+			if(size + 3 > data.length){
+				int[] newData = new int[data.length*2];
+				System.arraycopy(data, 0, newData, 0, size);
+				data = newData;
 			}
+			data[size++] = values[0];
+			data[size++] = values[1];
+			data[size++] = values[2];
+		}
+		
+		private void clear(){
+			size = 0;
 		}
-		GL11.glEnd();
-		GL11.glEndList();
-		return displayListIndex;
 	}
 }
@@ -21,6 +21,14 @@ public class RenderTickData{
 		this.world = world;
 	}
 	
+	/**
+	 *  Returns true if shaders have been detected.  Shaders render from other views
+	 *  for things like shadows, so view-based culling can't be done with them.
+	 */
+	public static boolean areShadersPresent(){
+		return shadersPresent;
+	}
+	
 	public boolean shouldRender(int renderPass, float partialTicks){
 		//We always render on pass 0 and 1, but we only render on pass 2 if we haven't rendered on pass 0 or 1.
 		//If we are rendering on pass 0 or 1 a second time (before pass 2), it means shaders are present.
@@ -1,9 +1,7 @@
 package minecrafttransportsimulator.rendering.components;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 import org.lwjgl.opengl.GL11;
 
@@ -22,18 +20,14 @@ import minecrafttransportsimulator.vehicles.parts.APart;
  * @author don_bruce
  */
 public final class RenderableModelObject{
-	private final String modelName;
 	public final String objectName;
-	private final Float[][] vertices;
 	public final String applyAfter;
 	public final List<ATransformRenderable> transforms = new ArrayList<ATransformRenderable>();
+	/**Buffer this object's vertices are in.  Shared between all objects of the same model.**/
+	private VertexBufferModel vertexBuffer;
 	
-	private static final Map<String, Map<String, Integer>> displayLists = new HashMap<String, Map<String, Integer>>();
-	
-	public RenderableModelObject(String modelName, String objectName, VehicleAnimatedObject definition, Float[][] vertices, EntityVehicleF_Physics vehicle, APart optionalPart){
-		this.modelName = modelName;
+	public RenderableModelObject(String modelName, String objectName, VehicleAnimatedObject definition, float[][] vertices, EntityVehicleF_Physics vehicle){
 		this.objectName = objectName;
-		this.vertices = vertices;
 		
 		if(definition != null){
 			this.applyAfter = definition.applyAfter;
@@ -93,26 +87,10 @@ public final class RenderableModelObject{
 			}
 		}
 		
-		//Render, caching the displayList if needed.
+		//Render from the vertex buffer.
 		//Don't render on pass 1, as that's for transparency.
-		if(MasterLoader.renderInterface.getRenderPass() != 1){
-			if(!displayLists.containsKey(modelName) || !displayLists.get(modelName).containsKey(objectName)){
-				int displayListIndex = GL11.glGenLists(1);
-				GL11.glNewList(displayListIndex, GL11.GL_COMPILE);
-				GL11.glBegin(GL11.GL_TRIANGLES);
-				for(Float[] vertex : vertices){
-					GL11.glTexCoord2f(vertex[3], vertex[4]);
-					GL11.glNormal3f(vertex[5], vertex[6], vertex[7]);
-					GL11.glVertex3f(vertex[0], vertex[1], vertex[2]);
-				}
-				GL11.glEnd();
-				GL11.glEndList();
-				if(!displayLists.containsKey(modelName)){
-					displayLists.put(modelName, new HashMap<String, Integer>());
-				}
-				displayLists.get(modelName).put(objectName, displayListIndex);
-			}
-			GL11.glCallList(displayLists.get(modelName).get(objectName));
+		if(MasterLoader.renderInterface.getRenderPass() != 1 && vertexBuffer != null){
+			vertexBuffer.renderObject(objectName);
 		}
 		
 		//Do post-render logic.
@@ -143,11 +121,11 @@ public final class RenderableModelObject{
 	}
 	
 	/**
-	 *  Used to reset the display list in dev mode to allow the re-loading of models.
+	 *  Sets the vertex buffer this object is rendered from.  The buffer must contain this
+	 *  object's vertices under its object name.  Buffers are shared between all objects of a
+	 *  model, so they are created by the renderer once all objects are known.
 	 */
-	public void resetDisplayList(){
-		if(displayLists.containsKey(modelName)){
-			GL11.glDeleteLists(displayLists.get(modelName).remove(objectName), 1);
-		}
+	public void setVertexBuffer(VertexBufferModel vertexBuffer){
+		this.vertexBuffer = vertexBuffer;
 	}
 }
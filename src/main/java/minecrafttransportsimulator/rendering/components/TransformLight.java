@@ -8,6 +8,7 @@ import minecrafttransportsimulator.baseclasses.Point3d;
 import minecrafttransportsimulator.baseclasses.Point3i;
 import minecrafttransportsimulator.mcinterface.IWrapperWorld;
 import minecrafttransportsimulator.mcinterface.MasterLoader;
+import minecrafttransportsimulator.rendering.instances.RenderVehicle;
 import minecrafttransportsimulator.systems.ConfigSystem;
 import minecrafttransportsimulator.vehicles.main.EntityVehicleF_Physics;
 import minecrafttransportsimulator.vehicles.parts.APart;
@@ -28,11 +29,11 @@ public class TransformLight extends ATransformRenderable{
 	private final boolean renderCover;
 	private final boolean renderBeam;
 	
-	private final Float[][] vertices;
+	private final float[][] vertices;
 	private final Point3d[] centerPoints;
-	private final Float[] size;
+	private final float[] size;
 	
-	public TransformLight(String modelName, String objectName, Float[][] masterVertices){
+	public TransformLight(String modelName, String objectName, float[][] masterVertices){
 		super(null);
 		this.type = getTypeFromName(objectName);
 		//Lights are in the format of "&NAME_XXXXXX_YYYYY_ZZZZ"
@@ -55,9 +56,9 @@ public class TransformLight extends ATransformRenderable{
 		
 		//If we need to render a flare, cover, or beam, calculate the center points and re-calculate the UV points.
 		if(renderFlare || renderCover || renderBeam){
-			this.vertices = new Float[masterVertices.length][];
+			this.vertices = new float[masterVertices.length][];
 			this.centerPoints = new Point3d[masterVertices.length/6];
-			this.size = new Float[masterVertices.length/6];
+			this.size = new float[masterVertices.length/6];
 			for(int i=0; i<centerPoints.length; ++i){
 				double minX = 999;
 				double maxX = -999;
@@ -66,7 +67,7 @@ public class TransformLight extends ATransformRenderable{
 				double minZ = 999;
 				double maxZ = -999;
 				for(byte j=0; j<6; ++j){
-					Float[] masterVertex = masterVertices[i*6 + j];
+					float[] masterVertex = masterVertices[i*6 + j];
 					minX = Math.min(masterVertex[0], minX);
 					maxX = Math.max(masterVertex[0], maxX);
 					minY = Math.min(masterVertex[1], minY);
@@ -74,7 +75,7 @@ public class TransformLight extends ATransformRenderable{
 					minZ = Math.min(masterVertex[2], minZ);
 					maxZ = Math.max(masterVertex[2], maxZ);
 					
-					Float[] newVertex = new Float[masterVertex.length];
+					float[] newVertex = new float[masterVertex.length];
 					newVertex[0] = masterVertex[0];
 					newVertex[1] = masterVertex[1];
 					newVertex[2] = masterVertex[2];
@@ -126,7 +127,8 @@ public class TransformLight extends ATransformRenderable{
 		float electricFactor = (float) Math.min(vehicle.electricPower > 2 ? (vehicle.electricPower-2)/6F : 0, 1);
 		//Max brightness occurs when ambient light is 0 and we have at least 8V power.
 		float lightBrightness = Math.min((1 - sunLight)*electricFactor, 1);
-		render(lightActuallyOn, (float) vehicle.electricPower, electricFactor, lightBrightness, ConfigSystem.configObject.client.vehicleBeams.value);
+		//Beams aren't rendered on far-away vehicles.
+		render(lightActuallyOn, (float) vehicle.electricPower, electricFactor, lightBrightness, ConfigSystem.configObject.client.vehicleBeams.value && RenderVehicle.isRenderingDetails());
 	}
 	
 	
@@ -207,7 +209,7 @@ public class TransformLight extends ATransformRenderable{
 		MasterLoader.renderInterface.setLightingState(false);
 		MasterLoader.renderInterface.setColorState(color.getRed()/255F, color.getGreen()/255F, color.getBlue()/255F, alphaValue);
 		GL11.glBegin(GL11.GL_TRIANGLES);
-		for(Float[] vertex : vertices){
+		for(float[] vertex : vertices){
 			//Add a slight translation and scaling to the light coords based on the normals to make the light
 			//a little bit off of the main shape.  Prevents z-fighting.
 			GL11.glTexCoord2f(vertex[3], vertex[4]);
@@ -226,7 +228,7 @@ public class TransformLight extends ATransformRenderable{
 		MasterLoader.renderInterface.setLightingState(!disableLighting);
 		MasterLoader.renderInterface.setColorState(1.0F, 1.0F, 1.0F, 1.0F);
 		GL11.glBegin(GL11.GL_TRIANGLES);
-		for(Float[] vertex : vertices){
+		for(float[] vertex : vertices){
 			//Add a slight translation and scaling to the cover coords based on the normals to make the light
 			//a little bit off of the main shape.  Prevents z-fighting.
 			GL11.glTexCoord2f(vertex[3], vertex[4]);
@@ -249,7 +251,7 @@ public class TransformLight extends ATransformRenderable{
 		GL11.glBegin(GL11.GL_TRIANGLES);
 		for(int i=0; i<centerPoints.length; ++i){
 			for(byte j=0; j<6; ++j){
-				Float[] vertex = vertices[(i)*6+j];
+				float[] vertex = vertices[(i)*6+j];
 				//Add a slight translation to the light size to make the flare move off it.
 				//Then apply scaling factor to make the flare larger than the light.
 				GL11.glTexCoord2f(vertex[3], vertex[4]);
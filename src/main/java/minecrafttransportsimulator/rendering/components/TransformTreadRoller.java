@@ -38,13 +38,13 @@ public class TransformTreadRoller extends TransformRotatable{
 	/**
 	 * Helper function to create a tread roller.
 	 */
-	public static TransformTreadRoller create(String objectName, VehicleAnimationDefinition definition, EntityVehicleF_Physics vehicle, Float[][] vertices){
+	public static TransformTreadRoller create(String objectName, VehicleAnimationDefinition definition, EntityVehicleF_Physics vehicle, float[][] vertices){
 		//Get the points that define this roller.
 		double minY = 999;
 		double maxY = -999;
 		double minZ = 999;
 		double maxZ = -999;
-		for(Float[] point : vertices){
+		for(float[] point : vertices){
 			minY = Math.min(minY, point[1]);
 			maxY = Math.max(maxY, point[1]);
 			minZ = Math.min(minZ, point[2]);
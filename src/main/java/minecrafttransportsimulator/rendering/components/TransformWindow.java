@@ -13,9 +13,9 @@ import minecrafttransportsimulator.vehicles.parts.APart;
  * @author don_bruce
  */
 public class TransformWindow extends ATransformRenderable{
-	private final Float[][] vertices;
+	private final float[][] vertices;
 	
-	public TransformWindow(Float[][] vertices){
+	public TransformWindow(float[][] vertices){
 		super(null);
 		this.vertices = vertices;
 	}
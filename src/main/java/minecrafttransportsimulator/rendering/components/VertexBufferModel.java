@@ -0,0 +1,137 @@
+package minecrafttransportsimulator.rendering.components;
+
+import java.nio.FloatBuffer;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import org.lwjgl.BufferUtils;
+import org.lwjgl.opengl.GL11;
+import org.lwjgl.opengl.GL15;
+import org.lwjgl.opengl.GLContext;
+
+/**Class that holds the vertices of a set of model objects in GPU memory.  All objects passed-in are
+ * packed one after the other into a single interleaved buffer in the same format as the arrays from
+ * {@link OBJParser}: X, Y, Z, U, V, nX, nY, nZ.  This buffer is uploaded once as a vertex buffer object,
+ * after which the CPU-side copy is discarded.  Each object keeps track of where in the buffer it is,
+ * so single objects can be rendered, or all objects can be rendered with a single draw call.
+ * <br><br>
+ * If the GPU doesn't support vertex buffer objects, the buffer is instead kept in client memory and
+ * rendered from there.  This is slower, but still far faster than rendering each vertex by hand.
+ *
+ * @author don_bruce
+ */
+public final class VertexBufferModel{
+	private static final int FLOATS_PER_VERTEX = 8;
+	private static final int BYTES_PER_VERTEX = FLOATS_PER_VERTEX*4;
+	private static final int TEXTURE_OFFSET = 3*4;
+	private static final int NORMAL_OFFSET = 5*4;
+	private static Boolean vboSupported;
+	
+	/**Map of object names to their first vertex and vertex count in the buffer.**/
+	private final Map<String, int[]> objectRanges = new HashMap<String, int[]>();
+	private final int vertexCount;
+	private int bufferID;
+	private FloatBuffer clientBuffer;
+	
+	public VertexBufferModel(Map<String, float[][]> objects){
+		int totalVertices = 0;
+		for(Entry<String, float[][]> entry : objects.entrySet()){
+			objectRanges.put(entry.getKey(), new int[]{totalVertices, entry.getValue().length});
+			totalVertices += entry.getValue().length;
+		}
+		this.vertexCount = totalVertices;
+		
+		//Pack all the objects into the buffer in the order we got their ranges.
+		FloatBuffer buffer = BufferUtils.createFloatBuffer(vertexCount*FLOATS_PER_VERTEX);
+		for(float[][] vertices : objects.values()){
+			for(float[] vertex : vertices){
+				buffer.put(vertex, 0, FLOATS_PER_VERTEX);
+			}
+		}
+		buffer.flip();
+		
+		if(isVBOSupported()){
+			bufferID = GL15.glGenBuffers();
+			GL15.glBindBuffer(GL15.GL_ARRAY_BUFFER, bufferID);
+			GL15.glBufferData(GL15.GL_ARRAY_BUFFER, buffer, GL15.GL_STATIC_DRAW);
+			GL15.glBindBuffer(GL15.GL_ARRAY_BUFFER, 0);
+		}else{
+			clientBuffer = buffer;
+		}
+	}
+	
+	/**
+	 *  Renders all objects in this buffer.
+	 */
+	public void render(){
+		draw(0, vertexCount);
+	}
+	
+	/**
+	 *  Renders the object with the passed-in name.  If the object isn't in this
+	 *  buffer, nothing is rendered.
+	 */
+	public void renderObject(String objectName){
+		int[] range = objectRanges.get(objectName);
+		if(range != null){
+			draw(range[0], range[1]);
+		}
+	}
+	
+	/**
+	 *  Deletes this buffer from GPU memory.  The buffer may not be rendered after this.
+	 */
+	public void delete(){
+		if(bufferID != 0){
+			GL15.glDeleteBuffers(bufferID);
+			bufferID = 0;
+		}
+		clientBuffer = null;
+	}
+	
+	/**
+	 *  Draws the passed-in range of vertices as triangles.  Client states are only enabled for the duration
+	 *  of the draw, as other rendering code expects them to be disabled.
+	 */
+	private void draw(int firstVertex, int count){
+		if(count == 0 || (bufferID == 0 && clientBuffer == null)){
+			return;
+		}
+		GL11.glEnableClientState(GL11.GL_VERTEX_ARRAY);
+		GL11.glEnableClientState(GL11.GL_TEXTURE_COORD_ARRAY);
+		GL11.glEnableClientState(GL11.GL_NORMAL_ARRAY);
+		if(bufferID != 0){
+			GL15.glBindBuffer(GL15.GL_ARRAY_BUFFER, bufferID);
+			GL11.glVertexPointer(3, GL11.GL_FLOAT, BYTES_PER_VERTEX, 0);
+			GL11.glTexCoordPointer(2, GL11.GL_FLOAT, BYTES_PER_VERTEX, TEXTURE_OFFSET);
+			GL11.glNormalPointer(GL11.GL_FLOAT, BYTES_PER_VERTEX, NORMAL_OFFSET);
+		}else{
+			clientBuffer.position(0);
+			GL11.glVertexPointer(3, BYTES_PER_VERTEX, clientBuffer);
+			clientBuffer.position(3);
+			GL11.glTexCoordPointer(2, BYTES_PER_VERTEX, clientBuffer);
+			clientBuffer.position(5);
+			GL11.glNormalPointer(BYTES_PER_VERTEX, clientBuffer);
+			clientBuffer.position(0);
+		}
+		GL11.glDrawArrays(GL11.GL_TRIANGLES, firstVertex, count);
+		if(bufferID != 0){
+			GL15.glBindBuffer(GL15.GL_ARRAY_BUFFER, 0);
+		}
+		GL11.glDisableClientState(GL11.GL_VERTEX_ARRAY);
+		GL11.glDisableClientState(GL11.GL_TEXTURE_COORD_ARRAY);
+		GL11.glDisableClientState(GL11.GL_NORMAL_ARRAY);
+	}
+	
+	/**
+	 *  Returns true if vertex buffer objects are supported.  Only checked once, as
+	 *  the GL context won't change while the game is running.
+	 */
+	private static boolean isVBOSupported(){
+		if(vboSupported == null){
+			vboSupported = GLContext.getCapabilities().OpenGL15;
+		}
+		return vboSupported;
+	}
+}
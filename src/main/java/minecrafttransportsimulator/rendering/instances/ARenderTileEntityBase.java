@@ -15,6 +15,15 @@ public abstract class ARenderTileEntityBase<RenderedTileEntity extends ATileEnti
 	 */
 	public abstract void render(RenderedTileEntity tileEntity, float partialTicks);
 	
+	/**
+	 *  Returns how far this TE's model may extend from the center of its block, in any direction.
+	 *  Used to size the box for culling TEs that are out of view.  Defaults to a block and a half,
+	 *  which lets models stick out of their block by up to a block on every side.
+	 */
+	public double getRenderRadius(RenderedTileEntity tileEntity){
+		return 1.5D;
+	}
+	
 	/**
 	 *  Returns true if this TE should be rotated to the rotation of the block.
 	 */
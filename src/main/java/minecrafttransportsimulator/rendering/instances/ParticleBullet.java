@@ -137,12 +137,12 @@ public final class ParticleBullet extends AParticle{
 	public void render(float partialTicks){
         //Parse the model if we haven't already.
         if(!bulletDisplayLists.containsKey(bullet)){
-        	Map<String, Float[][]> parsedModel = OBJParser.parseOBJModel(bullet.definition.getModelLocation());
+        	Map<String, float[][]> parsedModel = OBJParser.parseOBJModel(bullet.definition.getModelLocation());
         	int displayListIndex = GL11.glGenLists(1);
     		GL11.glNewList(displayListIndex, GL11.GL_COMPILE);
     		GL11.glBegin(GL11.GL_TRIANGLES);
-    		for(Entry<String, Float[][]> entry : parsedModel.entrySet()){
-				for(Float[] vertex : entry.getValue()){
+    		for(Entry<String, float[][]> entry : parsedModel.entrySet()){
+				for(float[] vertex : entry.getValue()){
 					GL11.glTexCoord2f(vertex[3], vertex[4]);
 					GL11.glNormal3f(vertex[5], vertex[6], vertex[7]);
 					GL11.glVertex3f(-vertex[0], vertex[1], vertex[2]);
@@ -4,9 +4,6 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
-
-import org.lwjgl.opengl.GL11;
 
 import minecrafttransportsimulator.baseclasses.FluidTank;
 import minecrafttransportsimulator.baseclasses.IFluidTankProvider;
@@ -14,36 +11,24 @@ import minecrafttransportsimulator.blocks.tileentities.components.ATileEntityBas
 import minecrafttransportsimulator.jsondefs.JSONDecor;
 import minecrafttransportsimulator.mcinterface.MasterLoader;
 import minecrafttransportsimulator.rendering.components.OBJParser;
+import minecrafttransportsimulator.rendering.components.VertexBufferModel;
 
 public class RenderDecor extends ARenderTileEntityBase<ATileEntityBase<JSONDecor>>{
-	private static final Map<JSONDecor, Integer> displayListMap = new HashMap<JSONDecor, Integer>();
+	private static final Map<JSONDecor, VertexBufferModel> vertexBufferMap = new HashMap<JSONDecor, VertexBufferModel>();
+	private static final Map<JSONDecor, Double> renderRadiusMap = new HashMap<JSONDecor, Double>();
 		
 	@Override
 	public void render(ATileEntityBase<JSONDecor> tile, float partialTicks){
-		//If we don't have the displaylist and texture cached, do it now.
-		if(!displayListMap.containsKey(tile.definition)){
-			Map<String, Float[][]> parsedModel = OBJParser.parseOBJModel(tile.definition.getModelLocation());
-			int displayListIndex = GL11.glGenLists(1);
-			
-			GL11.glNewList(displayListIndex, GL11.GL_COMPILE);
-			GL11.glBegin(GL11.GL_TRIANGLES);
-			for(Entry<String, Float[][]> entry : parsedModel.entrySet()){
-				for(Float[] vertex : entry.getValue()){
-					GL11.glTexCoord2f(vertex[3], vertex[4]);
-					GL11.glNormal3f(vertex[5], vertex[6], vertex[7]);
-					GL11.glVertex3f(vertex[0], vertex[1], vertex[2]);
-				}
-			}
-			GL11.glEnd();
-			GL11.glEndList();
-			displayListMap.put(tile.definition, displayListIndex);
+		//If we don't have the vertex buffer cached, do it now.
+		if(!vertexBufferMap.containsKey(tile.definition)){
+			cacheModel(tile.definition);
 		}
 		
 		//Don't do solid model rendering on the blend pass.
 		if(MasterLoader.renderInterface.getRenderPass() != 1){
 			//Bind the texture and render.
 			MasterLoader.renderInterface.bindTexture(tile.definition.getTextureLocation());
-			GL11.glCallList(displayListMap.get(tile.definition));
+			vertexBufferMap.get(tile.definition).render();
 			//If we are a fluid tank, render text.
 			if(tile.definition.general.textObjects != null && tile instanceof IFluidTankProvider){
 				FluidTank tank = ((IFluidTankProvider) tile).getTank();
@@ -65,4 +50,30 @@ public class RenderDecor extends ARenderTileEntityBase<ATileEntityBase<JSONDecor
 			}
 		}
 	}
+	
+	@Override
+	public double getRenderRadius(ATileEntityBase<JSONDecor> tile){
+		if(!renderRadiusMap.containsKey(tile.definition)){
+			cacheModel(tile.definition);
+		}
+		return renderRadiusMap.get(tile.definition);
+	}
+	
+	/**
+	 *  Parses the model for the passed-in definition, and caches its vertex buffer and render radius.
+	 *  The model is centered on the bottom of the block, and is only ever rotated about the Y axis
+	 *  in 90 degree steps, so the radius is the furthest any vertex gets from the block's center on
+	 *  any axis.  Half a block is added to account for decor sinking into half-slabs.
+	 */
+	private static void cacheModel(JSONDecor definition){
+		Map<String, float[][]> parsedModel = OBJParser.parseOBJModel(definition.getModelLocation());
+		double renderRadius = 0.5D;
+		for(float[][] vertices : parsedModel.values()){
+			for(float[] vertex : vertices){
+				renderRadius = Math.max(renderRadius, Math.max(Math.abs(vertex[0]), Math.max(Math.abs(vertex[1] - 0.5D), Math.abs(vertex[2]))));
+			}
+		}
+		vertexBufferMap.put(definition, new VertexBufferModel(parsedModel));
+		renderRadiusMap.put(definition, renderRadius + 0.5D);
+	}
 }
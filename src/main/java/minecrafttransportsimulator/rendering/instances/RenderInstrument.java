@@ -1,138 +1,124 @@
 package minecrafttransportsimulator.rendering.instances;
 
 import java.awt.Color;
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Map.Entry;
 
 import org.lwjgl.opengl.GL11;
+import org.lwjgl.opengl.GL13;
+import org.lwjgl.opengl.GL14;
+import org.lwjgl.opengl.GL30;
+import org.lwjgl.opengl.GLContext;
 
 import minecrafttransportsimulator.guis.components.AGUIBase.TextPosition;
 import minecrafttransportsimulator.items.instances.ItemInstrument;
 import minecrafttransportsimulator.jsondefs.JSONInstrument.Component;
 import minecrafttransportsimulator.mcinterface.MasterLoader;
 import minecrafttransportsimulator.systems.VehicleAnimationSystem;
+import minecrafttransportsimulator.systems.VehicleAnimationSystem.AnimationVariable;
 import minecrafttransportsimulator.vehicles.main.EntityVehicleF_Physics;
 
 /**Main render class for instruments.  This class contains a main method that takes an instance of {@link ItemInstrument},
  * as well as the engine associated with that instrument and the vehicle the instrument is on.  This allows for an
  * instrument to be rendered a vehicle, GUI, or HUD.}.
+ * <br><br>
+ * If the GPU supports framebuffers, instruments are not rendered component-by-component every frame.  Instead, they
+ * are rendered into a texture, and that texture is drawn as a single quad.  The texture is only re-rendered when the
+ * values driving the instrument change by a noticeable amount, and no more than {@link #MAX_REFRESH_RATE} times a second.
+ * Small changes are still picked up, just only every {@link #MAX_STALE_TIME} milliseconds.
  *
  * @author don_bruce
  */
-public final class RenderInstrument{	
+public final class RenderInstrument{
+	/**Max number of times a second an instrument texture will be re-rendered.**/
+	private static final int MAX_REFRESH_RATE = 30;
+	/**Max time, in milliseconds, an instrument texture will show old values that changed by less than the thresholds.**/
+	private static final int MAX_STALE_TIME = 250;
+	/**Change in rotation, in degrees, that will cause an instrument texture to be re-rendered.**/
+	private static final double ROTATION_THRESHOLD = 0.25D;
+	/**Change in translation, in texture pixels, that will cause an instrument texture to be re-rendered.**/
+	private static final double TRANSLATION_THRESHOLD = 0.25D;
+	/**Texture pixels per instrument pixel.  Higher than 1 to keep rotated components from looking blocky.**/
+	private static final int TEXTURE_SCALE = 2;
+	/**Max width and height of an instrument texture layer.  Larger instruments are rendered at a lower scale.**/
+	private static final int MAX_TEXTURE_SIZE = 1024;
+	/**Time, in milliseconds, caches may go unused before they are removed.**/
+	private static final int CACHE_TIMEOUT = 10000;
+	
+	private static final Map<EntityVehicleF_Physics, Map<ItemInstrument, Map<Byte, InstrumentCache>>> instrumentCaches = new HashMap<EntityVehicleF_Physics, Map<ItemInstrument, Map<Byte, InstrumentCache>>>();
+	private static long lastCacheCheckTime;
+	private static Boolean framebuffersSupported;
+	
 	/**
-     * Renders the passed-in instrument using the vehicle's current state.  Note that this method does NOT take any 
-     * vehicle JSON parameters into account as it does not know which instrument is being rendered.  This means that 
+     * Renders the passed-in instrument using the vehicle's current state.  Note that this method does NOT take any
+     * vehicle JSON parameters into account as it does not know which instrument is being rendered.  This means that
      * any transformations that need to be applied for translation or scaling should be applied prior to calling this
      * method.  Such transformations will, of course, differ between applications, so care should be taken to ensure
      * OpenGL states are not left out-of-whack after rendering is complete.
      */
 	public static void drawInstrument(ItemInstrument instrument, byte partNumber, EntityVehicleF_Physics vehicle){
 		//First bind the texture file for this insturment's pack.
-		MasterLoader.renderInterface.setTexture("/assets/" + instrument.definition.packID + "/textures/instruments.png");
+		String textureLocation = "/assets/" + instrument.definition.packID + "/textures/instruments.png";
+		MasterLoader.renderInterface.setTexture(textureLocation);
 		
 		//Check if the lights are on.  If so, disable the lightmap.
 		boolean lightsOn = vehicle.areInteriorLightsOn();
 		
+		//Get the cache for this instrument and update its values.
+		//Values don't change between passes, so we only do this on the first pass we render on.
+		InstrumentCache cache = getCache(instrument, partNumber, vehicle);
+		int renderPass = MasterLoader.renderInterface.getRenderPass();
+		if(renderPass != 1){
+			cache.updateValues(vehicle);
+		}
+		
 		//Finally, render the instrument based on the JSON instrument.definitions.
-		for(byte i=0; i<instrument.definition.components.size(); ++i){
-			Component section = instrument.definition.components.get(i);
+		//If the pack texture is still loading, render the components directly, otherwise we'd cache the placeholder.
+		if(isFramebufferSupported() && MasterLoader.renderInterface.isTextureLoaded(textureLocation)){
+			if(renderPass != 1 && cache.shouldRender()){
+				renderToTexture(cache);
+			}
+			if(cache.lastRenderTime != 0){
+				drawTexture(cache, renderPass, lightsOn);
+			}
+		}else{
+			drawComponents(cache, renderPass, lightsOn);
+		}
+	}
+	
+	/**
+	 *  Renders the instrument one component at a time.  This is how instruments are
+	 *  rendered if we can't render them into textures.
+	 */
+	private static void drawComponents(InstrumentCache cache, int renderPass, boolean lightsOn){
+		for(byte i=0; i<cache.components.length; ++i){
+			Component section = cache.components[i];
 			
 			//Only render regular sections on pass 0 or -1, and overlays on pass 1 or -1.
-			if((!section.lightOverlay && MasterLoader.renderInterface.getRenderPass() != 1) || (section.lightOverlay && MasterLoader.renderInterface.getRenderPass() != 0)){
+			if((!section.lightOverlay && renderPass != 1) || (section.lightOverlay && renderPass != 0)){
 				//If the vehicle lights are on, disable the lightmap.
 				if(lightsOn){
 					MasterLoader.renderInterface.setInternalLightingState(false);
 				}
 				
-				//If the partNumber is non-zero, we need to check if we are applying a part-based animation.
-				//If so, we need to let the animation system know by adding a suffix to the variable.
-				//Otherwise, as we don't pass-in the part, it will assume it's a vehicle variable.
-				//We also need to set the partNumber to 1 if we have a part number of 0 and we're
-				//doing a part-specific animation.
-				final boolean addRotationSuffix = section.rotationVariable != null && (section.rotationVariable.startsWith("engine_") || section.rotationVariable.startsWith("propeller_") || section.rotationVariable.startsWith("gun_"));
-				final boolean addTranslationSuffix = section.translationVariable != null && (section.translationVariable.startsWith("engine_") || section.translationVariable.startsWith("propeller_") || section.translationVariable.startsWith("gun_"));
-				final boolean addTextSuffix = section.textObject != null && (section.textObject.fieldName.startsWith("engine_") || section.textObject.fieldName.startsWith("propeller_") || section.textObject.fieldName.startsWith("gun_"));
-				if(partNumber == 0 && (addRotationSuffix || addTranslationSuffix || addTextSuffix)){
-					partNumber = 1;
-				}
-				
 				//If we have text, do a text render.  Otherwise, do a normal instrument render.
 				//Also translate slightly away from the instrument location to prevent clipping.
+				//If the shape is lit, do blending.  If not, disable blending.
+				//This is required as it might already be enabled.
 				GL11.glPushMatrix();
 				GL11.glTranslatef(0.0F, 0.0F, i*0.1F);
 				if(section.textObject != null){
-					double textNumeric = VehicleAnimationSystem.getVariableValue(addTextSuffix ? section.textObject.fieldName + "_" + partNumber : section.textObject.fieldName, section.textFactor, 0, 0, 0, false, 0, vehicle, null);
-					String text = String.format("%0" + section.textObject.maxLength + "d", (int) textNumeric);
-					MasterLoader.guiInterface.drawScaledText(text, (int) section.textObject.pos.x, (int) section.textObject.pos.y, Color.decode(section.textObject.color), TextPosition.values()[section.textObject.renderPosition], section.textObject.wrapWidth, section.textObject.scale, section.textObject.autoScale);
-					MasterLoader.renderInterface.setColorState(1.0F, 1.0F, 1.0F, 1.0F);
-					MasterLoader.renderInterface.recallTexture();
-				}else{
-					//Translate to the component.
-					GL11.glTranslatef(section.xCenter, section.yCenter, 0.0F);
-					
-					//Init variables.
-					float layerUStart;
-					float layerUEnd;
-					float layerVStart;
-					float layerVEnd;
-					
-					//Depending on what variables are set we do different rendering operations.
-					//If we are rotating the window, but not the texture we should initialize the texture points to that rotated point.
-					//Otherwise, set the points to their normal location.
-					if(section.rotationVariable != null && section.rotateWindow){
-						double rotation = VehicleAnimationSystem.getVariableValue(addRotationSuffix ? section.rotationVariable + "_" + partNumber : section.rotationVariable, section.rotationFactor, section.rotationOffset, section.rotationClampMin, section.rotationClampMax, section.rotationAbsoluteValue, 0, vehicle, null);
-						double sin = Math.sin(Math.toRadians(rotation));
-						double cos = Math.sin(Math.toRadians(rotation));
-						layerUStart = (float) ((-section.textureWidth/2F)*cos - (-section.textureHeight/2F)*sin);
-						layerVStart = (float) ((-section.textureWidth/2F)*sin + (-section.textureHeight/2F)*cos);
-						layerUEnd = (float) ((section.textureWidth/2F)*cos - (section.textureHeight/2F)*sin);
-						layerVEnd = (float) ((section.textureWidth/2F)*sin + (section.textureHeight/2F)*cos);
-					}else{
-						layerUStart = section.textureXCenter - section.textureWidth/2F;
-						layerUEnd = layerUStart + section.textureWidth;
-						layerVStart = section.textureYCenter - section.textureHeight/2F;
-						layerVEnd = layerVStart + section.textureHeight;
-					}
-					
-					//If we are translating, offset the coords based on the translated amount.
-					//Adjust the window to either move or scale depending on settings.
-					if(section.translationVariable != null){
-						double translation = VehicleAnimationSystem.getVariableValue(addTranslationSuffix ? section.translationVariable + "_" + partNumber : section.translationVariable, section.translationFactor, 0, section.translationClampMin, section.translationClampMax, section.translationAbsoluteValue, 0, vehicle, null);
-						if(section.extendWindow){
-							//We need to add to the edge of the window in this case rather than move the entire window.
-							if(section.translateHorizontal){
-								layerUEnd += translation;
-							}else{
-								layerVEnd += translation;
-							}
-						}else{
-							//Translate the window to the appropriate section of the texture sheet.
-							if(section.translateHorizontal){
-								layerUStart += translation;
-								layerUEnd = layerUStart + section.textureWidth;
-							}else{
-								layerVStart += translation;
-								layerVEnd = layerVStart + section.textureHeight;
-							}
-						}
-					}
-					
-					//If we are rotating the texture, and not the window, apply the rotation here after the translation.
-					if(section.rotationVariable != null && !section.rotateWindow){
-						double rotation = VehicleAnimationSystem.getVariableValue(addRotationSuffix ? section.rotationVariable + "_" + partNumber : section.rotationVariable, section.rotationFactor, section.rotationOffset, section.rotationClampMin, section.rotationClampMax, section.rotationAbsoluteValue, 0, vehicle, null);
-						GL11.glRotated(rotation, 0, 0, 1);
-					}
-					
-					//Now that all transforms are done, render the instrument shape.
-					//If the shape is lit, do blending.  If not, disable blending.
-					//This is required as it might already be enabled.
-					if(!section.lightOverlay){
-						GL11.glDisable(GL11.GL_BLEND);
-						renderSquareUV(section.textureWidth, section.textureHeight, layerUStart/1024F, layerUEnd/1024F, layerVStart/1024F, layerVEnd/1024F);
-					}else if(lightsOn){
-						GL11.glEnable(GL11.GL_BLEND);
-						GL11.glBlendFunc(GL11.GL_SRC_ALPHA, GL11.GL_ONE);
-					    renderSquareUV(section.textureWidth, section.textureHeight, layerUStart/1024F, layerUEnd/1024F, layerVStart/1024F, layerVEnd/1024F);
-					}
+					renderComponent(cache, i, false);
+				}else if(!section.lightOverlay){
+					GL11.glDisable(GL11.GL_BLEND);
+					renderComponent(cache, i, false);
+				}else if(lightsOn){
+					GL11.glEnable(GL11.GL_BLEND);
+					GL11.glBlendFunc(GL11.GL_SRC_ALPHA, GL11.GL_ONE);
+					renderComponent(cache, i, false);
 				}
 				
 				//Done rendering.  Pop matrix.
@@ -146,12 +132,201 @@ public final class RenderInstrument{
 			
 			//Reset blend state.
 			GL11.glBlendFunc(GL11.GL_SRC_ALPHA, GL11.GL_ONE_MINUS_SRC_ALPHA);
-			if(MasterLoader.renderInterface.getRenderPass() != 1){
+			if(renderPass != 1){
 				GL11.glDisable(GL11.GL_BLEND);
 			}
 		}
 	}
 	
+	/**
+	 *  Draws the texture for the passed-in instrument cache.  Regular components are drawn on pass 0 or -1,
+	 *  and overlays on pass 1 or -1, just like when we render components one at a time.  Overlays are stored
+	 *  already blended in the texture, so they are added to the scene as-is.
+	 */
+	private static void drawTexture(InstrumentCache cache, int renderPass, boolean lightsOn){
+		//Bind the instrument texture, and recall the pack texture when done.
+		MasterLoader.renderInterface.bindGLTexture(cache.textureID);
+		if(lightsOn){
+			MasterLoader.renderInterface.setInternalLightingState(false);
+		}
+		
+		//Translate to the center of the instrument, and to the top layer of the components to prevent clipping.
+		GL11.glPushMatrix();
+		GL11.glTranslatef((cache.minX + cache.maxX)/2F, (cache.minY + cache.maxY)/2F, (cache.components.length - 1)*0.1F);
+		if(renderPass != 1){
+			GL11.glDisable(GL11.GL_BLEND);
+			renderSquareUV(cache.maxX - cache.minX, cache.maxY - cache.minY, 0.0F, 0.5F, 1.0F, 0.0F);
+		}
+		if(renderPass != 0 && lightsOn && cache.hasOverlays){
+			GL11.glTranslatef(0.0F, 0.0F, 0.1F);
+			GL11.glEnable(GL11.GL_BLEND);
+			GL11.glBlendFunc(GL11.GL_ONE, GL11.GL_ONE);
+			renderSquareUV(cache.maxX - cache.minX, cache.maxY - cache.minY, 0.5F, 1.0F, 1.0F, 0.0F);
+		}
+		GL11.glPopMatrix();
+		
+		//Reset lightmap, blend state, and texture.
+		if(lightsOn){
+			MasterLoader.renderInterface.setInternalLightingState(true);
+		}
+		GL11.glBlendFunc(GL11.GL_SRC_ALPHA, GL11.GL_ONE_MINUS_SRC_ALPHA);
+		if(renderPass != 1){
+			GL11.glDisable(GL11.GL_BLEND);
+		}
+		MasterLoader.renderInterface.recallTexture();
+	}
+	
+	/**
+	 *  Renders the components of the passed-in instrument cache into its texture.  The texture has two layers
+	 *  side-by-side.  The left layer has all the regular components.  The right layer has the overlays blended
+	 *  together, with any regular components that are on top of them rendered black to block their light.
+	 *  All state we change here is put back once we are done, as we may be in the middle of rendering the world.
+	 */
+	private static void renderToTexture(InstrumentCache cache){
+		if(cache.framebufferID == 0){
+			cache.createFramebuffer();
+		}
+		int priorFramebufferID = GL11.glGetInteger(GL30.GL_FRAMEBUFFER_BINDING);
+		GL30.glBindFramebuffer(GL30.GL_FRAMEBUFFER, cache.framebufferID);
+		GL11.glPushAttrib(GL11.GL_ENABLE_BIT | GL11.GL_VIEWPORT_BIT | GL11.GL_COLOR_BUFFER_BIT | GL11.GL_TRANSFORM_BIT);
+		
+		//Set states.  The lightmap is on the second texture unit, so we need to disable that here too.
+		GL11.glDisable(GL11.GL_LIGHTING);
+		GL11.glDisable(GL11.GL_DEPTH_TEST);
+		GL11.glDisable(GL11.GL_CULL_FACE);
+		GL11.glDisable(GL11.GL_FOG);
+		GL11.glEnable(GL11.GL_ALPHA_TEST);
+		int priorTextureUnit = GL11.glGetInteger(GL13.GL_ACTIVE_TEXTURE);
+		GL13.glActiveTexture(GL13.GL_TEXTURE1);
+		GL11.glDisable(GL11.GL_TEXTURE_2D);
+		GL13.glActiveTexture(priorTextureUnit);
+		MasterLoader.renderInterface.setColorState(1.0F, 1.0F, 1.0F, 1.0F);
+		GL11.glClearColor(0.0F, 0.0F, 0.0F, 0.0F);
+		GL11.glClear(GL11.GL_COLOR_BUFFER_BIT);
+		
+		//Set matrices so the texture matches the instrument coordinates.
+		GL11.glMatrixMode(GL11.GL_PROJECTION);
+		GL11.glPushMatrix();
+		GL11.glLoadIdentity();
+		GL11.glOrtho(cache.minX, cache.maxX, cache.maxY, cache.minY, -1000, 1000);
+		GL11.glMatrixMode(GL11.GL_MODELVIEW);
+		GL11.glPushMatrix();
+		GL11.glLoadIdentity();
+		
+		//Render regular components.
+		GL11.glViewport(0, 0, cache.layerWidth, cache.layerHeight);
+		GL11.glDisable(GL11.GL_BLEND);
+		for(byte i=0; i<cache.components.length; ++i){
+			if(!cache.isOverlay(i)){
+				renderComponent(cache, i, false);
+			}
+		}
+		
+		//Render overlays.
+		if(cache.hasOverlays){
+			GL11.glViewport(cache.layerWidth, 0, cache.layerWidth, cache.layerHeight);
+			for(byte i=0; i<cache.components.length; ++i){
+				if(cache.isOverlay(i)){
+					GL11.glEnable(GL11.GL_BLEND);
+					GL14.glBlendFuncSeparate(GL11.GL_SRC_ALPHA, GL11.GL_ONE, GL11.GL_ONE, GL11.GL_ONE);
+					renderComponent(cache, i, false);
+				}else{
+					GL11.glDisable(GL11.GL_BLEND);
+					renderComponent(cache, i, true);
+				}
+			}
+		}
+		
+		//Put everything back the way it was.
+		GL11.glPopMatrix();
+		GL11.glMatrixMode(GL11.GL_PROJECTION);
+		GL11.glPopMatrix();
+		GL11.glPopAttrib();
+		GL30.glBindFramebuffer(GL30.GL_FRAMEBUFFER, priorFramebufferID);
+		cache.lastRenderTime = System.currentTimeMillis();
+		System.arraycopy(cache.values, 0, cache.renderedValues, 0, cache.values.length);
+	}
+	
+	/**
+	 *  Renders the component at the passed-in index using the current values in the passed-in cache.
+	 *  No blend or lighting states are changed here, so set them up before calling this method.
+	 *  If blackout is true, the component is rendered black.  This is used to block overlays below it.
+	 */
+	private static void renderComponent(InstrumentCache cache, int index, boolean blackout){
+		Component section = cache.components[index];
+		if(section.textObject != null){
+			MasterLoader.guiInterface.drawScaledText(cache.texts[index], (int) section.textObject.pos.x, (int) section.textObject.pos.y, blackout ? Color.BLACK : cache.textColors[index], TextPosition.values()[section.textObject.renderPosition], section.textObject.wrapWidth, section.textObject.scale, section.textObject.autoScale);
+			MasterLoader.renderInterface.setColorState(1.0F, 1.0F, 1.0F, 1.0F);
+			MasterLoader.renderInterface.recallTexture();
+		}else{
+			//Translate to the component.
+			GL11.glPushMatrix();
+			GL11.glTranslatef(section.xCenter, section.yCenter, 0.0F);
+			
+			//Init variables.
+			float layerUStart;
+			float layerUEnd;
+			float layerVStart;
+			float layerVEnd;
+			
+			//Depending on what variables are set we do different rendering operations.
+			//If we are rotating the window, but not the texture we should initialize the texture points to that rotated point.
+			//Otherwise, set the points to their normal location.
+			if(section.rotationVariable != null && section.rotateWindow){
+				double rotation = cache.values[3*index];
+				double sin = Math.sin(Math.toRadians(rotation));
+				double cos = Math.sin(Math.toRadians(rotation));
+				layerUStart = (float) ((-section.textureWidth/2F)*cos - (-section.textureHeight/2F)*sin);
+				layerVStart = (float) ((-section.textureWidth/2F)*sin + (-section.textureHeight/2F)*cos);
+				layerUEnd = (float) ((section.textureWidth/2F)*cos - (section.textureHeight/2F)*sin);
+				layerVEnd = (float) ((section.textureWidth/2F)*sin + (section.textureHeight/2F)*cos);
+			}else{
+				layerUStart = section.textureXCenter - section.textureWidth/2F;
+				layerUEnd = layerUStart + section.textureWidth;
+				layerVStart = section.textureYCenter - section.textureHeight/2F;
+				layerVEnd = layerVStart + section.textureHeight;
+			}
+			
+			//If we are translating, offset the coords based on the translated amount.
+			//Adjust the window to either move or scale depending on settings.
+			if(section.translationVariable != null){
+				double translation = cache.values[3*index + 1];
+				if(section.extendWindow){
+					//We need to add to the edge of the window in this case rather than move the entire window.
+					if(section.translateHorizontal){
+						layerUEnd += translation;
+					}else{
+						layerVEnd += translation;
+					}
+				}else{
+					//Translate the window to the appropriate section of the texture sheet.
+					if(section.translateHorizontal){
+						layerUStart += translation;
+						layerUEnd = layerUStart + section.textureWidth;
+					}else{
+						layerVStart += translation;
+						layerVEnd = layerVStart + section.textureHeight;
+					}
+				}
+			}
+			
+			//If we are rotating the texture, and not the window, apply the rotation here after the translation.
+			if(section.rotationVariable != null && !section.rotateWindow){
+				GL11.glRotated(cache.values[3*index], 0, 0, 1);
+			}
+			
+			//Now that all transforms are done, render the instrument shape.
+			if(blackout){
+				MasterLoader.renderInterface.setColorState(0.0F, 0.0F, 0.0F, 1.0F);
+			}
+			renderSquareUV(section.textureWidth, section.textureHeight, layerUStart/1024F, layerUEnd/1024F, layerVStart/1024F, layerVEnd/1024F);
+			if(blackout){
+				MasterLoader.renderInterface.setColorState(1.0F, 1.0F, 1.0F, 1.0F);
+			}
+			GL11.glPopMatrix();
+		}
+	}
+
     /**
      * Renders a textured quad from the current bound texture of a specific width and height.
      * Used for rendering instrument textures off their texture sheets.
@@ -172,5 +347,276 @@ public final class RenderInstrument{
 		GL11.glVertex3f(width/2, -height/2, 0);
 		GL11.glEnd();
 	}
+	
+	/**
+	 *  Returns the cache for the passed-in instrument, creating it if required.  As this is called
+	 *  every time an instrument is rendered, we also use it to remove caches that haven't been used
+	 *  in a while, such as ones for vehicles that have been removed from the world.
+	 */
+	private static InstrumentCache getCache(ItemInstrument instrument, byte partNumber, EntityVehicleF_Physics vehicle){
+		long currentTime = System.currentTimeMillis();
+		if(currentTime - lastCacheCheckTime > CACHE_TIMEOUT){
+			lastCacheCheckTime = currentTime;
+			Iterator<Entry<EntityVehicleF_Physics, Map<ItemInstrument, Map<Byte, InstrumentCache>>>> vehicleIterator = instrumentCaches.entrySet().iterator();
+			while(vehicleIterator.hasNext()){
+				Entry<EntityVehicleF_Physics, Map<ItemInstrument, Map<Byte, InstrumentCache>>> vehicleEntry = vehicleIterator.next();
+				Iterator<Map<Byte, InstrumentCache>> instrumentIterator = vehicleEntry.getValue().values().iterator();
+				while(instrumentIterator.hasNext()){
+					Map<Byte, InstrumentCache> partCaches = instrumentIterator.next();
+					Iterator<InstrumentCache> cacheIterator = partCaches.values().iterator();
+					while(cacheIterator.hasNext()){
+						InstrumentCache cache = cacheIterator.next();
+						if(!vehicleEntry.getKey().isValid || currentTime - cache.lastUsedTime > CACHE_TIMEOUT){
+							cache.delete();
+							cacheIterator.remove();
+						}
+					}
+					if(partCaches.isEmpty()){
+						instrumentIterator.remove();
+					}
+				}
+				if(vehicleEntry.getValue().isEmpty()){
+					vehicleIterator.remove();
+				}
+			}
+		}
+		
+		Map<ItemInstrument, Map<Byte, InstrumentCache>> vehicleCaches = instrumentCaches.get(vehicle);
+		if(vehicleCaches == null){
+			vehicleCaches = new HashMap<ItemInstrument, Map<Byte, InstrumentCache>>();
+			instrumentCaches.put(vehicle, vehicleCaches);
+		}
+		Map<Byte, InstrumentCache> partCaches = vehicleCaches.get(instrument);
+		if(partCaches == null){
+			partCaches = new HashMap<Byte, InstrumentCache>();
+			vehicleCaches.put(instrument, partCaches);
+		}
+		InstrumentCache cache = partCaches.get(partNumber);
+		if(cache == null){
+			cache = new InstrumentCache(instrument, partNumber);
+			partCaches.put(partNumber, cache);
+		}
+		cache.lastUsedTime = currentTime;
+		return cache;
+	}
+	
+	/**
+	 *  Returns true if framebuffers are supported.  Only checked once, as
+	 *  the GL context won't change while the game is running.  We use the
+	 *  GL30 functions, so we need OpenGL 3.0.  The ARB extension alone isn't
+	 *  enough, as drivers don't have to expose the core entry points for it.
+	 */
+	private static boolean isFramebufferSupported(){
+		if(framebuffersSupported == null){
+			framebuffersSupported = GLContext.getCapabilities().OpenGL30;
+		}
+		return framebuffersSupported;
+	}
+	
+	/**Cache for a single instrument with a single part number on a vehicle.  This holds the compiled variables for
+	 * all components, as well as their current values.  Values are stored in sets of three for each component:
+	 * rotation, translation, and text.  If the instrument is rendered to a texture, this also holds the texture,
+	 * its framebuffer, and the values used the last time the texture was rendered.
+	 *
+	 * @author don_bruce
+	 */
+	private static final class InstrumentCache{
+		private final Component[] components;
+		private final AnimationVariable[] rotationVariables;
+		private final AnimationVariable[] translationVariables;
+		private final AnimationVariable[] textVariables;
+		private final String[] textFormats;
+		private final Color[] textColors;
+		private final String[] texts;
+		private final double[] values;
+		private final double[] renderedValues;
+		private final boolean hasOverlays;
+		
+		private final float minX;
+		private final float minY;
+		private final float maxX;
+		private final float maxY;
+		private final int layerWidth;
+		private final int layerHeight;
+		private int framebufferID;
+		private int textureID;
+		private long lastRenderTime;
+		private long lastUsedTime;
+		
+		private InstrumentCache(ItemInstrument instrument, byte partNumber){
+			int componentCount = instrument.definition.components.size();
+			this.components = instrument.definition.components.toArray(new Component[componentCount]);
+			this.rotationVariables = new AnimationVariable[componentCount];
+			this.translationVariables = new AnimationVariable[componentCount];
+			this.textVariables = new AnimationVariable[componentCount];
+			this.textFormats = new String[componentCount];
+			this.textColors = new Color[componentCount];
+			this.texts = new String[componentCount];
+			this.values = new double[3*componentCount];
+			this.renderedValues = new double[3*componentCount];
+			
+			//If the partNumber is non-zero, we need to check if we are applying a part-based animation.
+			//If so, we need to let the animation system know by adding a suffix to the variable.
+			//Otherwise, as we don't pass-in the part, it will assume it's a vehicle variable.
+			//We also need to set the partNumber to 1 if we have a part number of 0 and we're
+			//doing a part-specific animation.
+			byte suffixNumber = partNumber == 0 ? 1 : partNumber;
+			boolean foundOverlay = false;
+			float boundsMinX = Float.MAX_VALUE;
+			float boundsMinY = Float.MAX_VALUE;
+			float boundsMaxX = -Float.MAX_VALUE;
+			float boundsMaxY = -Float.MAX_VALUE;
+			for(int i=0; i<componentCount; ++i){
+				Component section = components[i];
+				if(section.rotationVariable != null){
+					rotationVariables[i] = VehicleAnimationSystem.getCompiledVariable(isPartVariable(section.rotationVariable) ? section.rotationVariable + "_" + suffixNumber : section.rotationVariable);
+				}
+				if(section.translationVariable != null){
+					translationVariables[i] = VehicleAnimationSystem.getCompiledVariable(isPartVariable(section.translationVariable) ? section.translationVariable + "_" + suffixNumber : section.translationVariable);
+				}
+				if(section.textObject != null){
+					textVariables[i] = VehicleAnimationSystem.getCompiledVariable(isPartVariable(section.textObject.fieldName) ? section.textObject.fieldName + "_" + suffixNumber : section.textObject.fieldName);
+					textFormats[i] = "%0" + section.textObject.maxLength + "d";
+					textColors[i] = Color.decode(section.textObject.color);
+					texts[i] = String.format(textFormats[i], 0);
+				}
+				foundOverlay = foundOverlay || isOverlay(i);
+				
+				//Get the bounds of the component.  Rotated components may be rotated any amount, so use their diagonal.
+				//Text is bounded by the width of the digits in the font, and a line of height.
+				if(section.textObject != null){
+					float textWidth = 6*(section.textObject.maxLength + 1)*section.textObject.scale;
+					float textX = (float) section.textObject.pos.x;
+					float textY = (float) section.textObject.pos.y;
+					TextPosition position = TextPosition.values()[section.textObject.renderPosition];
+					float textMinX = position.equals(TextPosition.CENTERED) ? textX - textWidth/2F : (position.equals(TextPosition.RIGHT_ALIGNED) ? textX - textWidth : textX);
+					boundsMinX = Math.min(boundsMinX, textMinX);
+					boundsMaxX = Math.max(boundsMaxX, textMinX + textWidth);
+					boundsMinY = Math.min(boundsMinY, textY);
+					boundsMaxY = Math.max(boundsMaxY, textY + 9*section.textObject.scale);
+				}else{
+					float halfWidth = section.textureWidth/2F;
+					float halfHeight = section.textureHeight/2F;
+					if(section.rotationVariable != null && !section.rotateWindow){
+						halfWidth = (float) Math.sqrt(halfWidth*halfWidth + halfHeight*halfHeight);
+						halfHeight = halfWidth;
+					}
+					boundsMinX = Math.min(boundsMinX, section.xCenter - halfWidth);
+					boundsMaxX = Math.max(boundsMaxX, section.xCenter + halfWidth);
+					boundsMinY = Math.min(boundsMinY, section.yCenter - halfHeight);
+					boundsMaxY = Math.max(boundsMaxY, section.yCenter + halfHeight);
+				}
+			}
+			this.hasOverlays = foundOverlay;
+			
+			//Pad the bounds by a pixel to prevent clipping the edges, and work out the texture size.
+			if(componentCount == 0){
+				boundsMinX = 0;
+				boundsMinY = 0;
+				boundsMaxX = 0;
+				boundsMaxY = 0;
+			}
+			this.minX = boundsMinX - 1;
+			this.minY = boundsMinY - 1;
+			this.maxX = boundsMaxX + 1;
+			this.maxY = boundsMaxY + 1;
+			float textureScale = Math.min(TEXTURE_SCALE, MAX_TEXTURE_SIZE/Math.max(this.maxX - this.minX, this.maxY - this.minY));
+			this.layerWidth = Math.max(1, (int) Math.ceil((this.maxX - this.minX)*textureScale));
+			this.layerHeight = Math.max(1, (int) Math.ceil((this.maxY - this.minY)*textureScale));
+		}
+		
+		/**
+		 *  Returns true if the passed-in variable is for a part, and needs a part number suffix.
+		 */
+		private static boolean isPartVariable(String variable){
+			return variable.startsWith("engine_") || variable.startsWith("propeller_") || variable.startsWith("gun_");
+		}
+		
+		/**
+		 *  Returns true if the component at the passed-in index is a light overlay.  Text
+		 *  isn't blended when lit, so it's never considered an overlay.
+		 */
+		private boolean isOverlay(int index){
+			return components[index].lightOverlay && components[index].textObject == null;
+		}
+		
+		/**
+		 *  Updates the values of all components to the current state of the vehicle.
+		 *  Text is only formatted if its value changes.
+		 */
+		private void updateValues(EntityVehicleF_Physics vehicle){
+			for(int i=0; i<components.length; ++i){
+				Component section = components[i];
+				if(rotationVariables[i] != null){
+					values[3*i] = VehicleAnimationSystem.clampAndScale(rotationVariables[i].getValue(0, vehicle, null), section.rotationFactor, section.rotationOffset, section.rotationClampMin, section.rotationClampMax, section.rotationAbsoluteValue);
+				}
+				if(translationVariables[i] != null){
+					values[3*i + 1] = VehicleAnimationSystem.clampAndScale(translationVariables[i].getValue(0, vehicle, null), section.translationFactor, 0, section.translationClampMin, section.translationClampMax, section.translationAbsoluteValue);
+				}
+				if(textVariables[i] != null){
+					int textNumeric = (int) VehicleAnimationSystem.clampAndScale(textVariables[i].getValue(0, vehicle, null), section.textFactor, 0, 0, 0, false);
+					if(textNumeric != values[3*i + 2]){
+						values[3*i + 2] = textNumeric;
+						texts[i] = String.format(textFormats[i], textNumeric);
+					}
+				}
+			}
+		}
+		
+		/**
+		 *  Returns true if the texture needs to be rendered with the current values.  This happens if a value has changed
+		 *  past its threshold and the texture hasn't been rendered too recently, or if any value has changed and the texture
+		 *  has been showing the old value for too long.
+		 */
+		private boolean shouldRender(){
+			if(lastRenderTime == 0){
+				return true;
+			}
+			long timeSinceRender = System.currentTimeMillis() - lastRenderTime;
+			if(timeSinceRender < 1000/MAX_REFRESH_RATE){
+				return false;
+			}
+			boolean valuesChanged = false;
+			for(int i=0; i<values.length; i+=3){
+				if(Math.abs(values[i] - renderedValues[i]) > ROTATION_THRESHOLD || Math.abs(values[i + 1] - renderedValues[i + 1]) > TRANSLATION_THRESHOLD || values[i + 2] != renderedValues[i + 2]){
+					return true;
+				}else if(values[i] != renderedValues[i] || values[i + 1] != renderedValues[i + 1]){
+					valuesChanged = true;
+				}
+			}
+			return valuesChanged && timeSinceRender > MAX_STALE_TIME;
+		}
+		
+		/**
+		 *  Creates the texture and framebuffer for this cache.  The texture is wide enough for both layers.
+		 */
+		private void createFramebuffer(){
+			textureID = GL11.glGenTextures();
+			MasterLoader.renderInterface.bindGLTexture(textureID);
+			GL11.glTexParameteri(GL11.GL_TEXTURE_2D, GL11.GL_TEXTURE_MIN_FILTER, GL11.GL_NEAREST);
+			GL11.glTexParameteri(GL11.GL_TEXTURE_2D, GL11.GL_TEXTURE_MAG_FILTER, GL11.GL_NEAREST);
+			GL11.glTexParameteri(GL11.GL_TEXTURE_2D, GL11.GL_TEXTURE_WRAP_S, GL11.GL_CLAMP);
+			GL11.glTexParameteri(GL11.GL_TEXTURE_2D, GL11.GL_TEXTURE_WRAP_T, GL11.GL_CLAMP);
+			GL11.glTexImage2D(GL11.GL_TEXTURE_2D, 0, GL11.GL_RGBA8, 2*layerWidth, layerHeight, 0, GL11.GL_RGBA, GL11.GL_UNSIGNED_BYTE, (ByteBuffer) null);
+			MasterLoader.renderInterface.recallTexture();
+			
+			int priorFramebufferID = GL11.glGetInteger(GL30.GL_FRAMEBUFFER_BINDING);
+			framebufferID = GL30.glGenFramebuffers();
+			GL30.glBindFramebuffer(GL30.GL_FRAMEBUFFER, framebufferID);
+			GL30.glFramebufferTexture2D(GL30.GL_FRAMEBUFFER, GL30.GL_COLOR_ATTACHMENT0, GL11.GL_TEXTURE_2D, textureID, 0);
+			GL30.glBindFramebuffer(GL30.GL_FRAMEBUFFER, priorFramebufferID);
+		}
+		
+		/**
+		 *  Deletes the texture and framebuffer for this cache, if we created them.
+		 */
+		private void delete(){
+			if(framebufferID != 0){
+				GL30.glDeleteFramebuffers(framebufferID);
+				GL11.glDeleteTextures(textureID);
+				framebufferID = 0;
+				textureID = 0;
+			}
+		}
+	}
 }
-
@@ -2,6 +2,7 @@ package minecrafttransportsimulator.rendering.instances;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -10,7 +11,6 @@ import org.lwjgl.opengl.GL11;
 
 import minecrafttransportsimulator.baseclasses.Point3i;
 import minecrafttransportsimulator.blocks.components.ABlockBase.Axis;
-import minecrafttransportsimulator.blocks.instances.BlockPole;
 import minecrafttransportsimulator.blocks.tileentities.components.ATileEntityPole_Component;
 import minecrafttransportsimulator.blocks.tileentities.instances.TileEntityPole;
 import minecrafttransportsimulator.blocks.tileentities.instances.TileEntityPole_Core;
@@ -23,12 +23,28 @@ import minecrafttransportsimulator.mcinterface.MasterLoader;
 import minecrafttransportsimulator.rendering.components.LightType;
 import minecrafttransportsimulator.rendering.components.OBJParser;
 import minecrafttransportsimulator.rendering.components.TransformLight;
+import minecrafttransportsimulator.rendering.components.VertexBufferModel;
+import minecrafttransportsimulator.systems.ConfigSystem;
 
+/**Render class for poles.  Connectors are rendered based on the connections the pole has saved, so no world
+ * checks are done here.  If connector batching is enabled, the connectors for all poles in each 16x16x16 section of
+ * the world are put into a single vertex buffer.  This buffer is rendered by the first pole in the section to render
+ * each frame, and is re-built when poles are added, removed, or change connections.
+ *
+ * @author don_bruce
+ */
 public class RenderPole extends ARenderTileEntityBase<TileEntityPole>{
+	/**Time, in milliseconds, connector batches may go un-rendered before they are removed.**/
+	private static final int BATCH_TIMEOUT = 10000;
+	
+	private static final Map<JSONPoleComponent, Map<String, float[][]>> connectorModelMap = new HashMap<JSONPoleComponent, Map<String, float[][]>>();
 	private static final Map<JSONPoleComponent, Map<Axis, Integer>> connectorDisplayListMap = new HashMap<JSONPoleComponent, Map<Axis, Integer>>();
 	private static final Map<JSONPoleComponent, Map<Axis, Integer>> solidConnectorDisplayListMap = new HashMap<JSONPoleComponent, Map<Axis, Integer>>();
 	private static final Map<JSONPoleComponent, Integer> componentDisplayListMap = new HashMap<JSONPoleComponent, Integer>();
 	private static final Map<JSONPoleComponent, List<TransformLight>> componentLightMap = new HashMap<JSONPoleComponent, List<TransformLight>>();
+	private static final Map<JSONPoleComponent, Map<Point3i, ConnectorBatch>> connectorBatchMap = new HashMap<JSONPoleComponent, Map<Point3i, ConnectorBatch>>();
+	private static final Map<TileEntityPole, ConnectorBatch> poleBatchMap = new HashMap<TileEntityPole, ConnectorBatch>();
+	private static long lastBatchCheckTime;
 	
 	@Override
 	public void render(TileEntityPole tile, float partialTicks){
@@ -38,7 +54,7 @@ public class RenderPole extends ARenderTileEntityBase<TileEntityPole>{
 		if(coreComponent != null){
 			//If we don't have the model parsed, do so now.
 			if(!connectorDisplayListMap.containsKey(tile.definition)){
-				Map<String, Float[][]> parsedModel = OBJParser.parseOBJModel(tile.definition.getModelLocation());
+				Map<String, float[][]> parsedModel = OBJParser.parseOBJModel(tile.definition.getModelLocation());
 				
 				Map<Axis, Integer> connectorDisplayLists = new HashMap<Axis, Integer>();
 				Map<Axis, Integer> solidConncectorDisplayLists = new HashMap<Axis, Integer>();
@@ -50,22 +66,37 @@ public class RenderPole extends ARenderTileEntityBase<TileEntityPole>{
 						solidConncectorDisplayLists.put(axis, cacheAxisVertices(parsedModel.get(axis.name().toLowerCase() + "_solid")));
 					}
 				}
+				connectorModelMap.put(tile.definition, parsedModel);
 				connectorDisplayListMap.put(tile.definition, connectorDisplayLists);
 				solidConnectorDisplayListMap.put(tile.definition, solidConncectorDisplayLists);
 			}
 			
 			//Render the connectors.  Don't do this on the blending pass 1.
-			if(MasterLoader.renderInterface.getRenderPass() != 1){
+			if(MasterLoader.renderInterface.getRenderPass() != 1 && ConfigSystem.configObject.client.batchPoleConnectors.value){
+				//Render the batch for this pole, if it hasn't been rendered yet this frame.
+				ConnectorBatch batch = getConnectorBatch(tile);
+				long currentFrame = MasterLoader.renderInterface.getRenderFrame();
+				if(batch.lastRenderFrame != currentFrame){
+					batch.lastRenderFrame = currentFrame;
+					batch.lastRenderTime = System.currentTimeMillis();
+					if(batch.buffer == null){
+						batch.build();
+					}
+					MasterLoader.renderInterface.bindTexture(tile.definition.getTextureLocation());
+					GL11.glPushMatrix();
+					GL11.glTranslatef(batch.origin.x - tile.position.x, batch.origin.y - tile.position.y, batch.origin.z - tile.position.z);
+					batch.buffer.render();
+					GL11.glPopMatrix();
+				}
+			}else if(MasterLoader.renderInterface.getRenderPass() != 1){
 				MasterLoader.renderInterface.bindTexture(tile.definition.getTextureLocation());
 				for(Axis axis : Axis.values()){
 					if(axis.equals(Axis.NONE)){
 						GL11.glCallList(connectorDisplayListMap.get(tile.definition).get(axis));
 					}else{
-						Point3i offset = axis.getOffsetPoint(tile.position);
-						boolean adjacentPole = tile.world.getBlock(offset) instanceof BlockPole;
-						boolean solidBlock = tile.world.isBlockSolid(offset);
-						boolean slabBlock = (axis.equals(Axis.DOWN) && tile.world.isBlockBottomSlab(offset)) || (axis.equals(Axis.UP) && tile.world.isBlockTopSlab(offset));
-						if(adjacentPole || solidBlock){
+						boolean solidBlock = tile.isSolid(axis);
+						boolean slabBlock = tile.isSlab(axis);
+						if(tile.isConnected(axis)){
 							if(connectorDisplayListMap.get(tile.definition).containsKey(axis)){
 								GL11.glCallList(connectorDisplayListMap.get(tile.definition).get(axis));
 							}
@@ -111,12 +142,12 @@ public class RenderPole extends ARenderTileEntityBase<TileEntityPole>{
 					//Cache the displaylists and lights if we haven't already.
 					ATileEntityPole_Component component = tile.components.get(axis);
 					if(!componentDisplayListMap.containsKey(component.definition)){
-						Map<String, Float[][]> parsedModel = OBJParser.parseOBJModel(component.definition.getModelLocation());
+						Map<String, float[][]> parsedModel = OBJParser.parseOBJModel(component.definition.getModelLocation());
 						List<TransformLight> lightParts = new ArrayList<TransformLight>();
 						int displayListIndex = GL11.glGenLists(1);
 						GL11.glNewList(displayListIndex, GL11.GL_COMPILE);
 						GL11.glBegin(GL11.GL_TRIANGLES);
-						for(Entry<String, Float[][]> entry : parsedModel.entrySet()){
+						for(Entry<String, float[][]> entry : parsedModel.entrySet()){
 							if(entry.getKey().startsWith("&")){
 								//Save light for special rendering.
 								lightParts.add(new TransformLight(component.definition.general.modelName, entry.getKey(), entry.getValue()));
@@ -125,7 +156,7 @@ public class RenderPole extends ARenderTileEntityBase<TileEntityPole>{
 								}
 							}
 							//Add vertices
-							for(Float[] vertex : entry.getValue()){
+							for(float[] vertex : entry.getValue()){
 								GL11.glTexCoord2f(vertex[3], vertex[4]);
 								GL11.glNormal3f(vertex[5], vertex[6], vertex[7]);
 								GL11.glVertex3f(vertex[0], vertex[1], vertex[2]);
@@ -193,11 +224,71 @@ public class RenderPole extends ARenderTileEntityBase<TileEntityPole>{
 		return false;
 	}
 	
-	private static int cacheAxisVertices(Float[][] vertices){
+	/**
+	 *  Removes the passed-in pole from the connector batches.  Called when poles are removed
+	 *  from the world, or their chunks unload, so their connectors aren't left behind and the
+	 *  batches don't hold onto poles that are no longer in the world.
+	 */
+	public static void removeFromBatches(TileEntityPole tile){
+		ConnectorBatch batch = poleBatchMap.remove(tile);
+		if(batch != null){
+			batch.poleConnections.remove(tile);
+			batch.invalidate();
+		}
+	}
+	
+	/**
+	 *  Returns the connector batch for the passed-in pole, adding the pole to the batch for its section
+	 *  if it isn't in it already.  If the pole's connections have changed, the batch is invalidated.
+	 *  Batches that haven't been rendered in a while are removed here too.
+	 */
+	private static ConnectorBatch getConnectorBatch(TileEntityPole tile){
+		long currentTime = System.currentTimeMillis();
+		if(currentTime - lastBatchCheckTime > BATCH_TIMEOUT){
+			lastBatchCheckTime = currentTime;
+			for(Map<Point3i, ConnectorBatch> batches : connectorBatchMap.values()){
+				Iterator<ConnectorBatch> iterator = batches.values().iterator();
+				while(iterator.hasNext()){
+					ConnectorBatch batch = iterator.next();
+					if(currentTime - batch.lastRenderTime > BATCH_TIMEOUT){
+						for(TileEntityPole pole : batch.poleConnections.keySet()){
+							poleBatchMap.remove(pole);
+						}
+						batch.invalidate();
+						iterator.remove();
+					}
+				}
+			}
+		}
+		
+		ConnectorBatch batch = poleBatchMap.get(tile);
+		if(batch == null){
+			Point3i origin = new Point3i(tile.position.x >> 4 << 4, tile.position.y >> 4 << 4, tile.position.z >> 4 << 4);
+			Map<Point3i, ConnectorBatch> batches = connectorBatchMap.get(tile.definition);
+			if(batches == null){
+				batches = new HashMap<Point3i, ConnectorBatch>();
+				connectorBatchMap.put(tile.definition, batches);
+			}
+			batch = batches.get(origin);
+			if(batch == null){
+				batch = new ConnectorBatch(tile.definition, origin);
+				batches.put(origin, batch);
+			}
+			batch.poleConnections.put(tile, tile.getConnections());
+			batch.invalidate();
+			poleBatchMap.put(tile, batch);
+		}else if(batch.poleConnections.get(tile).intValue() != tile.getConnections()){
+			batch.poleConnections.put(tile, tile.getConnections());
+			batch.invalidate();
+		}
+		return batch;
+	}
+	
+	private static int cacheAxisVertices(float[][] vertices){
 		int displayListIndex = GL11.glGenLists(1);
 		GL11.glNewList(displayListIndex, GL11.GL_COMPILE);
 		GL11.glBegin(GL11.GL_TRIANGLES);
-		for(Float[] vertex : vertices){
+		for(float[] vertex : vertices){
 			GL11.glTexCoord2f(vertex[3], vertex[4]);
 			GL11.glNormal3f(vertex[5], vertex[6], vertex[7]);
 			GL11.glVertex3f(vertex[0], vertex[1], vertex[2]);
@@ -206,4 +297,82 @@ public class RenderPole extends ARenderTileEntityBase<TileEntityPole>{
 		GL11.glEndList();
 		return displayListIndex;
 	}
+	
+	/**Batch of connectors for all poles of a single definition in a 16x16x16 section.
+	 * Vertices are relative to the center of the block at the section origin.
+	 *
+	 * @author don_bruce
+	 */
+	private static class ConnectorBatch{
+		private final JSONPoleComponent definition;
+		private final Point3i origin;
+		private final Map<TileEntityPole, Integer> poleConnections = new HashMap<TileEntityPole, Integer>();
+		private VertexBufferModel buffer;
+		private long lastRenderFrame = -1;
+		private long lastRenderTime;
+		
+		private ConnectorBatch(JSONPoleComponent definition, Point3i origin){
+			this.definition = definition;
+			this.origin = origin;
+		}
+		
+		/**
+		 *  Builds the buffer for this batch from the connections of all poles in it.
+		 *  This uses the same logic as the non-batched rendering, but with the vertices
+		 *  offset rather than rendering with translations.
+		 */
+		private void build(){
+			Map<String, float[][]> parsedModel = connectorModelMap.get(definition);
+			List<float[]> vertices = new ArrayList<float[]>();
+			for(TileEntityPole pole : poleConnections.keySet()){
+				float offsetX = pole.position.x - origin.x;
+				float offsetY = pole.position.y - origin.y;
+				float offsetZ = pole.position.z - origin.z;
+				addVertices(vertices, parsedModel.get(Axis.NONE.name().toLowerCase()), offsetX, offsetY, offsetZ);
+				for(Axis axis : Axis.values()){
+					if(!axis.equals(Axis.NONE)){
+						float[][] connector = parsedModel.get(axis.name().toLowerCase());
+						float[][] solidConnector = parsedModel.get(axis.name().toLowerCase() + "_solid");
+						if(pole.isConnected(axis)){
+							addVertices(vertices, connector, offsetX, offsetY, offsetZ);
+						}
+						if(pole.isSolid(axis)){
+							addVertices(vertices, solidConnector, offsetX, offsetY, offsetZ);
+						}else if(pole.isSlab(axis) && connector != null){
+							addVertices(vertices, connector, offsetX, offsetY, offsetZ);
+							addVertices(vertices, parsedModel.get(axis.getOpposite().name().toLowerCase()), offsetX, offsetY + axis.yOffset, offsetZ);
+							addVertices(vertices, parsedModel.get(Axis.NONE.name().toLowerCase()), offsetX, offsetY + axis.yOffset, offsetZ);
+							addVertices(vertices, solidConnector, offsetX, offsetY + axis.yOffset/2F, offsetZ);
+						}
+					}
+				}
+			}
+			
+			Map<String, float[][]> batchModel = new HashMap<String, float[][]>();
+			batchModel.put("connectors", vertices.toArray(new float[vertices.size()][]));
+			buffer = new VertexBufferModel(batchModel);
+		}
+		
+		/**
+		 *  Deletes the buffer for this batch.  It will be re-built the next time it's rendered.
+		 */
+		private void invalidate(){
+			if(buffer != null){
+				buffer.delete();
+				buffer = null;
+			}
+		}
+		
+		private static void addVertices(List<float[]> vertices, float[][] objectVertices, float offsetX, float offsetY, float offsetZ){
+			if(objectVertices != null){
+				for(float[] vertex : objectVertices){
+					float[] offsetVertex = vertex.clone();
+					offsetVertex[0] += offsetX;
+					offsetVertex[1] += offsetY;
+					offsetVertex[2] += offsetZ;
+					vertices.add(offsetVertex);
+				}
+			}
+		}
+	}
 }
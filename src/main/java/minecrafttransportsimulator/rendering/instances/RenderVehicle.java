@@ -28,6 +28,8 @@ import minecrafttransportsimulator.rendering.components.RenderableModelObject;
 import minecrafttransportsimulator.rendering.components.TransformLight;
 import minecrafttransportsimulator.rendering.components.TransformTranslatable;
 import minecrafttransportsimulator.rendering.components.TransformTreadRoller;
+import minecrafttransportsimulator.rendering.components.VertexBufferModel;
+import minecrafttransportsimulator.systems.ConfigSystem;
 import minecrafttransportsimulator.vehicles.main.EntityVehicleF_Physics;
 import minecrafttransportsimulator.vehicles.parts.APart;
 import minecrafttransportsimulator.vehicles.parts.PartGroundDevice;
@@ -37,33 +39,59 @@ import minecrafttransportsimulator.vehicles.parts.PartGroundDevice;
  * this code is called both from the regular render loop and manually from
  * the event-based last pass.  This pass is -1, and should allow both the regular
  * and blending operations to run.
+ * <br><br>
+ * Vehicles are rendered with less detail the further they are from the player.  Past the
+ * detail distance in the config, instruments, text, light beams, and tread link movement
+ * are skipped.  Past the model distance, only the static portion of the main model is rendered.
  *
  * @author don_bruce
  */
 public final class RenderVehicle{	
 	//VEHICLE MAPS.  Maps are keyed by system name.
-	private static final Map<String, Integer> vehicleDisplayLists = new HashMap<String, Integer>();
+	private static final Map<String, VertexBufferModel> vehicleStaticBuffers = new HashMap<String, VertexBufferModel>();
+	private static final Map<String, VertexBufferModel> vehicleObjectBuffers = new HashMap<String, VertexBufferModel>();
 	private static final Map<String, List<RenderableModelObject>> vehicleObjectLists = new HashMap<String, List<RenderableModelObject>>();
 	@Deprecated
 	private static final Map<String, List<Float[]>> treadDeltas = new HashMap<String, List<Float[]>>();
-	private static final Map<String, List<Double[]>> treadPoints = new HashMap<String, List<Double[]>>();
+	private static final Map<String, Map<String, VertexBufferModel>> treadBuffers = new HashMap<String, Map<String, VertexBufferModel>>();
 	
 	//PART MAPS.  Maps are keyed by the part model name.
-	private static final Map<String, Integer> partDisplayLists = new HashMap<String, Integer>();
+	private static final Map<String, VertexBufferModel> partStaticBuffers = new HashMap<String, VertexBufferModel>();
+	private static final Map<String, VertexBufferModel> partObjectBuffers = new HashMap<String, VertexBufferModel>();
 	private static final Map<String, List<RenderableModelObject>> partObjectLists = new HashMap<String, List<RenderableModelObject>>();
+	private static final Map<String, Map<String, float[][]>> treadLinkModels = new HashMap<String, Map<String, float[][]>>();
 	
+	//TREAD STEPS.  Number of steps baked treads are animated with, and the names of their objects in the buffers.
+	private static final int TREAD_STEPS = 16;
+	private static final String[] TREAD_STEP_NAMES = new String[TREAD_STEPS];
+	static{
+		for(int i=0; i<TREAD_STEPS; ++i){
+			TREAD_STEP_NAMES[i] = String.valueOf(i);
+		}
+	}
+	
+	//DETAIL LEVEL.  Set at the start of each vehicle render.
+	private static boolean renderDetails;
+	private static boolean renderParts;
+	
+	//PART TRANSFORMS.  Re-used for every part rendered, as rendering is only done on one thread.
+	private static final Point3d partOffset = new Point3d(0D, 0D, 0D);
+	private static final Point3d partRotation = new Point3d(0D, 0D, 0D);
 	
 	/**Used to clear out the rendering caches of any vehicles with the passed-in definition.
 	 * Used in dev mode to allow the re-loading of models.**/
 	public static void clearVehicleCaches(JSONVehicle definition){
-		if(vehicleDisplayLists.containsKey(definition.systemName)){
-			GL11.glDeleteLists(vehicleDisplayLists.remove(definition.systemName), 1);
-			for(RenderableModelObject modelObject : vehicleObjectLists.get(definition.systemName)){
-				modelObject.resetDisplayList();
-			}
+		if(vehicleStaticBuffers.containsKey(definition.systemName)){
+			vehicleStaticBuffers.remove(definition.systemName).delete();
+			vehicleObjectBuffers.remove(definition.systemName).delete();
 			vehicleObjectLists.remove(definition.systemName);
 			treadDeltas.remove(definition.systemName);
-			treadPoints.remove(definition.systemName);
+			Map<String, VertexBufferModel> vehicleTreadBuffers = treadBuffers.remove(definition.systemName);
+			if(vehicleTreadBuffers != null){
+				for(VertexBufferModel treadBuffer : vehicleTreadBuffers.values()){
+					treadBuffer.delete();
+				}
+			}
 		}
 	}
 	
@@ -71,17 +99,27 @@ public final class RenderVehicle{
 	 * Used in dev mode to allow the re-loading of models.**/
 	public static void clearPartCaches(JSONPart definition){
 		String modelName = definition.getModelLocation();
-		if(partDisplayLists.containsKey(modelName)){
-			GL11.glDeleteLists(partDisplayLists.remove(modelName), 1);
-		}
-		if(partObjectLists.containsKey(modelName)){
-			for(RenderableModelObject modelObject : partObjectLists.get(modelName)){
-				modelObject.resetDisplayList();
+		if(partStaticBuffers.containsKey(modelName)){
+			partStaticBuffers.remove(modelName).delete();
+			partObjectBuffers.remove(modelName).delete();
+			partObjectLists.remove(modelName);
+			treadLinkModels.remove(modelName);
+			for(Map<String, VertexBufferModel> vehicleTreadBuffers : treadBuffers.values()){
+				if(vehicleTreadBuffers.containsKey(modelName)){
+					vehicleTreadBuffers.remove(modelName).delete();
+				}
 			}
-			partObjectLists.remove(definition.systemName);
 		}
 	}
 	
+	/**
+	 *  Returns true if the vehicle currently being rendered is close enough to render
+	 *  details like light beams.  Only valid during {@link #render(EntityVehicleF_Physics, float)}.
+	 */
+	public static boolean isRenderingDetails(){
+		return renderDetails;
+	}
+	
 	public static boolean doesVehicleHaveLight(EntityVehicleF_Physics vehicle, LightType light){
 		for(RenderableModelObject modelObject : vehicleObjectLists.get(vehicle.definition.systemName)){
 			for(ATransformRenderable transform : modelObject.transforms){
@@ -124,6 +162,11 @@ public final class RenderVehicle{
 		
 		//Get the vehicle rotation.
 		Point3d renderRotation = vehicle.angles.copy().subtract(vehicle.prevAngles).multiply(1D - partialTicks).multiply(-1D).add(vehicle.angles);
+		
+		//Get the detail level to render at.  This is based on how far the vehicle is from the player.
+		double renderDistance = renderPosition.length();
+		renderDetails = renderDistance < ConfigSystem.configObject.client.detailDistance.value;
+		renderParts = renderDistance < ConfigSystem.configObject.client.modelDistance.value;
        
         //Set up lighting.
         MasterLoader.renderInterface.setLightingToEntity(vehicle);
@@ -144,17 +187,18 @@ public final class RenderVehicle{
 		renderMainModel(vehicle, partialTicks);
 		
 		//Render all the parts.  Parts get translated to their offset position prior to rendering.
+		//If we are too far away to see the parts, don't bother rendering them.
 		for(APart part : vehicle.parts){
 			//Only render real parts that aren't sub parts.  SubParts need to be rendered relative to their main part.
-			if(!part.isFake() && !part.vehicleDefinition.isSubPart){
+			if(renderParts && !part.isFake() && !part.vehicleDefinition.isSubPart){
 				GL11.glPushMatrix();
 				if(part.definition.ground != null && part.definition.ground.isTread){
 					//Treads don't get translated by y, or z.
 					GL11.glTranslated(part.placementOffset.x, 0, 0);
 					renderPart(part, partialTicks);
 				}else{
-					Point3d offset = part.getPositionOffset(partialTicks).add(part.placementOffset);
-					GL11.glTranslated(offset.x, offset.y, offset.z);
+					Point3d offset = part.getPositionOffset(partialTicks, partOffset);
+					GL11.glTranslated(offset.x + part.placementOffset.x, offset.y + part.placementOffset.y, offset.z + part.placementOffset.z);
 					renderPart(part, partialTicks);
 				}
 				GL11.glPopMatrix();
@@ -164,8 +208,10 @@ public final class RenderVehicle{
 		//Set shading back to normal now that all model bits have been rendered.
 		GL11.glShadeModel(GL11.GL_FLAT);
 		
-		//Render all instruments on the vehicle.
-		renderInstruments(vehicle);
+		//Render all instruments on the vehicle, if we are close enough to read them.
+		if(renderDetails){
+			renderInstruments(vehicle);
+		}
 		
 		//Pop vehicle rotation matrix as the following calls use world coords.
 		GL11.glPopMatrix();
@@ -207,41 +253,48 @@ public final class RenderVehicle{
 	 *  rotated to the roll, pitch, and yaw, of the vehicle, and then all static portions are rendered.  Dynamic
 	 *  animated portions like {@link TransformRotatable2}s, {@link TransformTranslatable}s, and
 	 *  {@link WindowPart}s are rendered after this with their respective transformations applied.  All renders are
-	 *  cached in DisplayLists, as we only need to translate and rotate them, not apply any transforms or splits.
+	 *  cached in vertex buffers, as we only need to translate and rotate them, not apply any transforms or splits.
 	 *  This should only be called in pass 0, as we don't do any alpha blending in this routine.
 	 */
 	private static void renderMainModel(EntityVehicleF_Physics vehicle, float partialTicks){
 		//Normally we use the pack name, but since all displaylists
 		//are the same for all models, this is more appropriate.
-		if(!vehicleDisplayLists.containsKey(vehicle.definition.systemName)){
-			//No distplay list for this model.  Parse and create it now.
-			Map<String, Float[][]> parsedModel = OBJParser.parseOBJModel(vehicle.definition.getModelLocation());
+		if(!vehicleStaticBuffers.containsKey(vehicle.definition.systemName)){
+			//No buffers for this model.  Parse and create them now.
+			Map<String, float[][]> parsedModel = OBJParser.parseOBJModel(vehicle.definition.getModelLocation());
 			
 			//For anything that has a definition as an animation, add it to an animated list.
-			//If we find a definition, we remove the object so it doesn't get packed into the main DisplayList.
+			//If we find a definition, we remove the object so it doesn't get packed into the static buffer.
 			List<RenderableModelObject> modelObjects = new ArrayList<RenderableModelObject>();
+			Map<String, float[][]> objectVertices = new HashMap<String, float[][]>();
 			if(vehicle.definition.rendering.animatedObjects != null){
 				for(VehicleAnimatedObject definition : vehicle.definition.rendering.animatedObjects){
 					if(parsedModel.containsKey(definition.objectName)){
-						modelObjects.add(new RenderableModelObject(vehicle.definition.systemName, definition.objectName, definition, parsedModel.get(definition.objectName), vehicle, null));
-						parsedModel.remove(definition.objectName);
+						modelObjects.add(new RenderableModelObject(vehicle.definition.systemName, definition.objectName, definition, parsedModel.get(definition.objectName), vehicle));
+						objectVertices.put(definition.objectName, parsedModel.remove(definition.objectName));
 					}
 				}
 			}
 			
 			//Now check for any non-animated model objects.
-			Iterator<Entry<String, Float[][]>> iterator = parsedModel.entrySet().iterator();
+			Iterator<Entry<String, float[][]>> iterator = parsedModel.entrySet().iterator();
 			while(iterator.hasNext()){
-				Entry<String, Float[][]> entry = iterator.next();
-				RenderableModelObject modelObject = new RenderableModelObject(vehicle.definition.systemName, entry.getKey(), null, entry.getValue(), vehicle, null);
+				Entry<String, float[][]> entry = iterator.next();
+				RenderableModelObject modelObject = new RenderableModelObject(vehicle.definition.systemName, entry.getKey(), null, entry.getValue(), vehicle);
 				if(!modelObject.transforms.isEmpty()){
 					modelObjects.add(modelObject);
+					objectVertices.put(entry.getKey(), entry.getValue());
 					iterator.remove();
 				}
 			}
 			
 			//Now finalize the maps.
-			vehicleDisplayLists.put(vehicle.definition.systemName, OBJParser.generateDisplayList(parsedModel));
+			VertexBufferModel objectBuffer = new VertexBufferModel(objectVertices);
+			for(RenderableModelObject modelObject : modelObjects){
+				modelObject.setVertexBuffer(objectBuffer);
+			}
+			vehicleStaticBuffers.put(vehicle.definition.systemName, new VertexBufferModel(parsedModel));
+			vehicleObjectBuffers.put(vehicle.definition.systemName, objectBuffer);
 			vehicleObjectLists.put(vehicle.definition.systemName, modelObjects);
 		}
 		
@@ -249,20 +302,25 @@ public final class RenderVehicle{
 		//Don't render on the transparent pass.
 		MasterLoader.renderInterface.setTexture(vehicle.definition.getTextureLocation(vehicle.currentSubName));
 		if(MasterLoader.renderInterface.getRenderPass() != 1){
-			GL11.glCallList(vehicleDisplayLists.get(vehicle.definition.systemName));
+			vehicleStaticBuffers.get(vehicle.definition.systemName).render();
+		}
+		
+		//If we are too far away, this is all we render.
+		if(!renderParts){
+			return;
 		}
 		
 		//Render any static text.
-		if(MasterLoader.renderInterface.renderTextMarkings(vehicle.definition.rendering != null ? vehicle.definition.rendering.textObjects : null, vehicle.textLines, vehicle.getSubDefinition().secondColor, null, vehicle.areInteriorLightsOn())){
+		if(renderDetails && MasterLoader.renderInterface.renderTextMarkings(vehicle.definition.rendering != null ? vehicle.definition.rendering.textObjects : null, vehicle.textLines, vehicle.getSubDefinition().secondColor, null, vehicle.areInteriorLightsOn())){
 			MasterLoader.renderInterface.recallTexture();
 		}
 		
-		//The display list only renders static objects.  We need to render dynamic ones manually.
+		//The static buffer only renders static objects.  We need to render dynamic ones manually.
 		List<RenderableModelObject> modelObjects = vehicleObjectLists.get(vehicle.definition.systemName);
 		for(RenderableModelObject modelObject : modelObjects){
 			if(modelObject.applyAfter == null){
 				modelObject.render(vehicle, null, partialTicks, modelObjects);
-				if(MasterLoader.renderInterface.renderTextMarkings(vehicle.definition.rendering != null ? vehicle.definition.rendering.textObjects : null, vehicle.textLines, vehicle.getSubDefinition().secondColor, modelObject.objectName, vehicle.areInteriorLightsOn())){
+				if(renderDetails && MasterLoader.renderInterface.renderTextMarkings(vehicle.definition.rendering != null ? vehicle.definition.rendering.textObjects : null, vehicle.textLines, vehicle.getSubDefinition().secondColor, modelObject.objectName, vehicle.areInteriorLightsOn())){
 					MasterLoader.renderInterface.recallTexture();
 				}
 			}
@@ -279,35 +337,47 @@ public final class RenderVehicle{
 	 */
 	private static void renderPart(APart part, float partialTicks){
 		String partModelLocation = part.definition.getModelLocation();
-		if(!partDisplayLists.containsKey(partModelLocation)){
-			Map<String, Float[][]> parsedModel = OBJParser.parseOBJModel(partModelLocation);
+		if(!partStaticBuffers.containsKey(partModelLocation)){
+			Map<String, float[][]> parsedModel = OBJParser.parseOBJModel(partModelLocation);
 			
 			//For anything that has a definition as an animation, add it to an animated list.
-			//If we find a definition, we remove the object so it doesn't get packed into the main DisplayList.
+			//If we find a definition, we remove the object so it doesn't get packed into the static buffer.
 			List<RenderableModelObject> modelObjects = new ArrayList<RenderableModelObject>();
+			Map<String, float[][]> objectVertices = new HashMap<String, float[][]>();
 			if(part.definition.rendering != null && part.definition.rendering.animatedObjects != null){
 				for(VehicleAnimatedObject definition : part.definition.rendering.animatedObjects){
 					if(parsedModel.containsKey(definition.objectName)){
-						modelObjects.add(new RenderableModelObject(partModelLocation, definition.objectName, definition, parsedModel.get(definition.objectName), part.vehicle, part));
-						parsedModel.remove(definition.objectName);
+						modelObjects.add(new RenderableModelObject(partModelLocation, definition.objectName, definition, parsedModel.get(definition.objectName), part.vehicle));
+						objectVertices.put(definition.objectName, parsedModel.remove(definition.objectName));
 					}
 				}
 			}
 			
 			//Now check for any non-animated model objects.
-			Iterator<Entry<String, Float[][]>> iterator = parsedModel.entrySet().iterator();
+			Iterator<Entry<String, float[][]>> iterator = parsedModel.entrySet().iterator();
 			while(iterator.hasNext()){
-				Entry<String, Float[][]> entry = iterator.next();
-				RenderableModelObject modelObject = new RenderableModelObject(partModelLocation, entry.getKey(), null, entry.getValue(), part.vehicle, part);
+				Entry<String, float[][]> entry = iterator.next();
+				RenderableModelObject modelObject = new RenderableModelObject(partModelLocation, entry.getKey(), null, entry.getValue(), part.vehicle);
 				if(!modelObject.transforms.isEmpty()){
 					modelObjects.add(modelObject);
+					objectVertices.put(entry.getKey(), entry.getValue());
 					iterator.remove();
 				}
 			}
 			
 			//Now finalize the maps.
-			partDisplayLists.put(partModelLocation, OBJParser.generateDisplayList(parsedModel));
+			VertexBufferModel objectBuffer = new VertexBufferModel(objectVertices);
+			for(RenderableModelObject modelObject : modelObjects){
+				modelObject.setVertexBuffer(objectBuffer);
+			}
+			partStaticBuffers.put(partModelLocation, new VertexBufferModel(parsedModel));
+			partObjectBuffers.put(partModelLocation, objectBuffer);
 			partObjectLists.put(partModelLocation, modelObjects);
+			
+			//Treads need their vertices to bake the links along their paths.
+			if(part.definition.ground != null && part.definition.ground.isTread){
+				treadLinkModels.put(partModelLocation, parsedModel);
+			}
 		}
 		
 		//If we aren't using the vehicle texture, bind the texture for this part.
@@ -318,7 +388,7 @@ public final class RenderVehicle{
 			MasterLoader.renderInterface.setTexture(part.vehicle.definition.getTextureLocation(part.vehicle.currentSubName));
 		}
 		
-		//Rotate the part prior to rendering the displayList.
+		//Rotate the part prior to rendering the static buffer.
 		//We will already have been translated to our position prior to this call.
 		GL11.glPushMatrix();
 		rotatePart(part, partialTicks);
@@ -331,31 +401,31 @@ public final class RenderVehicle{
 			GL11.glCullFace(GL11.GL_FRONT);
 		}
 		
-		//If we are a tread, do the tread-specific render rather than the display list.
+		//If we are a tread, do the tread-specific render rather than the static buffer.
 		//Don't do this for pass 1 though as treads don't have transparency.
 		if(part.definition.ground != null && part.definition.ground.isTread && MasterLoader.renderInterface.getRenderPass() != 1){
 			if(part.vehicleDefinition.treadZPoints != null){
-				doManualTreadRender((PartGroundDevice) part, partialTicks, partDisplayLists.get(partModelLocation));	
+				doManualTreadRender((PartGroundDevice) part, partialTicks, partStaticBuffers.get(partModelLocation));	
 			}else{
-				doAutomaticTreadRender((PartGroundDevice) part, partialTicks, partDisplayLists.get(partModelLocation));
+				doAutomaticTreadRender((PartGroundDevice) part, partialTicks, partModelLocation);
 			}
 		}else{
-    		//Render the part DisplayList, but only if we aren't in the transparent pass.
+    		//Render the part static buffer, but only if we aren't in the transparent pass.
 			if(MasterLoader.renderInterface.getRenderPass() != 1){
-				GL11.glCallList(partDisplayLists.get(partModelLocation));
+				partStaticBuffers.get(partModelLocation).render();
 			}
 			
 			//Render any static text.
-			if(MasterLoader.renderInterface.renderTextMarkings(part.definition.rendering != null ? part.definition.rendering.textObjects : null, part.textLines, part.vehicle.getSubDefinition().secondColor, null, part.vehicle.areInteriorLightsOn())){
+			if(renderDetails && MasterLoader.renderInterface.renderTextMarkings(part.definition.rendering != null ? part.definition.rendering.textObjects : null, part.textLines, part.vehicle.getSubDefinition().secondColor, null, part.vehicle.areInteriorLightsOn())){
 				MasterLoader.renderInterface.recallTexture();
 			}
 			
-			//The display list only renders static object.  We need to render dynamic ones manually.
+			//The static buffer only renders static objects.  We need to render dynamic ones manually.
 			List<RenderableModelObject> modelObjects = partObjectLists.get(partModelLocation);
 			for(RenderableModelObject modelObject : modelObjects){
 				if(modelObject.applyAfter == null){
 					modelObject.render(part.vehicle, part, partialTicks, modelObjects);
-					if(MasterLoader.renderInterface.renderTextMarkings(part.definition.rendering != null ? part.definition.rendering.textObjects : null, part.textLines, part.vehicle.getSubDefinition().secondColor, modelObject.objectName, part.vehicle.areInteriorLightsOn())){
+					if(renderDetails && MasterLoader.renderInterface.renderTextMarkings(part.definition.rendering != null ? part.definition.rendering.textObjects : null, part.textLines, part.vehicle.getSubDefinition().secondColor, modelObject.objectName, part.vehicle.areInteriorLightsOn())){
 						MasterLoader.renderInterface.recallTexture();
 					}
 				}
@@ -365,11 +435,11 @@ public final class RenderVehicle{
 			for(APart childPart : part.childParts){
 				if(!childPart.isFake() && childPart.vehicleDefinition.isSubPart){
 					//Get the relative distance between our offset and our parent's offset.
-					Point3d relativeOffset = childPart.getPositionOffset(partialTicks).add(childPart.placementOffset).subtract(part.placementOffset);
+					Point3d childOffset = childPart.getPositionOffset(partialTicks, partOffset);
 					
 					//Translate to our new center and render.
 					GL11.glPushMatrix();
-					GL11.glTranslated(relativeOffset.x, relativeOffset.y, relativeOffset.z);
+					GL11.glTranslated(childOffset.x + childPart.placementOffset.x - part.placementOffset.x, childOffset.y + childPart.placementOffset.y - part.placementOffset.y, childOffset.z + childPart.placementOffset.z - part.placementOffset.z);
 					renderPart(childPart, partialTicks);
 					GL11.glPopMatrix();
 				}
@@ -401,7 +471,7 @@ public final class RenderVehicle{
 			}
 		}
 		
-		Point3d positionRotation = part.getPositionRotation(partialTicks);
+		Point3d positionRotation = part.getPositionRotation(partialTicks, partRotation);
 		if(!positionRotation.isZero()){
 			GL11.glRotated(positionRotation.y, 0, 1, 0);
 			GL11.glRotated(positionRotation.x, 1, 0, 0);
@@ -421,7 +491,7 @@ public final class RenderVehicle{
 	 *  vehicle JSON.  This method is more cumbersome for the authors, but allows for precise path control.
 	 */
 	@Deprecated
-	private static void doManualTreadRender(PartGroundDevice treadPart, float partialTicks, int displayListIndex){
+	private static void doManualTreadRender(PartGroundDevice treadPart, float partialTicks, VertexBufferModel treadBuffer){
 		List<Float[]> deltas = treadDeltas.get(treadPart.vehicle.definition.systemName);
 		if(deltas == null){
 			//First calculate the total distance the treads need to be rendered.
@@ -531,8 +601,9 @@ public final class RenderVehicle{
 		}
 		
 		
-		float treadMovementPercentage = (float) ((Math.abs(treadPart.angularPosition) + treadPart.angularVelocity*partialTicks)*treadPart.getHeight()/Math.PI%treadPart.definition.ground.spacing/treadPart.definition.ground.spacing);
-		if(treadPart.angularPosition < 0){
+		//Links don't move if we are too far away to see them move.
+		float treadMovementPercentage = renderDetails ? (float) ((Math.abs(treadPart.angularPosition) + treadPart.angularVelocity*partialTicks)*treadPart.getHeight()/Math.PI%treadPart.definition.ground.spacing/treadPart.definition.ground.spacing) : 0;
+		if(renderDetails && treadPart.angularPosition < 0){
 			treadMovementPercentage = 1 - treadMovementPercentage;
 		}
 		GL11.glPushMatrix();
@@ -544,12 +615,12 @@ public final class RenderVehicle{
 				GL11.glRotatef(point[2], 1, 0, 0);
 				GL11.glTranslatef(0, point[0]*treadMovementPercentage, point[1]*treadMovementPercentage);
 				GL11.glRotatef(-point[2]*(1 - treadMovementPercentage), 1, 0, 0);
-				GL11.glCallList(displayListIndex);
+				treadBuffer.render();
 				GL11.glRotatef(point[2]*(1 - treadMovementPercentage), 1, 0, 0);
 				GL11.glTranslatef(0, point[0]*(1 - treadMovementPercentage), point[1]*( 1 - treadMovementPercentage));
 			}else{
 				GL11.glTranslatef(0, point[0]*treadMovementPercentage, point[1]*treadMovementPercentage);
-				GL11.glCallList(displayListIndex);
+				treadBuffer.render();
 				GL11.glTranslatef(0, point[0]*(1 - treadMovementPercentage), point[1]*( 1 - treadMovementPercentage));
 			}
 			
@@ -560,273 +631,282 @@ public final class RenderVehicle{
 	/**
 	 *  Renders the treads using an automatic calculation system.
 	 *  This is required to prevent the need to manually input a ton of points and reduce pack creator's work.
+	 *  The links along the path are baked into a buffer shared by all vehicles with the same definition.
 	 */
-	private static void doAutomaticTreadRender(PartGroundDevice treadPart, float partialTicks, int displayListIndex){
-		List<Double[]> points = treadPoints.get(treadPart.vehicle.definition.systemName);
-		if(points == null){
-			//If we don't have the deltas, calculate them based on the points of the rollers on the vehicle.			
-			//Search through rotatable parts on the vehicle and grab the rollers.
-			Map<Integer, TransformTreadRoller> parsedRollers = new HashMap<Integer, TransformTreadRoller>();
-			for(RenderableModelObject modelObject : vehicleObjectLists.get(treadPart.vehicle.definition.systemName)){
-				for(ATransformRenderable transform : modelObject.transforms){
-					if(transform instanceof TransformTreadRoller){
-						TransformTreadRoller treadTransform = (TransformTreadRoller) transform;
-						parsedRollers.put(treadTransform.rollerNumber, treadTransform);
-					}
+	private static void doAutomaticTreadRender(PartGroundDevice treadPart, float partialTicks, String partModelLocation){
+		//Get the baked buffer for this tread, or bake one if we don't have one.
+		Map<String, VertexBufferModel> vehicleTreadBuffers = treadBuffers.get(treadPart.vehicle.definition.systemName);
+		if(vehicleTreadBuffers == null){
+			vehicleTreadBuffers = new HashMap<String, VertexBufferModel>();
+			treadBuffers.put(treadPart.vehicle.definition.systemName, vehicleTreadBuffers);
+		}
+		VertexBufferModel treadBuffer = vehicleTreadBuffers.get(partModelLocation);
+		if(treadBuffer == null){
+			treadBuffer = bakeTreadBuffer(calculateTreadPoints(treadPart), treadLinkModels.get(partModelLocation));
+			vehicleTreadBuffers.put(partModelLocation, treadBuffer);
+		}
+		
+		//Render the treads at the step closest to how far they have moved.
+		float treadLinearPosition = (float) ((Math.abs(treadPart.angularPosition) + treadPart.angularVelocity*partialTicks)*treadPart.vehicle.SPEED_FACTOR);
+		//Links don't move if we are too far away to see them move.
+		float treadMovementPercentage = renderDetails ? treadLinearPosition%treadPart.definition.ground.spacing/treadPart.definition.ground.spacing : 0;
+		if(renderDetails && treadPart.angularPosition < 0){
+			treadMovementPercentage = 1 - treadMovementPercentage;
+		}
+		treadBuffer.renderObject(TREAD_STEP_NAMES[Math.min((int) (treadMovementPercentage*TREAD_STEPS), TREAD_STEPS - 1)]);
+	}
+	
+	/**
+	 *  Calculates the points for automatic treads based on the rollers on the vehicle.  Each point is the
+	 *  Y and Z position of a tread link, followed by the angle of that link.
+	 */
+	private static List<double[]> calculateTreadPoints(PartGroundDevice treadPart){
+		//Points are calculated based on the points of the rollers on the vehicle.
+		//Search through rotatable parts on the vehicle and grab the rollers.
+		Map<Integer, TransformTreadRoller> parsedRollers = new HashMap<Integer, TransformTreadRoller>();
+		for(RenderableModelObject modelObject : vehicleObjectLists.get(treadPart.vehicle.definition.systemName)){
+			for(ATransformRenderable transform : modelObject.transforms){
+				if(transform instanceof TransformTreadRoller){
+					TransformTreadRoller treadTransform = (TransformTreadRoller) transform;
+					parsedRollers.put(treadTransform.rollerNumber, treadTransform);
 				}
 			}
-			
-			//Now that we have all the rollers, we can start calculating points.
-			//First calculate the endpoints on the rollers by calling the calculation method.
-			//We also transfer the rollers to an ordered array for convenience later.
-			TransformTreadRoller[] rollers = new TransformTreadRoller[parsedRollers.size()];
-			for(int i=0; i<parsedRollers.size(); ++ i){
-				if(!parsedRollers.containsKey(i)){
-					throw new IndexOutOfBoundsException("ERROR: Attempted to render roller_" + i + " on " + treadPart.vehicle.definition.packID + ":" + treadPart.vehicle.definition.systemName + ", but it was not found.  Did you not make it in the OBJ model?");
-				}
-				if(i < parsedRollers.size() - 1){
-					parsedRollers.get(i).calculateEndpoints(parsedRollers.get(i + 1));
-				}else{
-					parsedRollers.get(i).calculateEndpoints(parsedRollers.get(0));
-				}
-				rollers[i] = parsedRollers.get(i);
+		}
+		
+		//Now that we have all the rollers, we can start calculating points.
+		//First calculate the endpoints on the rollers by calling the calculation method.
+		//We also transfer the rollers to an ordered array for convenience later.
+		TransformTreadRoller[] rollers = new TransformTreadRoller[parsedRollers.size()];
+		for(int i=0; i<parsedRollers.size(); ++ i){
+			if(!parsedRollers.containsKey(i)){
+				throw new IndexOutOfBoundsException("ERROR: Attempted to render roller_" + i + " on " + treadPart.vehicle.definition.packID + ":" + treadPart.vehicle.definition.systemName + ", but it was not found.  Did you not make it in the OBJ model?");
 			}
-			
-			//We need to ensure the endpoints are all angle-aligned.
-			//It's possible to have a start angle of -181 and end angle of
-			//181, which is really just 2 degress of angle (179-181).
-			//To do this, we set the end angle of roller 0 and start
-			//angle of roller 1 to be around 180, or downward-facing.
-			//From there, we add angles to align things.
-			//At the end, we should have an end angle of 540, or 180 + 360.
-			rollers[0].endAngle = 180;
-			for(int i=1; i<rollers.length; ++i){
-				TransformTreadRoller roller = rollers[i];
-				roller.startAngle = rollers[i - 1].endAngle;
-				//End angle should be 0-360 greater than start angle, or within
-				//30 degrees less, as is the case for concave rollers. 
-				while(roller.endAngle < roller.startAngle - 30){
-					roller.endAngle += 360;
-				}
-				while(roller.endAngle > roller.startAngle + 360){
-					roller.endAngle += 360;
-				}
+			if(i < parsedRollers.size() - 1){
+				parsedRollers.get(i).calculateEndpoints(parsedRollers.get(i + 1));
+			}else{
+				parsedRollers.get(i).calculateEndpoints(parsedRollers.get(0));
 			}
-			//Set the end angle of the last roller, or start angle of the first roller, manually.
-			//Need to get it between the value of 360 + 0-180 as that's where we will connect.
-			while(rollers[0].startAngle < 0){
-				rollers[0].startAngle += 360;
+			rollers[i] = parsedRollers.get(i);
+		}
+		
+		//We need to ensure the endpoints are all angle-aligned.
+		//It's possible to have a start angle of -181 and end angle of
+		//181, which is really just 2 degress of angle (179-181).
+		//To do this, we set the end angle of roller 0 and start
+		//angle of roller 1 to be around 180, or downward-facing.
+		//From there, we add angles to align things.
+		//At the end, we should have an end angle of 540, or 180 + 360.
+		rollers[0].endAngle = 180;
+		for(int i=1; i<rollers.length; ++i){
+			TransformTreadRoller roller = rollers[i];
+			roller.startAngle = rollers[i - 1].endAngle;
+			//End angle should be 0-360 greater than start angle, or within
+			//30 degrees less, as is the case for concave rollers. 
+			while(roller.endAngle < roller.startAngle - 30){
+				roller.endAngle += 360;
 			}
-			if(rollers[0].startAngle > 180){
-				rollers[0].startAngle -= 360;
+			while(roller.endAngle > roller.startAngle + 360){
+				roller.endAngle += 360;
 			}
+		}
+		//Set the end angle of the last roller, or start angle of the first roller, manually.
+		//Need to get it between the value of 360 + 0-180 as that's where we will connect.
+		while(rollers[0].startAngle < 0){
 			rollers[0].startAngle += 360;
-			rollers[rollers.length - 1].endAngle = rollers[0].startAngle;
+		}
+		if(rollers[0].startAngle > 180){
+			rollers[0].startAngle -= 360;
+		}
+		rollers[0].startAngle += 360;
+		rollers[rollers.length - 1].endAngle = rollers[0].startAngle;
+		
+		
+		//Now that the endpoints are set, we can calculate the path.
+		//Do this by following the start and end points at small increments.
+		//First calculate the total path length, and determine the optimum spacing.
+		//This is the closest value to the definition's tread spacing.
+		double totalPathLength = 0;
+		for(int i=0; i<rollers.length; ++i){
+			//Get roller and add roller path contribution.
+			TransformTreadRoller roller = rollers[i];
+			totalPathLength += 2*Math.PI*roller.radius*Math.abs(roller.endAngle - (i == 0 ? roller.startAngle - 360 : roller.startAngle))/360D;
 			
+			//Get next roller and add distance path contribution.
+			//For points that start and end at an angle of around 0 (top of rollers) we add droop.
+			//This is a hyperbolic function, so we need to calculate the integral value to account for the path.
+			TransformTreadRoller nextRoller = i == rollers.length - 1 ? rollers[0] : rollers[i + 1];
+			double straightPathLength = Math.hypot(nextRoller.startY - roller.endY, nextRoller.startZ - roller.endZ);
+			if(treadPart.vehicleDefinition.treadDroopConstant > 0 && (roller.endAngle%360 < 10 || roller.endAngle%360 > 350) && (nextRoller.startAngle%360 < 10 || nextRoller.startAngle%360 > 350)){
+				totalPathLength += 2D*treadPart.vehicleDefinition.treadDroopConstant*Math.sinh(straightPathLength/2D/treadPart.vehicleDefinition.treadDroopConstant);
+			}else{
+				totalPathLength += straightPathLength;
+			}
+		}
+		
+		double deltaDist = treadPart.definition.ground.spacing + (totalPathLength%treadPart.definition.ground.spacing)/(totalPathLength/treadPart.definition.ground.spacing);
+		double leftoverPathLength = 0;
+		double yPoint = 0;
+		double zPoint = 0; 
+		List<double[]> points = new ArrayList<double[]>();
+		for(int i=0; i<rollers.length; ++i){
+			TransformTreadRoller roller = rollers[i];
+			//Follow the curve of the roller from the start and end point.
+			//Do this until we don't have enough roller path left to make a point.
+			//If we have any remaining path from a prior operation, we
+			//need to offset our first point on the roller path to account for it.
+			//It can very well be that this remainder will be more than the path length
+			//of the roller.  If so, we just skip the roller entirely.
+			//For the first roller we need to do some special math, as the angles will be inverted
+			//For start and end due to the tread making a full 360 path.				
+			double rollerPathLength = 2*Math.PI*roller.radius*Math.abs(roller.endAngle - (i == 0 ? roller.startAngle - 360 : roller.startAngle))/360D;
+			double currentAngle = roller.startAngle;
 			
-			//Now that the endpoints are set, we can calculate the path.
-			//Do this by following the start and end points at small increments.
-			//First calculate the total path length, and determine the optimum spacing.
-			//This is the closest value to the definition's tread spacing.
-			double totalPathLength = 0;
-			for(int i=0; i<rollers.length; ++i){
-				//Get roller and add roller path contribution.
-				TransformTreadRoller roller = rollers[i];
-				totalPathLength += 2*Math.PI*roller.radius*Math.abs(roller.endAngle - (i == 0 ? roller.startAngle - 360 : roller.startAngle))/360D;
-				
-				//Get next roller and add distance path contribution.
-				//For points that start and end at an angle of around 0 (top of rollers) we add droop.
-				//This is a hyperbolic function, so we need to calculate the integral value to account for the path.
-				TransformTreadRoller nextRoller = i == rollers.length - 1 ? rollers[0] : rollers[i + 1];
-				double straightPathLength = Math.hypot(nextRoller.startY - roller.endY, nextRoller.startZ - roller.endZ);
-				if(treadPart.vehicleDefinition.treadDroopConstant > 0 && (roller.endAngle%360 < 10 || roller.endAngle%360 > 350) && (nextRoller.startAngle%360 < 10 || nextRoller.startAngle%360 > 350)){
-					totalPathLength += 2D*treadPart.vehicleDefinition.treadDroopConstant*Math.sinh(straightPathLength/2D/treadPart.vehicleDefinition.treadDroopConstant);
-				}else{
-					totalPathLength += straightPathLength;
-				}
+			//Add the first point here, and add more as we follow the path.
+			if(i == 0){
+				yPoint = roller.yPos + roller.radius*Math.cos(Math.toRadians(currentAngle));
+				zPoint = roller.zPos + roller.radius*Math.sin(Math.toRadians(currentAngle));
+				points.add(new double[]{yPoint, zPoint, currentAngle + 180});
 			}
 			
-			double deltaDist = treadPart.definition.ground.spacing + (totalPathLength%treadPart.definition.ground.spacing)/(totalPathLength/treadPart.definition.ground.spacing);
-			double leftoverPathLength = 0;
-			double yPoint = 0;
-			double zPoint = 0; 
-			points = new ArrayList<Double[]>();
-			for(int i=0; i<rollers.length; ++i){
-				TransformTreadRoller roller = rollers[i];
-				//Follow the curve of the roller from the start and end point.
-				//Do this until we don't have enough roller path left to make a point.
-				//If we have any remaining path from a prior operation, we
-				//need to offset our first point on the roller path to account for it.
-				//It can very well be that this remainder will be more than the path length
-				//of the roller.  If so, we just skip the roller entirely.
-				//For the first roller we need to do some special math, as the angles will be inverted
-				//For start and end due to the tread making a full 360 path.				
-				double rollerPathLength = 2*Math.PI*roller.radius*Math.abs(roller.endAngle - (i == 0 ? roller.startAngle - 360 : roller.startAngle))/360D;
-				double currentAngle = roller.startAngle;
-				
-				//Add the first point here, and add more as we follow the path.
-				if(i == 0){
+			//If we have any leftover straight path, account for it here to keep spacing consistent.
+			//We will need to interpolate the point that the straight path would have gone to, but
+			//take our rotation angle into account.  Only do this if we have enough of a path to do so.
+			//If not, we should just skip this roller as we can't put any points on it.
+			if(deltaDist - leftoverPathLength < rollerPathLength){
+				if(leftoverPathLength > 0){
+					//Make a new point that's along a line from the last point and the start of this roller.
+					//Then increment currentAngle to account for the new point made.
+					//Add an angle relative to the point on the roller.
+					double[] lastPoint = points.get(points.size() - 1);
 					yPoint = roller.yPos + roller.radius*Math.cos(Math.toRadians(currentAngle));
 					zPoint = roller.zPos + roller.radius*Math.sin(Math.toRadians(currentAngle));
-					points.add(new Double[]{yPoint, zPoint, currentAngle + 180});
+					double pointDist = Math.hypot(yPoint - lastPoint[0], zPoint - lastPoint[1]);
+					double normalizedY = (yPoint - lastPoint[0])/pointDist;
+					double normalizedZ = (zPoint - lastPoint[1])/pointDist;
+					double rollerAngleSpan = 360D*((deltaDist - leftoverPathLength)/roller.circumference);
+					
+					points.add(new double[]{lastPoint[0] + deltaDist*normalizedY, lastPoint[1] + deltaDist*normalizedZ, lastPoint[2] + rollerAngleSpan});
+					currentAngle += rollerAngleSpan;
+					rollerPathLength -= (deltaDist - leftoverPathLength);
+					leftoverPathLength = 0;
 				}
 				
-				//If we have any leftover straight path, account for it here to keep spacing consistent.
-				//We will need to interpolate the point that the straight path would have gone to, but
-				//take our rotation angle into account.  Only do this if we have enough of a path to do so.
-				//If not, we should just skip this roller as we can't put any points on it.
-				if(deltaDist - leftoverPathLength < rollerPathLength){
-					if(leftoverPathLength > 0){
-						//Make a new point that's along a line from the last point and the start of this roller.
-						//Then increment currentAngle to account for the new point made.
-						//Add an angle relative to the point on the roller.
-						Double[] lastPoint = points.get(points.size() - 1);
-						yPoint = roller.yPos + roller.radius*Math.cos(Math.toRadians(currentAngle));
-						zPoint = roller.zPos + roller.radius*Math.sin(Math.toRadians(currentAngle));
-						double pointDist = Math.hypot(yPoint - lastPoint[0], zPoint - lastPoint[1]);
-						double normalizedY = (yPoint - lastPoint[0])/pointDist;
-						double normalizedZ = (zPoint - lastPoint[1])/pointDist;
-						double rollerAngleSpan = 360D*((deltaDist - leftoverPathLength)/roller.circumference);
-						
-						points.add(new Double[]{lastPoint[0] + deltaDist*normalizedY, lastPoint[1] + deltaDist*normalizedZ, lastPoint[2] + rollerAngleSpan});
-						currentAngle += rollerAngleSpan;
-						rollerPathLength -= (deltaDist - leftoverPathLength);
-						leftoverPathLength = 0;
-					}
-					
-					while(rollerPathLength > deltaDist){
-						//Go to and add the next point on the roller path.
-						rollerPathLength -= deltaDist;
-						currentAngle += 360D*(deltaDist/roller.circumference);
-						yPoint = roller.yPos + roller.radius*Math.cos(Math.toRadians(currentAngle));
-						zPoint = roller.zPos + roller.radius*Math.sin(Math.toRadians(currentAngle));
-						points.add(new Double[]{yPoint, zPoint, currentAngle + 180});
-					}
-					
-					//Done following roller.  Set angle to end angle.
-					currentAngle = roller.endAngle;
+				while(rollerPathLength > deltaDist){
+					//Go to and add the next point on the roller path.
+					rollerPathLength -= deltaDist;
+					currentAngle += 360D*(deltaDist/roller.circumference);
+					yPoint = roller.yPos + roller.radius*Math.cos(Math.toRadians(currentAngle));
+					zPoint = roller.zPos + roller.radius*Math.sin(Math.toRadians(currentAngle));
+					points.add(new double[]{yPoint, zPoint, currentAngle + 180});
 				}
 				
-				//If we have any leftover roller path, account for it here to keep spacing consistent.
-				//We may also have leftover straight path length if we didn't do anything on a roller.
-				//If we have roller length, make sure to offset it to account for the curvature of the roller.
-				//If we don't do this, the line won't start at the end of the prior roller.
-				//If we are on the last roller, we need to get the first roller to complete the loop.
-				//For points that start and end at an angle of around 0 (top of rollers) we add droop.
-				//This is a hyperbolic function, so we need to calculate the integral value to account for the path,
-				//as well as model the function for the actual points.  This requires formula-driven points rather than normalization.
-				TransformTreadRoller nextRoller = i == rollers.length - 1 ? rollers[0] : rollers[i + 1];
-				double straightPathLength = Math.hypot(nextRoller.startY - roller.endY, nextRoller.startZ - roller.endZ);
-				double extraPathLength = rollerPathLength + leftoverPathLength;
-				double normalizedY = (nextRoller.startY - roller.endY)/straightPathLength;
-				double normalizedZ = (nextRoller.startZ - roller.endZ)/straightPathLength;
-				if(treadPart.vehicleDefinition.treadDroopConstant > 0 && (roller.endAngle%360 < 10 || roller.endAngle%360 > 350) && (nextRoller.startAngle%360 < 10 || nextRoller.startAngle%360 > 350)){
-					double hyperbolicPathLength = 2D*treadPart.vehicleDefinition.treadDroopConstant*Math.sinh(straightPathLength/2D/treadPart.vehicleDefinition.treadDroopConstant);
-					double hyperbolicFunctionStep = deltaDist*straightPathLength/hyperbolicPathLength;
-					double hyperbolicPathMaxY = treadPart.vehicleDefinition.treadDroopConstant*Math.cosh((-straightPathLength/2D)/treadPart.vehicleDefinition.treadDroopConstant);
-					double hyperbolicFunctionCurrent = 0;
-					while(straightPathLength + extraPathLength - hyperbolicFunctionCurrent > hyperbolicFunctionStep){
-						//Go to and add the next point on the hyperbolic path.
-						if(extraPathLength > 0){
-							hyperbolicFunctionCurrent += extraPathLength*hyperbolicFunctionStep;
-							extraPathLength = 0;
-						}else{
-							hyperbolicFunctionCurrent += hyperbolicFunctionStep;
-						}
-						yPoint = roller.endY + normalizedY*hyperbolicFunctionCurrent + treadPart.vehicleDefinition.treadDroopConstant*Math.cosh((hyperbolicFunctionCurrent - straightPathLength/2D)/treadPart.vehicleDefinition.treadDroopConstant) - hyperbolicPathMaxY;
-						zPoint = roller.endZ + normalizedZ*hyperbolicFunctionCurrent;
-						points.add(new Double[]{yPoint, zPoint, roller.endAngle + 180 - Math.toDegrees(Math.asin((hyperbolicFunctionCurrent - straightPathLength/2D)/treadPart.vehicleDefinition.treadDroopConstant))});
+				//Done following roller.  Set angle to end angle.
+				currentAngle = roller.endAngle;
+			}
+			
+			//If we have any leftover roller path, account for it here to keep spacing consistent.
+			//We may also have leftover straight path length if we didn't do anything on a roller.
+			//If we have roller length, make sure to offset it to account for the curvature of the roller.
+			//If we don't do this, the line won't start at the end of the prior roller.
+			//If we are on the last roller, we need to get the first roller to complete the loop.
+			//For points that start and end at an angle of around 0 (top of rollers) we add droop.
+			//This is a hyperbolic function, so we need to calculate the integral value to account for the path,
+			//as well as model the function for the actual points.  This requires formula-driven points rather than normalization.
+			TransformTreadRoller nextRoller = i == rollers.length - 1 ? rollers[0] : rollers[i + 1];
+			double straightPathLength = Math.hypot(nextRoller.startY - roller.endY, nextRoller.startZ - roller.endZ);
+			double extraPathLength = rollerPathLength + leftoverPathLength;
+			double normalizedY = (nextRoller.startY - roller.endY)/straightPathLength;
+			double normalizedZ = (nextRoller.startZ - roller.endZ)/straightPathLength;
+			if(treadPart.vehicleDefinition.treadDroopConstant > 0 && (roller.endAngle%360 < 10 || roller.endAngle%360 > 350) && (nextRoller.startAngle%360 < 10 || nextRoller.startAngle%360 > 350)){
+				double hyperbolicPathLength = 2D*treadPart.vehicleDefinition.treadDroopConstant*Math.sinh(straightPathLength/2D/treadPart.vehicleDefinition.treadDroopConstant);
+				double hyperbolicFunctionStep = deltaDist*straightPathLength/hyperbolicPathLength;
+				double hyperbolicPathMaxY = treadPart.vehicleDefinition.treadDroopConstant*Math.cosh((-straightPathLength/2D)/treadPart.vehicleDefinition.treadDroopConstant);
+				double hyperbolicFunctionCurrent = 0;
+				while(straightPathLength + extraPathLength - hyperbolicFunctionCurrent > hyperbolicFunctionStep){
+					//Go to and add the next point on the hyperbolic path.
+					if(extraPathLength > 0){
+						hyperbolicFunctionCurrent += extraPathLength*hyperbolicFunctionStep;
+						extraPathLength = 0;
+					}else{
+						hyperbolicFunctionCurrent += hyperbolicFunctionStep;
 					}
-					leftoverPathLength = (straightPathLength - hyperbolicFunctionCurrent)/(straightPathLength/hyperbolicPathLength);
-				}else{
-					while(straightPathLength + extraPathLength > deltaDist){
-						//Go to and add the next point on the straight path.
-						if(extraPathLength > 0){
-							yPoint = roller.endY + normalizedY*(deltaDist - extraPathLength);
-							zPoint = roller.endZ + normalizedZ*(deltaDist - extraPathLength);
-							straightPathLength -= (deltaDist - extraPathLength);
-							extraPathLength = 0;
-						}else{
-							yPoint += normalizedY*deltaDist;
-							zPoint += normalizedZ*deltaDist;
-							straightPathLength -= deltaDist;
-						}
-						points.add(new Double[]{yPoint, zPoint, roller.endAngle + 180});
+					yPoint = roller.endY + normalizedY*hyperbolicFunctionCurrent + treadPart.vehicleDefinition.treadDroopConstant*Math.cosh((hyperbolicFunctionCurrent - straightPathLength/2D)/treadPart.vehicleDefinition.treadDroopConstant) - hyperbolicPathMaxY;
+					zPoint = roller.endZ + normalizedZ*hyperbolicFunctionCurrent;
+					points.add(new double[]{yPoint, zPoint, roller.endAngle + 180 - Math.toDegrees(Math.asin((hyperbolicFunctionCurrent - straightPathLength/2D)/treadPart.vehicleDefinition.treadDroopConstant))});
+				}
+				leftoverPathLength = (straightPathLength - hyperbolicFunctionCurrent)/(straightPathLength/hyperbolicPathLength);
+			}else{
+				while(straightPathLength + extraPathLength > deltaDist){
+					//Go to and add the next point on the straight path.
+					if(extraPathLength > 0){
+						yPoint = roller.endY + normalizedY*(deltaDist - extraPathLength);
+						zPoint = roller.endZ + normalizedZ*(deltaDist - extraPathLength);
+						straightPathLength -= (deltaDist - extraPathLength);
+						extraPathLength = 0;
+					}else{
+						yPoint += normalizedY*deltaDist;
+						zPoint += normalizedZ*deltaDist;
+						straightPathLength -= deltaDist;
 					}
-					leftoverPathLength = straightPathLength;
+					points.add(new double[]{yPoint, zPoint, roller.endAngle + 180});
 				}
+				leftoverPathLength = straightPathLength;
 			}
-			treadPoints.put(treadPart.vehicle.definition.systemName, points);
 		}
-				
-		//Render the treads along their points.
-		//We manually set point 0 here due to the fact it's a joint between two differing angles.
-		//We also need to translate to that point to start rendering as we're currently at 0,0,0.
-		//For each remaining point, we only translate the delta of the point.
-		float treadLinearPosition = (float) ((Math.abs(treadPart.angularPosition) + treadPart.angularVelocity*partialTicks)*treadPart.vehicle.SPEED_FACTOR);
-		float treadMovementPercentage = treadLinearPosition%treadPart.definition.ground.spacing/treadPart.definition.ground.spacing;
-		if(treadPart.angularPosition < 0){
-			treadMovementPercentage = 1 - treadMovementPercentage;
+		return points;
+	}
+	
+	/**
+	 *  Bakes the tread links along the passed-in points into a single buffer.  The buffer has one object for each
+	 *  animation step, with all links moved that step's portion of the way to their next point.  This lets us render
+	 *  a tread with one draw call rather than one call and set of matrix operations per link.  The transforms are the
+	 *  same as the ones the links used to get from OpenGL, they are just applied to the vertices once here.
+	 */
+	private static VertexBufferModel bakeTreadBuffer(List<double[]> points, Map<String, float[][]> linkModel){
+		int linkVertexCount = 0;
+		for(float[][] vertices : linkModel.values()){
+			linkVertexCount += vertices.length;
 		}
-		Double[] point;
-		Double[] nextPoint;
-		double yDelta;
-		double zDelta;
-		double angleDelta;
-		GL11.glPushMatrix();
-		for(int i=0; i<points.size() - 1; ++i){
-			//Update variables.
-			//If we're at the last point, set the next point to the first point.
-			point = points.get(i);
-			if(i == points.size() - 1){
-				nextPoint = points.get(0);
-			}else{
-				nextPoint = points.get(i + 1);
-			}
-			yDelta = nextPoint[0] - point[0];
-			zDelta = nextPoint[1] - point[1];
-			angleDelta = nextPoint[2] - point[2];
-			
-			//If we're at the first point, do initial translation.
-			if(i == 0){
-				GL11.glTranslated(0, point[0], point[1]);
-			}
-			
-			//If our angle delta is greater than 180, we can assume that we're inverted.
-			//This happens when we cross the 360 degree rotation barrier.
-			if(angleDelta > 180){
-				angleDelta -= 360;
-			}else if(angleDelta < -180){
-				angleDelta += 360;
-			}
-			
-			//If there's no rotation to the point, and no delta between points, don't do rotation.
-			//That's an expensive operation due to sin and cos operations.
-			//Do note that the model needs to be flipped 180 on the X-axis due to all our points
-			//assuming a YZ coordinate system with 0 degrees rotation being in +Y.
-			//This is why 180 is added to all points cached in the operations above.
-			if(point[2] != 0 || angleDelta != 0){
-				//We can't use a running rotation here as we'll end up translating in the rotated
-				//coordinate system.  To combat this, we translate like normal, but then push a
-				//stack and rotate prior to rendering.  This keeps us from having to do another
-				//rotation to get the old coordinate system back.
-				GL11.glPushMatrix();
-				GL11.glTranslated(0, yDelta*treadMovementPercentage, zDelta*treadMovementPercentage);
-				GL11.glRotated(point[2] + angleDelta*treadMovementPercentage, 1, 0, 0);
-				GL11.glCallList(displayListIndex);
-				GL11.glPopMatrix();
-				GL11.glTranslated(0, yDelta, zDelta);
-			}else{
-				//Translate to the current position of the tread based on the percent it has moved.
-				//This is determined by partial ticks and actual tread position.
-				//Once there, render the tread.  Then translate the remainder of the way to prepare
-				//to render the next tread.
-				GL11.glTranslated(0, yDelta*treadMovementPercentage, zDelta*treadMovementPercentage);
-				GL11.glCallList(displayListIndex);
-				GL11.glTranslated(0, yDelta*(1 - treadMovementPercentage), zDelta*(1 - treadMovementPercentage));
+		
+		Map<String, float[][]> stepObjects = new HashMap<String, float[][]>();
+		for(int step=0; step<TREAD_STEPS; ++step){
+			double movementPercentage = step/(double) TREAD_STEPS;
+			float[][] stepVertices = new float[Math.max(points.size() - 1, 0)*linkVertexCount][];
+			int vertexIndex = 0;
+			for(int i=0; i<points.size() - 1; ++i){
+				double[] point = points.get(i);
+				double[] nextPoint = points.get(i + 1);
+				
+				//If our angle delta is greater than 180, we can assume that we're inverted.
+				//This happens when we cross the 360 degree rotation barrier.
+				double angleDelta = nextPoint[2] - point[2];
+				if(angleDelta > 180){
+					angleDelta -= 360;
+				}else if(angleDelta < -180){
+					angleDelta += 360;
+				}
+				
+				//Move the link along the path, and rotate it about the X-axis.
+				//Normals get rotated too, but don't get moved.
+				double linkY = point[0] + (nextPoint[0] - point[0])*movementPercentage;
+				double linkZ = point[1] + (nextPoint[1] - point[1])*movementPercentage;
+				double linkAngle = Math.toRadians(point[2] + angleDelta*movementPercentage);
+				double cos = Math.cos(linkAngle);
+				double sin = Math.sin(linkAngle);
+				for(float[][] vertices : linkModel.values()){
+					for(float[] vertex : vertices){
+						float[] bakedVertex = vertex.clone();
+						bakedVertex[1] = (float) (linkY + vertex[1]*cos - vertex[2]*sin);
+						bakedVertex[2] = (float) (linkZ + vertex[1]*sin + vertex[2]*cos);
+						bakedVertex[6] = (float) (vertex[6]*cos - vertex[7]*sin);
+						bakedVertex[7] = (float) (vertex[6]*sin + vertex[7]*cos);
+						stepVertices[vertexIndex++] = bakedVertex;
+					}
+				}
 			}
+			stepObjects.put(TREAD_STEP_NAMES[step], stepVertices);
 		}
-		GL11.glPopMatrix();
+		return new VertexBufferModel(stepObjects);
 	}
 	
 	/**
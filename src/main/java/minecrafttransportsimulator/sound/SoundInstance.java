@@ -23,7 +23,13 @@ public class SoundInstance{
 	public int sourceIndex;
 	public float volume = 1.0F;
 	public float pitch = 1.0F;
+	/**Factor for how important this sound is compared to others when there aren't enough voices.  See {@link VoiceManager}.**/
+	public float priority = 1.0F;
 	public boolean stopSound = false;
+	/**Audibility score from the last time voices were assigned.**/
+	public float audibility;
+	/**True if this sound doesn't have a voice.  Sounds start out virtual until they are given one.**/
+	public boolean virtual = true;
 	
 	public SoundInstance(ISoundProvider provider, String soundName){
 		this(provider, soundName, false);
@@ -0,0 +1,101 @@
+package minecrafttransportsimulator.sound;
+
+import java.nio.FloatBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import minecrafttransportsimulator.mcinterface.IInterfaceAudio;
+
+/**Class that decides which sounds get to use the limited number of sources (voices) in the audio system.
+ * Every sound is given an audibility score based on how loud it will be to the listener and its priority.
+ * The sounds with the highest scores get a voice, while the rest are set to be virtual.  Virtual sounds keep
+ * playing as far as their providers are concerned, but don't take up a source in the {@link IInterfaceAudio}
+ * system.  Once they get a high enough score they are given a voice again and resume playing.  Sounds that
+ * are too quiet to be heard are always virtual, even if there are free voices.
+ * <br><br>
+ * This class only sets flags on the sounds passed-in to it.  It's up to the audio system to actually
+ * give and take sources based on those flags.
+ *
+ * @author don_bruce
+ */
+public final class VoiceManager{
+	/**Audibility below which sounds are made virtual.**/
+	public static final float MIN_AUDIBILITY = 0.01F;
+	/**Factor applied to sounds that already have a voice.  Prevents sounds with similar scores from swapping voices every tick.**/
+	public static final float VOICED_BONUS = 1.1F;
+	/**Factor applied to sounds that don't loop.  These are short, so losing them is far more noticeable than a loop.**/
+	public static final float ONE_SHOT_PRIORITY = 2.0F;
+	/**Factor applied to sounds from the provider the listener is riding.**/
+	public static final float RIDING_PRIORITY = 4.0F;
+	
+	private static final List<SoundInstance> sortedSounds = new ArrayList<SoundInstance>();
+	private static final Comparator<SoundInstance> audibilityComparator = new Comparator<SoundInstance>(){
+		@Override
+		public int compare(SoundInstance sound1, SoundInstance sound2){
+			return Float.compare(sound2.audibility, sound1.audibility);
+		}
+	};
+	
+	/**
+	 *  Scores all passed-in sounds and sets their virtual state.  At most voiceCount sounds
+	 *  will be set to not be virtual.  Radio sounds are never virtual, as their buffers are
+	 *  streamed, so they are always given the highest score.  The listener provider is the
+	 *  provider the listener is riding, or null if they aren't riding one.
+	 */
+	public static void assignVoices(List<SoundInstance> sounds, int voiceCount, double listenerX, double listenerY, double listenerZ, ISoundProvider listenerProvider){
+		sortedSounds.clear();
+		for(SoundInstance sound : sounds){
+			if(!sound.stopSound){
+				sound.audibility = getAudibility(sound, listenerX, listenerY, listenerZ, listenerProvider);
+				sortedSounds.add(sound);
+			}
+		}
+		Collections.sort(sortedSounds, audibilityComparator);
+		for(int i=0; i<sortedSounds.size(); ++i){
+			SoundInstance sound = sortedSounds.get(i);
+			sound.virtual = sound.radio == null && (i >= voiceCount || sound.audibility < MIN_AUDIBILITY);
+		}
+		sortedSounds.clear();
+	}
+	
+	/**
+	 *  Returns the audibility score of the passed-in sound.  This is the gain the sound will
+	 *  have at the listener's position, multiplied by the priority of the sound.
+	 */
+	public static float getAudibility(SoundInstance sound, double listenerX, double listenerY, double listenerZ, ISoundProvider listenerProvider){
+		if(sound.radio != null){
+			return Float.MAX_VALUE;
+		}
+		
+		//Get the gain using OpenAL's default inverse distance clamped model.  The reference distance is 1.
+		FloatBuffer position = sound.provider.getProviderPosition();
+		double deltaX = position.get(0) - listenerX;
+		double deltaY = position.get(1) - listenerY;
+		double deltaZ = position.get(2) - listenerZ;
+		double distance = Math.sqrt(deltaX*deltaX + deltaY*deltaY + deltaZ*deltaZ);
+		float audibility = (float) (sound.volume/(1 + getRolloffFactor(sound)*Math.max(distance - 1, 0)));
+		
+		//Now apply priorities.
+		audibility *= sound.priority;
+		if(!sound.looping){
+			audibility *= ONE_SHOT_PRIORITY;
+		}
+		if(sound.provider.equals(listenerProvider)){
+			audibility *= RIDING_PRIORITY;
+		}
+		if(!sound.virtual){
+			audibility *= VOICED_BONUS;
+		}
+		return audibility;
+	}
+	
+	/**
+	 *  Returns the rolloff factor for the passed-in sound.  This is based on pitch, as
+	 *  higher-pitched sounds don't carry as far as lower-pitched ones.
+	 */
+	public static float getRolloffFactor(SoundInstance sound){
+		return 1F/(0.25F + 3*sound.pitch);
+	}
+}
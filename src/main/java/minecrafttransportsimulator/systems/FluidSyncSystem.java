@@ -0,0 +1,66 @@
+package minecrafttransportsimulator.systems;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import minecrafttransportsimulator.baseclasses.FluidTank;
+import minecrafttransportsimulator.mcinterface.IWrapperPlayer;
+import minecrafttransportsimulator.packets.instances.PacketFluidTankChange;
+
+/**This class handles syncing server fluid tank levels to clients.  Rather than sending a packet
+ * every time a tank is filled or drained, tanks are marked as dirty when they change.  Dirty tanks
+ * are sent to the players tracking their owner once they have been dirty for the configured number
+ * of ticks, so a running engine sends one update every so often rather than one every tick.  If the
+ * fluid in a tank changes, such as when it is first filled or runs dry, it is sent at the end of the
+ * tick, as clients use the fluid for things like fuel checks and rendering.
+ * <br><br>
+ * Updates contain the full state of the tank, so changes between updates are combined.  Clients
+ * predict things like engine fuel usage on their own, so they stay close to the server between updates.
+ *
+ * @author don_bruce
+ */
+public final class FluidSyncSystem{
+	private static final Map<FluidTank, int[]> dirtyTanks = new LinkedHashMap<FluidTank, int[]>();
+	private static final int TICKS_DIRTY = 0;
+	private static final int SEND_NOW = 1;
+	
+	/**
+	 *  Marks the passed-in tank as having changed.  If sendNow is true, the tank will be sent
+	 *  at the end of this tick rather than waiting for the sync interval.
+	 */
+	public static void markDirty(FluidTank tank, boolean sendNow){
+		int[] state = dirtyTanks.get(tank);
+		if(state == null){
+			state = new int[2];
+			dirtyTanks.put(tank, state);
+		}
+		if(sendNow){
+			state[SEND_NOW] = 1;
+		}
+	}
+	
+	/**
+	 *  Sends all tanks that are due for an update to the players tracking their owners.
+	 *  This should be called once at the end of every server tick.
+	 */
+	public static void sendUpdates(){
+		int syncInterval = ConfigSystem.configObject.general.fluidSyncInterval.value;
+		Iterator<Entry<FluidTank, int[]>> iterator = dirtyTanks.entrySet().iterator();
+		while(iterator.hasNext()){
+			Entry<FluidTank, int[]> tankEntry = iterator.next();
+			FluidTank tank = tankEntry.getKey();
+			int[] state = tankEntry.getValue();
+			if(!tank.isOwnerValid()){
+				iterator.remove();
+			}else if(state[SEND_NOW] == 1 || ++state[TICKS_DIRTY] >= syncInterval){
+				PacketFluidTankChange packet = new PacketFluidTankChange(tank);
+				for(IWrapperPlayer player : tank.getPlayersTracking()){
+					PacketDispatchSystem.sendToPlayer(packet, player);
+				}
+				iterator.remove();
+			}
+		}
+	}
+}
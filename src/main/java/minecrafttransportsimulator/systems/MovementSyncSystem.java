@@ -0,0 +1,148 @@
+package minecrafttransportsimulator.systems;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+
+import minecrafttransportsimulator.baseclasses.Point3d;
+import minecrafttransportsimulator.mcinterface.IWrapperPlayer;
+import minecrafttransportsimulator.packets.instances.PacketVehicleServerMovement;
+import minecrafttransportsimulator.packets.instances.PacketVehicleServerMovement.MovementUpdate;
+import minecrafttransportsimulator.vehicles.main.EntityVehicleF_Physics;
+
+/**This class handles syncing server vehicle movement to clients.  Rather than sending a packet
+ * to every player every time a vehicle moves, vehicles are marked as dirty when they move, and
+ * at the end of the server tick all dirty vehicles are batched into a single packet per player.
+ * Only players that are tracking the vehicle get it in their batch, so vehicles far away from
+ * a player don't cost that player any bandwidth.  These packets are queued with the
+ * {@link PacketDispatchSystem}, so they go out in the same batch as other packets for the
+ * player, and are counted in its log along with them.
+ * <br><br>
+ * Movement is normally sent as deltas quantized to shorts.  The quantization error isn't lost,
+ * as the amount sent is tracked and the next delta is taken from that rather than the actual
+ * movement.  Every {@link #KEYFRAME_INTERVAL} updates, or if the delta is too large to fit,
+ * a keyframe with the full-precision server deltas is sent instead to make sure clients
+ * that joined mid-movement end up in the same spot as the server.
+ *
+ * @author don_bruce
+ */
+public final class MovementSyncSystem{
+	/**Motion deltas are sent in units of 1/MOTION_SCALE blocks.**/
+	public static final double MOTION_SCALE = 2048D;
+	/**Rotation deltas are sent in units of 1/ROTATION_SCALE degrees.**/
+	public static final double ROTATION_SCALE = 256D;
+	/**Number of updates a vehicle sends between keyframes.**/
+	private static final int KEYFRAME_INTERVAL = 100;
+	
+	private static final Set<EntityVehicleF_Physics> dirtyVehicles = new LinkedHashSet<EntityVehicleF_Physics>();
+	private static final Map<EntityVehicleF_Physics, SyncState> syncStates = new HashMap<EntityVehicleF_Physics, SyncState>();
+	
+	/**
+	 *  Marks the passed-in vehicle as having moved this tick.  The passed-in points are the
+	 *  server deltas of the vehicle.  These should be the same objects every call, as they are
+	 *  referenced until the vehicle is removed to compute what needs to be sent to clients.
+	 */
+	public static void markDirty(EntityVehicleF_Physics vehicle, Point3d serverDeltaM, Point3d serverDeltaR){
+		if(!syncStates.containsKey(vehicle)){
+			syncStates.put(vehicle, new SyncState(serverDeltaM, serverDeltaR));
+		}
+		dirtyVehicles.add(vehicle);
+	}
+	
+	/**
+	 *  Sends all pending movement updates to the players tracking the vehicles they are for.
+	 *  This should be called once at the end of every server tick.
+	 */
+	public static void sendUpdates(){
+		//Remove states for vehicles that are no longer in the world.
+		Iterator<Entry<EntityVehicleF_Physics, SyncState>> iterator = syncStates.entrySet().iterator();
+		while(iterator.hasNext()){
+			if(!iterator.next().getKey().isValid){
+				iterator.remove();
+			}
+		}
+		
+		if(dirtyVehicles.isEmpty()){
+			return;
+		}
+		
+		//Create the updates for all dirty vehicles and sort them into per-player batches.
+		Map<IWrapperPlayer, List<MovementUpdate>> playerUpdates = new HashMap<IWrapperPlayer, List<MovementUpdate>>();
+		for(EntityVehicleF_Physics vehicle : dirtyVehicles){
+			if(vehicle.isValid){
+				MovementUpdate update = syncStates.get(vehicle).createUpdate(vehicle);
+				for(IWrapperPlayer player : vehicle.world.getPlayersTracking(vehicle)){
+					List<MovementUpdate> updates = playerUpdates.get(player);
+					if(updates == null){
+						updates = new ArrayList<MovementUpdate>();
+						playerUpdates.put(player, updates);
+					}
+					updates.add(update);
+				}
+			}
+		}
+		dirtyVehicles.clear();
+		
+		//Send the batches.
+		for(Entry<IWrapperPlayer, List<MovementUpdate>> playerEntry : playerUpdates.entrySet()){
+			PacketDispatchSystem.sendToPlayer(new PacketVehicleServerMovement(playerEntry.getValue()), playerEntry.getKey());
+		}
+	}
+	
+	/**
+	 *  Class that holds the sync state for a single vehicle.  This tracks the
+	 *  server deltas that have been sent to clients, which may differ slightly from the
+	 *  actual server deltas due to quantization.
+	 */
+	private static class SyncState{
+		private final Point3d serverDeltaM;
+		private final Point3d serverDeltaR;
+		private final Point3d syncedDeltaM;
+		private final Point3d syncedDeltaR;
+		private int updatesSinceKeyframe;
+		
+		private SyncState(Point3d serverDeltaM, Point3d serverDeltaR){
+			this.serverDeltaM = serverDeltaM;
+			this.serverDeltaR = serverDeltaR;
+			this.syncedDeltaM = serverDeltaM.copy();
+			this.syncedDeltaR = serverDeltaR.copy();
+		}
+		
+		private MovementUpdate createUpdate(EntityVehicleF_Physics vehicle){
+			if(++updatesSinceKeyframe < KEYFRAME_INTERVAL){
+				int motionX = quantize(serverDeltaM.x - syncedDeltaM.x, MOTION_SCALE);
+				int motionY = quantize(serverDeltaM.y - syncedDeltaM.y, MOTION_SCALE);
+				int motionZ = quantize(serverDeltaM.z - syncedDeltaM.z, MOTION_SCALE);
+				int rotationX = quantize(serverDeltaR.x - syncedDeltaR.x, ROTATION_SCALE);
+				int rotationY = quantize(serverDeltaR.y - syncedDeltaR.y, ROTATION_SCALE);
+				int rotationZ = quantize(serverDeltaR.z - syncedDeltaR.z, ROTATION_SCALE);
+				if(fitsInShort(motionX) && fitsInShort(motionY) && fitsInShort(motionZ) && fitsInShort(rotationX) && fitsInShort(rotationY) && fitsInShort(rotationZ)){
+					Point3d motion = new Point3d(motionX/MOTION_SCALE, motionY/MOTION_SCALE, motionZ/MOTION_SCALE);
+					Point3d rotation = new Point3d(rotationX/ROTATION_SCALE, rotationY/ROTATION_SCALE, rotationZ/ROTATION_SCALE);
+					syncedDeltaM.add(motion);
+					syncedDeltaR.add(rotation);
+					return new MovementUpdate(vehicle.lookupID, false, motion, rotation);
+				}
+			}
+			
+			//Either we are due for a keyframe, or the delta was too large.  Send the full deltas.
+			updatesSinceKeyframe = 0;
+			syncedDeltaM.setTo(serverDeltaM);
+			syncedDeltaR.setTo(serverDeltaR);
+			return new MovementUpdate(vehicle.lookupID, true, serverDeltaM.copy(), serverDeltaR.copy());
+		}
+		
+		private static int quantize(double value, double scale){
+			return (int) Math.round(value*scale);
+		}
+		
+		private static boolean fitsInShort(int value){
+			return value >= Short.MIN_VALUE && value <= Short.MAX_VALUE;
+		}
+	}
+}
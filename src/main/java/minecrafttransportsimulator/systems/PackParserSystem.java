@@ -47,6 +47,9 @@ import minecrafttransportsimulator.jsondefs.JSONVehicle.VehiclePart;
 import minecrafttransportsimulator.jsondefs.JSONVehicle.VehiclePart.ExhaustObject;
 import minecrafttransportsimulator.jsondefs.JSONVehicle.VehicleRendering;
 import minecrafttransportsimulator.mcinterface.MasterLoader;
+import minecrafttransportsimulator.packloading.PackDefinitionLoader;
+import minecrafttransportsimulator.packloading.PackDefinitionLoader.LoadedDefinition;
+import minecrafttransportsimulator.packloading.PackDefinitionLoader.PackLoadRequest;
 import minecrafttransportsimulator.packloading.PackResourceLoader.ItemClassification;
 import minecrafttransportsimulator.packloading.PackResourceLoader.PackStructure;
 
@@ -115,6 +118,7 @@ public final class PackParserSystem{
      */
     public static void parseAllPacks(){
     	List<String> packIDs = new ArrayList<String>(packMap.keySet());
+    	List<PackLoadRequest> loadRequests = new ArrayList<PackLoadRequest>();
     	Iterator<String> iterator = packMap.keySet().iterator();
     	while(iterator.hasNext()){
     		JSONPack packDef = packMap.get(iterator.next());
@@ -163,135 +167,101 @@ public final class PackParserSystem{
     			}
     		}
     		
-    		//Load the pack components into the game.
-    		//We iterate over all the sub-folders we found from the packDef checks.
+    		//Create the load requests for the pack components.
+    		//We create one for each of the sub-folders we found from the packDef checks.
     		PackStructure structure = PackStructure.values()[packDef.fileStructure];
     		for(String subDirectory : validSubDirectories){
 	    		String assetPathPrefix = "assets/" + packDef.packID + "/";
 				if(!subDirectory.isEmpty()){
 					assetPathPrefix += subDirectory + "/";
 				}
-				
-				try{
-		    		ZipFile jarFile = new ZipFile(packJarMap.get(packDef.packID));
-					Enumeration<? extends ZipEntry> entries = jarFile.entries();
-					List<AItemPack<?>> packItems = new ArrayList<AItemPack<?>>();
-					while(entries.hasMoreElements()){
-						//Get next entry and path.
-						ZipEntry entry = entries.nextElement();
-						String entryFullPath = entry.getName();
-						if(entryFullPath.startsWith(assetPathPrefix) && entryFullPath.endsWith(".json")){
-							//JSON is in correct folder.  Get path properties and ensure they match our specs.
-							//Need the asset folder structure between the main prefix and the asset itself.
-							//This lets us know what asset we need to create as all assets are in their own folders.
-							String fileName = entryFullPath.substring(entryFullPath.lastIndexOf('/') + 1);
-							String assetPath = entryFullPath.substring(assetPathPrefix.length(), entryFullPath.substring(0, entryFullPath.length() - fileName.length()).lastIndexOf("/") + 1);
-							if(!structure.equals(PackStructure.MODULAR)){
-								//Need to trim the jsondefs folder to get correct sub-folder of jsondefs data.
-								//Modular structure does not have a jsondefs folder, so we don't need to trim it off for that.
-								assetPath = assetPath.substring("jsondefs/".length());
-							}
-							
-							//Check to make sure json isn't an item JSON or our pack definition.
-							if(!fileName.equals("packdefinition.json") && (structure.equals(PackStructure.MODULAR) ? !fileName.endsWith("_item.json") : entryFullPath.contains("jsondefs"))){
-								//Get JSON class type to use with GSON system.
-								String jsonType = assetPath.substring(0, assetPath.indexOf("/"));
-								Class<? extends AJSONItem<?>> jsonClass;
-								switch(jsonType){
-									case("vehicles") : jsonClass = JSONVehicle.class; break;
-									case("parts") : jsonClass = JSONPart.class; break;
-									case("instruments") : jsonClass = JSONInstrument.class; break;
-									case("poles") : jsonClass = JSONPoleComponent.class; break;
-									case("decors") : jsonClass = JSONDecor.class; break;
-									case("items") : jsonClass = JSONItem.class; break;
-									case("booklets") : jsonClass = JSONBooklet.class; break;
-									default : {
-										MasterLoader.coreInterface.logError("ERROR: Could not determine what type of JSON to create from: " + jsonType + " for asset: " + fileName);
-										continue;
-									}
-								}
-								
-								//Create the JSON instance.
-								AJSONItem<?> definition;
-								try{
-									definition = packParser.fromJson(new InputStreamReader(jarFile.getInputStream(entry), "UTF-8"), jsonClass);
-									performLegacyCompats(definition);
-								}catch(Exception e){
-									MasterLoader.coreInterface.logError("ERROR: Could not parse: " + packDef.packID + ":" + fileName);
-						    		MasterLoader.coreInterface.logError(e.getMessage());
-						    		continue;
-								}
-								
-								//Remove any trailing path information from the assetPath if we are in default mode.
-								//This prevents us from referencing sub-folders.  Only the main classification folder will remain.
-								if(structure.equals(PackStructure.DEFAULT)){
-									assetPath = assetPath.substring(0, assetPath.indexOf("/") + 1);
-								}
-								
-								//Create all required items.
-								if(definition instanceof AJSONMultiModelProvider){
-									for(AJSONMultiModelProvider<?>.SubDefinition subDefinition : ((AJSONMultiModelProvider<?>) definition).definitions){
-							    		try{
-							    			if(subDefinition.extraMaterials != null){
-							    				AItemPack<?> item;
-							    				switch(jsonType){
-													case("vehicles") : item = new ItemVehicle((JSONVehicle) definition, subDefinition.subName); break;
-													case("parts") : item = new ItemPart((JSONPart) definition, subDefinition.subName); break;
-													default : {
-														throw new IllegalArgumentException("ERROR: No corresponding sub-definable item class was found for: " + jsonType + " for asset: " + fileName);
-													}
-												}
-							    				packItems.add(setupItem(item, packDef.packID, fileName.substring(0, fileName.length() - ".json".length()), subDefinition.subName, assetPath));
-							    			}else{
-							    				throw new NullPointerException();
-							    			}
-							    		}catch(Exception e){
-							    			throw new NullPointerException("Unable to parse definition #" + (((AJSONMultiModelProvider<?>) definition).definitions.indexOf(subDefinition) + 1) + " due to a formatting error.");
-							    		}
-						    		}
-								}else{
-									AItemPack<?> item;
+				loadRequests.add(new PackLoadRequest(packDef.packID, packJarMap.get(packDef.packID), assetPathPrefix, structure));
+    		}
+    	}
+    	
+    	//Load all the definitions.  This is done in parallel, but the requests come back
+    	//in the order we made them, so the items are still registered in the same order every load.
+    	PackDefinitionLoader.loadDefinitions(loadRequests, MasterLoader.gameDirectory != null ? new File(MasterLoader.gameDirectory, "config" + File.separator + MasterLoader.MODID + "_packcache") : null);
+    	
+    	//Load the pack components into the game.
+    	for(PackLoadRequest loadRequest : loadRequests){
+    		for(String error : loadRequest.errors){
+    			MasterLoader.coreInterface.logError(error);
+    		}
+    		if(loadRequest.fault != null){
+    			MasterLoader.coreInterface.logError("ERROR: Could not start parsing of pack: " + loadRequest.packID);
+				loadRequest.fault.printStackTrace();
+				continue;
+    		}
+    		
+			try{
+				List<AItemPack<?>> packItems = new ArrayList<AItemPack<?>>();
+				for(LoadedDefinition loadedDefinition : loadRequest.definitions){
+					AJSONItem<?> definition = loadedDefinition.definition;
+					String jsonType = loadedDefinition.jsonType;
+					String fileName = loadedDefinition.fileName;
+					String assetPath = loadedDefinition.assetPath;
+					
+					//Create all required items.
+					if(definition instanceof AJSONMultiModelProvider){
+						for(AJSONMultiModelProvider<?>.SubDefinition subDefinition : ((AJSONMultiModelProvider<?>) definition).definitions){
+				    		try{
+				    			if(subDefinition.extraMaterials != null){
+				    				AItemPack<?> item;
 				    				switch(jsonType){
-										case("instruments") : item = new ItemInstrument((JSONInstrument) definition); break;
-										case("poles") : item = ((JSONPoleComponent) definition).general.type.equals("core") ? new ItemPole((JSONPoleComponent) definition) : new ItemPoleComponent((JSONPoleComponent) definition); break;
-										case("decors") : item = new ItemDecor((JSONDecor) definition); break;
-										case("items") : item = new ItemItem((JSONItem) definition); break;
-										case("booklets") : item = new ItemBooklet((JSONBooklet) definition); break;
+										case("vehicles") : item = new ItemVehicle((JSONVehicle) definition, subDefinition.subName); break;
+										case("parts") : item = new ItemPart((JSONPart) definition, subDefinition.subName); break;
 										default : {
 											throw new IllegalArgumentException("ERROR: No corresponding sub-definable item class was found for: " + jsonType + " for asset: " + fileName);
 										}
 									}
-				    				packItems.add(setupItem(item, packDef.packID, fileName.substring(0, fileName.length() - ".json".length()), "", assetPath));
-								}
+				    				packItems.add(setupItem(item, loadRequest.packID, fileName.substring(0, fileName.length() - ".json".length()), subDefinition.subName, assetPath));
+				    			}else{
+				    				throw new NullPointerException();
+				    			}
+				    		}catch(Exception e){
+				    			throw new NullPointerException("Unable to parse definition #" + (((AJSONMultiModelProvider<?>) definition).definitions.indexOf(subDefinition) + 1) + " due to a formatting error.");
+				    		}
+			    		}
+					}else{
+						AItemPack<?> item;
+	    				switch(jsonType){
+							case("instruments") : item = new ItemInstrument((JSONInstrument) definition); break;
+							case("poles") : item = ((JSONPoleComponent) definition).general.type.equals("core") ? new ItemPole((JSONPoleComponent) definition) : new ItemPoleComponent((JSONPoleComponent) definition); break;
+							case("decors") : item = new ItemDecor((JSONDecor) definition); break;
+							case("items") : item = new ItemItem((JSONItem) definition); break;
+							case("booklets") : item = new ItemBooklet((JSONBooklet) definition); break;
+							default : {
+								throw new IllegalArgumentException("ERROR: No corresponding sub-definable item class was found for: " + jsonType + " for asset: " + fileName);
 							}
 						}
+	    				packItems.add(setupItem(item, loadRequest.packID, fileName.substring(0, fileName.length() - ".json".length()), "", assetPath));
 					}
-					
-					//Done parsing.  Close the jarfile, sort the items we parsed, and send the to the loader.
-					jarFile.close();
-					packItems.sort(new Comparator<AItemPack<?>>(){
-						@Override
-						public int compare(AItemPack<?> itemA, AItemPack<?> itemB){
-							String totalAName = itemA.definition.prefixFolders + itemA.definition.systemName;
-							if(itemA instanceof AItemSubTyped){
-								totalAName += ((AItemSubTyped) itemA).subName;
-							}
-							String totalBName = itemA.definition.prefixFolders + itemB.definition.systemName;
-							if(itemB instanceof AItemSubTyped){
-								totalBName += ((AItemSubTyped) itemB).subName;
-							}
-							return totalAName.compareTo(totalBName);
+				}
+				
+				//Done parsing.  Sort the items we parsed, and send the to the loader.
+				packItems.sort(new Comparator<AItemPack<?>>(){
+					@Override
+					public int compare(AItemPack<?> itemA, AItemPack<?> itemB){
+						String totalAName = itemA.definition.prefixFolders + itemA.definition.systemName;
+						if(itemA instanceof AItemSubTyped){
+							totalAName += ((AItemSubTyped) itemA).subName;
+						}
+						String totalBName = itemA.definition.prefixFolders + itemB.definition.systemName;
+						if(itemB instanceof AItemSubTyped){
+							totalBName += ((AItemSubTyped) itemB).subName;
 						}
-						
-					});
-					for(AItemPack<?> item : packItems){
-						MasterInterface.createItem(item);
+						return totalAName.compareTo(totalBName);
 					}
-				}catch(Exception e){
-					MasterLoader.coreInterface.logError("ERROR: Could not start parsing of pack: " + packDef.packID);
-					e.printStackTrace();
+					
+				});
+				for(AItemPack<?> item : packItems){
+					MasterInterface.createItem(item);
 				}
-    		}
+			}catch(Exception e){
+				MasterLoader.coreInterface.logError("ERROR: Could not start parsing of pack: " + loadRequest.packID);
+				e.printStackTrace();
+			}
     	}
     }
 	
@@ -429,7 +399,7 @@ public final class PackParserSystem{
      * Perform legacy compats.  This is used to allow older packs to remain compatible.
      * Legacy compats may be removed ONLY when older packs have updated!
      */
-    private static <JSONDefinition extends AJSONItem<?>> void performLegacyCompats(JSONDefinition definition){
+    public static <JSONDefinition extends AJSONItem<?>> void performLegacyCompats(JSONDefinition definition){
     	if(definition instanceof JSONPart){
     		JSONPart partDef = (JSONPart) definition;
     		//If we are a part without a definition, add one so we don't crash on other systems.
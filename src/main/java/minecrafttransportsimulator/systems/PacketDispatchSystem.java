@@ -0,0 +1,185 @@
+package minecrafttransportsimulator.systems;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import minecrafttransportsimulator.mcinterface.IWrapperPlayer;
+import minecrafttransportsimulator.mcinterface.MasterLoader;
+import minecrafttransportsimulator.packets.components.APacketBase;
+import minecrafttransportsimulator.packets.instances.PacketBatch;
+import minecrafttransportsimulator.vehicles.main.AEntityBase;
+
+/**This class handles sending packets from the server to the players that need them.  Rather than
+ * sending every packet to every player as soon as it is created, packets are queued for only the
+ * players tracking the entity they are for.  At the end of the server tick, all packets queued for
+ * a player are sent to them as a single {@link PacketBatch}.  This saves a lot of overhead when
+ * many vehicles are changing state at once, as each packet otherwise has to go through the
+ * network pipeline and get its own frame.  Packets are only encoded once per tick, no matter
+ * how many players they are sent to.  All packets for an entity should be sent through this
+ * system, as packets sent directly would arrive before any packets queued earlier in the tick.
+ * <br><br>
+ * Effect-only packets may be sent with {@link #sendToNearbyPlayers(APacketBase, AEntityBase)},
+ * which further limits the players to those within the configured range of the entity.
+ * Packets that change the state of an entity should NOT be sent this way, as players
+ * outside the range would end up with a different state than the server.
+ * <br><br>
+ * If enabled in the config, the amount of data sent is logged periodically, along with
+ * the number of packets and bytes sent for each packet class since the server started.
+ *
+ * @author don_bruce
+ */
+public final class PacketDispatchSystem{
+	private static final Map<IWrapperPlayer, List<APacketBase>> queuedPackets = new LinkedHashMap<IWrapperPlayer, List<APacketBase>>();
+	private static final Map<Class<? extends APacketBase>, PacketCounter> packetCounters = new HashMap<Class<? extends APacketBase>, PacketCounter>();
+	
+	private static int ticksSinceLog;
+	private static long bytesSinceLog;
+	private static int batchesSinceLog;
+	
+	/**
+	 *  Queues the passed-in packet to be sent to all players tracking the passed-in entity.
+	 *  Only valid on servers.
+	 */
+	public static void sendToTrackingPlayers(APacketBase packet, AEntityBase entity){
+		for(IWrapperPlayer player : entity.world.getPlayersTracking(entity)){
+			queuePacket(packet, player);
+		}
+	}
+	
+	/**
+	 *  Queues the passed-in packet to be sent to all players tracking the passed-in entity
+	 *  that are within the configured effect range of it.  Only valid on servers.
+	 */
+	public static void sendToNearbyPlayers(APacketBase packet, AEntityBase entity){
+		double range = ConfigSystem.configObject.general.effectPacketRange.value;
+		for(IWrapperPlayer player : entity.world.getPlayersTracking(entity)){
+			if(player.getPosition().distanceTo(entity.position) <= range){
+				queuePacket(packet, player);
+			}
+		}
+	}
+	
+	/**
+	 *  Queues the passed-in packet to be sent to the passed-in player.
+	 *  Only valid on servers.
+	 */
+	public static void sendToPlayer(APacketBase packet, IWrapperPlayer player){
+		queuePacket(packet, player);
+	}
+	
+	private static void queuePacket(APacketBase packet, IWrapperPlayer player){
+		List<APacketBase> packets = queuedPackets.get(player);
+		if(packets == null){
+			packets = new ArrayList<APacketBase>();
+			queuedPackets.put(player, packets);
+		}
+		packets.add(packet);
+	}
+	
+	/**
+	 *  Sends all queued packets to the players they were queued for.
+	 *  This should be called once at the end of every server tick.
+	 */
+	public static void sendQueuedPackets(){
+		if(!queuedPackets.isEmpty()){
+			//Encode every packet once, even if it's going to multiple players.
+			int compressionThreshold = ConfigSystem.configObject.general.packetCompressionThreshold.value;
+			Map<APacketBase, byte[]> encodedPackets = new IdentityHashMap<APacketBase, byte[]>();
+			for(Entry<IWrapperPlayer, List<APacketBase>> playerEntry : queuedPackets.entrySet()){
+				IWrapperPlayer player = playerEntry.getKey();
+				List<byte[]> batchPackets = new ArrayList<byte[]>(playerEntry.getValue().size());
+				int batchLength = 0;
+				for(APacketBase packet : playerEntry.getValue()){
+					byte[] encodedPacket = encodedPackets.get(packet);
+					if(encodedPacket == null){
+						ByteBuf buf = Unpooled.buffer();
+						packet.writeToBuffer(buf);
+						encodedPacket = new byte[buf.readableBytes()];
+						buf.readBytes(encodedPacket);
+						encodedPackets.put(packet, encodedPacket);
+					}
+					
+					PacketCounter counter = packetCounters.get(packet.getClass());
+					if(counter == null){
+						counter = new PacketCounter();
+						packetCounters.put(packet.getClass(), counter);
+					}
+					++counter.packetsSent;
+					counter.bytesSent += encodedPacket.length;
+					
+					//Clients won't accept batches over the max length, so send what we have before going over.
+					//Packets too large to fit in any batch are sent on their own, after the batch to keep them in order.
+					int packetLength = PacketBatch.PACKET_HEADER_SIZE + encodedPacket.length;
+					if(batchLength + packetLength > PacketBatch.MAX_BATCH_LENGTH && !batchPackets.isEmpty()){
+						sendBatch(player, batchPackets, compressionThreshold);
+						batchPackets.clear();
+						batchLength = 0;
+					}
+					if(packetLength > PacketBatch.MAX_BATCH_LENGTH){
+						player.sendPacket(packet);
+						bytesSinceLog += encodedPacket.length;
+					}else{
+						batchPackets.add(encodedPacket);
+						batchLength += packetLength;
+					}
+				}
+				if(!batchPackets.isEmpty()){
+					sendBatch(player, batchPackets, compressionThreshold);
+				}
+			}
+			queuedPackets.clear();
+		}
+		
+		int logInterval = ConfigSystem.configObject.general.packetLogInterval.value;
+		if(logInterval > 0 && ++ticksSinceLog >= logInterval){
+			logPacketCounters();
+		}
+	}
+	
+	private static void sendBatch(IWrapperPlayer player, List<byte[]> batchPackets, int compressionThreshold){
+		PacketBatch batch = new PacketBatch(batchPackets, compressionThreshold);
+		player.sendPacket(batch);
+		bytesSinceLog += batch.getSize();
+		++batchesSinceLog;
+	}
+	
+	/**
+	 *  Logs the data sent since the last time this was called, and the counters for all packet
+	 *  classes sent since the server started.  Counters are logged with the classes that have
+	 *  sent the most bytes first.  Bytes counted for classes are those of the encoded packet
+	 *  prior to batching and compression.
+	 */
+	private static void logPacketCounters(){
+		MasterLoader.coreInterface.logInfo("Sent " + bytesSinceLog + " bytes in " + batchesSinceLog + " batches to all players in the last " + ticksSinceLog + " ticks.");
+		List<Entry<Class<? extends APacketBase>, PacketCounter>> counterEntries = new ArrayList<Entry<Class<? extends APacketBase>, PacketCounter>>(packetCounters.entrySet());
+		Collections.sort(counterEntries, new Comparator<Entry<Class<? extends APacketBase>, PacketCounter>>(){
+			@Override
+			public int compare(Entry<Class<? extends APacketBase>, PacketCounter> entry1, Entry<Class<? extends APacketBase>, PacketCounter> entry2){
+				return Long.compare(entry2.getValue().bytesSent, entry1.getValue().bytesSent);
+			}
+		});
+		for(Entry<Class<? extends APacketBase>, PacketCounter> counterEntry : counterEntries){
+			MasterLoader.coreInterface.logInfo(counterEntry.getKey().getSimpleName() + ": " + counterEntry.getValue().packetsSent + " packets, " + counterEntry.getValue().bytesSent + " bytes.");
+		}
+		ticksSinceLog = 0;
+		bytesSinceLog = 0;
+		batchesSinceLog = 0;
+	}
+	
+	/**
+	 *  Class that holds the number of packets and bytes sent for a single packet class.
+	 */
+	private static class PacketCounter{
+		private long packetsSent;
+		private long bytesSent;
+	}
+}
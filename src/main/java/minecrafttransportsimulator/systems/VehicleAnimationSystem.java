@@ -1,7 +1,10 @@
 package minecrafttransportsimulator.systems;
 
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 import minecrafttransportsimulator.baseclasses.Point3i;
-import minecrafttransportsimulator.jsondefs.JSONVehicle.VehiclePart;
 import minecrafttransportsimulator.rendering.components.LightType;
 import minecrafttransportsimulator.vehicles.main.EntityVehicleF_Physics;
 import minecrafttransportsimulator.vehicles.parts.APart;
@@ -18,6 +21,7 @@ import minecrafttransportsimulator.vehicles.parts.PartPropeller;
  * @author don_bruce
  */
 public final class VehicleAnimationSystem{
+	private static final ConcurrentHashMap<String, AnimationVariable> compiledVariables = new ConcurrentHashMap<String, AnimationVariable>();
 	
 	/**
 	 *  Clamps and scales the passed-in variable value, returning it in the proper form.
@@ -48,173 +52,56 @@ public final class VehicleAnimationSystem{
 	 *  No clamping or other operations are performed on this value, so keep this in mind.
 	 */
 	public static double getVariableValue(String variable, float partialTicks, EntityVehicleF_Physics vehicle, APart optionalPart){
-		//If we have a variable with a suffix, we need to get that part first and pass
-		//it into this method rather than trying to run through the code now.
-		if(variable.substring(variable.length() - 1).matches("[0-9]+")){
-			//Get the part number and the type from the variable.
-			//Take off one because we are zero-indexed.
-			int partNumber = Integer.parseInt(variable.substring(variable.length() - 1)) - 1;
-			String partType = variable.substring(0, variable.indexOf('_'));
-			final Class<?> partClass;
-			switch(partType){
-				case("interactable"): partClass = PartInteractable.class; break;	
-				case("engine"): partClass = PartEngine.class; break;
-				case("gun"): partClass = PartGun.class; break;
-				case("propeller"): partClass = PartPropeller.class; break;
-				case("ground"): partClass = PartGroundDevice.class; break;
-				
-				default: if(ConfigSystem.configObject.client.devMode.value){
-					throw new IllegalArgumentException("ERROR: Was told to find part: " + variable.substring(0, variable.indexOf('_')) + " for rotation definition: " + variable + " but could not as the part isn't a valid part name.  Is your spelling correct?");
-				}else{
-					//Don't crash if we have a fault here.  It could be that we have an old pack that has a bad name.
-					return 0;
-				}
-			}
-			
-			//Iterate through the pack defs to find the index of the pack def for the part we want.
-			for(VehiclePart vehiclePart : vehicle.getAllPossiblePackParts().values()){
-				for(String defPartType : vehiclePart.types){
-					if(defPartType.startsWith(partType)){
-						if(partNumber == 0){
-							//Get the part at this location.  If it's of the same class as what we need, use it for animation.
-							//If it's not, or it doesn't exist, return 0.
-							APart foundPart = vehicle.getPartAtLocation(vehiclePart.pos);
-							if(foundPart != null && partClass.isInstance(foundPart)){
-								return getVariableValue(variable.substring(0, variable.length() - 2), partialTicks, vehicle, foundPart);
-							}else{
-								return 0;
-							}
-						}else{
-							--partNumber;
-							break;
-						}
-					}
-				}
+		return getCompiledVariable(variable).getValue(partialTicks, vehicle, optionalPart);
+	}
+	
+	/**
+	 *  Returns the compiled form of the passed-in variable.  Variables are only compiled the first time
+	 *  they are requested, after which the same compiled variable is returned for all calls.
+	 *  This is called from both the client and server threads, so if both compile the same
+	 *  variable at once, the first one stored is the one both get back.
+	 */
+	public static AnimationVariable getCompiledVariable(String variable){
+		AnimationVariable compiledVariable = compiledVariables.get(variable);
+		if(compiledVariable == null){
+			compiledVariable = new AnimationVariable(variable);
+			AnimationVariable priorVariable = compiledVariables.putIfAbsent(variable, compiledVariable);
+			if(priorVariable != null){
+				compiledVariable = priorVariable;
 			}
-			
-			//We couldn't find the part we were supposed to.  Likely because it hasn't been placed yet.
-			return 0;
-		}else if(optionalPart != null){
-			//If we passed-in a part, check for part-specific animations first.
-			if(optionalPart instanceof PartEngine){
-				PartEngine engine = (PartEngine) optionalPart;
-				switch(variable){
-					case("engine_rotation"): return engine.getEngineRotation(partialTicks);
-					case("engine_driveshaft_rotation"): return engine.getDriveshaftRotation(partialTicks);
-					case("engine_driveshaft_sin"): return Math.sin(Math.toRadians(engine.getDriveshaftRotation(partialTicks)));
-					case("engine_driveshaft_cos"): return Math.cos(Math.toRadians(engine.getDriveshaftRotation(partialTicks)));
-					case("engine_rpm"): return engine.definition.engine.maxRPM < 15000 ? engine.rpm : engine.rpm/10D;
-					case("engine_rpm_safe"): return engine.definition.engine.maxRPM < 15000 ? PartEngine.getSafeRPMFromMax(engine.definition.engine.maxRPM) : PartEngine.getSafeRPMFromMax(engine.definition.engine.maxRPM)/10D;
-					case("engine_rpm_max"): return engine.definition.engine.maxRPM < 15000 ? engine.definition.engine.maxRPM : engine.definition.engine.maxRPM/10D;
-					case("engine_fuel_flow"): return engine.fuelFlow*20D*60D/1000D;
-					case("engine_temp"): return engine.temp;
-					case("engine_pressure"): return engine.pressure;
-					case("engine_gear"): return engine.currentGear;
-					case("engine_gearshift"): return engine.getGearshiftRotation();
-					case("engine_gearshift_hvertical"): return engine.getGearshiftPosition_Vertical();
-					case("engine_gearshift_hhorizontal"): return engine.getGearshiftPosition_Horizontal();
-					case("engine_magneto"): return engine.state.magnetoOn ? 1 : 0;
-					case("engine_starter"): return engine.state.esOn ? 1 : 0;
-					case("engine_jumper_cable"): return engine.linkedEngine != null ? 1 : 0;
-					case("engine_hours"): return engine.hours;
-				}
-			}else if(optionalPart instanceof PartGun){
-				PartGun gun = (PartGun) optionalPart;
-				switch(variable){
-					case("gun_active"): return gun.active ? 1 : 0;
-					case("gun_firing"): return gun.firing ? 1 : 0;
-					case("gun_pitch"): return gun.prevOrientation.x + (gun.currentOrientation.x - gun.prevOrientation.x)*partialTicks;
-					case("gun_yaw"): return gun.prevOrientation.y + (gun.currentOrientation.y - gun.prevOrientation.y)*partialTicks;
-					case("gun_cooldown"): return gun.cooldownTimeRemaining/(double)gun.definition.gun.fireDelay;
-					case("gun_reload"): return gun.reloadTimeRemaining/(double)gun.definition.gun.reloadTime;
-					case("gun_ammo_count"): return gun.bulletsLeft;
-					case("gun_ammo_percent"): return gun.bulletsLeft/gun.definition.gun.capacity;
-				}
-			}else if(optionalPart instanceof PartInteractable){
-				PartInteractable interactable = (PartInteractable) optionalPart;
-				switch(variable){
-					case("interactable_count"): return interactable.getInventoryCount();
-					case("interactable_percent"): return interactable.getInventoryPercent();
-					case("interactable_capacity"): return interactable.getInventoryCapacity();
-				}
-			}else if(optionalPart instanceof PartPropeller){
-				PartPropeller propeller = (PartPropeller) optionalPart;
-				switch(variable){
-					case("propeller_pitch_deg"): return Math.toDegrees(Math.atan(propeller.currentPitch / (propeller.definition.propeller.diameter*0.75D*Math.PI)));
-					case("propeller_pitch_in"): return propeller.currentPitch;
-					case("propeller_pitch_percent"): return 1D*(propeller.currentPitch - PartPropeller.MIN_DYNAMIC_PITCH)/(propeller.definition.propeller.pitch - PartPropeller.MIN_DYNAMIC_PITCH);
+		}
+		return compiledVariable;
+	}
+	
+	/**
+	 *  Returns the value for the passed-in compiled variable, without any part suffix handling.
+	 *  This is where the actual variable values come from.  Part variables come from the passed-in
+	 *  part, or its closest parent of the right type.  If there is no such part, or the variable isn't
+	 *  a base variable, we check for light, door, and custom variables.
+	 */
+	private static double getBaseVariableValue(AnimationVariable compiledVariable, float partialTicks, EntityVehicleF_Physics vehicle, APart optionalPart){
+		VariableType type = compiledVariable.type;
+		if(type != null){
+			if(type.partClass != null){
+				APart part = optionalPart;
+				while(part != null && !type.partClass.isInstance(part)){
+					part = part.parentPart;
 				}
-			}else if(optionalPart instanceof PartGroundDevice){
-				PartGroundDevice groundDevice = (PartGroundDevice) optionalPart;
-				switch(variable){
-					case("ground_rotation"): return groundDevice.getActionRotation(partialTicks).x;
-					case("ground_onground"): return vehicle.groundDeviceCollective.isDeviceOnGround(groundDevice) ? 1 : 0;
-					case("ground_inliquid"): return groundDevice.isInLiquid() ? 1 : 0;
-					case("ground_isflat"): return groundDevice.getFlatState() ? 1 : 0;
+				if(part != null){
+					return getPartVariableValue(type, partialTicks, vehicle, part);
 				}
-			}
-			
-			//We didn't find any part-specific animations.
-			//We could, however, be wanting the animations of our parent part.
-			//If we have a parent part, get it, and try this loop again.
-			if(optionalPart.parentPart != null){
-				return getVariableValue(variable, partialTicks, vehicle, optionalPart.parentPart);
+			}else{
+				return getVehicleVariableValue(type, partialTicks, vehicle);
 			}
 		}
-
-		//Either we don't have a part, or we have a part and we don't want a part-specific variable.
-		//Try vehicle variables now.
-		switch(variable){
-			//Vehicle world position cases.	
-			case("yaw"): return vehicle.angles.y;
-			case("pitch"): return vehicle.angles.x;
-			case("roll"): return vehicle.angles.z;
-			case("altitude"): return vehicle.position.y;
-			case("speed"): return vehicle.axialVelocity*vehicle.SPEED_FACTOR*20;
-
-			//Vehicle state cases.
-			case("throttle"): return vehicle.throttle/100D;
-			case("fuel"): return vehicle.fuelTank.getFluidLevel()/vehicle.fuelTank.getMaxLevel();
-			case("electric_power"): return vehicle.electricPower;
-			case("electric_usage"): return vehicle.electricFlow*20D;
-			case("brake"): return vehicle.brakeOn ? 1 : 0;
-			case("p_brake"): return vehicle.parkingBrakeOn ? 1 : 0;
-			case("reverser"): return vehicle.reverseThrust ? 1 : 0;
-			case("horn"): return vehicle.hornOn ? 1 : 0;
-			case("siren"): return vehicle.sirenOn ? 1 : 0;
-			case("hood"): return vehicle.engines.isEmpty() ? 1 : 0;
-			case("rain"): return vehicle.electricFlow < 0 ? (1.0 - Math.cos(((int)vehicle.world.getRainStrength(new Point3i(vehicle.position)))*Math.toRadians(360*System.currentTimeMillis()/1000)))/2D : 0;
-			case("door"): return vehicle.parkingBrakeOn && vehicle.velocity < 0.25 ? 1 : 0;
-			case("trailer"): return vehicle.towedVehicle != null ? 1 : 0;
-			case("hookup"): return vehicle.towedByVehicle != null ? 1 : 0;
-			case("fueling"): return vehicle.beingFueled ? 1 : 0;
-			
-			//State cases generally used on aircraft.
-			case("aileron"): return vehicle.aileronAngle/10D;
-			case("elevator"): return vehicle.elevatorAngle/10D;
-			case("rudder"): return vehicle.rudderAngle/10D;
-			case("flaps_setpoint"): return vehicle.flapDesiredAngle/10D;
-			case("flaps_actual"): return vehicle.flapCurrentAngle/10D;
-			case("trim_aileron"): return vehicle.aileronTrim/10D;
-			case("trim_elevator"): return vehicle.elevatorTrim/10D;
-			case("trim_rudder"): return vehicle.rudderTrim/10D;
-			case("vertical_speed"): return vehicle.motion.y*vehicle.SPEED_FACTOR*20;
-			case("lift_reserve"): return -vehicle.trackAngle;
-			case("turn_coordinator"): return ((vehicle.angles.z - vehicle.prevAngles.z)/10 + vehicle.angles.y - vehicle.prevAngles.y)/0.15D*25;
-			case("turn_indicator"): return (vehicle.angles.y - vehicle.prevAngles.y)/0.15F*25F;
-			case("slip"): return 75*vehicle.sideVector.dotProduct(vehicle.normalizedVelocityVector);
-			case("gear_setpoint"): return vehicle.gearUpCommand ? 1 : 0;
-			case("gear_actual"): return vehicle.gearMovementTime/((double) vehicle.definition.motorized.gearSequenceDuration);
-		}
 		
 		//Check if this is a light variable.
-		for(LightType light : LightType.values()){
-			if(light.name().toLowerCase().equals(variable)){
-				return vehicle.lightsOn.contains(light) ? 1 : 0;
-			}
+		if(compiledVariable.light != null){
+			return vehicle.lightsOn.contains(compiledVariable.light) ? 1 : 0;
 		}
 		
 		//Check if this is a door variable.
+		String variable = compiledVariable.variable;
 		for(String doorName : vehicle.doorsOpen){
 			if(variable.equals(doorName)){
 				return 1;
@@ -230,4 +117,319 @@ public final class VehicleAnimationSystem{
 		//Return 0 here to prevent pack crashes.
 		return 0;
 	}
+	
+	/**
+	 *  Returns the value for the passed-in part variable.  The part must be of the variable's part class.
+	 */
+	private static double getPartVariableValue(VariableType variable, float partialTicks, EntityVehicleF_Physics vehicle, APart part){
+		if(part instanceof PartEngine){
+			PartEngine engine = (PartEngine) part;
+			switch(variable){
+				case ENGINE_ROTATION: return engine.getEngineRotation(partialTicks);
+				case ENGINE_DRIVESHAFT_ROTATION: return engine.getDriveshaftRotation(partialTicks);
+				case ENGINE_DRIVESHAFT_SIN: return Math.sin(Math.toRadians(engine.getDriveshaftRotation(partialTicks)));
+				case ENGINE_DRIVESHAFT_COS: return Math.cos(Math.toRadians(engine.getDriveshaftRotation(partialTicks)));
+				case ENGINE_RPM: return engine.definition.engine.maxRPM < 15000 ? engine.rpm : engine.rpm/10D;
+				case ENGINE_RPM_SAFE: return engine.definition.engine.maxRPM < 15000 ? PartEngine.getSafeRPMFromMax(engine.definition.engine.maxRPM) : PartEngine.getSafeRPMFromMax(engine.definition.engine.maxRPM)/10D;
+				case ENGINE_RPM_MAX: return engine.definition.engine.maxRPM < 15000 ? engine.definition.engine.maxRPM : engine.definition.engine.maxRPM/10D;
+				case ENGINE_FUEL_FLOW: return engine.fuelFlow*20D*60D/1000D;
+				case ENGINE_TEMP: return engine.temp;
+				case ENGINE_PRESSURE: return engine.pressure;
+				case ENGINE_GEAR: return engine.currentGear;
+				case ENGINE_GEARSHIFT: return engine.getGearshiftRotation();
+				case ENGINE_GEARSHIFT_HVERTICAL: return engine.getGearshiftPosition_Vertical();
+				case ENGINE_GEARSHIFT_HHORIZONTAL: return engine.getGearshiftPosition_Horizontal();
+				case ENGINE_MAGNETO: return engine.state.magnetoOn ? 1 : 0;
+				case ENGINE_STARTER: return engine.state.esOn ? 1 : 0;
+				case ENGINE_JUMPER_CABLE: return engine.linkedEngine != null ? 1 : 0;
+				case ENGINE_HOURS: return engine.hours;
+			}
+		}else if(part instanceof PartGun){
+			PartGun gun = (PartGun) part;
+			switch(variable){
+				case GUN_ACTIVE: return gun.active ? 1 : 0;
+				case GUN_FIRING: return gun.firing ? 1 : 0;
+				case GUN_PITCH: return gun.prevOrientation.x + (gun.currentOrientation.x - gun.prevOrientation.x)*partialTicks;
+				case GUN_YAW: return gun.prevOrientation.y + (gun.currentOrientation.y - gun.prevOrientation.y)*partialTicks;
+				case GUN_COOLDOWN: return gun.cooldownTimeRemaining/(double)gun.definition.gun.fireDelay;
+				case GUN_RELOAD: return gun.reloadTimeRemaining/(double)gun.definition.gun.reloadTime;
+				case GUN_AMMO_COUNT: return gun.bulletsLeft;
+				case GUN_AMMO_PERCENT: return gun.bulletsLeft/gun.definition.gun.capacity;
+			}
+		}else if(part instanceof PartInteractable){
+			PartInteractable interactable = (PartInteractable) part;
+			switch(variable){
+				case INTERACTABLE_COUNT: return interactable.getInventoryCount();
+				case INTERACTABLE_PERCENT: return interactable.getInventoryPercent();
+				case INTERACTABLE_CAPACITY: return interactable.getInventoryCapacity();
+			}
+		}else if(part instanceof PartPropeller){
+			PartPropeller propeller = (PartPropeller) part;
+			switch(variable){
+				case PROPELLER_PITCH_DEG: return Math.toDegrees(Math.atan(propeller.currentPitch / (propeller.definition.propeller.diameter*0.75D*Math.PI)));
+				case PROPELLER_PITCH_IN: return propeller.currentPitch;
+				case PROPELLER_PITCH_PERCENT: return 1D*(propeller.currentPitch - PartPropeller.MIN_DYNAMIC_PITCH)/(propeller.definition.propeller.pitch - PartPropeller.MIN_DYNAMIC_PITCH);
+			}
+		}else if(part instanceof PartGroundDevice){
+			PartGroundDevice groundDevice = (PartGroundDevice) part;
+			switch(variable){
+				case GROUND_ROTATION: return groundDevice.getActionRotation(partialTicks).x;
+				case GROUND_ONGROUND: return vehicle.groundDeviceCollective.isDeviceOnGround(groundDevice) ? 1 : 0;
+				case GROUND_INLIQUID: return groundDevice.isInLiquid() ? 1 : 0;
+				case GROUND_ISFLAT: return groundDevice.getFlatState() ? 1 : 0;
+			}
+		}
+		return 0;
+	}
+	
+	/**
+	 *  Returns the value for the passed-in vehicle variable.
+	 */
+	private static double getVehicleVariableValue(VariableType variable, float partialTicks, EntityVehicleF_Physics vehicle){
+		switch(variable){
+			//Vehicle world position cases.	
+			case YAW: return vehicle.angles.y;
+			case PITCH: return vehicle.angles.x;
+			case ROLL: return vehicle.angles.z;
+			case ALTITUDE: return vehicle.position.y;
+			case SPEED: return vehicle.axialVelocity*vehicle.SPEED_FACTOR*20;
+			
+			//Vehicle state cases.
+			case THROTTLE: return vehicle.throttle/100D;
+			case FUEL: return vehicle.fuelTank.getFluidLevel()/vehicle.fuelTank.getMaxLevel();
+			case ELECTRIC_POWER: return vehicle.electricPower;
+			case ELECTRIC_USAGE: return vehicle.electricFlow*20D;
+			case BRAKE: return vehicle.brakeOn ? 1 : 0;
+			case P_BRAKE: return vehicle.parkingBrakeOn ? 1 : 0;
+			case REVERSER: return vehicle.reverseThrust ? 1 : 0;
+			case HORN: return vehicle.hornOn ? 1 : 0;
+			case SIREN: return vehicle.sirenOn ? 1 : 0;
+			case HOOD: return vehicle.engines.isEmpty() ? 1 : 0;
+			case RAIN: return vehicle.electricFlow < 0 ? (1.0 - Math.cos(((int)vehicle.world.getRainStrength(new Point3i(vehicle.position)))*Math.toRadians(360*System.currentTimeMillis()/1000)))/2D : 0;
+			case DOOR: return vehicle.parkingBrakeOn && vehicle.velocity < 0.25 ? 1 : 0;
+			case TRAILER: return vehicle.towedVehicle != null ? 1 : 0;
+			case HOOKUP: return vehicle.towedByVehicle != null ? 1 : 0;
+			case FUELING: return vehicle.beingFueled ? 1 : 0;
+			
+			//State cases generally used on aircraft.
+			case AILERON: return vehicle.aileronAngle/10D;
+			case ELEVATOR: return vehicle.elevatorAngle/10D;
+			case RUDDER: return vehicle.rudderAngle/10D;
+			case FLAPS_SETPOINT: return vehicle.flapDesiredAngle/10D;
+			case FLAPS_ACTUAL: return vehicle.flapCurrentAngle/10D;
+			case TRIM_AILERON: return vehicle.aileronTrim/10D;
+			case TRIM_ELEVATOR: return vehicle.elevatorTrim/10D;
+			case TRIM_RUDDER: return vehicle.rudderTrim/10D;
+			case VERTICAL_SPEED: return vehicle.motion.y*vehicle.SPEED_FACTOR*20;
+			case LIFT_RESERVE: return -vehicle.trackAngle;
+			case TURN_COORDINATOR: return ((vehicle.angles.z - vehicle.prevAngles.z)/10 + vehicle.angles.y - vehicle.prevAngles.y)/0.15D*25;
+			case TURN_INDICATOR: return (vehicle.angles.y - vehicle.prevAngles.y)/0.15F*25F;
+			case SLIP: return 75*vehicle.sideVector.dotProduct(vehicle.normalizedVelocityVector);
+			case GEAR_SETPOINT: return vehicle.gearUpCommand ? 1 : 0;
+			case GEAR_ACTUAL: return vehicle.gearMovementTime/((double) vehicle.definition.motorized.gearSequenceDuration);
+		}
+		return 0;
+	}
+	
+	/**Compiled form of an animation variable.  This is created once for every variable string, and
+	 * holds everything about the variable that can be worked out from the string alone.  This includes
+	 * the part type and slot number for suffixed variables, the {@link VariableType} for variables that
+ * come from the vehicle or its parts, and the light for light variables.  Doing this
+	 * once saves us from having to parse the string every frame for every animated object.  Part lookups for
+	 * suffixed variables are cached on the vehicle, and are updated whenever the vehicle's parts change.
+	 *
+	 * @author don_bruce
+	 */
+	public static final class AnimationVariable{
+		public final String variable;
+		/**Variable without the part suffix, or null if this variable doesn't have a suffix.*/
+		private final AnimationVariable baseVariable;
+		private final String partType;
+		private final Class<?> partClass;
+		private final int partNumber;
+		private final VariableType type;
+		private final LightType light;
+		
+		private AnimationVariable(String variable){
+			this.variable = variable;
+			
+			//If we have a variable with a suffix, we need to get the part type and number from it.
+			//Take off one from the number because we are zero-indexed.
+			char lastChar = variable.charAt(variable.length() - 1);
+			if(lastChar >= '0' && lastChar <= '9'){
+				this.partNumber = lastChar - '0' - 1;
+				this.partType = variable.substring(0, variable.indexOf('_'));
+				this.baseVariable = getCompiledVariable(variable.substring(0, variable.length() - 2));
+				switch(partType){
+					case("interactable"): partClass = PartInteractable.class; break;	
+					case("engine"): partClass = PartEngine.class; break;
+					case("gun"): partClass = PartGun.class; break;
+					case("propeller"): partClass = PartPropeller.class; break;
+					case("ground"): partClass = PartGroundDevice.class; break;
+					default: partClass = null;
+				}
+			}else{
+				this.partNumber = -1;
+				this.partType = null;
+				this.partClass = null;
+				this.baseVariable = null;
+			}
+			
+			//Bind this variable to its type, so we don't have to look it up by name every frame.
+			this.type = VariableType.getType(variable);
+			
+			//Check if this is a light variable.
+			LightType foundLight = null;
+			for(LightType light : LightType.values()){
+				if(light.name().toLowerCase().equals(variable)){
+					foundLight = light;
+					break;
+				}
+			}
+			this.light = foundLight;
+		}
+		
+		/**
+		 *  Returns the raw value of this variable on the passed-in vehicle.  See 
+		 *  {@link VehicleAnimationSystem#getVariableValue(String, float, EntityVehicleF_Physics, APart)}.
+		 */
+		public double getValue(float partialTicks, EntityVehicleF_Physics vehicle, APart optionalPart){
+			if(baseVariable != null){
+				if(partClass == null){
+					if(ConfigSystem.configObject.client.devMode.value){
+						throw new IllegalArgumentException("ERROR: Was told to find part: " + partType + " for rotation definition: " + variable + " but could not as the part isn't a valid part name.  Is your spelling correct?");
+					}else{
+						//Don't crash if we have a fault here.  It could be that we have an old pack that has a bad name.
+						return 0;
+					}
+				}
+				
+				//Get the part in the slot.  If it's of the same class as what we need, use it for animation.
+				//If it's not, or it doesn't exist, return 0.  Likely because it hasn't been placed yet.
+				APart foundPart = vehicle.getPartInSlotOfType(partType, partNumber);
+				if(foundPart != null && partClass.isInstance(foundPart)){
+					return baseVariable.getValue(partialTicks, vehicle, foundPart);
+				}else{
+					return 0;
+				}
+			}else{
+				return getBaseVariableValue(this, partialTicks, vehicle, optionalPart);
+			}
+		}
+	}
+	
+	/**Types of variables that come from the vehicle or its parts.  The name of each type is the variable
+	 * name in upper case.  Part variables have the class of the part they come from, while vehicle
+	 * variables have a null part class.  Each {@link AnimationVariable} is bound to its type when compiled.
+	 *
+	 * @author don_bruce
+	 */
+	private static enum VariableType{
+		//Engine variables.
+		ENGINE_ROTATION(PartEngine.class),
+		ENGINE_DRIVESHAFT_ROTATION(PartEngine.class),
+		ENGINE_DRIVESHAFT_SIN(PartEngine.class),
+		ENGINE_DRIVESHAFT_COS(PartEngine.class),
+		ENGINE_RPM(PartEngine.class),
+		ENGINE_RPM_SAFE(PartEngine.class),
+		ENGINE_RPM_MAX(PartEngine.class),
+		ENGINE_FUEL_FLOW(PartEngine.class),
+		ENGINE_TEMP(PartEngine.class),
+		ENGINE_PRESSURE(PartEngine.class),
+		ENGINE_GEAR(PartEngine.class),
+		ENGINE_GEARSHIFT(PartEngine.class),
+		ENGINE_GEARSHIFT_HVERTICAL(PartEngine.class),
+		ENGINE_GEARSHIFT_HHORIZONTAL(PartEngine.class),
+		ENGINE_MAGNETO(PartEngine.class),
+		ENGINE_STARTER(PartEngine.class),
+		ENGINE_JUMPER_CABLE(PartEngine.class),
+		ENGINE_HOURS(PartEngine.class),
+		
+		//Gun variables.
+		GUN_ACTIVE(PartGun.class),
+		GUN_FIRING(PartGun.class),
+		GUN_PITCH(PartGun.class),
+		GUN_YAW(PartGun.class),
+		GUN_COOLDOWN(PartGun.class),
+		GUN_RELOAD(PartGun.class),
+		GUN_AMMO_COUNT(PartGun.class),
+		GUN_AMMO_PERCENT(PartGun.class),
+		
+		//Interactable variables.
+		INTERACTABLE_COUNT(PartInteractable.class),
+		INTERACTABLE_PERCENT(PartInteractable.class),
+		INTERACTABLE_CAPACITY(PartInteractable.class),
+		
+		//Propeller variables.
+		PROPELLER_PITCH_DEG(PartPropeller.class),
+		PROPELLER_PITCH_IN(PartPropeller.class),
+		PROPELLER_PITCH_PERCENT(PartPropeller.class),
+		
+		//Ground device variables.
+		GROUND_ROTATION(PartGroundDevice.class),
+		GROUND_ONGROUND(PartGroundDevice.class),
+		GROUND_INLIQUID(PartGroundDevice.class),
+		GROUND_ISFLAT(PartGroundDevice.class),
+		
+		//Vehicle variables.
+		YAW,
+		PITCH,
+		ROLL,
+		ALTITUDE,
+		SPEED,
+		THROTTLE,
+		FUEL,
+		ELECTRIC_POWER,
+		ELECTRIC_USAGE,
+		BRAKE,
+		P_BRAKE,
+		REVERSER,
+		HORN,
+		SIREN,
+		HOOD,
+		RAIN,
+		DOOR,
+		TRAILER,
+		HOOKUP,
+		FUELING,
+		AILERON,
+		ELEVATOR,
+		RUDDER,
+		FLAPS_SETPOINT,
+		FLAPS_ACTUAL,
+		TRIM_AILERON,
+		TRIM_ELEVATOR,
+		TRIM_RUDDER,
+		VERTICAL_SPEED,
+		LIFT_RESERVE,
+		TURN_COORDINATOR,
+		TURN_INDICATOR,
+		SLIP,
+		GEAR_SETPOINT,
+		GEAR_ACTUAL;
+		
+		private static final Map<String, VariableType> types = new HashMap<String, VariableType>();
+		static{
+			for(VariableType type : values()){
+				types.put(type.name().toLowerCase(), type);
+			}
+		}
+		
+		private final Class<? extends APart> partClass;
+		
+		private VariableType(){
+			this(null);
+		}
+		
+		private VariableType(Class<? extends APart> partClass){
+			this.partClass = partClass;
+		}
+		
+		/**
+		 *  Returns the type for the passed-in variable, or null if it isn't a vehicle or part variable.
+		 */
+		private static VariableType getType(String variable){
+			return types.get(variable);
+		}
+	}
 }
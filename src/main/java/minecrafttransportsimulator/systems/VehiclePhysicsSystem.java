@@ -0,0 +1,155 @@
+package minecrafttransportsimulator.systems;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+
+import minecrafttransportsimulator.mcinterface.IWrapperWorld;
+import minecrafttransportsimulator.vehicles.main.EntityVehicleF_Physics;
+
+/**This class handles calculating vehicle forces in parallel on servers.  Normally, each vehicle
+ * calculates its forces and moves during its update.  If this system is enabled, vehicles instead
+ * queue themselves here after their pre-movement updates.  At the end of the world tick, the forces
+ * for all queued vehicles are calculated at the same time on worker threads.  Force calculations
+ * only use the state of the vehicle and its parts as of the end of their update, so they can't see
+ * each other's changes.  They also don't access the world, as the MC world isn't thread-safe and may
+ * load chunks when read.  Parts save any world state their forces need on the main thread instead,
+ * via {@link minecrafttransportsimulator.vehicles.parts.APart#updateForceInputs()}.  Once all forces are calculated, vehicles are
+ * moved on the main thread in the order they were queued.  This keeps block breaking, collisions,
+ * and packets in the same order every tick.
+ * <br><br>
+ * Vehicles that are towing other vehicles are queued as a group.  Towed vehicles follow the hitch of
+ * the vehicle towing them, so they can't calculate anything until that vehicle has moved.  As such,
+ * they are moved on the main thread right after the vehicle towing them.
+ *
+ * @author don_bruce
+ */
+public final class VehiclePhysicsSystem{
+	private static final Map<IWrapperWorld, List<EntityVehicleF_Physics>> queuedVehicles = new HashMap<IWrapperWorld, List<EntityVehicleF_Physics>>();
+	private static ExecutorService executor;
+	private static int executorThreads;
+	
+	/**
+	 *  Queues the passed-in vehicle to have its forces calculated with all other vehicles
+	 *  at the end of the tick.  Returns true if the vehicle was queued, or false if the
+	 *  system is disabled and the vehicle should calculate its forces itself.
+	 */
+	public static boolean queueVehicle(EntityVehicleF_Physics vehicle){
+		if(ConfigSystem.configObject.general.physicsThreads.value > 0){
+			List<EntityVehicleF_Physics> vehicles = queuedVehicles.get(vehicle.world);
+			if(vehicles == null){
+				vehicles = new ArrayList<EntityVehicleF_Physics>();
+				queuedVehicles.put(vehicle.world, vehicles);
+			}
+			vehicles.add(vehicle);
+			return true;
+		}else{
+			return false;
+		}
+	}
+	
+	/**
+	 *  Calculates the forces for all vehicles queued in the passed-in world, and then
+	 *  moves them.  This should be called at the end of every world tick on servers.
+	 *  Returns all vehicles that were moved, including those that were towed, so their
+	 *  positions can be updated in the world.
+	 */
+	public static List<EntityVehicleF_Physics> updateQueuedVehicles(IWrapperWorld world){
+		List<EntityVehicleF_Physics> vehicles = queuedVehicles.remove(world);
+		List<EntityVehicleF_Physics> movedVehicles = new ArrayList<EntityVehicleF_Physics>();
+		if(vehicles == null){
+			return movedVehicles;
+		}
+		
+		//Split the vehicles up between the threads and calculate their forces.
+		//Don't bother with the threads if we only have one vehicle.
+		int threadCount = Math.min(ConfigSystem.configObject.general.physicsThreads.value, vehicles.size());
+		if(threadCount > 1){
+			List<Callable<Void>> tasks = new ArrayList<Callable<Void>>(threadCount);
+			for(int i=0; i<threadCount; ++i){
+				final List<EntityVehicleF_Physics> taskVehicles = vehicles.subList(i*vehicles.size()/threadCount, (i + 1)*vehicles.size()/threadCount);
+				tasks.add(new Callable<Void>(){
+					@Override
+					public Void call(){
+						for(EntityVehicleF_Physics vehicle : taskVehicles){
+							if(vehicle.isValid){
+								vehicle.calculateQueuedForces();
+							}
+						}
+						return null;
+					}
+				});
+			}
+			try{
+				for(Future<Void> future : getExecutor().invokeAll(tasks)){
+					future.get();
+				}
+			}catch(InterruptedException e){
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException("ERROR: Interrupted while calculating vehicle forces.", e);
+			}catch(ExecutionException e){
+				//Re-throw exceptions from the workers so they crash the same as they would on the main thread.
+				throw new IllegalStateException("ERROR: Exception while calculating vehicle forces.", e.getCause());
+			}
+		}else{
+			for(EntityVehicleF_Physics vehicle : vehicles){
+				if(vehicle.isValid){
+					vehicle.calculateQueuedForces();
+				}
+			}
+		}
+		
+		//Now move the vehicles.  Towed vehicles are moved by this call.
+		for(EntityVehicleF_Physics vehicle : vehicles){
+			if(vehicle.isValid){
+				vehicle.applyQueuedMovement();
+				EntityVehicleF_Physics groupVehicle = vehicle;
+				while(groupVehicle != null && !movedVehicles.contains(groupVehicle)){
+					movedVehicles.add(groupVehicle);
+					groupVehicle = groupVehicle.towedVehicle;
+				}
+			}
+		}
+		return movedVehicles;
+	}
+	
+	/**
+	 *  Removes all queued vehicles for the passed-in world.  Used when the world is unloaded
+	 *  to prevent holding onto it.
+	 */
+	public static void clearQueuedVehicles(IWrapperWorld world){
+		queuedVehicles.remove(world);
+	}
+	
+	/**
+	 *  Returns the executor for force calculations.  This is re-created if the number of
+	 *  threads is changed.  Threads are daemons so they don't keep the server from stopping.
+	 */
+	private static ExecutorService getExecutor(){
+		int configThreads = ConfigSystem.configObject.general.physicsThreads.value;
+		if(executor == null || executorThreads != configThreads){
+			if(executor != null){
+				executor.shutdown();
+			}
+			executorThreads = configThreads;
+			executor = Executors.newFixedThreadPool(configThreads, new ThreadFactory(){
+				private int threadNumber;
+				
+				@Override
+				public Thread newThread(Runnable runnable){
+					Thread thread = new Thread(runnable, "MTS Physics Thread " + ++threadNumber);
+					thread.setDaemon(true);
+					return thread;
+				}
+			});
+		}
+		return executor;
+	}
+}
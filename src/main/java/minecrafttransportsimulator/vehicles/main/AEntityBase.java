@@ -13,11 +13,12 @@ import com.google.common.collect.HashBiMap;
 import minecrafttransportsimulator.baseclasses.BoundingBox;
 import minecrafttransportsimulator.baseclasses.Damage;
 import minecrafttransportsimulator.baseclasses.Point3d;
+import minecrafttransportsimulator.baseclasses.RotationMatrix;
 import minecrafttransportsimulator.mcinterface.IWrapperEntity;
 import minecrafttransportsimulator.mcinterface.IWrapperNBT;
 import minecrafttransportsimulator.mcinterface.IWrapperWorld;
-import minecrafttransportsimulator.mcinterface.MasterLoader;
 import minecrafttransportsimulator.packets.instances.PacketEntityRiderChange;
+import minecrafttransportsimulator.systems.PacketDispatchSystem;
 
 /**Base entity class.  This class contains the most basic code for entities,
  * as well as some basic variables and methods for movement and save/load operations.
@@ -41,7 +42,8 @@ public abstract class AEntityBase{
 	/**Internal counter for entity IDs.  Increments each time an entity is created**/
 	private static int idCounter = 1;
 	/**List of created entities.  This is a list as it's possible for clients to have multiple identical entities.
-	 * This happens when mods like Optifine or The One Probe do their janky hacks.**/
+	 * This happens when mods like Optifine or The One Probe do their janky hacks.
+	 * For lookups of a specific entity, use the {@link EntityRegistry} for the world instead.**/
 	public static List<AEntityBase> createdClientEntities = new ArrayList<AEntityBase>();
 	/**Like {@link #createdClientEntities}, but on the server.**/
 	public static List<AEntityBase> createdServerEntities = new ArrayList<AEntityBase>();
@@ -60,6 +62,8 @@ public abstract class AEntityBase{
 	public final Point3d rotation;
 	public final Point3d prevRotation;
 	public final IWrapperWorld world;
+	/**Rotation matrix for {@link #angles}.  Get this via {@link #getRotationMatrix()} to ensure it's current.**/
+	private final RotationMatrix rotationMatrix = new RotationMatrix();
 	
 	/**True as long as this entity is part of the world and being ticked.**/
 	public boolean isValid = true;
@@ -120,6 +124,7 @@ public abstract class AEntityBase{
 		}else{
 			createdServerEntities.add(this);
 		}
+		EntityRegistry.getRegistryFor(world).addEntity(this);
 	}
 	
 	 /**
@@ -134,6 +139,16 @@ public abstract class AEntityBase{
 		prevRotation.setTo(rotation);
 	}
 	
+	/**
+	 *  Returns the rotation matrix for the current angles of this entity.  The matrix is
+	 *  only re-calculated when the angles change, so this may be called as often as needed.
+	 *  Use this rather than {@link Point3d#rotateFine(Point3d)} with {@link #angles} when
+	 *  transforming points on this entity.
+	 */
+	public RotationMatrix getRotationMatrix(){
+		return rotationMatrix.setToAngles(angles);
+	}
+	
 	/**
 	 *  Called to update the passed-in rider.  This gets called after the update loop,
 	 *  as the entity needs to move to its new position before we can know where the
@@ -194,7 +209,7 @@ public abstract class AEntityBase{
 			locationRiderMap.put(riderLocation, rider);
 			if(!world.isClient()){
 				rider.setRiding(this);
-				MasterLoader.networkInterface.sendToAllClients(new PacketEntityRiderChange(this, rider, riderLocation));
+				PacketDispatchSystem.sendToTrackingPlayers(new PacketEntityRiderChange(this, rider, riderLocation), this);
 			}
 			return true;
 		}
@@ -214,7 +229,7 @@ public abstract class AEntityBase{
 			}
 			if(!world.isClient()){
 				rider.setRiding(null);
-				MasterLoader.networkInterface.sendToAllClients(new PacketEntityRiderChange(this, rider, null));
+				PacketDispatchSystem.sendToTrackingPlayers(new PacketEntityRiderChange(this, rider, null), this);
 			}
 		}
 	}
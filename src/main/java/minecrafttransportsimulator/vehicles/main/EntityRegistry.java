@@ -0,0 +1,192 @@
+package minecrafttransportsimulator.vehicles.main;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import minecrafttransportsimulator.mcinterface.IWrapperWorld;
+
+/**Registry of all {@link AEntityBase} entities in a world.  Entities are indexed by their
+ * lookupID and uniqueUUID, which allows packets and saved links to find the entity they
+ * reference without walking every entity in the world.  A spatial hash keyed by chunk position
+ * is also maintained to allow for quick area queries.  This hash needs to be told when the
+ * entity moves via {@link #updateEntityPosition(AEntityBase)}, otherwise area queries will
+ * use stale chunk data.  There is one registry per world, and as such clients and servers
+ * will never share registries.  They do share the map of registries, however, so that map
+ * is concurrent to allow both threads to get their registries at the same time.
+ *
+ * @author don_bruce
+ */
+public final class EntityRegistry{
+	private static final ConcurrentHashMap<IWrapperWorld, EntityRegistry> registries = new ConcurrentHashMap<IWrapperWorld, EntityRegistry>();
+	
+	/**Maps lookupIDs to entities.  This is a list as it's possible for clients to have multiple identical entities.
+	 * See {@link AEntityBase#createdClientEntities} for why this happens.**/
+	private final Map<Integer, List<AEntityBase>> entitiesByID = new HashMap<Integer, List<AEntityBase>>();
+	private final Map<String, AEntityBase> entitiesByUUID = new HashMap<String, AEntityBase>();
+	private final Map<Long, List<AEntityBase>> entitiesByChunk = new HashMap<Long, List<AEntityBase>>();
+	private final Map<AEntityBase, Long> entityChunks = new HashMap<AEntityBase, Long>();
+	
+	private EntityRegistry(){}
+	
+	/**
+	 *  Returns the registry for the passed-in world.  Registry is created
+	 *  if it doesn't exist.
+	 */
+	public static EntityRegistry getRegistryFor(IWrapperWorld world){
+		EntityRegistry registry = registries.get(world);
+		if(registry == null){
+			registry = new EntityRegistry();
+			EntityRegistry priorRegistry = registries.putIfAbsent(world, registry);
+			if(priorRegistry != null){
+				registry = priorRegistry;
+			}
+		}
+		return registry;
+	}
+	
+	/**
+	 *  Removes the registry for the passed-in world.  Call this when the world
+	 *  unloads to prevent holding onto entities that are no longer present.
+	 */
+	public static void removeRegistryFor(IWrapperWorld world){
+		registries.remove(world);
+	}
+	
+	/**
+	 *  Adds the passed-in entity to this registry.  Called automatically
+	 *  when the entity is constructed.
+	 */
+	void addEntity(AEntityBase entity){
+		List<AEntityBase> entities = entitiesByID.get(entity.lookupID);
+		if(entities == null){
+			entities = new ArrayList<AEntityBase>();
+			entitiesByID.put(entity.lookupID, entities);
+		}
+		entities.add(entity);
+		entitiesByUUID.put(entity.uniqueUUID, entity);
+		updateEntityPosition(entity);
+	}
+	
+	/**
+	 *  Removes the passed-in entity from this registry.  Should be called
+	 *  whenever the entity is removed from the world.
+	 */
+	public void removeEntity(AEntityBase entity){
+		List<AEntityBase> entities = entitiesByID.get(entity.lookupID);
+		if(entities != null){
+			entities.remove(entity);
+			if(entities.isEmpty()){
+				entitiesByID.remove(entity.lookupID);
+			}
+		}
+		if(entity.equals(entitiesByUUID.get(entity.uniqueUUID))){
+			entitiesByUUID.remove(entity.uniqueUUID);
+		}
+		Long chunkKey = entityChunks.remove(entity);
+		if(chunkKey != null){
+			removeFromChunk(entity, chunkKey);
+		}
+	}
+	
+	/**
+	 *  Updates the chunk the passed-in entity is in for the spatial hash.
+	 *  This should be called any time the entity's position changes.
+	 *  If the entity hasn't changed chunks, this does nothing.
+	 */
+	public void updateEntityPosition(AEntityBase entity){
+		long newChunkKey = getChunkKey(getChunkCoord(entity.position.x), getChunkCoord(entity.position.z));
+		Long oldChunkKey = entityChunks.get(entity);
+		if(oldChunkKey == null || oldChunkKey != newChunkKey){
+			if(oldChunkKey != null){
+				removeFromChunk(entity, oldChunkKey);
+			}
+			List<AEntityBase> chunkEntities = entitiesByChunk.get(newChunkKey);
+			if(chunkEntities == null){
+				chunkEntities = new ArrayList<AEntityBase>();
+				entitiesByChunk.put(newChunkKey, chunkEntities);
+			}
+			chunkEntities.add(entity);
+			entityChunks.put(entity, newChunkKey);
+		}
+	}
+	
+	/**
+	 *  Returns the entity with the passed-in lookupID, or null if no such entity exists.
+	 *  If there are multiple entities with this ID, the first one is returned.
+	 */
+	public AEntityBase getEntity(int lookupID){
+		List<AEntityBase> entities = entitiesByID.get(lookupID);
+		return entities != null ? entities.get(0) : null;
+	}
+	
+	/**
+	 *  Returns all entities with the passed-in lookupID.  Normally this is a single entity,
+	 *  but clients may have duplicates.  The returned list should not be modified.
+	 */
+	public List<AEntityBase> getEntities(int lookupID){
+		List<AEntityBase> entities = entitiesByID.get(lookupID);
+		return entities != null ? entities : Collections.<AEntityBase>emptyList();
+	}
+	
+	/**
+	 *  Returns the entity with the passed-in uniqueUUID, or null if no such entity exists.
+	 */
+	public AEntityBase getEntity(String uniqueUUID){
+		return entitiesByUUID.get(uniqueUUID);
+	}
+	
+	/**
+	 *  Returns all entities whose positions are inside the passed-in XZ area.
+	 *  Bounds are exclusive, and Y is not taken into account.  Only chunks overlapping
+	 *  the area are checked, so this is far cheaper than a check of all entities.
+	 */
+	public List<AEntityBase> getEntitiesWithin(double minX, double minZ, double maxX, double maxZ){
+		List<AEntityBase> entities = new ArrayList<AEntityBase>();
+		int maxChunkX = getChunkCoord(maxX);
+		int maxChunkZ = getChunkCoord(maxZ);
+		for(int chunkX=getChunkCoord(minX); chunkX<=maxChunkX; ++chunkX){
+			for(int chunkZ=getChunkCoord(minZ); chunkZ<=maxChunkZ; ++chunkZ){
+				List<AEntityBase> chunkEntities = entitiesByChunk.get(getChunkKey(chunkX, chunkZ));
+				if(chunkEntities != null){
+					for(AEntityBase entity : chunkEntities){
+						if(entity.position.x > minX && entity.position.x < maxX && entity.position.z > minZ && entity.position.z < maxZ){
+							entities.add(entity);
+						}
+					}
+				}
+			}
+		}
+		return entities;
+	}
+	
+	/**
+	 *  Helper method to remove an entity from the chunk list for the passed-in key.
+	 */
+	private void removeFromChunk(AEntityBase entity, long chunkKey){
+		List<AEntityBase> chunkEntities = entitiesByChunk.get(chunkKey);
+		if(chunkEntities != null){
+			chunkEntities.remove(entity);
+			if(chunkEntities.isEmpty()){
+				entitiesByChunk.remove(chunkKey);
+			}
+		}
+	}
+	
+	/**
+	 *  Returns the chunk coordinate for the passed-in world coordinate.
+	 */
+	private static int getChunkCoord(double coord){
+		return ((int) Math.floor(coord)) >> 4;
+	}
+	
+	/**
+	 *  Packs the two chunk coordinates into a single key for the spatial hash.
+	 */
+	private static long getChunkKey(int chunkX, int chunkZ){
+		return ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+	}
+}
@@ -19,6 +19,7 @@ import minecrafttransportsimulator.mcinterface.MasterLoader;
 import minecrafttransportsimulator.packets.instances.PacketVehiclePartChange;
 import minecrafttransportsimulator.systems.ConfigSystem;
 import minecrafttransportsimulator.systems.PackParserSystem;
+import minecrafttransportsimulator.systems.PacketDispatchSystem;
 import minecrafttransportsimulator.vehicles.parts.APart;
 import minecrafttransportsimulator.vehicles.parts.PartSeat;
 
@@ -56,6 +57,20 @@ abstract class EntityVehicleA_Base extends AEntityBase{
 	 * sub-parts use relative locations, and thus we need to ensure we have the correct position for them on any vehicle part location.*/
 	private static final Map<VehiclePart, Map<VehiclePart, VehiclePart>> SUBPACK_MAPPINGS = new HashMap<VehiclePart, Map<VehiclePart, VehiclePart>>();  
 	
+	/**Cached parts in slots for part types.  Keyed by part type, with the value being the parts in all slots that take that type,
+	 * in the order of {@link #getAllPossiblePackParts()}.  Empty slots are null.  Cleared any time parts are added or removed.*/
+	private final Map<String, List<APart>> partsInSlotsOfType = new HashMap<String, List<APart>>();
+	
+	/**Index of all part slots on this vehicle, keyed by {@link #getSlotKey(Point3d)}.  Contains all main and additional
+	 * pack parts, the sub-part slots of all parts in {@link #parts}, and the parts in those slots.  Parts that aren't in
+	 * a slot, such as fake parts, get a slot without a pack definition.  Updated in {@link #addPart(APart)} and
+	 * {@link #removePart(APart, Iterator)}, so lookups by position don't need to scan all parts and pack definitions.*/
+	private final Map<Long, PartSlot> partSlots = new HashMap<Long, PartSlot>();
+	/**True once the main and additional pack part slots have been added to {@link #partSlots}.*/
+	private boolean partSlotsCreated;
+	/**True if two positions ever had the same slot key.  Should never happen with sane packs, but if it does we can't trust the index.*/
+	private boolean partSlotKeyCollision;
+	
 	/**Cached value for speedFactor.  Saves us from having to use the long form all over.  Not like it'll change in-game...*/
 	public final double SPEED_FACTOR = ConfigSystem.configObject.general.speedFactor.value;
 	
@@ -200,7 +215,7 @@ abstract class EntityVehicleA_Base extends AEntityBase{
 	    		}
 				
 				//Send packet to client with part data.
-				MasterLoader.networkInterface.sendToAllClients(new PacketVehiclePartChange((EntityVehicleF_Physics) this, offset, partItem, partData, partToAdd.parentPart));
+				PacketDispatchSystem.sendToTrackingPlayers(new PacketVehiclePartChange((EntityVehicleF_Physics) this, offset, partItem, partData, partToAdd.parentPart), this);
 				
 				//If we are a new part, add default parts.  We need to do this after we send a packet.
 				//We need to make sure to convert them to the right type as they're offset.
@@ -224,6 +239,25 @@ abstract class EntityVehicleA_Base extends AEntityBase{
    	 */
 	public void addPart(APart part){
 		parts.add(part);
+		partsInSlotsOfType.clear();
+		
+		//Add the part to its slot, and add slots for any sub-parts it has.
+		if(!partSlotsCreated){
+			createPartSlots();
+		}
+		getOrCreatePartSlot(part.placementOffset).part = part;
+		if(part.definition.subParts != null){
+			VehiclePart parentPack = getPackDefForLocation(part.placementOffset);
+			if(parentPack != null){
+				for(VehiclePart subPartPack : part.definition.subParts){
+					VehiclePart correctedPack = getPackForSubPart(parentPack, subPartPack);
+					PartSlot slot = getOrCreatePartSlot(correctedPack.pos);
+					if(slot.packDef == null){
+						slot.packDef = correctedPack;
+					}
+				}
+			}
+		}
 		
 		//Add a ride-able location.
 		if(part instanceof PartSeat){
@@ -250,9 +284,11 @@ abstract class EntityVehicleA_Base extends AEntityBase{
 			}
 			//Call the part's removal code for it to process.
 			part.remove();
+			partsInSlotsOfType.clear();
+			removePartFromSlots(part);
 			//If we are on the server, notify all clients of this change.
 			if(!world.isClient()){
-				MasterLoader.networkInterface.sendToAllClients(new PacketVehiclePartChange((EntityVehicleF_Physics) this, part.placementOffset));
+				PacketDispatchSystem.sendToTrackingPlayers(new PacketVehiclePartChange((EntityVehicleF_Physics) this, part.placementOffset), this);
 			}
 		}
 		
@@ -268,6 +304,14 @@ abstract class EntityVehicleA_Base extends AEntityBase{
 	 * this check for parent-part lookups during construction.
 	 */
 	public APart getPartAtLocation(Point3d offset){
+		if(!partSlotKeyCollision){
+			PartSlot slot = getPartSlot(offset);
+			if(slot != null && slot.part != null){
+				return slot.part;
+			}else if(partsFromNBT.isEmpty()){
+				return null;
+			}
+		}
 		for(APart part : parts){
 			if(part.placementOffset.equals(offset)){
 				return part;
@@ -281,6 +325,28 @@ abstract class EntityVehicleA_Base extends AEntityBase{
 		return null;
 	}
 	
+	/**
+	 * Returns the part in the Nth slot that takes the passed-in part type, or null if there is no such slot or
+	 * the slot is empty.  Slots are in the order of {@link #getAllPossiblePackParts()}, and a slot takes the type
+	 * if any of its types start with it.  Results are cached until parts change, so this may be called every frame.
+	 */
+	public APart getPartInSlotOfType(String partType, int slotIndex){
+		List<APart> slotParts = partsInSlotsOfType.get(partType);
+		if(slotParts == null){
+			slotParts = new ArrayList<APart>();
+			for(VehiclePart vehiclePart : getAllPossiblePackParts().values()){
+				for(String defPartType : vehiclePart.types){
+					if(defPartType.startsWith(partType)){
+						slotParts.add(getPartAtLocation(vehiclePart.pos));
+						break;
+					}
+				}
+			}
+			partsInSlotsOfType.put(partType, slotParts);
+		}
+		return slotIndex < slotParts.size() ? slotParts.get(slotIndex) : null;
+	}
+	
 	/**
 	 * Gets all possible pack parts.  This includes additional parts on the vehicle
 	 * and extra parts of parts on other parts.  Map returned is the position of the
@@ -326,6 +392,22 @@ abstract class EntityVehicleA_Base extends AEntityBase{
 	 * Gets the pack definition at the specified location.
 	 */
 	public VehiclePart getPackDefForLocation(Point3d offset){
+		if(!partSlotKeyCollision){
+			PartSlot slot = getPartSlot(offset);
+			if(slot != null && slot.packDef != null){
+				return slot.packDef;
+			}else if(partsFromNBT.isEmpty()){
+				return null;
+			}
+		}
+		return findPackDefForLocation(offset);
+	}
+	
+	/**
+	 * Gets the pack definition at the specified location by checking all pack definitions.
+	 * This is only used if the slot index can't be used, such as during construction.
+	 */
+	private VehiclePart findPackDefForLocation(Point3d offset){
 		//Check to see if this is a main part.
 		for(VehiclePart packPart : definition.parts){
 			if(isPackAtPosition(packPart, offset)){
@@ -371,6 +453,95 @@ abstract class EntityVehicleA_Base extends AEntityBase{
 		return null;
 	}
 	
+	/**
+	 * Returns the slot at the passed-in location, or null if there is no slot there.
+	 */
+	private PartSlot getPartSlot(Point3d offset){
+		if(!partSlotsCreated){
+			createPartSlots();
+		}
+		PartSlot slot = partSlots.get(getSlotKey(offset));
+		return slot != null && slot.pos.equals(offset) ? slot : null;
+	}
+	
+	/**
+	 * Creates the slots for the main and additional pack parts.  This is done on first use
+	 * rather than in the constructor as the definition isn't set when the slot map is.
+	 * If a position has more than one pack definition, the first one is used.
+	 */
+	private void createPartSlots(){
+		partSlotsCreated = true;
+		for(VehiclePart packPart : definition.parts){
+			PartSlot slot = getOrCreatePartSlot(packPart.pos);
+			if(slot.packDef == null){
+				slot.packDef = packPart;
+			}
+			if(packPart.additionalParts != null){
+				for(VehiclePart additionalPart : packPart.additionalParts){
+					slot = getOrCreatePartSlot(additionalPart.pos);
+					if(slot.packDef == null){
+						slot.packDef = additionalPart;
+					}
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Returns the slot at the passed-in location, creating it if it doesn't exist.
+	 */
+	private PartSlot getOrCreatePartSlot(Point3d offset){
+		long slotKey = getSlotKey(offset);
+		PartSlot slot = partSlots.get(slotKey);
+		if(slot == null){
+			slot = new PartSlot(offset);
+			partSlots.put(slotKey, slot);
+		}else if(!slot.pos.equals(offset)){
+			partSlotKeyCollision = true;
+		}
+		return slot;
+	}
+	
+	/**
+	 * Removes the passed-in part from its slot, and removes the sub-part slots it created.
+	 * Slots that no longer have a part or pack definition are removed entirely.
+	 */
+	private void removePartFromSlots(APart part){
+		long slotKey = getSlotKey(part.placementOffset);
+		PartSlot slot = partSlots.get(slotKey);
+		if(slot != null && slot.part == part){
+			slot.part = null;
+			if(slot.packDef == null){
+				partSlots.remove(slotKey);
+			}
+		}
+		if(part.definition.subParts != null){
+			VehiclePart parentPack = getPackDefForLocation(part.placementOffset);
+			if(parentPack != null){
+				for(VehiclePart subPartPack : part.definition.subParts){
+					VehiclePart correctedPack = getPackForSubPart(parentPack, subPartPack);
+					slotKey = getSlotKey(correctedPack.pos);
+					slot = partSlots.get(slotKey);
+					if(slot != null && slot.packDef == correctedPack){
+						slot.packDef = null;
+						if(slot.part == null){
+							partSlots.remove(slotKey);
+						}
+					}
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Returns the key for the slot at the passed-in location.  Each axis is quantized to 1/1024th of a block and
+	 * packed into 21 bits.  This is finer than any pack will use, and slots are checked with {@link Point3d#equals(Object)}
+	 * after lookup, so positions that share a key but aren't equal will never be confused for each other.
+	 */
+	private static long getSlotKey(Point3d offset){
+		return ((Math.round(offset.x*1024D) & 0x1FFFFFL) << 42) | ((Math.round(offset.y*1024D) & 0x1FFFFFL) << 21) | (Math.round(offset.z*1024D) & 0x1FFFFFL);
+	}
+	
 	/**
 	 *Helper method to prevent casting to floats all over for position-specific tests.
 	 */
@@ -461,7 +632,7 @@ abstract class EntityVehicleA_Base extends AEntityBase{
 						
 						//Send a packet if required.
 						if(sendPacket){
-							MasterLoader.networkInterface.sendToAllClients(new PacketVehiclePartChange((EntityVehicleF_Physics) vehicle, newPart.placementOffset, newPart.getItem(), newPart.getData(), parentPart));
+							PacketDispatchSystem.sendToTrackingPlayers(new PacketVehiclePartChange((EntityVehicleF_Physics) vehicle, newPart.placementOffset, newPart.getItem(), newPart.getData(), parentPart), vehicle);
 						}
 						
 						//Check if we have an additional parts.
@@ -513,4 +684,18 @@ abstract class EntityVehicleA_Base extends AEntityBase{
 		}
 		data.setInteger("totalParts", totalParts);
 	}
+	
+	/**
+	 * Class that holds a part slot.  This is the pack definition for the slot, if it has one,
+	 * and the part currently in it, if there is one.
+	 */
+	private static class PartSlot{
+		private final Point3d pos;
+		private VehiclePart packDef;
+		private APart part;
+		
+		private PartSlot(Point3d pos){
+			this.pos = pos;
+		}
+	}
 }
@@ -43,7 +43,7 @@ abstract class EntityVehicleB_Rideable extends EntityVehicleA_Base{
 			PartSeat seat = (PartSeat) getPartAtLocation(riderPositionOffset);
 
 			//Now set the actual position/motion for the seat.
-			Point3d seatLocationOffset = new Point3d(0D, rider.getEyeHeight() + rider.getSeatOffset(), 0D).rotateFine(seat.totalRotation).add(seat.totalOffset).rotateFine(angles).add(position).add(0D, -rider.getEyeHeight(), 0D);
+			Point3d seatLocationOffset = new Point3d(0D, rider.getEyeHeight() + rider.getSeatOffset(), 0D).rotateFine(seat.totalRotation).add(seat.totalOffset).transform(getRotationMatrix(), position).add(0D, -rider.getEyeHeight(), 0D);
 			rider.setPosition(seatLocationOffset);
 			rider.setVelocity(motion);
 			
@@ -9,6 +9,7 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 
+import minecrafttransportsimulator.baseclasses.BlockCollisionSnapshot;
 import minecrafttransportsimulator.baseclasses.BoundingBox;
 import minecrafttransportsimulator.baseclasses.Damage;
 import minecrafttransportsimulator.baseclasses.Point3d;
@@ -66,6 +67,8 @@ abstract class EntityVehicleC_Colliding extends EntityVehicleB_Rideable{
 	public final Map<BoundingBox, VehiclePart> partSlotBoxes = new HashMap<BoundingBox, VehiclePart>();
 	public final Map<BoundingBox, VehiclePart> activePartSlotBoxes = new HashMap<BoundingBox, VehiclePart>();
 	public final Map<BoundingBox, VehicleDoor> doorBoxes = new HashMap<BoundingBox, VehicleDoor>();
+	/**Snapshot of blocks around the blockCollisionBoxes.  Populated during movement to allow for repeated box checks without world queries.**/
+	protected final BlockCollisionSnapshot collisionSnapshot = new BlockCollisionSnapshot();
 	
 	
 	public EntityVehicleC_Colliding(IWrapperWorld world, IWrapperNBT data){
@@ -103,8 +106,8 @@ abstract class EntityVehicleC_Colliding extends EntityVehicleB_Rideable{
 	public void update(){
 		super.update();
 		//Set vectors to current velocity and orientation.
-		headingVector.set(0D, 0D, 1D).rotateFine(angles);
-		verticalVector.set(0D, 1D, 0D).rotateFine(angles);
+		headingVector.set(0D, 0D, 1D).rotate(getRotationMatrix());
+		verticalVector.set(0D, 1D, 0D).rotate(getRotationMatrix());
 		sideVector.setTo(verticalVector.crossProduct(headingVector));
 		normalizedVelocityVector.setTo(motion).normalize();
 		velocity = motion.length();
@@ -131,9 +134,9 @@ abstract class EntityVehicleC_Colliding extends EntityVehicleB_Rideable{
 		//Update door collision boxes.
 		for(Entry<BoundingBox, VehicleDoor> doorEntry : doorBoxes.entrySet()){
 			if(doorsOpen.contains(doorEntry.getValue().name)){
-				doorEntry.getKey().globalCenter.setTo(doorEntry.getValue().openPos).rotateFine(angles).add(position);
+				doorEntry.getKey().globalCenter.setTo(doorEntry.getValue().openPos).transform(getRotationMatrix(), position);
 			}else{
-				doorEntry.getKey().globalCenter.setTo(doorEntry.getValue().closedPos).rotateFine(angles).add(position);
+				doorEntry.getKey().globalCenter.setTo(doorEntry.getValue().closedPos).transform(getRotationMatrix(), position);
 			}
 		}
 		
@@ -323,7 +326,7 @@ abstract class EntityVehicleC_Colliding extends EntityVehicleB_Rideable{
 		
 		//If we collided, so check to see if we can break some blocks or if we need to explode.
 		//Don't bother with this logic if it's impossible for us to break anything.
-		if(box.updateCollidingBlocks(world, collisionMotion)){
+		if(box.updateCollidingBlocks(world, collisionSnapshot, collisionMotion)){
 			for(IWrapperBlock block : box.collidingBlocks){
 				if(!block.isLiquid() && block.getHardness() <= velocity*currentMass/250F && block.getHardness() >= 0){
 					if(ConfigSystem.configObject.general.blockBreakage.value){
@@ -332,6 +335,7 @@ abstract class EntityVehicleC_Colliding extends EntityVehicleB_Rideable{
 						if(!world.isClient()){
 							if(ticksExisted > 500){
 								world.destroyBlock(block.getPosition());
+								collisionSnapshot.invalidate();
 							}else{
 								motion.set(0D, 0D, 0D);
 								return -1;
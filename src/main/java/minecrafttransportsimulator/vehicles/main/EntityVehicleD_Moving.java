@@ -9,9 +9,9 @@ import minecrafttransportsimulator.baseclasses.VehicleGroundDeviceCollection;
 import minecrafttransportsimulator.mcinterface.IWrapperBlock;
 import minecrafttransportsimulator.mcinterface.IWrapperNBT;
 import minecrafttransportsimulator.mcinterface.IWrapperWorld;
-import minecrafttransportsimulator.mcinterface.MasterLoader;
-import minecrafttransportsimulator.packets.instances.PacketVehicleServerMovement;
 import minecrafttransportsimulator.systems.ConfigSystem;
+import minecrafttransportsimulator.systems.MovementSyncSystem;
+import minecrafttransportsimulator.systems.VehiclePhysicsSystem;
 import minecrafttransportsimulator.vehicles.parts.APart;
 import minecrafttransportsimulator.vehicles.parts.PartGroundDevice;
 import minecrafttransportsimulator.vehicles.parts.PartPropeller;
@@ -39,6 +39,8 @@ abstract class EntityVehicleD_Moving extends EntityVehicleC_Colliding{
 	public EntityVehicleF_Physics towedByVehicle;
 	private String towedVehicleSavedID;
 	private String towedByVehicleSavedID;
+	/**True if this vehicle's forces are being calculated by the {@link VehiclePhysicsSystem} and it hasn't moved yet this tick.**/
+	protected boolean movementQueued;
 	private final Point3d serverDeltaM;
 	private final Point3d serverDeltaR;
 	private final Point3d clientDeltaM;
@@ -72,15 +74,18 @@ abstract class EntityVehicleD_Moving extends EntityVehicleC_Colliding{
 	public void update(){
 		//Before calling super, see if we need to link a towed or towed by vehicle.
 		//We need to wait on this in case the vehicle didn't load at the same time.
-		if(!towedVehicleSavedID.isEmpty() || !towedByVehicleSavedID.isEmpty()){
-			for(AEntityBase entity : (world.isClient() ? AEntityBase.createdClientEntities : AEntityBase.createdServerEntities)){
-				if(entity.uniqueUUID.equals(towedVehicleSavedID)){
-					towedVehicle = (EntityVehicleF_Physics) entity;
-					towedVehicleSavedID = "";
-				}else if(entity.uniqueUUID.equals(towedByVehicleSavedID)){
-					towedByVehicle = (EntityVehicleF_Physics) entity;
-					towedByVehicleSavedID = "";
-				}
+		if(!towedVehicleSavedID.isEmpty()){
+			AEntityBase entity = EntityRegistry.getRegistryFor(world).getEntity(towedVehicleSavedID);
+			if(entity != null){
+				towedVehicle = (EntityVehicleF_Physics) entity;
+				towedVehicleSavedID = "";
+			}
+		}
+		if(!towedByVehicleSavedID.isEmpty()){
+			AEntityBase entity = EntityRegistry.getRegistryFor(world).getEntity(towedByVehicleSavedID);
+			if(entity != null){
+				towedByVehicle = (EntityVehicleF_Physics) entity;
+				towedByVehicleSavedID = "";
 			}
 		}
 		super.update();
@@ -97,13 +102,53 @@ abstract class EntityVehicleD_Moving extends EntityVehicleC_Colliding{
 		}
 		
 		//Now do update calculations and logic.
+		//If we are on a server, the physics system may calculate our forces with other vehicles.
+		//If so, it will move us once all forces are calculated.  Towed vehicles are updated by the
+		//vehicle towing them right after it moves, so they never get queued on their own.
+		//Parts get what they need from the world for forces first, as the physics threads can't.
 		if(!ConfigSystem.configObject.general.noclipVehicles.value || groundDeviceCollective.isReady()){
-			getForcesAndMotions();
-			performGroundOperations();
-			moveVehicle();
-			if(!world.isClient()){
-				dampenControlSurfaces();
+			for(APart part : parts){
+				part.updateForceInputs();
 			}
+			if(!world.isClient() && towedByVehicle == null && VehiclePhysicsSystem.queueVehicle((EntityVehicleF_Physics) this)){
+				movementQueued = true;
+			}else{
+				getForcesAndMotions();
+				performMovement();
+			}
+		}
+	}
+	
+	/**
+	 *  Calculates the forces on this vehicle for its queued movement.  This is called by the
+	 *  {@link VehiclePhysicsSystem} from its worker threads, so it may only modify this vehicle
+	 *  and its parts, and may not access the world.  Anything the forces need from the world
+	 *  is saved by {@link APart#updateForceInputs()} on the main thread before the vehicle is queued.
+	 */
+	public void calculateQueuedForces(){
+		getForcesAndMotions();
+	}
+	
+	/**
+	 *  Moves this vehicle with the forces from {@link #calculateQueuedForces()} and finishes
+	 *  the update that was started this tick.  This is called by the {@link VehiclePhysicsSystem}
+	 *  on the main thread after the forces for all queued vehicles are calculated.
+	 */
+	public void applyQueuedMovement(){
+		movementQueued = false;
+		performMovement();
+		updatePostMovement();
+	}
+	
+	/**
+	 * Method block for applying the forces calculated in {@link #getForcesAndMotions()}.
+	 * This is where the vehicle actually moves in the world.
+	 */
+	private void performMovement(){
+		performGroundOperations();
+		moveVehicle();
+		if(!world.isClient()){
+			dampenControlSurfaces();
 		}
 	}
 	
@@ -352,10 +397,11 @@ abstract class EntityVehicleD_Moving extends EntityVehicleC_Colliding{
 		//If we are being towed, don't check for collisions, as this can lead to the vehicle getting stuck.
 		boolean collisionBoxCollided = false;
 		if(towedByVehicle == null){
+			populateCollisionSnapshot();
 			tempBoxAngles.setTo(rotation).add(angles);
 			for(BoundingBox box : blockCollisionBoxes){
 				tempBoxPosition.setTo(box.localCenter).rotateCoarse(tempBoxAngles).add(position).add(motion.x*SPEED_FACTOR, motion.y*SPEED_FACTOR, motion.z*SPEED_FACTOR);
-				if(box.updateCollidingBlocks(world, tempBoxPosition.subtract(box.globalCenter))){
+				if(box.updateCollidingBlocks(world, collisionSnapshot, tempBoxPosition.subtract(box.globalCenter))){
 					collisionBoxCollided = true;
 					break;
 				}
@@ -370,6 +416,9 @@ abstract class EntityVehicleD_Moving extends EntityVehicleC_Colliding{
 			groundRotationBoost = groundDeviceCollective.performPitchCorrection(groundCollisionBoost);
 			groundRotationBoost = groundDeviceCollective.performRollCorrection(groundCollisionBoost + groundRotationBoost);
 		}
+		
+		//Done with collision checks for this tick, so don't let the snapshot be used anymore.
+		collisionSnapshot.invalidate();
 
 		//Now that that the movement has been checked, move the vehicle.
 		motionApplied.setTo(motion).multiply(SPEED_FACTOR);
@@ -377,7 +426,7 @@ abstract class EntityVehicleD_Moving extends EntityVehicleC_Colliding{
 		if(!world.isClient()){
 			if(!motionApplied.isZero() || !rotationApplied.isZero()){
 				addToServerDeltas(motionApplied, rotationApplied);
-				MasterLoader.networkInterface.sendToAllClients(new PacketVehicleServerMovement((EntityVehicleF_Physics) this, motionApplied, rotationApplied));
+				MovementSyncSystem.markDirty((EntityVehicleF_Physics) this, serverDeltaM, serverDeltaR);
 			}
 		}else{
 			//Make sure the server is sending delta packets before we try to do delta correction.
@@ -486,18 +535,10 @@ abstract class EntityVehicleD_Moving extends EntityVehicleC_Colliding{
 		if(rotation.y != 0){
 			tempBoxAngles.set(0D, rotation.y, 0D).add(angles);
 			for(BoundingBox box : blockCollisionBoxes){
-				while(rotation.y != 0){
-					tempBoxPosition.setTo(box.localCenter).rotateCoarse(tempBoxAngles).add(position).add(motion.x*SPEED_FACTOR, motion.y*SPEED_FACTOR, motion.z*SPEED_FACTOR);
-					//Raise this box ever so slightly because Floating Point errors are a PITA.
-					tempBoxPosition.add(0D, 0.1D, 0D);
-					if(!box.updateCollidingBlocks(world, tempBoxPosition.subtract(box.globalCenter))){
-						break;
-					}
-					if(rotation.y > 0){
-						rotation.y = Math.max(rotation.y - 0.1F, 0);
-					}else{
-						rotation.y = Math.min(rotation.y + 0.1F, 0);
-					}
+				//Raise this box ever so slightly because Floating Point errors are a PITA.
+				if(isRotationBlocked(box, tempBoxAngles, 0.1D)){
+					rotation.y = 0;
+					break;
 				}
 			}
 		}
@@ -507,16 +548,9 @@ abstract class EntityVehicleD_Moving extends EntityVehicleC_Colliding{
 		if(rotation.x != 0){
 			tempBoxAngles.set(rotation.x, rotation.y, 0D).add(angles);
 			for(BoundingBox box : blockCollisionBoxes){
-				while(rotation.x != 0){
-					tempBoxPosition.setTo(box.localCenter).rotateCoarse(tempBoxAngles).add(position).add(motion.x*SPEED_FACTOR, motion.y*SPEED_FACTOR, motion.z*SPEED_FACTOR);
-					if(!box.updateCollidingBlocks(world, tempBoxPosition.subtract(box.globalCenter))){
-						break;
-					}
-					if(rotation.x > 0){
-						rotation.x = Math.max(rotation.x - 0.1F, 0);
-					}else{
-						rotation.x = Math.min(rotation.x + 0.1F, 0);
-					}
+				if(isRotationBlocked(box, tempBoxAngles, 0D)){
+					rotation.x = 0;
+					break;
 				}
 			}
 		}
@@ -525,26 +559,69 @@ abstract class EntityVehicleD_Moving extends EntityVehicleC_Colliding{
 		if(rotation.z != 0){
 			tempBoxAngles.setTo(rotation).add(angles);
 			for(BoundingBox box : blockCollisionBoxes){
-				while(rotation.z != 0){
-					tempBoxPosition.setTo(box.localCenter).rotateCoarse(tempBoxAngles).add(position).add(motion.x*SPEED_FACTOR, motion.y*SPEED_FACTOR, motion.z*SPEED_FACTOR);
-					if(!box.updateCollidingBlocks(world, tempBoxPosition.subtract(box.globalCenter))){
-						break;
-					}
-					if(rotation.z > 0){
-						rotation.z = Math.max(rotation.z - 0.1F, 0);
-					}else{
-						rotation.z = Math.min(rotation.z + 0.1F, 0);
-					}
+				if(isRotationBlocked(box, tempBoxAngles, 0D)){
+					rotation.z = 0;
+					break;
 				}
 			}
 		}
 	}
 	
+	/**
+	 * Returns true if the passed-in box collides with any blocks when rotated to the passed-in angles.
+	 * Blocked rotations are dropped entirely rather than reduced, so this is a single check per box.
+	 * Motion is included in the box position, as is the passed-in vertical offset.
+	 */
+	private boolean isRotationBlocked(BoundingBox box, Point3d boxAngles, double yOffset){
+		tempBoxPosition.setTo(box.localCenter).rotateCoarse(boxAngles).add(position).add(motion.x*SPEED_FACTOR, motion.y*SPEED_FACTOR + yOffset, motion.z*SPEED_FACTOR);
+		return box.updateCollidingBlocks(world, collisionSnapshot, tempBoxPosition.subtract(box.globalCenter));
+	}
+	
+	/**
+	 * Populates the collision snapshot with all blocks the block collision boxes could hit this tick.
+	 * Region is the current box area, grown by the motion of the vehicle and how far the boxes
+	 * can swing due to rotation.  Extra is added for the coarse rotation and box rounding in
+	 * the collision checks, as well as the slight raise in the yaw check.
+	 */
+	private void populateCollisionSnapshot(){
+		double motionX = Math.abs(motion.x*SPEED_FACTOR);
+		double motionY = Math.abs(motion.y*SPEED_FACTOR);
+		double motionZ = Math.abs(motion.z*SPEED_FACTOR);
+		double rotationFactor = Math.toRadians(Math.abs(rotation.x) + Math.abs(rotation.y) + Math.abs(rotation.z) + 3D);
+		double minX = Double.MAX_VALUE;
+		double minY = Double.MAX_VALUE;
+		double minZ = Double.MAX_VALUE;
+		double maxX = -Double.MAX_VALUE;
+		double maxY = -Double.MAX_VALUE;
+		double maxZ = -Double.MAX_VALUE;
+		for(BoundingBox box : blockCollisionBoxes){
+			double sweep = box.localCenter.length()*rotationFactor + 0.25D;
+			minX = Math.min(minX, box.globalCenter.x - box.widthRadius - sweep - motionX);
+			minY = Math.min(minY, box.globalCenter.y - box.heightRadius - sweep - motionY);
+			minZ = Math.min(minZ, box.globalCenter.z - box.depthRadius - sweep - motionZ);
+			maxX = Math.max(maxX, box.globalCenter.x + box.widthRadius + sweep + motionX);
+			maxY = Math.max(maxY, box.globalCenter.y + box.heightRadius + sweep + motionY);
+			maxZ = Math.max(maxZ, box.globalCenter.z + box.depthRadius + sweep + motionZ);
+		}
+		if(!blockCollisionBoxes.isEmpty()){
+			world.populateCollisionSnapshot(collisionSnapshot, minX, minY, minZ, maxX, maxY, maxZ);
+		}
+	}
+	
 	public void addToServerDeltas(Point3d motion, Point3d rotation){
 		serverDeltaM.add(motion);
 		serverDeltaR.add(rotation);
 	}
 	
+	/**
+	 *  Sets the server deltas to the passed-in values.  Used on clients when
+	 *  the server sends a keyframe rather than a delta.
+	 */
+	public void setServerDeltas(Point3d motion, Point3d rotation){
+		serverDeltaM.setTo(motion);
+		serverDeltaR.setTo(rotation);
+	}
+	
 	/**
 	 * Method block for getting the steering angle of this vehicle.
 	 */
@@ -560,6 +637,12 @@ abstract class EntityVehicleD_Moving extends EntityVehicleC_Colliding{
 	 * Used to move control surfaces back to neutral position.
 	 */
 	protected abstract void dampenControlSurfaces();
+	
+	/**
+	 * Method block for updates that need to be done after movement.
+	 * If movement was queued, this is called after the vehicle moves rather than during update.
+	 */
+	protected abstract void updatePostMovement();
     
 	@Override
 	public void save(IWrapperNBT data){
@@ -91,7 +91,7 @@ abstract class EntityVehicleE_Powered extends EntityVehicleD_Moving implements I
 		this.gearUpCommand = data.getBoolean("gearUpCommand");
 		this.throttle = (byte) data.getInteger("throttle");
 		this.electricPower = data.getDouble("electricPower");
-		this.fuelTank = new FluidTank(data, definition.motorized.fuelCapacity, world.isClient());
+		this.fuelTank = new FluidTank(data, definition.motorized.fuelCapacity, this);
 		
 		//Load lights.
 		lightsOn.clear();
@@ -11,6 +11,7 @@ import minecrafttransportsimulator.packets.instances.PacketVehicleControlAnalog;
 import minecrafttransportsimulator.packets.instances.PacketVehicleControlDigital;
 import minecrafttransportsimulator.rendering.components.LightType;
 import minecrafttransportsimulator.rendering.instances.RenderVehicle;
+import minecrafttransportsimulator.systems.PacketDispatchSystem;
 import minecrafttransportsimulator.vehicles.parts.APart;
 import minecrafttransportsimulator.vehicles.parts.PartEngine;
 import minecrafttransportsimulator.vehicles.parts.PartPropeller;
@@ -122,8 +123,34 @@ public class EntityVehicleF_Physics extends EntityVehicleE_Powered{
 		}
 		
 		//Do movement and all other updates.
+		//If our movement was queued, post-movement updates and towing will be done once we move.
 		super.update();
-		
+		if(!movementQueued){
+			updatePostMovement();
+			updateTowedVehicle();
+		}
+	}
+	
+	@Override
+	public void applyQueuedMovement(){
+		super.applyQueuedMovement();
+		updateTowedVehicle();
+	}
+	
+	/**
+	 *  Updates the vehicle we are towing, if we are towing one.  Towed vehicles follow our hitch, so this
+	 *  must be called after we have moved.  Towed vehicles never queue their movement, so they calculate
+	 *  their forces and move in this call, and then update anything they are towing in turn.
+	 */
+	private void updateTowedVehicle(){
+		if(towedVehicle != null){
+			towedVehicle.updateThisCycle = true;
+			towedVehicle.update();
+		}
+	}
+	
+	@Override
+	protected void updatePostMovement(){
 		//Change turn signal status depending on turning status.
 		//Keep signals on until we have been moving without turning in the
 		//pressed direction for 2 seconds, or if we turn in the other direction.
@@ -182,12 +209,6 @@ public class EntityVehicleF_Physics extends EntityVehicleE_Powered{
 		}else if(flapCurrentAngle > flapDesiredAngle){
 			--flapCurrentAngle;
 		}
-		
-		//If we are towing a vehicle, update it now.
-		if(towedVehicle != null){
-			towedVehicle.updateThisCycle = true;
-			towedVehicle.update();
-		}
 	}
 	
 	@Override
@@ -369,7 +390,7 @@ public class EntityVehicleF_Physics extends EntityVehicleE_Powered{
 			}
 			
 			//Add all forces to the main force matrix and apply them.
-			totalAxialForce.set(0D, wingForce - elevatorForce, 0D).add(thrustForce).rotateFine(angles);
+			totalAxialForce.set(0D, wingForce - elevatorForce, 0D).add(thrustForce).rotate(getRotationMatrix());
 			totalMotiveForce.set(-dragForce, -dragForce, -dragForce).multiply(normalizedVelocityVector);
 			totalGlobalForce.set(0D, ballastForce - gravitationalForce, 0D);
 			totalForce.setTo(totalAxialForce).add(totalMotiveForce).add(totalGlobalForce).multiply(1/currentMass);
@@ -390,7 +411,7 @@ public class EntityVehicleF_Physics extends EntityVehicleE_Powered{
 			//Motion is applied after yaw corrections to ensure the trailer follows the truck.
 			//Start by getting the hitch offsets.  We save the current offset as we'll change it for angle calculations.
 			Point3d tractorHitchPrevOffset = towedByVehicle.definition.motorized.hitchPos.copy().rotateFine(towedByVehicle.prevAngles).add(towedByVehicle.prevPosition).subtract(prevPosition);
-			Point3d tractorHitchCurrentOffset = towedByVehicle.definition.motorized.hitchPos.copy().rotateFine(towedByVehicle.angles).add(towedByVehicle.position).subtract(position);
+			Point3d tractorHitchCurrentOffset = towedByVehicle.definition.motorized.hitchPos.copy().transform(towedByVehicle.getRotationMatrix(), towedByVehicle.position).subtract(position);
 			Point3d tractorHitchOffset = tractorHitchCurrentOffset.copy();
 			
 			//Now calculate how much yaw we need to apply to rotate the trailer.
@@ -408,10 +429,10 @@ public class EntityVehicleF_Physics extends EntityVehicleE_Powered{
 			if(!Double.isNaN(rotationDelta)){
 				rotation.y = rotationDelta;
 				angles.y += rotationDelta;
-				trailerHookupOffset = definition.motorized.hookupPos.copy().rotateFine(angles);
+				trailerHookupOffset = definition.motorized.hookupPos.copy().rotate(getRotationMatrix());
 				angles.y -= rotationDelta;
 			}else{
-				trailerHookupOffset = definition.motorized.hookupPos.copy().rotateFine(angles);
+				trailerHookupOffset = definition.motorized.hookupPos.copy().rotate(getRotationMatrix());
 			}
 			
 			//Now move the trailer to the hitch.  Also set rotations to 0 to prevent odd math.
@@ -426,12 +447,12 @@ public class EntityVehicleF_Physics extends EntityVehicleE_Powered{
 		if(cruiseControl){
 			if(velocity < cruiseControlSpeed){
 				if(throttle < 100){
-					MasterLoader.networkInterface.sendToAllClients(new PacketVehicleControlAnalog(this, PacketVehicleControlAnalog.Controls.THROTTLE, (short) 1, (byte) 0));
+					PacketDispatchSystem.sendToTrackingPlayers(new PacketVehicleControlAnalog(this, PacketVehicleControlAnalog.Controls.THROTTLE, (short) 1, (byte) 0), this);
 					++throttle;
 				}
 			}else if(velocity > cruiseControlSpeed){
 				if(throttle > 0){
-					MasterLoader.networkInterface.sendToAllClients(new PacketVehicleControlAnalog(this, PacketVehicleControlAnalog.Controls.THROTTLE, (short) -1, (byte) 0));
+					PacketDispatchSystem.sendToTrackingPlayers(new PacketVehicleControlAnalog(this, PacketVehicleControlAnalog.Controls.THROTTLE, (short) -1, (byte) 0), this);
 					--throttle;
 				}
 			}
@@ -439,18 +460,18 @@ public class EntityVehicleF_Physics extends EntityVehicleE_Powered{
 		
 		if(autopilot){
 			if(-angles.z > aileronTrim + 1){
-				MasterLoader.networkInterface.sendToAllClients(new PacketVehicleControlDigital(this, PacketVehicleControlDigital.Controls.TRIM_ROLL, true));
+				PacketDispatchSystem.sendToTrackingPlayers(new PacketVehicleControlDigital(this, PacketVehicleControlDigital.Controls.TRIM_ROLL, true), this);
 				++aileronTrim;
 			}else if(-angles.z < aileronTrim - 1){
-				MasterLoader.networkInterface.sendToAllClients(new PacketVehicleControlDigital(this, PacketVehicleControlDigital.Controls.TRIM_ROLL, false));
+				PacketDispatchSystem.sendToTrackingPlayers(new PacketVehicleControlDigital(this, PacketVehicleControlDigital.Controls.TRIM_ROLL, false), this);
 				--aileronTrim;
 			}
 			//If we are not flying at a steady elevation, angle the elevator to compensate
 			if(-motion.z*100 > elevatorTrim + 1){
-				MasterLoader.networkInterface.sendToAllClients(new PacketVehicleControlDigital(this, PacketVehicleControlDigital.Controls.TRIM_PITCH, true));
+				PacketDispatchSystem.sendToTrackingPlayers(new PacketVehicleControlDigital(this, PacketVehicleControlDigital.Controls.TRIM_PITCH, true), this);
 				++elevatorTrim;
 			}else if(-motion.y*100 < elevatorTrim - 1){
-				MasterLoader.networkInterface.sendToAllClients(new PacketVehicleControlDigital(this, PacketVehicleControlDigital.Controls.TRIM_PITCH, false));
+				PacketDispatchSystem.sendToTrackingPlayers(new PacketVehicleControlDigital(this, PacketVehicleControlDigital.Controls.TRIM_PITCH, false), this);
 				--elevatorTrim;
 			}
 		}
@@ -458,10 +479,10 @@ public class EntityVehicleF_Physics extends EntityVehicleE_Powered{
 		if(aileronCooldown==0){
 			if(aileronAngle != 0){
 				if(aileronAngle < AILERON_DAMPEN_RATE && aileronAngle > -AILERON_DAMPEN_RATE){
-					MasterLoader.networkInterface.sendToAllClients(new PacketVehicleControlAnalog(this, PacketVehicleControlAnalog.Controls.AILERON, (short) -aileronAngle, (byte) 0));
+					PacketDispatchSystem.sendToTrackingPlayers(new PacketVehicleControlAnalog(this, PacketVehicleControlAnalog.Controls.AILERON, (short) -aileronAngle, (byte) 0), this);
 					aileronAngle = 0;
 				}else{
-					MasterLoader.networkInterface.sendToAllClients(new PacketVehicleControlAnalog(this, PacketVehicleControlAnalog.Controls.AILERON, aileronAngle < 0 ? AILERON_DAMPEN_RATE : -AILERON_DAMPEN_RATE, (byte) 0));
+					PacketDispatchSystem.sendToTrackingPlayers(new PacketVehicleControlAnalog(this, PacketVehicleControlAnalog.Controls.AILERON, aileronAngle < 0 ? AILERON_DAMPEN_RATE : -AILERON_DAMPEN_RATE, (byte) 0), this);
 					aileronAngle += aileronAngle < 0 ? AILERON_DAMPEN_RATE : -AILERON_DAMPEN_RATE;
 				}
 			}
@@ -472,10 +493,10 @@ public class EntityVehicleF_Physics extends EntityVehicleE_Powered{
 		if(elevatorCooldown==0){
 			if(elevatorAngle != 0){
 				if(elevatorAngle < ELEVATOR_DAMPEN_RATE && elevatorAngle > -ELEVATOR_DAMPEN_RATE){
-					MasterLoader.networkInterface.sendToAllClients(new PacketVehicleControlAnalog(this, PacketVehicleControlAnalog.Controls.ELEVATOR, (short) -elevatorAngle, (byte) 0));
+					PacketDispatchSystem.sendToTrackingPlayers(new PacketVehicleControlAnalog(this, PacketVehicleControlAnalog.Controls.ELEVATOR, (short) -elevatorAngle, (byte) 0), this);
 					elevatorAngle = 0;
 				}else{
-					MasterLoader.networkInterface.sendToAllClients(new PacketVehicleControlAnalog(this, PacketVehicleControlAnalog.Controls.ELEVATOR, elevatorAngle < 0 ? ELEVATOR_DAMPEN_RATE : -ELEVATOR_DAMPEN_RATE, (byte) 0));
+					PacketDispatchSystem.sendToTrackingPlayers(new PacketVehicleControlAnalog(this, PacketVehicleControlAnalog.Controls.ELEVATOR, elevatorAngle < 0 ? ELEVATOR_DAMPEN_RATE : -ELEVATOR_DAMPEN_RATE, (byte) 0), this);
 					elevatorAngle += elevatorAngle < 0 ? ELEVATOR_DAMPEN_RATE : -ELEVATOR_DAMPEN_RATE;
 				}
 			}
@@ -486,10 +507,10 @@ public class EntityVehicleF_Physics extends EntityVehicleE_Powered{
 		if(rudderCooldown==0){
 			if(rudderAngle != 0){
 				if(rudderAngle < RUDDER_DAMPEN_RATE && rudderAngle > -RUDDER_DAMPEN_RATE){
-					MasterLoader.networkInterface.sendToAllClients(new PacketVehicleControlAnalog(this, PacketVehicleControlAnalog.Controls.RUDDER, (short) -rudderAngle, (byte) 0));
+					PacketDispatchSystem.sendToTrackingPlayers(new PacketVehicleControlAnalog(this, PacketVehicleControlAnalog.Controls.RUDDER, (short) -rudderAngle, (byte) 0), this);
 					rudderAngle = 0;
 				}else{
-					MasterLoader.networkInterface.sendToAllClients(new PacketVehicleControlAnalog(this, PacketVehicleControlAnalog.Controls.RUDDER, rudderAngle < 0 ? RUDDER_DAMPEN_RATE : -RUDDER_DAMPEN_RATE, (byte) 0));
+					PacketDispatchSystem.sendToTrackingPlayers(new PacketVehicleControlAnalog(this, PacketVehicleControlAnalog.Controls.RUDDER, rudderAngle < 0 ? RUDDER_DAMPEN_RATE : -RUDDER_DAMPEN_RATE, (byte) 0), this);
 					rudderAngle += rudderAngle < 0 ? RUDDER_DAMPEN_RATE : -RUDDER_DAMPEN_RATE;
 				}
 			}
@@ -4,6 +4,7 @@ import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 import java.nio.FloatBuffer;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
 
@@ -56,6 +57,11 @@ public abstract class APart implements ISoundProvider{
 	
 	//Runtime variables.
 	private final List<DurationDelayClock> animations = new ArrayList<DurationDelayClock>();
+	private final double[] animationValues;
+	private final Point3d animatedOffset = new Point3d(0D, 0D, 0D);
+	private final Point3d animatedRotation = new Point3d(0D, 0D, 0D);
+	private final Point3d appliedMovement = new Point3d(0D, 0D, 0D);
+	private final Point3d centerOffset = new Point3d(0D, 0D, 0D);
 	private final FloatBuffer soundPosition = ByteBuffer.allocateDirect(3*Float.BYTES).order(ByteOrder.nativeOrder()).asFloatBuffer();
 	public final Point3d totalOffset;
 	public final Point3d totalRotation;
@@ -70,7 +76,7 @@ public abstract class APart implements ISoundProvider{
 		this.totalOffset = placementOffset.copy();
 		this.definition = item.definition;;
 		this.vehicleDefinition = packVehicleDef;
-		this.worldPos = placementOffset.copy().rotateFine(vehicle.angles).add(vehicle.position);
+		this.worldPos = placementOffset.copy().transform(vehicle.getRotationMatrix(), vehicle.position);
 		this.boundingBox = new BoundingBox(placementOffset, worldPos, getWidth()/2D, getHeight()/2D, getWidth()/2D, definition.ground != null ? definition.ground.canFloat : false, false, false, 0);
 		this.placementRotation = packVehicleDef.rot != null ? packVehicleDef.rot : new Point3d(0, 0, 0);
 		this.totalRotation = placementRotation.copy();
@@ -105,6 +111,8 @@ public abstract class APart implements ISoundProvider{
 				animations.add(new DurationDelayClock(animation));
 			}
 		}
+		this.animationValues = new double[animations.size()];
+		Arrays.fill(animationValues, Double.NaN);
 	}
 	
 	/**
@@ -141,12 +149,16 @@ public abstract class APart implements ISoundProvider{
 	 */
 	public void update(){
 		//Set the updated totalOffset and worldPos.  This is used for part position, but not rendering.
+		//We use the cached animation points directly here rather than the getters to avoid copying them.
+		updateAnimatedTransform(0);
 		if(parentPart != null && vehicleDefinition.isSubPart){
+			parentPart.updateAnimatedTransform(0);
+			
 			//First, get the relative distance between our offset and our parent's offset.
-			totalOffset.setTo(getPositionOffset(0)).add(placementOffset).subtract(parentPart.placementOffset);
+			totalOffset.setTo(animatedOffset).add(placementOffset).subtract(parentPart.placementOffset);
 			
 			//Now get our parent's rotation contribution.
-			totalRotation.setTo(parentPart.getPositionRotation(0)).add(parentPart.placementRotation);
+			totalRotation.setTo(parentPart.animatedRotation).add(parentPart.placementRotation);
 			
 			//Rotate our current relative offset by the rotation of the parent to get the correct
 			//offset between us and our paren't position in our parent's coordinate system.
@@ -162,12 +174,12 @@ public abstract class APart implements ISoundProvider{
 			
 			//Now that we have the proper relative offset, add our parent's placement and position offsets.
 			//This is our final offset point.
-			totalOffset.add(parentPart.placementOffset).add(parentPart.getPositionOffset(0));
+			totalOffset.add(parentPart.placementOffset).add(parentPart.animatedOffset);
 		}else{
-			totalOffset.setTo(getPositionOffset(0)).add(placementOffset);
-			totalRotation.setTo(getPositionRotation(0)).add(placementRotation);
+			totalOffset.setTo(animatedOffset).add(placementOffset);
+			totalRotation.setTo(animatedRotation).add(placementRotation);
 		}
-		worldPos.setTo(totalOffset).rotateFine(vehicle.angles).add(vehicle.position);
+		worldPos.setTo(totalOffset).transform(vehicle.getRotationMatrix(), vehicle.position);
 
 		//Update sound variables.
 		soundPosition.rewind();
@@ -180,86 +192,103 @@ public abstract class APart implements ISoundProvider{
 	/**
 	 * Gets the movement position offset for the part as a vector.
 	 * This offset is an addition to the main placement offset defined by the JSON.
+	 * The returned point is a copy of the cached offset, so it may be modified freely.
+	 * Rendering code should use {@link #getPositionOffset(float, Point3d)} instead.
 	 */
 	public final Point3d getPositionOffset(float partialTicks){
-		Point3d rollingOffset = new Point3d(0D, 0D, 0D);
-		if(!animations.isEmpty()){
-			Point3d rollingRotation = new Point3d(0D, 0D, 0D);
-			for(DurationDelayClock animation : animations){
-				VehicleAnimationDefinition definition = animation.definition;
-				
-				if(definition.animationType.equals("rotation")){
-					//Found rotation.  Get angles that needs to be applied.
-					double variableValue = animation.getFactoredState(vehicle, VehicleAnimationSystem.getVariableValue(definition.variable, partialTicks, vehicle, this));
-					Point3d appliedRotation = new Point3d(0D, 0D, 0D);
-					if(definition.axis.x != 0){
-						appliedRotation.x = VehicleAnimationSystem.clampAndScale(variableValue, definition.axis.x, definition.offset, definition.clampMin, definition.clampMax, definition.absolute);
-					}
-					if(definition.axis.y != 0){
-						appliedRotation.y = VehicleAnimationSystem.clampAndScale(variableValue, definition.axis.y, definition.offset, definition.clampMin, definition.clampMax, definition.absolute); 
-					}
-					if(definition.axis.z != 0){
-						appliedRotation.z = VehicleAnimationSystem.clampAndScale(variableValue, definition.axis.z, definition.offset, definition.clampMin, definition.clampMax, definition.absolute); 
-					}
-					
-					//Check if we need to apply a translation based on this rotation.
-					if(!definition.centerPoint.isZero()){
-						//Use the center point as a vector we rotate to get the applied offset.
-						//We need to take into account the rolling rotation here, as we might have rotated on a prior call.
-						rollingOffset.add(definition.centerPoint.copy().multiply(-1D).rotateFine(appliedRotation).add(definition.centerPoint).rotateFine(rollingRotation));
-					}
-					
-					//Apply rotation.
-					rollingRotation.add(appliedRotation);
-				}else if(definition.animationType.equals("translation")){
-					//Found translation.  This gets applied in the translation axis direction directly.
-					//This axis needs to be rotated by the rollingRotation to ensure it's in the correct spot.
-					double variableValue = animation.getFactoredState(vehicle, VehicleAnimationSystem.getVariableValue(definition.variable, partialTicks, vehicle, this));
-					Point3d appliedTranslation = new Point3d(0D, 0D, 0D);
-					if(definition.axis.x != 0){
-						appliedTranslation.x = VehicleAnimationSystem.clampAndScale(variableValue, definition.axis.x, definition.offset, definition.clampMin, definition.clampMax, definition.absolute);
-					}
-					if(definition.axis.y != 0){
-						appliedTranslation.y = VehicleAnimationSystem.clampAndScale(variableValue, definition.axis.y, definition.offset, definition.clampMin, definition.clampMax, definition.absolute); 
-					}
-					if(definition.axis.z != 0){
-						appliedTranslation.z = VehicleAnimationSystem.clampAndScale(variableValue, definition.axis.z, definition.offset, definition.clampMin, definition.clampMax, definition.absolute); 
-					}
-					rollingOffset.add(appliedTranslation.rotateFine(rollingRotation));
-				}
-			}
-		}
-		
-		//Return the net offset from rotation and translation.
-		return rollingOffset;
+		updateAnimatedTransform(partialTicks);
+		return animatedOffset.copy();
+	}
+	
+	/**
+	 * Like {@link #getPositionOffset(float)}, but sets the passed-in point to the offset
+	 * and returns it rather than making a copy.  Used every frame when rendering.
+	 */
+	public final Point3d getPositionOffset(float partialTicks, Point3d offset){
+		updateAnimatedTransform(partialTicks);
+		return offset.setTo(animatedOffset);
 	}
 	
 	/**
 	 * Gets the rotation angles for the part as a vector.
 	 * This rotation is used to rotate the part prior to translation.
 	 * It may be used for stacked rotations, and should return the final
-	 * rotation angles for all operations.
+	 * rotation angles for all operations.  As with {@link #getPositionOffset(float)},
+	 * the returned point is a copy of the cached rotation.
 	 */
 	public final Point3d getPositionRotation(float partialTicks){
-		Point3d rollingRotation = new Point3d(0D, 0D, 0D);
-		if(!animations.isEmpty()){
-			for(DurationDelayClock animation : animations){
-				VehicleAnimationDefinition definition = animation.definition;
-				if(definition.animationType.equals("rotation")){
-					double variableValue = animation.getFactoredState(vehicle, VehicleAnimationSystem.getVariableValue(definition.variable, partialTicks, vehicle, this));
-					if(definition.axis.x != 0){
-						rollingRotation.x += VehicleAnimationSystem.clampAndScale(variableValue, definition.axis.x, definition.offset, definition.clampMin, definition.clampMax, definition.absolute); 
-					}
-					if(definition.axis.y != 0){
-						rollingRotation.y += VehicleAnimationSystem.clampAndScale(variableValue, definition.axis.y, definition.offset, definition.clampMin, definition.clampMax, definition.absolute); 
-					}
-					if(definition.axis.z != 0){
-						rollingRotation.z += VehicleAnimationSystem.clampAndScale(variableValue, definition.axis.z, definition.offset, definition.clampMin, definition.clampMax, definition.absolute); 
-					}
+		updateAnimatedTransform(partialTicks);
+		return animatedRotation.copy();
+	}
+	
+	/**
+	 * Like {@link #getPositionRotation(float)}, but sets the passed-in point to the rotation
+	 * and returns it rather than making a copy.  Used every frame when rendering.
+	 */
+	public final Point3d getPositionRotation(float partialTicks, Point3d rotation){
+		updateAnimatedTransform(partialTicks);
+		return rotation.setTo(animatedRotation);
+	}
+	
+	/**
+	 * Updates the cached animation offset and rotation for this part.  The animation variables
+	 * are checked every call, as they may change at any time, but the offset and rotation are only
+	 * re-calculated if one of the variables has a different value than the last call.  Most parts
+	 * don't move most of the time, so this saves a lot of math when we're called by the renderer.
+	 */
+	private void updateAnimatedTransform(float partialTicks){
+		if(animations.isEmpty()){
+			return;
+		}
+		
+		boolean animationsChanged = false;
+		for(int i=0; i<animations.size(); ++i){
+			DurationDelayClock animation = animations.get(i);
+			double variableValue = animation.getFactoredState(vehicle, VehicleAnimationSystem.getVariableValue(animation.definition.variable, partialTicks, vehicle, this));
+			//Initial values are NaN, which are never equal to anything, so we always calculate on the first call.
+			if(variableValue != animationValues[i]){
+				animationValues[i] = variableValue;
+				animationsChanged = true;
+			}
+		}
+		if(!animationsChanged){
+			return;
+		}
+		
+		animatedOffset.set(0D, 0D, 0D);
+		animatedRotation.set(0D, 0D, 0D);
+		for(int i=0; i<animations.size(); ++i){
+			VehicleAnimationDefinition definition = animations.get(i).definition;
+			double variableValue = animationValues[i];
+			
+			//Get the movement on each axis.  For rotations this is the angles to apply, for translations it's the offset.
+			appliedMovement.set(0D, 0D, 0D);
+			if(definition.axis.x != 0){
+				appliedMovement.x = VehicleAnimationSystem.clampAndScale(variableValue, definition.axis.x, definition.offset, definition.clampMin, definition.clampMax, definition.absolute);
+			}
+			if(definition.axis.y != 0){
+				appliedMovement.y = VehicleAnimationSystem.clampAndScale(variableValue, definition.axis.y, definition.offset, definition.clampMin, definition.clampMax, definition.absolute); 
+			}
+			if(definition.axis.z != 0){
+				appliedMovement.z = VehicleAnimationSystem.clampAndScale(variableValue, definition.axis.z, definition.offset, definition.clampMin, definition.clampMax, definition.absolute); 
+			}
+			
+			if(definition.animationType.equals("rotation")){
+				//Check if we need to apply a translation based on this rotation.
+				if(!definition.centerPoint.isZero()){
+					//Use the center point as a vector we rotate to get the applied offset.
+					//We need to take into account the rolling rotation here, as we might have rotated on a prior call.
+					animatedOffset.add(centerOffset.setTo(definition.centerPoint).multiply(-1D).rotateFine(appliedMovement).add(definition.centerPoint).rotateFine(animatedRotation));
 				}
+				
+				//Apply rotation.
+				animatedRotation.add(appliedMovement);
+			}else if(definition.animationType.equals("translation")){
+				//Found translation.  This gets applied in the translation axis direction directly.
+				//This axis needs to be rotated by the rolling rotation to ensure it's in the correct spot.
+				animatedOffset.add(appliedMovement.rotateFine(animatedRotation));
 			}
 		}
-		return rollingRotation;
 	}
 	
 	/**
@@ -271,7 +300,15 @@ public abstract class APart implements ISoundProvider{
 	}
 	
 	/**
-	 * Returns true if this part is in liquid.
+	 * Updates the world state this part uses when calculating forces.  This is called on the main thread
+	 * right before forces are calculated.  Forces may be calculated on the physics threads, which can't
+	 * access the world, so parts that need world state for their forces should save it here rather than
+	 * reading it while calculating them.
+	 */
+	public void updateForceInputs(){}
+	
+	/**
+	 * Returns true if this part is in liquid.  This reads the world, so don't call it when calculating forces.
 	 */
 	public boolean isInLiquid(){
 		return vehicle.world.isBlockLiquid(new Point3i(worldPos));
@@ -21,6 +21,7 @@ import minecrafttransportsimulator.rendering.instances.ParticleFlame;
 import minecrafttransportsimulator.rendering.instances.ParticleSmoke;
 import minecrafttransportsimulator.sound.SoundInstance;
 import minecrafttransportsimulator.systems.ConfigSystem;
+import minecrafttransportsimulator.systems.PacketDispatchSystem;
 import minecrafttransportsimulator.vehicles.main.EntityVehicleF_Physics;
 
 public class PartEngine extends APart implements IVehiclePartFXProvider{
@@ -100,6 +101,20 @@ public class PartEngine extends APart implements IVehiclePartFXProvider{
 		if(vehicle.definition.general.isAircraft){
 			currentGear = 1;
 		}
+		
+		//Pre-load our sounds on clients.  We've just come into range, so they'll likely be played soon.
+		if(vehicle.world.isClient()){
+			if(definition.engine.customSoundset != null){
+				for(EngineSound soundDefinition : definition.engine.customSoundset){
+					MasterLoader.audioInterface.preloadSound(soundDefinition.soundName);
+				}
+			}else{
+				MasterLoader.audioInterface.preloadSound(definition.packID + ":" + definition.systemName + "_running");
+				MasterLoader.audioInterface.preloadSound(definition.packID + ":" + definition.systemName + "_supercharger");
+			}
+			MasterLoader.audioInterface.preloadSound(definition.packID + ":" + definition.systemName + "_starting");
+			MasterLoader.audioInterface.preloadSound(definition.packID + ":" + definition.systemName + "_cranking");
+		}
 	}
 	
 	@Override
@@ -112,14 +127,14 @@ public class PartEngine extends APart implements IVehiclePartFXProvider{
 					if(!fuelLeak)fuelLeak = Math.random() < ConfigSystem.configObject.damage.engineLeakProbability.value*10;
 					if(!brokenStarter)brokenStarter = Math.random() < 0.05;
 				}
-				MasterLoader.networkInterface.sendToAllClients(new PacketVehiclePartEngine(this, damage.amount*10*ConfigSystem.configObject.general.engineHoursFactor.value, oilLeak, fuelLeak, brokenStarter));
+				PacketDispatchSystem.sendToTrackingPlayers(new PacketVehiclePartEngine(this, damage.amount*10*ConfigSystem.configObject.general.engineHoursFactor.value, oilLeak, fuelLeak, brokenStarter), vehicle);
 			}else{
 				hours += damage.amount*2*ConfigSystem.configObject.general.engineHoursFactor.value;
 				if(!definition.engine.isSteamPowered){
 					if(!oilLeak)oilLeak = Math.random() < ConfigSystem.configObject.damage.engineLeakProbability.value;
 					if(!fuelLeak)fuelLeak = Math.random() < ConfigSystem.configObject.damage.engineLeakProbability.value;
 				}
-				MasterLoader.networkInterface.sendToAllClients(new PacketVehiclePartEngine(this, damage.amount*ConfigSystem.configObject.general.engineHoursFactor.value, oilLeak, fuelLeak, brokenStarter));
+				PacketDispatchSystem.sendToTrackingPlayers(new PacketVehiclePartEngine(this, damage.amount*ConfigSystem.configObject.general.engineHoursFactor.value, oilLeak, fuelLeak, brokenStarter), vehicle);
 			}
 		}
 	}
@@ -183,7 +198,7 @@ public class PartEngine extends APart implements IVehiclePartFXProvider{
 					vehicle.electricUsage += 0.05F;
 				}
 				if(!isCreative){
-					fuelFlow += vehicle.fuelTank.drain(vehicle.fuelTank.getFluid(), getTotalFuelConsumption()*ConfigSystem.configObject.general.fuelUsageFactor.value, !vehicle.world.isClient());
+					fuelFlow += vehicle.fuelTank.drain(vehicle.fuelTank.getFluid(), getTotalFuelConsumption()*ConfigSystem.configObject.general.fuelUsageFactor.value, true);
 				}
 			}
 		}else if(state.hsOn){
@@ -226,6 +241,7 @@ public class PartEngine extends APart implements IVehiclePartFXProvider{
 				//TODO do steam engine logic.
 			}else{
 				//Try to get fuel from the vehicle and calculate fuel flow.
+				//Clients drain fuel as well to predict usage between fluid updates from the server.
 				if(!isCreative && !vehicle.fuelTank.getFluid().isEmpty()){
 					if(!ConfigSystem.configObject.fuel.fuels.containsKey(definition.engine.fuelType)){					
 						throw new IllegalArgumentException("ERROR: Engine:" + definition.packID + ":" + definition.systemName + " wanted fuel configs for fuel of type:" + definition.engine.fuelType + ", but these do not exist in the config file.  Fuels currently in the file are:" + ConfigSystem.configObject.fuel.fuels.keySet().toString() + "If you are on a server, this means the server and client configs are not the same.  If this is a modpack, TELL THE AUTHOR IT IS BORKEN!");
@@ -233,7 +249,7 @@ public class PartEngine extends APart implements IVehiclePartFXProvider{
 						//Clear out the fuel from this vehicle as it's the wrong type.
 						vehicle.fuelTank.drain(vehicle.fuelTank.getFluid(), vehicle.fuelTank.getFluidLevel(), true);
 					}else{
-						fuelFlow += vehicle.fuelTank.drain(vehicle.fuelTank.getFluid(), getTotalFuelConsumption()*ConfigSystem.configObject.general.fuelUsageFactor.value/ConfigSystem.configObject.fuel.fuels.get(definition.engine.fuelType).get(vehicle.fuelTank.getFluid())*rpm*(fuelLeak ? 1.5F : 1.0F)/definition.engine.maxRPM, !vehicle.world.isClient());
+						fuelFlow += vehicle.fuelTank.drain(vehicle.fuelTank.getFluid(), getTotalFuelConsumption()*ConfigSystem.configObject.general.fuelUsageFactor.value/ConfigSystem.configObject.fuel.fuels.get(definition.engine.fuelType).get(vehicle.fuelTank.getFluid())*rpm*(fuelLeak ? 1.5F : 1.0F)/definition.engine.maxRPM, true);
 					}
 				}
 				
@@ -595,7 +611,7 @@ public class PartEngine extends APart implements IVehiclePartFXProvider{
 		
 		//Send off packet and start sounds.
 		if(!vehicle.world.isClient()){
-			MasterLoader.networkInterface.sendToAllClients(new PacketVehiclePartEngine(this, Signal.START));
+			PacketDispatchSystem.sendToTrackingPlayers(new PacketVehiclePartEngine(this, Signal.START), vehicle);
 		}else{
 			MasterLoader.audioInterface.playQuickSound(new SoundInstance(this, definition.packID + ":" + definition.systemName + "_starting"));
 			if(definition.engine.customSoundset != null){
@@ -645,7 +661,7 @@ public class PartEngine extends APart implements IVehiclePartFXProvider{
 		
 		//Send off packet and play stopping sound.
 		if(!vehicle.world.isClient()){
-			MasterLoader.networkInterface.sendToAllClients(new PacketVehiclePartEngine(this, signal));
+			PacketDispatchSystem.sendToTrackingPlayers(new PacketVehiclePartEngine(this, signal), vehicle);
 		}else{
 			MasterLoader.audioInterface.playQuickSound(new SoundInstance(this, definition.packID + ":" + definition.systemName + "_stopping"));
 		}
@@ -656,7 +672,7 @@ public class PartEngine extends APart implements IVehiclePartFXProvider{
 		//This also causes particles to spawn and sounds to play.
 		rpm -= definition.engine.maxRPM < 15000 ? 100 : 500;
 		if(!vehicle.world.isClient()){
-			MasterLoader.networkInterface.sendToAllClients(new PacketVehiclePartEngine(this, Signal.BACKFIRE));
+			PacketDispatchSystem.sendToNearbyPlayers(new PacketVehiclePartEngine(this, Signal.BACKFIRE), vehicle);
 		}else{
 			MasterLoader.audioInterface.playQuickSound(new SoundInstance(this, definition.packID + ":" + definition.systemName + "_sputter"));
 			backfired = true;
@@ -722,10 +738,10 @@ public class PartEngine extends APart implements IVehiclePartFXProvider{
 		if(doShift || vehicle.world.isClient()){
 			currentGear = nextGear;
 			if(!vehicle.world.isClient()){
-				MasterLoader.networkInterface.sendToAllClients(new PacketVehicleControlDigital(vehicle, PacketVehicleControlDigital.Controls.SHIFT_UP, autoShift));
+				PacketDispatchSystem.sendToTrackingPlayers(new PacketVehicleControlDigital(vehicle, PacketVehicleControlDigital.Controls.SHIFT_UP, autoShift), vehicle);
 			}
 		}else if(!vehicle.world.isClient() && !autoShift && currentGear <= 0){
-			MasterLoader.networkInterface.sendToAllClients(new PacketVehiclePartEngine(this, Signal.BAD_SHIFT));
+			PacketDispatchSystem.sendToNearbyPlayers(new PacketVehiclePartEngine(this, Signal.BAD_SHIFT), vehicle);
 		}
 	}
 	
@@ -745,14 +761,14 @@ public class PartEngine extends APart implements IVehiclePartFXProvider{
 		if(doShift || vehicle.world.isClient()){
 			currentGear = nextGear;
 			if(!vehicle.world.isClient()){
-				MasterLoader.networkInterface.sendToAllClients(new PacketVehicleControlDigital(vehicle, PacketVehicleControlDigital.Controls.SHIFT_DN, autoShift));
+				PacketDispatchSystem.sendToTrackingPlayers(new PacketVehicleControlDigital(vehicle, PacketVehicleControlDigital.Controls.SHIFT_DN, autoShift), vehicle);
 			}
 			//If we are a big truck, turn on the backup beeper.
 			if(currentGear == -1 && vehicle.definition.motorized.isBigTruck && vehicle.world.isClient()){
 				MasterLoader.audioInterface.playQuickSound(new SoundInstance(this, MasterLoader.resourceDomain + ":backup_beeper", true));
 			}
 		}else if(!vehicle.world.isClient() && !autoShift && currentGear >= 0){
-			MasterLoader.networkInterface.sendToAllClients(new PacketVehiclePartEngine(this, Signal.BAD_SHIFT));
+			PacketDispatchSystem.sendToNearbyPlayers(new PacketVehiclePartEngine(this, Signal.BAD_SHIFT), vehicle);
 		}
 	}
 	
@@ -1015,8 +1031,8 @@ public class PartEngine extends APart implements IVehiclePartFXProvider{
 						}
 					}
 					
-					Point3d exhaustOffset = exhaust.pos.copy().rotateFine(vehicle.angles).add(vehicle.position);
-					Point3d velocityOffset = exhaust.velocity.copy().rotateFine(vehicle.angles);
+					Point3d exhaustOffset = exhaust.pos.copy().transform(vehicle.getRotationMatrix(), vehicle.position);
+					Point3d velocityOffset = exhaust.velocity.copy().rotate(vehicle.getRotationMatrix());
 					velocityOffset.x = velocityOffset.x/10D + 0.02 - Math.random()*0.04;
 					velocityOffset.y = velocityOffset.y/10D;
 					velocityOffset.z = velocityOffset.z/10D + 0.02 - Math.random()*0.04;
@@ -1041,8 +1057,8 @@ public class PartEngine extends APart implements IVehiclePartFXProvider{
 			backfired = false;
 			if(vehicleDefinition.exhaustObjects != null){
 				for(ExhaustObject exhaust : vehicleDefinition.exhaustObjects){
-					Point3d exhaustOffset = exhaust.pos.copy().rotateFine(vehicle.angles).add(vehicle.position);
-					Point3d velocityOffset = exhaust.velocity.copy().rotateFine(vehicle.angles);
+					Point3d exhaustOffset = exhaust.pos.copy().transform(vehicle.getRotationMatrix(), vehicle.position);
+					Point3d velocityOffset = exhaust.velocity.copy().rotate(vehicle.getRotationMatrix());
 					velocityOffset.x = velocityOffset.x/10D + 0.07 - Math.random()*0.14;
 					velocityOffset.y = velocityOffset.y/10D;
 					velocityOffset.z = velocityOffset.z/10D + 0.07 - Math.random()*0.14;
@@ -1071,7 +1087,7 @@ public class PartEngine extends APart implements IVehiclePartFXProvider{
 		
 		//Render engine smoke if we're overheating.  Only for non-steam engines.
 		if(!definition.engine.isSteamPowered && temp > OVERHEAT_TEMP_1){
-			Point3d velocityOffset = vehicle.motion.copy().rotateFine(vehicle.angles);
+			Point3d velocityOffset = vehicle.motion.copy().rotate(vehicle.getRotationMatrix());
 			velocityOffset.x = velocityOffset.x/10D + 0.02 - Math.random()*0.04;
 			velocityOffset.y = velocityOffset.y/10D;
 			velocityOffset.z = velocityOffset.z/10D + 0.02 - Math.random()*0.04;
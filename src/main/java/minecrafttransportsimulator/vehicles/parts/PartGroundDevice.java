@@ -13,6 +13,7 @@ import minecrafttransportsimulator.rendering.components.IVehiclePartFXProvider;
 import minecrafttransportsimulator.rendering.instances.ParticleSmoke;
 import minecrafttransportsimulator.sound.SoundInstance;
 import minecrafttransportsimulator.systems.ConfigSystem;
+import minecrafttransportsimulator.systems.PacketDispatchSystem;
 import minecrafttransportsimulator.vehicles.main.EntityVehicleF_Physics;
 
 /**A ground device is simply a part of a vehicle that touches the ground.
@@ -194,7 +195,7 @@ public class PartGroundDevice extends APart implements IVehiclePartFXProvider{
 				}
 			}
 			//Valid conditions, send packet before continuing.
-			MasterLoader.networkInterface.sendToAllClients(new PacketVehiclePartGroundDevice(this, flat));
+			PacketDispatchSystem.sendToTrackingPlayers(new PacketVehiclePartGroundDevice(this, flat), vehicle);
 		}
 		
 		//Set flat state and new bounding box.
@@ -18,6 +18,7 @@ import minecrafttransportsimulator.rendering.components.IVehiclePartFXProvider;
 import minecrafttransportsimulator.rendering.instances.ParticleBullet;
 import minecrafttransportsimulator.sound.SoundInstance;
 import minecrafttransportsimulator.systems.PackParserSystem;
+import minecrafttransportsimulator.systems.PacketDispatchSystem;
 import minecrafttransportsimulator.vehicles.main.EntityVehicleF_Physics;
 
 public class PartGun extends APart implements IVehiclePartFXProvider{	
@@ -298,7 +299,7 @@ public class PartGun extends APart implements IVehiclePartFXProvider{
 					if(vehicle.world.isClient()){
 						MasterLoader.audioInterface.playQuickSound(new SoundInstance(this, definition.packID + ":" + definition.systemName + "_reloading"));
 					}else{
-						MasterLoader.networkInterface.sendToAllClients(new PacketVehiclePartGun(this, loadedBullet));
+						PacketDispatchSystem.sendToTrackingPlayers(new PacketVehiclePartGun(this, loadedBullet), vehicle);
 					}
 					return true;
 				}
@@ -6,10 +6,10 @@ import minecrafttransportsimulator.items.instances.ItemPart;
 import minecrafttransportsimulator.jsondefs.JSONVehicle.VehiclePart;
 import minecrafttransportsimulator.mcinterface.IWrapperNBT;
 import minecrafttransportsimulator.mcinterface.IWrapperPlayer;
-import minecrafttransportsimulator.mcinterface.MasterLoader;
 import minecrafttransportsimulator.packets.instances.PacketVehiclePartEngine;
 import minecrafttransportsimulator.packets.instances.PacketVehiclePartEngine.Signal;
 import minecrafttransportsimulator.systems.ConfigSystem;
+import minecrafttransportsimulator.systems.PacketDispatchSystem;
 import minecrafttransportsimulator.vehicles.main.EntityVehicleF_Physics;
 
 public class PartPropeller extends APart{	
@@ -20,6 +20,8 @@ public class PartPropeller extends APart{
 	
 	private final PartEngine connectedEngine;
 	private final Point3d propellerForce = new Point3d(0D, 0D, 0D);
+	/**If this propeller was in liquid when forces were last calculated.  Saved on the main thread in {@link #updateForceInputs()}.**/
+	private boolean inLiquidForForces;
 	
 	public static final int MIN_DYNAMIC_PITCH = 45;
 	
@@ -43,7 +45,7 @@ public class PartPropeller extends APart{
 			if(damage.attacker instanceof IWrapperPlayer && ((IWrapperPlayer) damage.attacker).getHeldItem() == null){
 				if(!vehicle.equals(damage.attacker.getEntityRiding())){
 					connectedEngine.handStartEngine();
-					MasterLoader.networkInterface.sendToAllClients(new PacketVehiclePartEngine(connectedEngine, Signal.HS_ON));
+					PacketDispatchSystem.sendToTrackingPlayers(new PacketVehiclePartEngine(connectedEngine, Signal.HS_ON), vehicle);
 				}
 				return;
 			}
@@ -147,6 +149,11 @@ public class PartPropeller extends APart{
 		}
 	}
 	
+	@Override
+	public void updateForceInputs(){
+		inLiquidForForces = isInLiquid();
+	}
+	
 	public Point3d getForceOutput(){
 		propellerForce.set(0D, 0D, 0D);
 		if(connectedEngine != null && connectedEngine.state.running){
@@ -181,7 +188,7 @@ public class PartPropeller extends APart{
 				}
 				
 				//If the propeller is in the water, increase thrust.
-				if(isInLiquid()){
+				if(inLiquidForForces){
 					thrust *= 50;
 				}
 				
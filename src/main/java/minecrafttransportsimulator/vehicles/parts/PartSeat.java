@@ -5,10 +5,10 @@ import minecrafttransportsimulator.jsondefs.JSONVehicle.VehiclePart;
 import minecrafttransportsimulator.mcinterface.IWrapperEntity;
 import minecrafttransportsimulator.mcinterface.IWrapperNBT;
 import minecrafttransportsimulator.mcinterface.IWrapperPlayer;
-import minecrafttransportsimulator.mcinterface.MasterLoader;
 import minecrafttransportsimulator.packets.instances.PacketPlayerChatMessage;
 import minecrafttransportsimulator.packets.instances.PacketVehiclePartSeat;
 import minecrafttransportsimulator.systems.PackParserSystem;
+import minecrafttransportsimulator.systems.PacketDispatchSystem;
 import minecrafttransportsimulator.vehicles.main.EntityVehicleF_Physics;
 
 public final class PartSeat extends APart{
@@ -51,7 +51,7 @@ public final class PartSeat extends APart{
 						//If we do have an active gun, validate that it's still correct.
 						if(activeGun == null){
 							setNextActiveGun();
-							MasterLoader.networkInterface.sendToAllClients(new PacketVehiclePartSeat(this));
+							PacketDispatchSystem.sendToTrackingPlayers(new PacketVehiclePartSeat(this), vehicle);
 						}else{
 							for(ItemPart gunType : vehicle.guns.keySet()){
 								for(PartGun gun : vehicle.guns.get(gunType)){
@@ -66,7 +66,7 @@ public final class PartSeat extends APart{
 							//Didn't invalid active gun detected.  Select a new one.
 							activeGun = null;
 							setNextActiveGun();
-							MasterLoader.networkInterface.sendToAllClients(new PacketVehiclePartSeat(this));
+							PacketDispatchSystem.sendToTrackingPlayers(new PacketVehiclePartSeat(this), vehicle);
 						}
 					}
 				}